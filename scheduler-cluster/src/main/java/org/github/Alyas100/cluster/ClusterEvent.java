@@ -8,5 +8,11 @@ public sealed interface ClusterEvent {
     record NodeLeft(String nodeId) implements ClusterEvent {}
     record LeaderElected(String leaderId) implements ClusterEvent {}
     record JobDistributed(String jobId, String targetNode) implements ClusterEvent {}
-    record Heartbeat(String nodeId, long timestamp) implements ClusterEvent {}
+
+    /**
+     * Sent by every node each heartbeat interval, carrying its latest load sample
+     * ({@link NodeLoadSampler.Sample}) so peers keep its {@link ClusterNode} load current.
+     */
+    record Heartbeat(String nodeId, long timestamp, int cpuLoad, long memoryUsed, int activeJobs)
+            implements ClusterEvent {}
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package org.github.Alyas100.cluster;
+
+import org.github.Alyas100.codec.CodecException;
+import org.github.Alyas100.codec.CodecReader;
+import org.github.Alyas100.codec.CodecWriter;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Compact binary form of a {@link Batch} of {@link ClusterEvent}s, in the tagged wire format
+ * of {@link org.github.Alyas100.codec.JobCodec} (shared {@link CodecWriter}/{@link CodecReader}).
+ *
+ * <p>A batch holds a table of the distinct strings it uses (node and job ids, field 1, once
+ * each), the sender (2) and sequence number (3), then one nested message per event (4) with
+ * its kind and fields. Strings are referred to by their index + 1, so a batch of jobs
+ * distributed by one node costs little more than the job ids themselves. Event kinds and
+ * fields this reader does not know are skipped.</p>
+ */
+public final class ClusterEventCodec {
+    public static final int FORMAT_VERSION = 2;
+
+    private static final int TYPE_BATCH = 1;
+
+    private static final int NODE_JOINED = 1;
+    private static final int NODE_LEFT = 2;
+    private static final int LEADER_ELECTED = 3;
+    private static final int JOB_DISTRIBUTED = 4;
+    private static final int HEARTBEAT = 5;
+
+    private ClusterEventCodec() {
+    }
+
+    /**
+     * Events published together by one node.
+     *
+     * @param senderId node that published them
+     * @param sequence numbers the sender's batches 1, 2, 3...; a jump means batches were missed
+     * @param events   in publishing order
+     */
+    public record Batch(String senderId, long sequence, List<ClusterEvent> events) {}
+
+    public static byte[] encode(Batch batch) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        intern(strings, batch.senderId());
+        for (ClusterEvent event : batch.events()) {
+            if (event instanceof ClusterEvent.NodeJoined joined) {
+                intern(strings, joined.nodeId());
+            } else if (event instanceof ClusterEvent.NodeLeft left) {
+                intern(strings, left.nodeId());
+            } else if (event instanceof ClusterEvent.LeaderElected elected) {
+                intern(strings, elected.leaderId());
+            } else if (event instanceof ClusterEvent.JobDistributed distributed) {
+                intern(strings, distributed.jobId());
+                intern(strings, distributed.targetNode());
+            } else if (event instanceof ClusterEvent.Heartbeat heartbeat) {
+                intern(strings, heartbeat.nodeId());
+            }
+        }
+
+        CodecWriter writer = new CodecWriter(16 + 24 * batch.events().size());
+        writer.header(FORMAT_VERSION, TYPE_BATCH);
+        for (String value : strings.keySet()) {
+            writer.stringField(1, value);
+        }
+        string(writer, 2, strings, batch.senderId());
+        writer.longField(3, batch.sequence());
+        for (ClusterEvent event : batch.events()) {
+            int at = writer.beginNested(4);
+            if (event instanceof ClusterEvent.NodeJoined joined) {
+                writer.longField(1, NODE_JOINED);
+                string(writer, 2, strings, joined.nodeId());
+            } else if (event instanceof ClusterEvent.NodeLeft left) {
+                writer.longField(1, NODE_LEFT);
+                string(writer, 2, strings, left.nodeId());
+            } else if (event instanceof ClusterEvent.LeaderElected elected) {
+                writer.longField(1, LEADER_ELECTED);
+                string(writer, 2, strings, elected.leaderId());
+            } else if (event instanceof ClusterEvent.JobDistributed distributed) {
+                writer.longField(1, JOB_DISTRIBUTED);
+                string(writer, 2, strings, distributed.jobId());
+                string(writer, 3, strings, distributed.targetNode());
+            } else if (event instanceof ClusterEvent.Heartbeat heartbeat) {
+                writer.longField(1, HEARTBEAT);
+                string(writer, 2, strings, heartbeat.nodeId());
+                writer.longField(4, heartbeat.timestamp());
+                writer.longField(5, heartbeat.cpuLoad());
+                writer.longField(6, heartbeat.memoryUsed());
+                writer.longField(7, heartbeat.activeJobs());
+            }
+            writer.endNested(at);
+        }
+        writer.end();
+        return writer.toByteArray();
+    }
+
+    public static Batch decode(byte[] bytes) {
+        try {
+            CodecReader reader = new CodecReader(ByteBuffer.wrap(bytes));
+            int version = reader.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new CodecException("Unsupported cluster event format version " + version);
+            }
+            int type = reader.readByte();
+            if (type != TYPE_BATCH) {
+                throw new CodecException("Expected a cluster event batch but found type " + type);
+            }
+            List<String> strings = new ArrayList<>();
+            String senderId = null;
+            long sequence = 0;
+            List<ClusterEvent> events = new ArrayList<>();
+            for (int field; (field = reader.nextField()) != 0; ) {
+                switch (field) {
+                    case 1 -> strings.add(reader.readString());
+                    case 2 -> senderId = string(reader, strings);
+                    case 3 -> sequence = reader.readLong();
+                    case 4 -> {
+                        ClusterEvent event = readEvent(reader, strings);
+                        if (event != null) {
+                            events.add(event);
+                        }
+                    }
+                    default -> reader.skip();
+                }
+            }
+            return new Batch(senderId, sequence, events);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new CodecException("Truncated cluster event batch", e);
+        }
+    }
+
+    // Null for an event kind added by a newer version
+    private static ClusterEvent readEvent(CodecReader reader, List<String> strings) {
+        reader.enterNested();
+        int kind = 0;
+        String id = null, target = null;
+        long timestamp = 0, memoryUsed = 0;
+        int cpuLoad = 0, activeJobs = 0;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> kind = reader.readInt();
+                case 2 -> id = string(reader, strings);
+                case 3 -> target = string(reader, strings);
+                case 4 -> timestamp = reader.readLong();
+                case 5 -> cpuLoad = reader.readInt();
+                case 6 -> memoryUsed = reader.readLong();
+                case 7 -> activeJobs = reader.readInt();
+                default -> reader.skip();
+            }
+        }
+        return switch (kind) {
+            case NODE_JOINED -> new ClusterEvent.NodeJoined(id);
+            case NODE_LEFT -> new ClusterEvent.NodeLeft(id);
+            case LEADER_ELECTED -> new ClusterEvent.LeaderElected(id);
+            case JOB_DISTRIBUTED -> new ClusterEvent.JobDistributed(id, target);
+            case HEARTBEAT -> new ClusterEvent.Heartbeat(id, timestamp, cpuLoad, memoryUsed, activeJobs);
+            default -> null;
+        };
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value != null) {
+            strings.putIfAbsent(value, strings.size());
+        }
+    }
+
+    // Index + 1; null is simply not written
+    private static void string(CodecWriter writer, int field, Map<String, Integer> strings, String value) {
+        if (value != null) {
+            writer.longField(field, strings.get(value) + 1);
+        }
+    }
+
+    private static String string(CodecReader reader, List<String> strings) {
+        long index = reader.readLong();
+        if (index < 1 || index > strings.size()) {
+            throw new CodecException("String index " + index + " outside the table of " + strings.size());
+        }
+        return strings.get((int) index - 1);
+    }
+}
@@ -8,4 +8,14 @@ public interface ClusterListener {
     default void onNodeJoined(ClusterNode node) {}
     default void onNodeLeft(ClusterNode node) {}
     default void onJobDistributed(String jobId, String targetNode) {}
+
+    /**
+     * The failure detector moved {@code node} from {@code previous} to its current status.
+     */
+    default void onNodeStatusChanged(ClusterNode node, ClusterNode.NodeStatus previous) {}
+
+    /**
+     * The set of jobs this node should schedule changed (see {@link ClusterManager#ownsJob}).
+     */
+    default void onOwnershipChanged() {}
 }
\ No newline at end of file
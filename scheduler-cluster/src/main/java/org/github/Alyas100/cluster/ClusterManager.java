@@ -1,12 +1,33 @@
 package org.github.Alyas100.cluster;
 
 import org.github.Alyas100.JobDefinition;
+
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 /**
  * Manages cluster coordination and distributed job scheduling.
  */
 public interface ClusterManager {
+    /**
+     * Longer than the trigger state flush interval, so a gained job is armed from the
+     * states its previous owner stored when giving it up.
+     */
+    Duration DEFAULT_HANDOFF_DELAY = Duration.ofSeconds(2);
+
+    /**
+     * How jobs are split between the members.
+     */
+    enum Mode {
+        /** One leader (elected, or the member with the smallest id) schedules every job. */
+        LEADER,
+        /** Every member schedules the jobs it owns on the consistent-hash ring. */
+        PARTITIONED
+    }
+
     // Cluster Management
     void start();
     void stop();
@@ -14,14 +35,78 @@ public interface ClusterManager {
     String getNodeId();
     Set<ClusterNode> getClusterNodes();
 
+    // Job Ownership
+    /**
+     * Whether this node should run the triggers of {@code jobId}: every job on the leader
+     * by default, the job's ring owner in a partitioned cluster.
+     */
+    default boolean ownsJob(String jobId) {
+        return isLeader();
+    }
+
+    /**
+     * How long a node waits before arming jobs it just gained, so the previous owner has
+     * stopped them and stored their trigger states.
+     */
+    default Duration getOwnershipHandoffDelay() {
+        return Duration.ZERO;
+    }
+
     // Job Distribution
     void distributeJob(JobDefinition job);
-    void rebalanceJobs();
+
+    /**
+     * Moves job ownership between the nodes, if this node is in charge of doing so, and tells
+     * how much moved.
+     */
+    RebalanceReport rebalanceJobs();
+
+    /**
+     * Registers the ids of every job this node knows, used to weigh nodes when rebalancing.
+     */
+    default void setJobCatalog(Supplier<? extends Collection<String>> jobIds) {
+    }
+
+    /**
+     * Spreads scheduled fires over the members; null if the leader runs every fire itself.
+     */
+    default JobDistributor getJobDistributor() {
+        return null;
+    }
+
+    /**
+     * Registers how this node runs fires dispatched to it (null to stop accepting them).
+     */
+    default void setJobRunner(JobRunner runner) {
+    }
+
+    /**
+     * Registers how many fires this node is running, reported to the other nodes with its load.
+     */
+    default void setActiveJobCounter(IntSupplier activeJobs) {
+    }
 
     // Event Listeners
     void addClusterListener(ClusterListener listener);
     void removeClusterListener(ClusterListener listener);
 
+    // Leadership Fencing
+    /**
+     * Fencing token of this node's current leadership, stamped on every fire it dispatches;
+     * 0 when not leading or when this manager does not fence.
+     */
+    default long getFencingToken() {
+        return 0;
+    }
+
+    /**
+     * Whether a fire stamped with {@code fencingToken} may still run on this node: false once
+     * a newer leader's token has been seen here.
+     */
+    default boolean acceptFencingToken(long fencingToken) {
+        return true;
+    }
+
     // Cluster State
     ClusterState getClusterState();  // ← Uses OUR ClusterState, not Hazelcast's
 }
\ No newline at end of file
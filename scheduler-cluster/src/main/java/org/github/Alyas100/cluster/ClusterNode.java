@@ -17,6 +17,7 @@ public class ClusterNode {
     private volatile int cpuLoad; // 0-100 percentage
     private volatile long memoryUsed; // in MB
     private volatile int activeJobs;
+    private volatile long lastLoadUpdate;
 
     public ClusterNode(String nodeId, String host, int port) {
         this.nodeId = Objects.requireNonNull(nodeId, "Node ID cannot be null");
@@ -40,12 +41,23 @@ public class ClusterNode {
     public int getCpuLoad() { return cpuLoad; }
     public long getMemoryUsed() { return memoryUsed; }
     public int getActiveJobs() { return activeJobs; }
+    public long getLastLoadUpdate() { return lastLoadUpdate; }
 
     // Setters for mutable state
     public void updateHeartbeat() {
         this.lastHeartbeat = System.currentTimeMillis();
     }
 
+    /**
+     * Replaces all load figures at once, as reported by the node itself.
+     */
+    public void updateLoad(int cpuLoad, long memoryUsed, int activeJobs) {
+        setCpuLoad(cpuLoad);
+        setMemoryUsed(memoryUsed);
+        setActiveJobs(activeJobs);
+        this.lastLoadUpdate = System.currentTimeMillis();
+    }
+
     public void setStatus(NodeStatus status) {
         this.status = status;
     }
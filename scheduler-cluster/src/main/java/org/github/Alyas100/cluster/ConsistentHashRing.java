@@ -0,0 +1,103 @@
+package org.github.Alyas100.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable consistent-hash ring mapping job ids to nodes. Each node is placed at
+ * {@code virtualNodes} points, which evens out the share each node owns; a joining or
+ * leaving node only moves the ranges next to its own points, about 1/N of all keys.
+ *
+ * <p>Every node that builds a ring from the same node ids gets the same owners.</p>
+ */
+public final class ConsistentHashRing {
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+    private static final ConsistentHashRing EMPTY = new ConsistentHashRing(new long[0], new String[0], Set.of());
+
+    private final long[] points;
+    private final String[] owners;
+    private final Set<String> nodes;
+
+    private ConsistentHashRing(long[] points, String[] owners, Set<String> nodes) {
+        this.points = points;
+        this.owners = owners;
+        this.nodes = nodes;
+    }
+
+    public static ConsistentHashRing empty() {
+        return EMPTY;
+    }
+
+    public static ConsistentHashRing of(Collection<String> nodeIds) {
+        return of(nodeIds, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public static ConsistentHashRing of(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            return EMPTY;
+        }
+        // Sort by (point, node id) so ties resolve the same way everywhere
+        List<String> sortedIds = new ArrayList<>(new TreeSet<>(nodeIds));
+        int size = sortedIds.size() * virtualNodes;
+        long[] unsorted = new long[size];
+        Integer[] order = new Integer[size];
+        for (int n = 0; n < sortedIds.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                int index = n * virtualNodes + v;
+                unsorted[index] = hash(sortedIds.get(n) + "#" + v);
+                order[index] = index;
+            }
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byPoint = Long.compare(unsorted[a], unsorted[b]);
+            return byPoint != 0 ? byPoint : Integer.compare(a, b);
+        });
+        long[] points = new long[size];
+        String[] owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = unsorted[order[i]];
+            owners[i] = sortedIds.get(order[i] / virtualNodes);
+        }
+        return new ConsistentHashRing(points, owners, Set.copyOf(sortedIds));
+    }
+
+    /**
+     * The node owning {@code key}: the first point at or after the key's hash, wrapping
+     * around. Null for an empty ring.
+     */
+    public String owner(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so nearby
+     * keys ("job-1", "job-2") land far apart.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
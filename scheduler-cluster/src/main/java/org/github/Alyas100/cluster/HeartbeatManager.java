@@ -4,6 +4,8 @@ import java.util.Set;
 
 /**
  * Manages node heartbeats and failure detection.
+ *
+ * @see PhiAccrualHeartbeatManager
  */
 public interface HeartbeatManager {
     void startHeartbeat();
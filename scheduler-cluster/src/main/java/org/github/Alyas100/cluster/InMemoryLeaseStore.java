@@ -0,0 +1,30 @@
+package org.github.Alyas100.cluster;
+
+import java.time.Clock;
+
+/**
+ * {@link LeaseStore} for elections between nodes of one JVM (tests, demos, embedded use).
+ */
+public class InMemoryLeaseStore implements LeaseStore {
+    private final Clock clock;
+    private Lease lease;
+
+    public InMemoryLeaseStore() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemoryLeaseStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Lease acquireOrRenew(String owner, long ttlMillis) {
+        lease = Lease.acquireOrRenew(lease, owner, ttlMillis, clock.millis());
+        return lease;
+    }
+
+    @Override
+    public synchronized void release(String owner, long fencingToken) {
+        lease = Lease.release(lease, owner, fencingToken);
+    }
+}
@@ -3,6 +3,7 @@ package org.github.Alyas100.cluster;
 import org.github.Alyas100.JobDefinition;
 import org.github.Alyas100.JobExecutionResult;
 
+import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -11,11 +12,15 @@ import java.util.concurrent.CompletableFuture;
  */
 public interface JobDistributor {
 
+    /** Job parameter naming the {@link DistributionStrategy} of a job; the distributor's default applies otherwise */
+    String STRATEGY_PARAMETER = "distribution";
+
     enum DistributionStrategy {
         ROUND_ROBIN,      // Distribute evenly
         LOAD_BASED,       // Based on node load
         AFFINITY,         // Stick to same node
-        BROADCAST         // Run on all nodes
+        BROADCAST,        // Run on all nodes
+        WORK_QUEUE        // Queued per node, idle nodes pull and steal
     }
 
     CompletableFuture<JobExecutionResult> distributeJob(
@@ -23,6 +28,20 @@ public interface JobDistributor {
             DistributionStrategy strategy
     );
 
+    /**
+     * Runs a scheduled fire on the node(s) picked by the job's strategy.
+     *
+     * @param fencingToken token of the dispatching leader, checked by the receiving node
+     */
+    CompletableFuture<JobExecutionResult> dispatch(JobDefinition job, Instant scheduledTime, long fencingToken);
+
+    /**
+     * Sends the fires still running on {@code failedNodeId} to other nodes.
+     */
     void reassignJobsFromNode(String failedNodeId);
+
+    /**
+     * Fires dispatched from this node and not yet finished, per target node.
+     */
     Map<String, Integer> getNodeLoad();
 }
\ No newline at end of file
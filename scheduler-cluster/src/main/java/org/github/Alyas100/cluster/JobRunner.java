@@ -0,0 +1,20 @@
+package org.github.Alyas100.cluster;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs fires that a {@link JobDistributor} dispatched to this node.
+ */
+@FunctionalInterface
+public interface JobRunner {
+
+    /**
+     * @param fencingToken token of the leader that dispatched the fire; the runner rejects it
+     *                     once a newer leader's token has been seen
+     */
+    CompletableFuture<JobExecutionResult> run(JobDefinition job, Instant scheduledTime, long fencingToken);
+}
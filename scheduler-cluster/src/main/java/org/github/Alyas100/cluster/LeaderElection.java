@@ -10,4 +10,17 @@ public interface LeaderElection {
     boolean isLeader();
     String getCurrentLeader();
     void volunteerForLeadership();
-}
\ No newline at end of file
+
+    /**
+     * Fencing token of this node's current leadership; 0 while not leading.
+     */
+    long getFencingToken();
+
+    /**
+     * Whether work stamped with {@code fencingToken} may still run here: false once a newer
+     * leader's token has been seen. Tokens passed in count as seen.
+     */
+    boolean acceptFencingToken(long fencingToken);
+
+    void addLeadershipListener(LeadershipListener listener);
+}
@@ -0,0 +1,13 @@
+package org.github.Alyas100.cluster;
+
+/**
+ * Told when a {@link LeaderElection} sees leadership change hands.
+ */
+public interface LeadershipListener {
+
+    /**
+     * @param leaderId the new leader, or null once this node stepped down without knowing who took over
+     * @param fencingToken token of the new leader's lease (0 if unknown)
+     */
+    void onLeaderChanged(String leaderId, long fencingToken);
+}
@@ -0,0 +1,46 @@
+package org.github.Alyas100.cluster;
+
+import java.io.Serializable;
+
+/**
+ * A time-bounded claim on leadership. Every change of holder gets a fencing token greater
+ * than any handed out before, so work stamped with an older token can be told apart from
+ * work of the current leader.
+ *
+ * @param expiresAtMillis wall-clock millis of the lease store; a released lease expires at 0
+ */
+public record Lease(String owner, long fencingToken, long expiresAtMillis) implements Serializable {
+
+    public boolean isHeldBy(String nodeId, long now) {
+        return owner.equals(nodeId) && now < expiresAtMillis;
+    }
+
+    /**
+     * The lease after {@code owner} asks for it at {@code now}: renewed if it already holds
+     * it, taken over with the next token if {@code current} is absent or expired, otherwise
+     * {@code current} unchanged.
+     */
+    public static Lease acquireOrRenew(Lease current, String owner, long ttlMillis, long now) {
+        if (current == null) {
+            return new Lease(owner, 1, now + ttlMillis);
+        }
+        if (current.isHeldBy(owner, now)) {
+            return new Lease(owner, current.fencingToken, now + ttlMillis);
+        }
+        if (now < current.expiresAtMillis) {
+            return current;
+        }
+        return new Lease(owner, current.fencingToken + 1, now + ttlMillis);
+    }
+
+    /**
+     * The lease after {@code owner} gives up the one it took under {@code fencingToken}. The
+     * token stays behind so the next holder still gets a greater one.
+     */
+    public static Lease release(Lease current, String owner, long fencingToken) {
+        if (current == null || !current.owner.equals(owner) || current.fencingToken != fencingToken) {
+            return current;
+        }
+        return new Lease(owner, fencingToken, 0);
+    }
+}
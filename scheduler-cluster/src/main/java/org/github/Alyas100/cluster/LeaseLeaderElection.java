@@ -0,0 +1,215 @@
+package org.github.Alyas100.cluster;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link LeaderElection} on a {@link LeaseStore}: every node asks for the lease each renew
+ * interval, the holder renews it and the others take it over once it expires.
+ *
+ * <p>The local lease deadline is measured from before the request was sent, so it never
+ * outlives the lease in the store. {@link #isLeader()} checks it on every call and a watchdog
+ * steps down at the deadline: a leader that cannot renew (store unreachable, long pause)
+ * stops leading when its lease runs out, before anyone else can have taken over. Failover
+ * after a crash therefore takes at most the lease duration plus one renew interval; a node
+ * that stops cleanly releases its lease and the next node takes over on its next tick.</p>
+ */
+public class LeaseLeaderElection implements LeaderElection {
+    public static final Duration DEFAULT_LEASE_DURATION = Duration.ofMillis(1000);
+    public static final Duration DEFAULT_RENEW_INTERVAL = Duration.ofMillis(250);
+
+    private final LeaseStore store;
+    private final String nodeId;
+    private final long leaseMillis;
+    private final long renewMillis;
+    private final List<LeadershipListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong highestSeenToken = new AtomicLong();
+    private final Object stateLock = new Object();
+
+    private ScheduledExecutorService ticker;
+    private volatile long fencingToken;        // ours while leading, else 0
+    private volatile long leaseDeadlineNanos;
+    private volatile String currentLeader;
+    private volatile boolean storeFailing;
+    private long lastRequestNanos = System.nanoTime();
+
+    public LeaseLeaderElection(LeaseStore store, String nodeId) {
+        this(store, nodeId, DEFAULT_LEASE_DURATION, DEFAULT_RENEW_INTERVAL);
+    }
+
+    /**
+     * @param leaseDuration how long a lease lasts without renewal; bounds failover time after a crash
+     * @param renewInterval how often the lease is renewed or asked for; must be well below the lease duration
+     */
+    public LeaseLeaderElection(LeaseStore store, String nodeId, Duration leaseDuration, Duration renewInterval) {
+        if (renewInterval.compareTo(leaseDuration) >= 0) {
+            throw new IllegalArgumentException("Renew interval " + renewInterval
+                    + " must be shorter than the lease duration " + leaseDuration);
+        }
+        this.store = store;
+        this.nodeId = nodeId;
+        this.leaseMillis = leaseDuration.toMillis();
+        this.renewMillis = renewInterval.toMillis();
+    }
+
+    @Override
+    public synchronized void startElection() {
+        if (ticker != null) {
+            return;
+        }
+        // Two threads: the watchdog must not wait behind a renewal stuck on the store
+        ticker = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "leader-election");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService scheduler = ticker;
+        ticker.scheduleWithFixedDelay(() -> tick(scheduler), 0, renewMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops taking part and releases the lease if held, so another node takes over on its
+     * next tick instead of after the lease expires.
+     */
+    @Override
+    public synchronized void stopElection() {
+        if (ticker == null) {
+            return;
+        }
+        ticker.shutdownNow();
+        try {
+            ticker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ticker = null;
+        long token;
+        synchronized (stateLock) {
+            token = fencingToken;
+            if (token != 0) {
+                stepDown(null);
+            }
+        }
+        if (token != 0) {
+            try {
+                store.release(nodeId, token);
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ Could not release leader lease, it expires in " + leaseMillis + "ms: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isLeader() {
+        return fencingToken != 0 && System.nanoTime() - leaseDeadlineNanos < 0;
+    }
+
+    @Override
+    public String getCurrentLeader() {
+        return isLeader() ? nodeId : currentLeader;
+    }
+
+    /**
+     * Asks for the lease now instead of at the next tick.
+     */
+    @Override
+    public synchronized void volunteerForLeadership() {
+        if (ticker != null) {
+            ScheduledExecutorService scheduler = ticker;
+            scheduler.execute(() -> tick(scheduler));
+        }
+    }
+
+    @Override
+    public long getFencingToken() {
+        long token = fencingToken;
+        return isLeader() ? token : 0;
+    }
+
+    @Override
+    public boolean acceptFencingToken(long token) {
+        return token >= highestSeenToken.accumulateAndGet(token, Math::max);
+    }
+
+    @Override
+    public void addLeadershipListener(LeadershipListener listener) {
+        listeners.add(listener);
+    }
+
+    private void tick(ScheduledExecutorService scheduler) {
+        long requestStart = System.nanoTime();
+        Lease lease;
+        try {
+            lease = store.acquireOrRenew(nodeId, leaseMillis);
+        } catch (RuntimeException e) {
+            if (!storeFailing) {
+                storeFailing = true;
+                System.out.println("⚠️ Leader lease store unreachable: " + e.getMessage());
+            }
+            checkExpiry(fencingToken);
+            return;
+        }
+        storeFailing = false;
+        highestSeenToken.accumulateAndGet(lease.fencingToken(), Math::max);
+
+        synchronized (stateLock) {
+            if (requestStart - lastRequestNanos < 0) {
+                return; // overtaken by a later request (volunteering runs next to the ticks)
+            }
+            lastRequestNanos = requestStart;
+            if (lease.owner().equals(nodeId)) {
+                long token = lease.fencingToken();
+                leaseDeadlineNanos = requestStart + TimeUnit.MILLISECONDS.toNanos(leaseMillis);
+                scheduler.schedule(() -> checkExpiry(token), leaseMillis, TimeUnit.MILLISECONDS);
+                if (fencingToken != token) {
+                    fencingToken = token;
+                    currentLeader = nodeId;
+                    System.out.println("👑 Acquired leader lease with fencing token " + token);
+                    notifyListeners(nodeId, token);
+                }
+            } else if (fencingToken != 0) {
+                stepDown(lease.owner());
+                notifyListeners(lease.owner(), lease.fencingToken());
+            } else if (!Objects.equals(currentLeader, lease.owner())) {
+                currentLeader = lease.owner();
+                notifyListeners(lease.owner(), lease.fencingToken());
+            }
+        }
+    }
+
+    /**
+     * Steps down if the lease taken under {@code token} ran out without renewal.
+     */
+    private void checkExpiry(long token) {
+        synchronized (stateLock) {
+            if (token != 0 && fencingToken == token && !isLeader()) {
+                stepDown(null);
+            }
+        }
+    }
+
+    private void stepDown(String newLeader) {
+        System.out.println("⬇️ Stepping down as leader (fencing token " + fencingToken + ")");
+        fencingToken = 0;
+        currentLeader = newLeader;
+        if (newLeader == null) {
+            notifyListeners(null, 0);
+        }
+    }
+
+    private void notifyListeners(String leaderId, long token) {
+        for (LeadershipListener listener : listeners) {
+            try {
+                listener.onLeaderChanged(leaderId, token);
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ Leadership listener failed: " + e.getMessage());
+            }
+        }
+    }
+}
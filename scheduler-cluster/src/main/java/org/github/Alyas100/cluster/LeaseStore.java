@@ -0,0 +1,22 @@
+package org.github.Alyas100.cluster;
+
+/**
+ * Shared, linearizable home of the leader {@link Lease}. Each call must be atomic against
+ * calls from every other node.
+ */
+public interface LeaseStore {
+
+    /**
+     * Takes the lease for {@code owner} if it is free or expired, or renews it if
+     * {@code owner} holds it.
+     *
+     * @return the lease in force afterwards, whoever holds it
+     */
+    Lease acquireOrRenew(String owner, long ttlMillis);
+
+    /**
+     * Gives up the lease early if {@code owner} still holds it under {@code fencingToken},
+     * so another node can take over without waiting for it to expire.
+     */
+    void release(String owner, long fencingToken);
+}
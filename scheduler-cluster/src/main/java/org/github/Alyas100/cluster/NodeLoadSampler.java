@@ -0,0 +1,54 @@
+package org.github.Alyas100.cluster;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.function.IntSupplier;
+
+/**
+ * Samples this node's load for the heartbeats: process CPU, heap in use and the number of
+ * fires the local executor is running.
+ *
+ * <p>CPU comes from {@code com.sun.management.OperatingSystemMXBean#getProcessCpuLoad} where the
+ * JVM offers it, otherwise from the system load average spread over the processors.</p>
+ */
+public class NodeLoadSampler {
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private volatile IntSupplier activeJobs = () -> 0;
+
+    /**
+     * One reading of the three figures carried by a {@link ClusterEvent.Heartbeat}.
+     *
+     * @param cpuLoad    process CPU, 0-100
+     * @param memoryUsed heap in use, in MB
+     * @param activeJobs fires running on the node
+     */
+    public record Sample(int cpuLoad, long memoryUsed, int activeJobs) {}
+
+    /**
+     * @param activeJobs number of fires currently running on this node
+     */
+    public void setActiveJobs(IntSupplier activeJobs) {
+        this.activeJobs = activeJobs != null ? activeJobs : () -> 0;
+    }
+
+    public Sample sample() {
+        return new Sample(cpuLoad(), memory.getHeapMemoryUsage().getUsed() / BYTES_PER_MB,
+                Math.max(0, activeJobs.getAsInt()));
+    }
+
+    private int cpuLoad() {
+        double load = -1;
+        if (os instanceof com.sun.management.OperatingSystemMXBean platform) {
+            load = platform.getProcessCpuLoad();
+        }
+        if (load < 0) {
+            double average = os.getSystemLoadAverage();
+            load = average < 0 ? 0 : average / os.getAvailableProcessors();
+        }
+        return (int) Math.round(Math.min(1.0, load) * 100);
+    }
+}
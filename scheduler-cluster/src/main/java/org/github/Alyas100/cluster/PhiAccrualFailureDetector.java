@@ -0,0 +1,117 @@
+package org.github.Alyas100.cluster;
+
+import java.time.Duration;
+
+/**
+ * Phi-accrual failure detector for the heartbeats of one node (Hayashibara et al.).
+ *
+ * <p>Instead of a fixed timeout it keeps a window of recent heartbeat inter-arrival times and
+ * answers how unlikely the current silence is under their normal distribution, as
+ * {@code phi = -log10(P(a heartbeat arrives later than now))}: phi 1 means a 10% chance the
+ * node is still fine, phi 8 one in 10^8. A node on a steady network crosses any threshold
+ * soon after its heartbeats stop, while one with jittery heartbeats gets more slack.</p>
+ *
+ * <p>{@code acceptablePause} is added to the mean, so pauses up to that long (GC, a busy
+ * host) barely raise phi. Times are milliseconds on any monotonic clock the caller uses.</p>
+ */
+public class PhiAccrualFailureDetector {
+    private final long[] intervals;
+    private final long minStdDevMillis;
+    private final long acceptablePauseMillis;
+    private final long firstIntervalMillis;
+    private int count;
+    private int next;
+    private double sum;
+    private double sumOfSquares;
+    private long lastHeartbeatMillis = -1;
+
+    /**
+     * @param firstInterval   expected heartbeat interval, used until real intervals are seen
+     * @param minStdDev       floor of the standard deviation, so a very regular history does not
+     *                        make a few milliseconds of delay look fatal
+     * @param acceptablePause silence tolerated on top of the mean interval
+     * @param maxSamples      number of recent intervals kept
+     */
+    public PhiAccrualFailureDetector(Duration firstInterval, Duration minStdDev, Duration acceptablePause,
+                                     int maxSamples) {
+        this.intervals = new long[maxSamples];
+        this.firstIntervalMillis = firstInterval.toMillis();
+        this.minStdDevMillis = Math.max(1, minStdDev.toMillis());
+        this.acceptablePauseMillis = acceptablePause.toMillis();
+    }
+
+    /**
+     * Records a heartbeat that arrived at {@code nowMillis}.
+     */
+    public synchronized void heartbeat(long nowMillis) {
+        if (lastHeartbeatMillis < 0) {
+            // Bootstrap around the expected interval: mean first, deviation first / 4
+            long deviation = firstIntervalMillis / 4;
+            add(firstIntervalMillis - deviation);
+            add(firstIntervalMillis + deviation);
+        } else {
+            add(Math.max(0, nowMillis - lastHeartbeatMillis));
+        }
+        lastHeartbeatMillis = nowMillis;
+    }
+
+    /**
+     * Suspicion level at {@code nowMillis}; 0 before the first heartbeat.
+     */
+    public synchronized double phi(long nowMillis) {
+        if (lastHeartbeatMillis < 0) {
+            return 0;
+        }
+        double mean = sum / count + acceptablePauseMillis;
+        double variance = sumOfSquares / count - (sum / count) * (sum / count);
+        double stdDev = Math.max(Math.sqrt(Math.max(0, variance)), minStdDevMillis);
+        return phi(nowMillis - lastHeartbeatMillis, mean, stdDev);
+    }
+
+    /**
+     * Forgets the history, e.g. after the node came back from being down: the long gap would
+     * otherwise skew the distribution for a long time.
+     */
+    public synchronized void reset() {
+        count = 0;
+        next = 0;
+        sum = 0;
+        sumOfSquares = 0;
+        lastHeartbeatMillis = -1;
+    }
+
+    public synchronized long getLastHeartbeatMillis() {
+        return lastHeartbeatMillis;
+    }
+
+    public synchronized double getMeanIntervalMillis() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    private void add(long interval) {
+        if (count == intervals.length) {
+            long dropped = intervals[next];
+            sum -= dropped;
+            sumOfSquares -= (double) dropped * dropped;
+        } else {
+            count++;
+        }
+        intervals[next] = interval;
+        next = (next + 1) % intervals.length;
+        sum += interval;
+        sumOfSquares += (double) interval * interval;
+    }
+
+    /**
+     * -log10 of the normal tail beyond {@code elapsed}, using the logistic approximation of the
+     * normal CDF (accurate to about 1e-4, and cheap enough to run on every check).
+     */
+    static double phi(long elapsed, double mean, double stdDev) {
+        double y = (elapsed - mean) / stdDev;
+        double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (elapsed > mean) {
+            return -Math.log10(e / (1.0 + e));
+        }
+        return -Math.log10(1.0 - 1.0 / (1.0 + e));
+    }
+}
@@ -0,0 +1,252 @@
+package org.github.Alyas100.cluster;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link HeartbeatManager} that sends a {@link ClusterEvent.Heartbeat} every interval and
+ * judges the other nodes with one {@link PhiAccrualFailureDetector} each.
+ *
+ * <p>A node whose phi reaches {@code suspectPhi} becomes {@link ClusterNode.NodeStatus#SUSPECTED},
+ * at {@code downPhi} it is {@link ClusterNode.NodeStatus#DOWN}, and its next heartbeat makes it
+ * {@link ClusterNode.NodeStatus#ACTIVE} again. Every transition is set on the node and told to
+ * the {@link ClusterListener}s. Nodes come from the membership; one that never sends a
+ * heartbeat is judged from the moment it was first seen.</p>
+ *
+ * <p>Each heartbeat carries a {@link NodeLoadSampler} reading, folded into the sender's
+ * {@link ClusterNode} on arrival (and into the local node when sent), so every node's view of
+ * the others' load is at most one interval old.</p>
+ *
+ * <p>Heartbeats go out through {@code transport} and come in through {@link #receive}, so the
+ * manager works over any channel that delivers them to every node.</p>
+ */
+public class PhiAccrualHeartbeatManager implements HeartbeatManager {
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMillis(500);
+    public static final Duration DEFAULT_ACCEPTABLE_PAUSE = Duration.ofSeconds(2);
+    public static final double DEFAULT_SUSPECT_PHI = 5;
+    public static final double DEFAULT_DOWN_PHI = 10;
+    private static final int MAX_SAMPLES = 200;
+
+    private final String localNodeId;
+    private final Consumer<ClusterEvent.Heartbeat> transport;
+    private final Supplier<? extends Collection<ClusterNode>> nodes;
+    private final Duration interval;
+    private final Duration acceptablePause;
+    private final double suspectPhi;
+    private final double downPhi;
+    private final Map<String, PhiAccrualFailureDetector> detectors = new ConcurrentHashMap<>();
+    private final Set<ClusterListener> listeners = ConcurrentHashMap.newKeySet();
+    private final NodeLoadSampler loadSampler = new NodeLoadSampler();
+
+    private ScheduledExecutorService ticker;
+
+    public PhiAccrualHeartbeatManager(String localNodeId, Consumer<ClusterEvent.Heartbeat> transport,
+                                      Supplier<? extends Collection<ClusterNode>> nodes) {
+        this(localNodeId, transport, nodes, DEFAULT_INTERVAL, DEFAULT_ACCEPTABLE_PAUSE,
+                DEFAULT_SUSPECT_PHI, DEFAULT_DOWN_PHI);
+    }
+
+    /**
+     * @param interval        how often heartbeats are sent
+     * @param acceptablePause silence tolerated on top of the usual interval (GC pauses), before phi rises
+     * @param suspectPhi      phi at which a node becomes SUSPECTED
+     * @param downPhi         phi at which a node becomes DOWN
+     */
+    public PhiAccrualHeartbeatManager(String localNodeId, Consumer<ClusterEvent.Heartbeat> transport,
+                                      Supplier<? extends Collection<ClusterNode>> nodes, Duration interval,
+                                      Duration acceptablePause, double suspectPhi, double downPhi) {
+        if (suspectPhi >= downPhi) {
+            throw new IllegalArgumentException("Suspect phi " + suspectPhi + " must be below down phi " + downPhi);
+        }
+        this.localNodeId = localNodeId;
+        this.transport = transport;
+        this.nodes = nodes;
+        this.interval = interval;
+        this.acceptablePause = acceptablePause;
+        this.suspectPhi = suspectPhi;
+        this.downPhi = downPhi;
+    }
+
+    /**
+     * Transitions are reported through {@link ClusterListener#onNodeStatusChanged}.
+     */
+    public void addClusterListener(ClusterListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeClusterListener(ClusterListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sends heartbeats every interval and checks the other nodes four times as often, so a
+     * threshold is noticed soon after it is crossed.
+     */
+    @Override
+    public synchronized void startHeartbeat() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        ticker.scheduleAtFixedRate(this::sendHeartbeat, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(this::check, intervalMillis, Math.max(1, intervalMillis / 4), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stopHeartbeat() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    public NodeLoadSampler getLoadSampler() {
+        return loadSampler;
+    }
+
+    @Override
+    public void sendHeartbeat() {
+        try {
+            NodeLoadSampler.Sample load = loadSampler.sample();
+            ClusterNode local = node(localNodeId);
+            if (local != null) {
+                local.updateHeartbeat();
+                local.updateLoad(load.cpuLoad(), load.memoryUsed(), load.activeJobs());
+            }
+            transport.accept(new ClusterEvent.Heartbeat(localNodeId, System.currentTimeMillis(),
+                    load.cpuLoad(), load.memoryUsed(), load.activeJobs()));
+        } catch (Exception e) {
+            System.out.println("⚠️ Failed to send heartbeat: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Takes in a heartbeat from another node; a node coming back from DOWN starts a fresh
+     * history, so its outage does not count as a normal interval.
+     */
+    public void receive(ClusterEvent.Heartbeat heartbeat) {
+        if (heartbeat.nodeId().equals(localNodeId)) {
+            return;
+        }
+        ClusterNode node = node(heartbeat.nodeId());
+        PhiAccrualFailureDetector detector = detector(heartbeat.nodeId());
+        if (node != null && node.isDown()) {
+            detector.reset();
+        }
+        detector.heartbeat(nowMillis());
+        if (node != null) {
+            node.updateHeartbeat();
+            node.updateLoad(heartbeat.cpuLoad(), heartbeat.memoryUsed(), heartbeat.activeJobs());
+            transition(node, ClusterNode.NodeStatus.ACTIVE);
+        }
+    }
+
+    /**
+     * Re-evaluates every known node now; runs on the heartbeat thread, but may be called to
+     * check on demand.
+     */
+    public void check() {
+        long now = nowMillis();
+        Set<String> present = new HashSet<>();
+        for (ClusterNode node : nodes.get()) {
+            String nodeId = node.getNodeId();
+            if (nodeId.equals(localNodeId)) {
+                continue;
+            }
+            present.add(nodeId);
+            PhiAccrualFailureDetector detector = detector(nodeId);
+            if (detector.getLastHeartbeatMillis() < 0) {
+                detector.heartbeat(now); // judged from when first seen
+            }
+            double phi = detector.phi(now);
+            if (phi >= downPhi) {
+                transition(node, ClusterNode.NodeStatus.DOWN);
+            } else if (phi >= suspectPhi && node.isActive()) {
+                transition(node, ClusterNode.NodeStatus.SUSPECTED);
+            }
+        }
+        detectors.keySet().retainAll(present);
+    }
+
+    /**
+     * Current suspicion level of {@code nodeId}; 0 for unknown nodes.
+     */
+    public double getPhi(String nodeId) {
+        PhiAccrualFailureDetector detector = detectors.get(nodeId);
+        return detector != null ? detector.phi(nowMillis()) : 0;
+    }
+
+    @Override
+    public boolean isNodeAlive(String nodeId) {
+        if (nodeId.equals(localNodeId)) {
+            return true;
+        }
+        ClusterNode node = node(nodeId);
+        return node != null && !node.isDown();
+    }
+
+    @Override
+    public Set<String> getDeadNodes() {
+        Set<String> dead = new HashSet<>();
+        for (ClusterNode node : nodes.get()) {
+            if (node.isDown()) {
+                dead.add(node.getNodeId());
+            }
+        }
+        return dead;
+    }
+
+    /**
+     * Milliseconds since the last heartbeat of {@code nodeId} arrived (or since it was first
+     * seen); -1 for unknown nodes.
+     */
+    @Override
+    public long getTimeSinceLastHeartbeat(String nodeId) {
+        PhiAccrualFailureDetector detector = detectors.get(nodeId);
+        if (detector == null) {
+            return -1;
+        }
+        return nowMillis() - detector.getLastHeartbeatMillis();
+    }
+
+    private PhiAccrualFailureDetector detector(String nodeId) {
+        return detectors.computeIfAbsent(nodeId, id -> new PhiAccrualFailureDetector(interval,
+                interval.dividedBy(5), acceptablePause, MAX_SAMPLES));
+    }
+
+    private void transition(ClusterNode node, ClusterNode.NodeStatus status) {
+        ClusterNode.NodeStatus previous;
+        synchronized (node) {
+            previous = node.getStatus();
+            if (previous == status || previous == ClusterNode.NodeStatus.SHUTTING_DOWN) {
+                return;
+            }
+            node.setStatus(status);
+        }
+        listeners.forEach(listener -> listener.onNodeStatusChanged(node, previous));
+    }
+
+    private ClusterNode node(String nodeId) {
+        for (ClusterNode node : nodes.get()) {
+            if (node.getNodeId().equals(nodeId)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private static long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+}
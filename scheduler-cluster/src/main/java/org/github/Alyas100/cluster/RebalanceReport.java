@@ -0,0 +1,21 @@
+package org.github.Alyas100.cluster;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one {@link ClusterManager#rebalanceJobs()}.
+ *
+ * @param version    version of the slot table now in force; 0 if there is none
+ * @param nodes      nodes the jobs were spread over
+ * @param totalJobs  jobs known to the rebalancing node
+ * @param movedSlots slots that changed owner
+ * @param movedJobs  jobs in those slots
+ * @param duration   time to plan and commit the change
+ */
+public record RebalanceReport(long version, int nodes, int totalJobs, int movedSlots, int movedJobs,
+                              Duration duration) {
+
+    public static RebalanceReport none() {
+        return new RebalanceReport(0, 0, 0, 0, 0, Duration.ZERO);
+    }
+}
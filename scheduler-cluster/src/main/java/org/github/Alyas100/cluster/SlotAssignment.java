@@ -0,0 +1,61 @@
+package org.github.Alyas100.cluster;
+
+import java.util.Arrays;
+
+/**
+ * Versioned table of which node owns each job slot. Job ids hash onto a fixed number of
+ * slots, so moving ownership means rewriting a few thousand entries however many jobs there
+ * are, and a whole table can be swapped in one step.
+ *
+ * <p>{@code slotNodes[slot]} indexes into {@code nodes}. Arrays are compared by identity, as
+ * in every record; compare {@link #version()} instead.</p>
+ *
+ * @param version   increases with every committed change
+ * @param nodes     owner node ids
+ * @param slotNodes owner of each slot, as an index into {@code nodes}
+ */
+public record SlotAssignment(long version, String[] nodes, int[] slotNodes) {
+    public static final int DEFAULT_SLOT_COUNT = 1024;
+
+    /**
+     * The slot of {@code jobId} among {@code slotCount}; the same on every node.
+     */
+    public static int slotOf(String jobId, int slotCount) {
+        return (int) Long.remainderUnsigned(ConsistentHashRing.hash(jobId), slotCount);
+    }
+
+    /**
+     * Each slot owned by the ring owner of its slot key, as {@link #ringOwner} places it.
+     */
+    public static SlotAssignment fromRing(ConsistentHashRing ring, int slotCount, long version) {
+        String[] nodes = ring.nodes().stream().sorted().toArray(String[]::new);
+        int[] slotNodes = new int[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            slotNodes[slot] = Arrays.binarySearch(nodes, ring.owner(slotKey(slot)));
+        }
+        return new SlotAssignment(version, nodes, slotNodes);
+    }
+
+    /**
+     * Owner of {@code jobId} when no table has been committed yet: the ring owner of its slot.
+     */
+    public static String ringOwner(ConsistentHashRing ring, String jobId, int slotCount) {
+        return ring.owner(slotKey(slotOf(jobId, slotCount)));
+    }
+
+    public String owner(String jobId) {
+        return ownerOfSlot(slotOf(jobId, slotNodes.length));
+    }
+
+    public String ownerOfSlot(int slot) {
+        return nodes[slotNodes[slot]];
+    }
+
+    public int slotCount() {
+        return slotNodes.length;
+    }
+
+    private static String slotKey(int slot) {
+        return "slot-" + slot;
+    }
+}
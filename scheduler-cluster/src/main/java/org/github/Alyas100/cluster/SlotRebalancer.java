@@ -0,0 +1,188 @@
+package org.github.Alyas100.cluster;
+
+import java.util.*;
+
+/**
+ * Plans a new {@link SlotAssignment} that moves as few jobs as possible.
+ *
+ * <p>Every node gets a fair share of the jobs, shrunk by up to half for a node reporting a
+ * high {@link ClusterNode#getLoadScore()}, and may hold {@code tolerance} more or less than
+ * that. Slots stay where they are unless their owner is gone or above its share plus the
+ * tolerance; an overloaded node gives up its lightest slots until it fits. The freed slots
+ * then go, heaviest first, to the node with the most room left. Last, a node still below its
+ * share minus the tolerance (one that just joined) takes from the node furthest above its
+ * share the largest slot that overshoots neither, until it gets there. A leaving node's slots
+ * are thus the only ones that move, and a joining node receives only what it needs to come
+ * within the tolerance.</p>
+ *
+ * <p>Jobs are what gets balanced; an empty slot counts for a small fraction of a job, only so
+ * that empty slots still spread evenly.</p>
+ */
+public final class SlotRebalancer {
+    public static final double DEFAULT_TOLERANCE = 0.1;
+
+    private SlotRebalancer() {
+    }
+
+    /**
+     * @param assignment the planned table
+     * @param movedSlots slots whose owner changed
+     * @param movedJobs  jobs in those slots
+     * @param totalJobs  jobs over all slots
+     */
+    public record Plan(SlotAssignment assignment, int movedSlots, int movedJobs, int totalJobs) {}
+
+    /**
+     * @param current     table in force
+     * @param jobsPerSlot jobs in each slot
+     * @param nodes       nodes that may own slots
+     * @param tolerance   fraction of its fair share a node may hold above or below it
+     */
+    public static Plan plan(SlotAssignment current, int[] jobsPerSlot, Collection<ClusterNode> nodes,
+                            double tolerance) {
+        int slotCount = jobsPerSlot.length;
+        int totalJobs = 0;
+        for (int jobs : jobsPerSlot) {
+            totalJobs += jobs;
+        }
+        List<ClusterNode> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparing(ClusterNode::getNodeId));
+        int nodeCount = sorted.size();
+        if (nodeCount == 0) {
+            return new Plan(current, 0, 0, totalJobs);
+        }
+        String[] ids = new String[nodeCount];
+        Map<String, Integer> index = new HashMap<>(nodeCount * 2);
+        double[] score = new double[nodeCount];
+        double[] share = new double[nodeCount];
+        double shares = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            ids[i] = sorted.get(i).getNodeId();
+            index.put(ids[i], i);
+            score[i] = sorted.get(i).getLoadScore();
+            share[i] = 1 - 0.5 * Math.min(1, Math.max(0, score[i] / 100));
+            shares += share[i];
+        }
+        long[] weight = new long[slotCount];
+        long totalWeight = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            weight[slot] = (long) jobsPerSlot[slot] * slotCount + 1;
+            totalWeight += weight[slot];
+        }
+        double[] fair = new double[nodeCount];
+        long[] capacity = new long[nodeCount];
+        long[] floor = new long[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            fair[i] = totalWeight * share[i] / shares;
+            capacity[i] = (long) Math.ceil(fair[i] * (1 + tolerance));
+            floor[i] = (long) Math.floor(fair[i] * (1 - tolerance));
+        }
+
+        // Keep every slot whose owner is still here
+        boolean sameSlots = current != null && current.slotCount() == slotCount;
+        int[] owner = new int[slotCount];
+        long[] load = new long[nodeCount];
+        List<List<Integer>> owned = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            owned.add(new ArrayList<>());
+        }
+        List<Integer> freed = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            Integer i = sameSlots ? index.get(current.ownerOfSlot(slot)) : null;
+            if (i == null) {
+                owner[slot] = -1;
+                freed.add(slot);
+            } else {
+                owner[slot] = i;
+                load[i] += weight[slot];
+                owned.get(i).add(slot);
+            }
+        }
+
+        // Overloaded nodes give up their lightest slots until they fit
+        Comparator<Integer> lightestFirst = Comparator.<Integer>comparingLong(slot -> weight[slot])
+                .thenComparingInt(slot -> slot);
+        for (int i = 0; i < nodeCount; i++) {
+            if (load[i] <= capacity[i]) {
+                continue;
+            }
+            List<Integer> slots = owned.get(i);
+            slots.sort(lightestFirst);
+            for (int k = 0; k < slots.size() && load[i] > capacity[i]; k++) {
+                int slot = slots.get(k);
+                owner[slot] = -1;
+                load[i] -= weight[slot];
+                freed.add(slot);
+            }
+        }
+
+        // Freed slots, heaviest first, go where there is the most room
+        freed.sort(lightestFirst.reversed());
+        for (int slot : freed) {
+            int best = 0;
+            for (int i = 1; i < nodeCount; i++) {
+                long room = capacity[i] - load[i];
+                long bestRoom = capacity[best] - load[best];
+                if (room > bestRoom || (room == bestRoom && score[i] < score[best])) {
+                    best = i;
+                }
+            }
+            owner[slot] = best;
+            load[best] += weight[slot];
+        }
+
+        // Nodes far below their share take the largest fitting slots of those furthest above theirs
+        List<TreeMap<Long, Deque<Integer>>> bySize = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            bySize.add(new TreeMap<>());
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            bySize.get(owner[slot]).computeIfAbsent(weight[slot], w -> new ArrayDeque<>()).add(slot);
+        }
+        boolean[] exhausted = new boolean[nodeCount];
+        while (true) {
+            int taker = -1;
+            int donor = -1;
+            for (int i = 0; i < nodeCount; i++) {
+                if (load[i] < floor[i] && (taker < 0 || floor[i] - load[i] > floor[taker] - load[taker])) {
+                    taker = i;
+                }
+                if (load[i] > fair[i] && !exhausted[i]
+                        && (donor < 0 || load[i] - fair[i] > load[donor] - fair[donor])) {
+                    donor = i;
+                }
+            }
+            if (taker < 0 || donor < 0) {
+                break;
+            }
+            TreeMap<Long, Deque<Integer>> slots = bySize.get(donor);
+            long fits = (long) Math.min(load[donor] - fair[donor], fair[taker] - load[taker]);
+            Map.Entry<Long, Deque<Integer>> entry = slots.floorEntry(fits);
+            if (entry == null) {
+                entry = slots.firstEntry();
+            }
+            if (entry == null || load[donor] - entry.getKey() < floor[donor]) {
+                exhausted[donor] = true; // nothing it can spare without falling too low itself
+                continue;
+            }
+            int slot = entry.getValue().poll();
+            if (entry.getValue().isEmpty()) {
+                slots.remove(entry.getKey());
+            }
+            owner[slot] = taker;
+            load[donor] -= weight[slot];
+            load[taker] += weight[slot];
+        }
+
+        int movedSlots = 0;
+        int movedJobs = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!sameSlots || !ids[owner[slot]].equals(current.ownerOfSlot(slot))) {
+                movedSlots++;
+                movedJobs += jobsPerSlot[slot];
+            }
+        }
+        long version = current != null ? current.version() + 1 : 1;
+        return new Plan(new SlotAssignment(version, ids, owner), movedSlots, movedJobs, totalJobs);
+    }
+}
@@ -0,0 +1,226 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.ReliableMessageListener;
+import org.github.Alyas100.cluster.ClusterEvent;
+import org.github.Alyas100.cluster.ClusterEventCodec;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link ClusterEvent}s between members in batches over a Hazelcast reliable topic.
+ *
+ * <p>Events published within {@code window} of the first pending one (or until
+ * {@code maxBatch} are pending) go out as one {@link ClusterEventCodec} message, so a bulk
+ * registration costs one publish per batch instead of one per job, and an event costs a few
+ * bytes plus its ids. Every member delivers the events of a batch to its subscriber in
+ * order, on the topic's listener thread.</p>
+ *
+ * <p>Each sender numbers its batches. The topic keeps the last batches in a ringbuffer; a
+ * member that falls so far behind that the ringbuffer has moved on skips ahead rather than
+ * stopping, and the jump in the sender's numbers shows it how many batches it missed. The
+ * events are all state that is sent again (heartbeats) or also known from Hazelcast
+ * membership, so a gap is counted and logged, not repaired.</p>
+ */
+public class ClusterEventBus {
+    public static final String TOPIC_NAME = "cluster-events";
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+    public static final int DEFAULT_MAX_BATCH = 512;
+
+    private final ITopic<byte[]> topic;
+    private final String localNodeId;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final Object outboxLock = new Object();
+    private final Object sendLock = new Object();
+    private final ThreadPoolExecutor flusher = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "cluster-event-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Long> lastSequence = new ConcurrentHashMap<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong missedBatches = new AtomicLong();
+
+    private List<ClusterEvent> outbox = new ArrayList<>();
+    private long nextSequence = 1;
+    private volatile Consumer<ClusterEvent> subscriber;
+    private UUID registration;
+
+    /**
+     * Counters of one member's bus.
+     *
+     * @param published     events published here
+     * @param batches       batches sent for them
+     * @param bytes         encoded size of those batches
+     * @param delivered     events received from every member, this one included
+     * @param missedBatches batches skipped because this member lagged
+     */
+    public record Stats(long published, long batches, long bytes, long delivered, long missedBatches) {}
+
+    public ClusterEventBus(HazelcastInstance hazelcast, String localNodeId) {
+        this(hazelcast, localNodeId, DEFAULT_WINDOW, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * @param window   how long the first pending event waits for others to join its batch
+     * @param maxBatch events that make a batch go out without waiting for the window
+     */
+    public ClusterEventBus(HazelcastInstance hazelcast, String localNodeId, Duration window, int maxBatch) {
+        this.topic = hazelcast.getReliableTopic(TOPIC_NAME);
+        this.localNodeId = localNodeId;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.flusher.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts delivering every member's events, from now on, to {@code subscriber}.
+     */
+    public synchronized void subscribe(Consumer<ClusterEvent> subscriber) {
+        this.subscriber = subscriber;
+        if (registration == null) {
+            registration = topic.addMessageListener(new BatchListener());
+        }
+    }
+
+    public synchronized void unsubscribe() {
+        if (registration != null) {
+            topic.removeMessageListener(registration);
+            registration = null;
+        }
+        subscriber = null;
+    }
+
+    public void publish(ClusterEvent event) {
+        boolean first;
+        synchronized (outboxLock) {
+            outbox.add(event);
+            first = outbox.size() == 1;
+            if (outbox.size() == maxBatch) {
+                outboxLock.notifyAll();
+            }
+        }
+        published.incrementAndGet();
+        if (first) {
+            flusher.execute(this::flushAfterWindow);
+        }
+    }
+
+    /**
+     * Sends every pending event now, returning once they are on the topic.
+     */
+    public void flush() {
+        synchronized (sendLock) {
+            List<ClusterEvent> pending;
+            synchronized (outboxLock) {
+                if (outbox.isEmpty()) {
+                    return;
+                }
+                pending = outbox;
+                outbox = new ArrayList<>();
+            }
+            for (int from = 0; from < pending.size(); from += maxBatch) {
+                List<ClusterEvent> events = pending.subList(from, Math.min(pending.size(), from + maxBatch));
+                byte[] batch = ClusterEventCodec.encode(new ClusterEventCodec.Batch(localNodeId, nextSequence,
+                        new ArrayList<>(events)));
+                topic.publish(batch);
+                nextSequence++; // only once sent, so a failed publish does not look like a gap
+                batches.incrementAndGet();
+                bytes.addAndGet(batch.length);
+            }
+        }
+    }
+
+    /**
+     * Drops what is known about a member that left the cluster, so a long-lived bus does not
+     * keep one sequence per member that ever published. Called on the member's own
+     * {@link ClusterEvent.NodeLeft} and, for members that crashed, on its removal.
+     */
+    public void forgetSender(String nodeId) {
+        lastSequence.remove(nodeId);
+    }
+
+    public Stats stats() {
+        return new Stats(published.get(), batches.get(), bytes.get(), delivered.get(), missedBatches.get());
+    }
+
+    private void flushAfterWindow() {
+        long deadline = System.nanoTime() + windowNanos;
+        synchronized (outboxLock) {
+            long remaining;
+            while (!outbox.isEmpty() && outbox.size() < maxBatch
+                    && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(outboxLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        try {
+            flush();
+        } catch (HazelcastInstanceNotActiveException e) {
+            // shutting down; nobody is left to tell
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ [CLUSTER] Failed to publish cluster events: " + e.getMessage());
+        }
+    }
+
+    private class BatchListener implements ReliableMessageListener<byte[]> {
+        @Override
+        public void onMessage(Message<byte[]> message) {
+            ClusterEventCodec.Batch batch = ClusterEventCodec.decode(message.getMessageObject());
+            Long previous = lastSequence.put(batch.senderId(), batch.sequence());
+            if (previous != null && batch.sequence() > previous + 1) {
+                long missed = batch.sequence() - previous - 1;
+                missedBatches.addAndGet(missed);
+                System.out.println("⚠️ [CLUSTER] Missed " + missed + " event batches from node " + batch.senderId());
+            }
+            Consumer<ClusterEvent> target = subscriber;
+            for (ClusterEvent event : batch.events()) {
+                delivered.incrementAndGet();
+                if (target != null) {
+                    target.accept(event);
+                }
+                if (event instanceof ClusterEvent.NodeLeft left) {
+                    forgetSender(left.nodeId());
+                }
+            }
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            return -1; // only what is published from now on
+        }
+
+        @Override
+        public void storeSequence(long sequence) {
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return true; // skip ahead when lagging; the batch numbers tell what was missed
+        }
+
+        @Override
+        public boolean isTerminal(Throwable failure) {
+            return false;
+        }
+    }
+}
@@ -1,47 +1,294 @@
 package org.github.Alyas100.cluster.hazelcast;
 
-import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.cluster.InitialMembershipEvent;
+import com.hazelcast.cluster.InitialMembershipListener;
 import com.hazelcast.cluster.Member;
-import com.hazelcast.topic.ITopic;
+import com.hazelcast.cluster.MembershipEvent;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
 import org.github.Alyas100.cluster.ClusterState;
 import org.github.Alyas100.cluster.*;
 import org.github.Alyas100.JobDefinition;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
+/**
+ * {@link ClusterManager} on an embedded Hazelcast member.
+ *
+ * <p>Membership is kept as an immutable {@link MembershipView} that only a Hazelcast
+ * membership listener replaces, so {@link #isLeader()} and node lookups on the scheduling
+ * path are a volatile read plus a map lookup instead of a walk over the member list.</p>
+ *
+ * <p>Leadership is a {@link LeaseLeaderElection} lease kept in a Hazelcast map, so a leader
+ * that loses its lease stops leading on its own, and every change of leader reaches the
+ * {@link ClusterListener}s of this node with a fresh fencing token.</p>
+ *
+ * <p>Cluster events travel in batches on a {@link ClusterEventBus}. Members heartbeat each
+ * other over it and a {@link PhiAccrualHeartbeatManager} moves their {@link ClusterNode}s
+ * between ACTIVE, SUSPECTED and DOWN, well before Hazelcast's own member timeout would drop
+ * them. Fires are only dispatched to ACTIVE members. A member going DOWN keeps the fires it
+ * is running: it may only be paused, and as they carry the same fencing token, sending them
+ * elsewhere could run them twice. They move once Hazelcast removes the member. The heartbeats
+ * also carry each member's CPU, heap and running fires into its {@link ClusterNode}.</p>
+ *
+ * <p>In {@link Mode#LEADER} mode the leader schedules every job and its fires are spread over
+ * the members by a {@link HazelcastJobDistributor}; a member that leaves has its running fires
+ * moved to the others. In {@link Mode#PARTITIONED} mode there is no scheduling leader: job ids
+ * are hashed onto the members' {@link ConsistentHashRing} and each member schedules and runs
+ * the jobs it owns, so scheduling capacity grows with the member count. Job ids hash onto
+ * {@value SlotAssignment#DEFAULT_SLOT_COUNT} slots, and a {@link SlotAssignment} table kept
+ * in a Hazelcast map says who owns each slot (until the first table is committed, the ring
+ * owner of the slot). The leader rebalances whenever a member starts, stops, leaves or goes
+ * DOWN: {@link SlotRebalancer} moves the fewest jobs that bring every member within its
+ * capacity, and the new table replaces the old one with a compare-and-set, so every member
+ * switches from one whole table to the next. The previous owner of a moved slot stops its
+ * jobs as soon as it sees the new table, the new owner arms them after a handoff delay.</p>
+ *
+ * <p>A {@link #workQueue} member is a leader-mode member whose fires default to
+ * {@link JobDistributor.DistributionStrategy#WORK_QUEUE}: the leader queues them per member
+ * and every member pulls fires in batches as it has room, stealing from the deepest queues
+ * when its own is empty.</p>
+ */
 public class HazelcastClusterManager implements ClusterManager {
     private final HazelcastInstance hazelcast;
     private final String nodeId;
     private final Set<ClusterListener> listeners = ConcurrentHashMap.newKeySet();
-    private final ITopic<ClusterEvent> eventTopic;
+    private final ClusterEventBus events;
+    private final LeaseLeaderElection election;
+    private final HazelcastJobDistributor distributor;
+    private final PhiAccrualHeartbeatManager heartbeats;
+    private final Mode mode;
+    private final Duration handoffDelay;
+    private final IMap<String, SlotAssignment> assignments;
+    private final Set<String> startedNodes = ConcurrentHashMap.newKeySet();
+    private final Object rebalanceLock = new Object();
+    private final AtomicBoolean rebalanceRequested = new AtomicBoolean();
+    private final ThreadPoolExecutor rebalancer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile MembershipView membership = MembershipView.empty();
+    private volatile boolean started;
+    private volatile SlotAssignment assignment;
+    private volatile Supplier<? extends Collection<String>> jobCatalog = List::of;
+    private volatile RebalanceReport lastRebalance = RebalanceReport.none();
+
+    private static final String ASSIGNMENT_MAP = "job-assignment";
+    private static final String ASSIGNMENT_KEY = "slots";
+    private static final int COMMIT_ATTEMPTS = 3;
 
     public HazelcastClusterManager(HazelcastInstance hazelcast) {
+        this(hazelcast, LeaseLeaderElection.DEFAULT_LEASE_DURATION, LeaseLeaderElection.DEFAULT_RENEW_INTERVAL);
+    }
+
+    /**
+     * @param leaseDuration how long leadership survives without renewal; bounds failover after a crash
+     * @param renewInterval how often the leader renews (and the others ask for) the lease
+     */
+    public HazelcastClusterManager(HazelcastInstance hazelcast, Duration leaseDuration, Duration renewInterval) {
+        this(hazelcast, leaseDuration, renewInterval, JobDistributor.DistributionStrategy.LOAD_BASED);
+    }
+
+    /**
+     * @param distributionStrategy strategy for jobs that do not name one in their
+     *                             {@value JobDistributor#STRATEGY_PARAMETER} parameter
+     */
+    public HazelcastClusterManager(HazelcastInstance hazelcast, Duration leaseDuration, Duration renewInterval,
+                                   JobDistributor.DistributionStrategy distributionStrategy) {
+        this(hazelcast, leaseDuration, renewInterval, distributionStrategy, Mode.LEADER, Duration.ZERO,
+                HazelcastJobDistributor.DEFAULT_WORKER_SLOTS);
+    }
+
+    private HazelcastClusterManager(HazelcastInstance hazelcast, Duration leaseDuration, Duration renewInterval,
+                                    JobDistributor.DistributionStrategy distributionStrategy,
+                                    Mode mode, Duration handoffDelay, int workerSlots) {
         this.hazelcast = hazelcast;
+        this.mode = mode;
+        this.handoffDelay = handoffDelay;
         this.nodeId = hazelcast.getCluster().getLocalMember().getUuid().toString();
-        this.eventTopic = hazelcast.getTopic("cluster-events");
+        this.events = new ClusterEventBus(hazelcast, nodeId);
+        this.election = new LeaseLeaderElection(new HazelcastLeaseStore(hazelcast, "leader"), nodeId,
+                leaseDuration, renewInterval);
+        election.addLeadershipListener((leaderId, fencingToken) -> {
+            listeners.forEach(listener -> listener.onLeaderElected(leaderId != null ? leaderId : "none"));
+            if (nodeId.equals(leaderId)) {
+                requestRebalance();
+            }
+        });
+        this.distributor = new HazelcastJobDistributor(hazelcast, nodeId, () -> membership,
+                election::getFencingToken, distributionStrategy, workerSlots);
+        this.heartbeats = new PhiAccrualHeartbeatManager(nodeId, events::publish, () -> membership.nodeList());
+        heartbeats.addClusterListener(new ClusterListener() {
+            @Override
+            public void onNodeStatusChanged(ClusterNode node, ClusterNode.NodeStatus previous) {
+                if (node.isDown() || previous == ClusterNode.NodeStatus.DOWN) {
+                    requestRebalance();
+                }
+                listeners.forEach(listener -> listener.onNodeStatusChanged(node, previous));
+            }
+        });
+        this.assignments = hazelcast.getMap(ASSIGNMENT_MAP);
+        this.rebalancer.allowCoreThreadTimeOut(true);
+        trackMembership();
         setupEventListening();
+        if (mode == Mode.PARTITIONED) {
+            trackAssignment();
+        }
+    }
+
+    /**
+     * A leaderless member scheduling the jobs it owns on the ring.
+     */
+    public static HazelcastClusterManager partitioned(HazelcastInstance hazelcast) {
+        return partitioned(hazelcast, DEFAULT_HANDOFF_DELAY);
+    }
+
+    /**
+     * @param handoffDelay how long a member waits before arming jobs it gained
+     */
+    public static HazelcastClusterManager partitioned(HazelcastInstance hazelcast, Duration handoffDelay) {
+        return new HazelcastClusterManager(hazelcast, LeaseLeaderElection.DEFAULT_LEASE_DURATION,
+                LeaseLeaderElection.DEFAULT_RENEW_INTERVAL, JobDistributor.DistributionStrategy.LOAD_BASED,
+                Mode.PARTITIONED, handoffDelay, HazelcastJobDistributor.DEFAULT_WORKER_SLOTS);
+    }
+
+    /**
+     * A leader-mode member pulling queued fires, up to {@value HazelcastJobDistributor#DEFAULT_WORKER_SLOTS} at a time.
+     */
+    public static HazelcastClusterManager workQueue(HazelcastInstance hazelcast) {
+        return workQueue(hazelcast, HazelcastJobDistributor.DEFAULT_WORKER_SLOTS);
+    }
+
+    /**
+     * @param workerSlots queued fires this member runs at once
+     */
+    public static HazelcastClusterManager workQueue(HazelcastInstance hazelcast, int workerSlots) {
+        return new HazelcastClusterManager(hazelcast, LeaseLeaderElection.DEFAULT_LEASE_DURATION,
+                LeaseLeaderElection.DEFAULT_RENEW_INTERVAL, JobDistributor.DistributionStrategy.WORK_QUEUE,
+                Mode.LEADER, Duration.ZERO, workerSlots);
+    }
+
+    public Mode getMode() {
+        return mode;
     }
 
     @Override
     public void start() {
-        System.out.println("🚀 Starting Hazelcast cluster node: " + nodeId);
-        eventTopic.publish(new ClusterEvent.NodeJoined(nodeId));
+        System.out.println("🚀 Starting Hazelcast cluster node: " + nodeId + " (" + mode + ")");
+        events.publish(new ClusterEvent.NodeJoined(nodeId));
+        election.startElection();
+        heartbeats.startHeartbeat();
+        distributor.start();
+        started = true;
+        ownershipChanged();
+        requestRebalance();
     }
 
+    /**
+     * Releases the leader lease first, so a successor takes over without waiting for it to expire.
+     */
     @Override
     public void stop() {
-        eventTopic.publish(new ClusterEvent.NodeLeft(nodeId));
+        started = false;
+        ownershipChanged();
+        distributor.stop();
+        heartbeats.stopHeartbeat();
+        election.stopElection();
+        events.publish(new ClusterEvent.NodeLeft(nodeId));
+        events.flush();
         System.out.println("🛑 Stopping Hazelcast cluster node: " + nodeId);
     }
 
     @Override
     public boolean isLeader() {
-        // Simple leader election: node with smallest UUID becomes leader
-        return getClusterNodes().stream()
-                .min(Comparator.comparing(ClusterNode::getNodeId))  // ✅ FIXED: getNodeId()
-                .map(leader -> leader.getNodeId().equals(nodeId))    // ✅ FIXED: getNodeId()
-                .orElse(false);
+        return election.isLeader();
+    }
+
+    /**
+     * In a partitioned cluster: whether this member is the job's ring owner. The election
+     * still runs there, but only for cluster-wide chores such as rebalancing.
+     */
+    @Override
+    public boolean ownsJob(String jobId) {
+        if (mode == Mode.LEADER) {
+            return isLeader();
+        }
+        SlotAssignment current = assignment;
+        String owner = current != null ? current.owner(jobId)
+                : SlotAssignment.ringOwner(membership.ring(), jobId, SlotAssignment.DEFAULT_SLOT_COUNT);
+        return started && nodeId.equals(owner);
+    }
+
+    /**
+     * Slot table in force; null until the leader commits the first one.
+     */
+    public SlotAssignment getSlotAssignment() {
+        return assignment;
+    }
+
+    @Override
+    public Duration getOwnershipHandoffDelay() {
+        return handoffDelay;
+    }
+
+    /**
+     * Owners run their fires themselves in a partitioned cluster, so those are not fenced by
+     * the leader's token; a fire is instead admitted only while its job is still owned here.
+     */
+    @Override
+    public long getFencingToken() {
+        return mode == Mode.LEADER ? election.getFencingToken() : 0;
+    }
+
+    @Override
+    public boolean acceptFencingToken(long fencingToken) {
+        return election.acceptFencingToken(fencingToken);
+    }
+
+    public ClusterEventBus.Stats getEventStats() {
+        return events.stats();
+    }
+
+    public PhiAccrualHeartbeatManager getHeartbeatManager() {
+        return heartbeats;
+    }
+
+    @Override
+    public void setActiveJobCounter(IntSupplier activeJobs) {
+        heartbeats.getLoadSampler().setActiveJobs(activeJobs);
+    }
+
+    /**
+     * None in a partitioned cluster, where every owner runs its fires locally.
+     */
+    @Override
+    public JobDistributor getJobDistributor() {
+        return mode == Mode.LEADER ? distributor : null;
+    }
+
+    /**
+     * Kept in the Hazelcast user context, where {@link RemoteJobTask}s arriving on this member look it up.
+     */
+    @Override
+    public void setJobRunner(JobRunner runner) {
+        if (runner != null) {
+            hazelcast.getUserContext().put(RemoteJobTask.RUNNER_KEY, runner);
+        } else {
+            hazelcast.getUserContext().remove(RemoteJobTask.RUNNER_KEY);
+        }
     }
 
     @Override
@@ -49,35 +296,84 @@ public class HazelcastClusterManager implements ClusterManager {
         return nodeId;
     }
 
+    /**
+     * Current members; an immutable set shared by every caller until membership changes.
+     */
     @Override
     public Set<ClusterNode> getClusterNodes() {
-        Set<ClusterNode> nodes = new HashSet<>();
-        for (Member member : hazelcast.getCluster().getMembers()) {
-            ClusterNode node = new ClusterNode(
-                    member.getUuid().toString(),
-                    member.getAddress().getHost(),
-                    member.getAddress().getPort()
-            );
-            // Set additional fields
-            node.setStatus(ClusterNode.NodeStatus.ACTIVE);
-            node.updateHeartbeat(); // Set last heartbeat
-            nodes.add(node);
-        }
-        return nodes;
+        return membership.nodes();
     }
 
     @Override
     public void distributeJob(JobDefinition job) {
         if (isLeader()) {
             System.out.println("📤 [CLUSTER] Leader distributing job: " + job.jobId());
-            eventTopic.publish(new ClusterEvent.JobDistributed(job.jobId(), nodeId));
+            events.publish(new ClusterEvent.JobDistributed(job.jobId(), nodeId));
         }
     }
 
     @Override
-    public void rebalanceJobs() {
-        System.out.println("⚖️ [CLUSTER] Rebalancing jobs across cluster...");
-        // Implement job rebalancing logic
+    public void setJobCatalog(Supplier<? extends Collection<String>> jobIds) {
+        this.jobCatalog = jobIds != null ? jobIds : List::of;
+    }
+
+    /**
+     * On the leader of a partitioned cluster: plans a new slot table over the started, ACTIVE
+     * members and commits it if anything moves. Elsewhere, and in leader mode where the leader
+     * schedules every job anyway, nothing moves and the last report is returned.
+     */
+    @Override
+    public RebalanceReport rebalanceJobs() {
+        if (mode != Mode.PARTITIONED || !isLeader()) {
+            return lastRebalance;
+        }
+        synchronized (rebalanceLock) {
+            long startedAt = System.nanoTime();
+            List<ClusterNode> owners = new ArrayList<>();
+            for (ClusterNode node : membership.nodeList()) {
+                if (node.isActive() && (node.getNodeId().equals(nodeId) ? started : startedNodes.contains(node.getNodeId()))) {
+                    owners.add(node);
+                }
+            }
+            if (owners.isEmpty()) {
+                return lastRebalance;
+            }
+            int[] jobsPerSlot = new int[SlotAssignment.DEFAULT_SLOT_COUNT];
+            for (String jobId : jobCatalog.get()) {
+                jobsPerSlot[SlotAssignment.slotOf(jobId, jobsPerSlot.length)]++;
+            }
+            for (int attempt = 0; attempt < COMMIT_ATTEMPTS; attempt++) {
+                SlotAssignment stored = assignments.get(ASSIGNMENT_KEY);
+                SlotAssignment current = stored != null ? stored
+                        : SlotAssignment.fromRing(membership.ring(), jobsPerSlot.length, 0);
+                SlotRebalancer.Plan plan = SlotRebalancer.plan(current, jobsPerSlot, owners,
+                        SlotRebalancer.DEFAULT_TOLERANCE);
+                if (stored != null && plan.movedSlots() == 0) {
+                    return lastRebalance = new RebalanceReport(stored.version(), owners.size(), plan.totalJobs(), 0, 0,
+                            Duration.ofNanos(System.nanoTime() - startedAt));
+                }
+                boolean committed = stored == null
+                        ? assignments.putIfAbsent(ASSIGNMENT_KEY, plan.assignment()) == null
+                        : assignments.replace(ASSIGNMENT_KEY, stored, plan.assignment());
+                if (committed) {
+                    RebalanceReport report = new RebalanceReport(plan.assignment().version(), owners.size(),
+                            plan.totalJobs(), plan.movedSlots(), plan.movedJobs(),
+                            Duration.ofNanos(System.nanoTime() - startedAt));
+                    lastRebalance = report;
+                    applyAssignment(plan.assignment());
+                    System.out.println("⚖️ [CLUSTER] Rebalanced " + report.totalJobs() + " jobs over " + report.nodes()
+                            + " nodes: moved " + report.movedJobs() + " jobs (" + report.movedSlots() + " slots) in "
+                            + report.duration().toMillis() + "ms, table v" + report.version());
+                    return report;
+                }
+            }
+            System.out.println("⚠️ [CLUSTER] Rebalance lost " + COMMIT_ATTEMPTS + " races for the slot table");
+            return lastRebalance;
+        }
+    }
+
+    public RebalanceReport getLastRebalance() {
+        return lastRebalance;
     }
 
     @Override
@@ -92,11 +388,10 @@ public class HazelcastClusterManager implements ClusterManager {
 
     @Override
     public ClusterState getClusterState() {
-        Set<ClusterNode> nodes = getClusterNodes();
-        String leaderId = nodes.stream()
-                .min(Comparator.comparing(ClusterNode::getNodeId))  // ✅ FIXED: getNodeId()
-                .map(ClusterNode::getNodeId)                        // ✅ FIXED: getNodeId()
-                .orElse("unknown");
+        MembershipView view = membership;
+        Set<ClusterNode> nodes = view.nodes();
+        String leader = election.getCurrentLeader();
+        String leaderId = leader != null ? leader : "unknown";
 
         return new ClusterState(
                 leaderId,
@@ -106,9 +401,115 @@ public class HazelcastClusterManager implements ClusterManager {
         );
     }
 
+    /**
+     * The initial event carries the member list as of registration, so no change can slip in
+     * between reading the members and listening for changes.
+     */
+    private void trackMembership() {
+        hazelcast.getCluster().addMembershipListener(new InitialMembershipListener() {
+            @Override
+            public void init(InitialMembershipEvent event) {
+                updateMembership(event.getMembers());
+            }
+
+            @Override
+            public void memberAdded(MembershipEvent event) {
+                updateMembership(event.getMembers());
+            }
+
+            @Override
+            public void memberRemoved(MembershipEvent event) {
+                String removedId = event.getMember().getUuid().toString();
+                startedNodes.remove(removedId);
+                events.forgetSender(removedId);
+                updateMembership(event.getMembers());
+                distributor.reassignJobsFromNode(removedId);
+                requestRebalance();
+            }
+        });
+    }
+
+    /**
+     * Follows the committed slot table; registered before the first read, so no commit is missed.
+     */
+    private void trackAssignment() {
+        assignments.addEntryListener(new AssignmentListener(), ASSIGNMENT_KEY, true);
+        applyAssignment(assignments.get(ASSIGNMENT_KEY));
+    }
+
+    private void applyAssignment(SlotAssignment next) {
+        if (next == null) {
+            return;
+        }
+        synchronized (this) {
+            SlotAssignment current = assignment;
+            if (current != null && current.version() >= next.version()) {
+                return;
+            }
+            assignment = next;
+        }
+        ownershipChanged();
+    }
+
+    /**
+     * Runs a rebalance on the rebalancer thread; requests arriving before it starts share it.
+     */
+    private void requestRebalance() {
+        if (mode != Mode.PARTITIONED || !rebalanceRequested.compareAndSet(false, true)) {
+            return;
+        }
+        rebalancer.execute(() -> {
+            rebalanceRequested.set(false);
+            try {
+                rebalanceJobs();
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ [CLUSTER] Rebalance failed: " + e.getMessage());
+            }
+        });
+    }
+
+    private class AssignmentListener implements EntryAddedListener<String, SlotAssignment>,
+            EntryUpdatedListener<String, SlotAssignment> {
+        @Override
+        public void entryAdded(EntryEvent<String, SlotAssignment> event) {
+            applyAssignment(event.getValue());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<String, SlotAssignment> event) {
+            applyAssignment(event.getValue());
+        }
+    }
+
+    private void updateMembership(Collection<Member> members) {
+        synchronized (this) {
+            membership = MembershipView.of(members, membership);
+        }
+        ownershipChanged();
+    }
+
+    private void ownershipChanged() {
+        if (mode == Mode.PARTITIONED) {
+            listeners.forEach(ClusterListener::onOwnershipChanged);
+        }
+    }
+
     private void setupEventListening() {
-        eventTopic.addMessageListener(message -> {
-            ClusterEvent event = message.getMessageObject();
+        events.subscribe(event -> {
+            if (event instanceof ClusterEvent.Heartbeat heartbeat) {
+                heartbeats.receive(heartbeat);
+                if (mode == Mode.PARTITIONED && startedNodes.add(heartbeat.nodeId())) {
+                    requestRebalance();
+                }
+                return;
+            }
+            if (event instanceof ClusterEvent.NodeJoined joined && mode == Mode.PARTITIONED) {
+                startedNodes.add(joined.nodeId());
+                requestRebalance();
+            } else if (event instanceof ClusterEvent.NodeLeft left && mode == Mode.PARTITIONED) {
+                startedNodes.remove(left.nodeId());
+                requestRebalance();
+            }
             listeners.forEach(listener -> handleEvent(listener, event));
         });
     }
@@ -124,9 +525,6 @@ public class HazelcastClusterManager implements ClusterManager {
     }
 
     private ClusterNode findNode(String nodeId) {
-        return getClusterNodes().stream()
-                .filter(node -> node.getNodeId().equals(nodeId))  // ✅ FIXED: getNodeId()
-                .findFirst()
-                .orElse(null);
+        return membership.node(nodeId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,582 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.cluster.ClusterNode;
+import org.github.Alyas100.cluster.JobDistributor;
+import org.github.Alyas100.cluster.JobRunner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * {@link JobDistributor} over a Hazelcast executor service: each fire is sent as a
+ * {@link RemoteJobTask} to the member its strategy picks and the result comes back through
+ * the returned future. Fires for the local member skip serialization and go straight to the
+ * registered {@link JobRunner}.
+ *
+ * <ul>
+ *   <li>{@code ROUND_ROBIN} cycles through the active members in node id order.</li>
+ *   <li>{@code LOAD_BASED} picks the member with the fewest fires in flight from here, then
+ *   the one whose heartbeats report the lowest {@link ClusterNode#getLoadScore()}.</li>
+ *   <li>{@code AFFINITY} rendezvous-hashes the job id, so a job keeps its member until that
+ *       member leaves and only its jobs move.</li>
+ *   <li>{@code BROADCAST} runs the fire on every active member and folds the results.</li>
+ *   <li>{@code WORK_QUEUE} puts the fire in the work queue of the next active member in
+ *       node id order, where a {@link WorkQueueWorker} pulls it; idle members steal from the
+ *       deepest queues, so fires of uneven length do not pile up behind one slow member.</li>
+ * </ul>
+ *
+ * <p>A fire whose member leaves before answering is sent to another member (broadcast legs
+ * are not). Each running fire holds a thread of the {@value #EXECUTOR_NAME} executor on its
+ * member; size that pool with an {@code ExecutorConfig} of the same name.</p>
+ *
+ * <p>Queued fires are handed to the queues in batches by a single enqueuing thread, one call
+ * per queue for all fires dispatched meanwhile. The worker that pulls a fire reports it here,
+ * so a fire claimed by a member that leaves is queued again. Every member pulls, whatever
+ * its default strategy, since any job can ask for {@code WORK_QUEUE}. A queued fire with no
+ * result after {@link #QUEUED_FIRE_TIMEOUT} (plus the job's own timeout) since it was queued
+ * or claimed fails with {@code TIMEOUT}, so a lost report does not leave it waiting for
+ * good.</p>
+ */
+public class HazelcastJobDistributor implements JobDistributor {
+    public static final String EXECUTOR_NAME = "scheduler-jobs";
+    public static final int DEFAULT_WORKER_SLOTS = 16;
+    public static final Duration QUEUED_FIRE_TIMEOUT = Duration.ofMinutes(10);
+    private static final long EXPIRY_SWEEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+    static final String DISTRIBUTOR_KEY = HazelcastJobDistributor.class.getName();
+
+    private final HazelcastInstance hazelcast;
+    private final IExecutorService executor;
+    private final String localNodeId;
+    private final Supplier<MembershipView> membership;
+    private final LongSupplier fencingToken;
+    private final DistributionStrategy defaultStrategy;
+    private final AtomicLong nextIndex = new AtomicLong();
+    private final Map<String, Set<Dispatch>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Dispatch> queued = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Dispatch> outbox = new LinkedBlockingQueue<>();
+    private final ThreadPoolExecutor enqueuer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "work-queue-enqueue");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final WorkQueueWorker worker;
+    private final AtomicLong nextExpirySweep = new AtomicLong(System.nanoTime());
+
+    /**
+     * Counters of this member's {@link WorkQueueWorker}.
+     *
+     * @param batches calls that pulled at least one fire
+     * @param pulled  fires pulled, own and stolen
+     * @param stolen  fires pulled from other members' queues
+     * @param running pulled fires still running
+     */
+    public record WorkQueueStats(long batches, long pulled, long stolen, int running) {}
+
+    /**
+     * @param membership current member snapshot
+     * @param fencingToken token stamped on fires dispatched through {@link #distributeJob}
+     * @param defaultStrategy strategy for jobs without a {@value JobDistributor#STRATEGY_PARAMETER} parameter
+     */
+    public HazelcastJobDistributor(HazelcastInstance hazelcast, String localNodeId, Supplier<MembershipView> membership,
+                                   LongSupplier fencingToken, DistributionStrategy defaultStrategy) {
+        this(hazelcast, localNodeId, membership, fencingToken, defaultStrategy, DEFAULT_WORKER_SLOTS);
+    }
+
+    /**
+     * @param workerSlots queued fires this member runs at once
+     */
+    public HazelcastJobDistributor(HazelcastInstance hazelcast, String localNodeId, Supplier<MembershipView> membership,
+                                   LongSupplier fencingToken, DistributionStrategy defaultStrategy, int workerSlots) {
+        this.hazelcast = hazelcast;
+        this.executor = hazelcast.getExecutorService(EXECUTOR_NAME);
+        this.localNodeId = localNodeId;
+        this.membership = membership;
+        this.fencingToken = fencingToken;
+        this.defaultStrategy = defaultStrategy;
+        this.enqueuer.allowCoreThreadTimeOut(true);
+        this.worker = new WorkQueueWorker(hazelcast, localNodeId, membership, this, workerSlots);
+        hazelcast.getUserContext().put(DISTRIBUTOR_KEY, this);
+    }
+
+    /**
+     * Starts pulling queued fires.
+     */
+    public void start() {
+        worker.start();
+    }
+
+    public void stop() {
+        worker.stop();
+    }
+
+    public WorkQueueStats getWorkQueueStats() {
+        return worker.stats();
+    }
+
+    @Override
+    public CompletableFuture<JobExecutionResult> distributeJob(JobDefinition job, DistributionStrategy strategy) {
+        return dispatch(job, strategy, Instant.now(), fencingToken.getAsLong());
+    }
+
+    @Override
+    public CompletableFuture<JobExecutionResult> dispatch(JobDefinition job, Instant scheduledTime, long fencingToken) {
+        return dispatch(job, strategyOf(job), scheduledTime, fencingToken);
+    }
+
+    @Override
+    public void reassignJobsFromNode(String failedNodeId) {
+        Set<Dispatch> pending = inFlight.remove(failedNodeId);
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        System.out.println("🔁 Reassigning " + pending.size() + " running fires from node " + failedNodeId);
+        for (Dispatch dispatch : pending) {
+            if (!dispatch.claim(failedNodeId)) {
+                continue; // finished meanwhile
+            }
+            if (dispatch.pinned) {
+                dispatch.result.complete(failure("Node " + failedNodeId + " left before finishing",
+                        ErrorType.NETWORK_ERROR));
+            } else {
+                redispatch(dispatch);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Integer> getNodeLoad() {
+        Map<String, Integer> load = new LinkedHashMap<>();
+        for (ClusterNode node : membership.get().nodeList()) {
+            load.put(node.getNodeId(), inFlight(node.getNodeId()));
+        }
+        return load;
+    }
+
+    public DistributionStrategy getDefaultStrategy() {
+        return defaultStrategy;
+    }
+
+    private DistributionStrategy strategyOf(JobDefinition job) {
+        Object configured = job.parameters().get(STRATEGY_PARAMETER);
+        if (configured == null) {
+            return defaultStrategy;
+        }
+        try {
+            return DistributionStrategy.valueOf(configured.toString().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return defaultStrategy;
+        }
+    }
+
+    private CompletableFuture<JobExecutionResult> dispatch(JobDefinition job, DistributionStrategy strategy,
+                                                           Instant scheduledTime, long fencingToken) {
+        if (strategy == DistributionStrategy.BROADCAST) {
+            return broadcast(job, scheduledTime, fencingToken);
+        }
+        Dispatch dispatch = new Dispatch(job, strategy, scheduledTime, fencingToken, false);
+        if (strategy == DistributionStrategy.WORK_QUEUE) {
+            enqueue(dispatch);
+            return dispatch.result;
+        }
+        List<ClusterNode> candidates = candidates(dispatch);
+        send(dispatch, candidates.isEmpty() ? localNodeId : select(dispatch, candidates));
+        return dispatch.result;
+    }
+
+    private CompletableFuture<JobExecutionResult> broadcast(JobDefinition job, Instant scheduledTime, long fencingToken) {
+        List<String> targets = new ArrayList<>();
+        for (ClusterNode node : membership.get().nodeList()) {
+            if (node.isActive()) {
+                targets.add(node.getNodeId());
+            }
+        }
+        if (targets.isEmpty()) {
+            targets.add(localNodeId);
+        }
+        List<CompletableFuture<JobExecutionResult>> legs = new ArrayList<>(targets.size());
+        for (String target : targets) {
+            Dispatch leg = new Dispatch(job, DistributionStrategy.BROADCAST, scheduledTime, fencingToken, true);
+            send(leg, target);
+            legs.add(leg.result);
+        }
+        return CompletableFuture.allOf(legs.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> fold(targets, legs));
+    }
+
+    private static JobExecutionResult fold(List<String> targets, List<CompletableFuture<JobExecutionResult>> legs) {
+        Map<String, Object> perNode = new LinkedHashMap<>();
+        Duration longest = Duration.ZERO;
+        int succeeded = 0;
+        JobExecutionResult.Failure firstFailure = null;
+        for (int i = 0; i < targets.size(); i++) {
+            JobExecutionResult result = legs.get(i).join();
+            Duration duration = durationOf(result);
+            if (duration != null && duration.compareTo(longest) > 0) {
+                longest = duration;
+            }
+            if (result instanceof JobExecutionResult.Failure failure) {
+                perNode.put(targets.get(i), "FAILED: " + failure.errorMessage());
+                if (firstFailure == null) {
+                    firstFailure = failure;
+                }
+            } else {
+                perNode.put(targets.get(i), result.getClass().getSimpleName().toUpperCase(Locale.ROOT));
+                succeeded++;
+            }
+        }
+        int failed = targets.size() - succeeded;
+        if (failed == 0) {
+            return new JobExecutionResult.Success("Ran on " + succeeded + " nodes", perNode, longest, 0);
+        }
+        if (succeeded == 0) {
+            return new JobExecutionResult.Failure("Failed on all " + failed + " nodes: " + firstFailure.errorMessage(),
+                    firstFailure.cause(), longest, firstFailure.shouldRetry(), firstFailure.errorType(), 0);
+        }
+        return new JobExecutionResult.PartialSuccess("Ran on " + succeeded + " of " + targets.size() + " nodes",
+                perNode, firstFailure.errorMessage(), longest, succeeded, failed);
+    }
+
+    private static Duration durationOf(JobExecutionResult result) {
+        if (result instanceof JobExecutionResult.Success success) {
+            return success.executionDuration();
+        } else if (result instanceof JobExecutionResult.Failure failure) {
+            return failure.executionDuration();
+        } else if (result instanceof JobExecutionResult.PartialSuccess partial) {
+            return partial.executionDuration();
+        } else if (result instanceof JobExecutionResult.Cancelled cancelled) {
+            return cancelled.executionDuration();
+        }
+        return null;
+    }
+
+    private List<ClusterNode> candidates(Dispatch dispatch) {
+        List<ClusterNode> nodes = membership.get().nodeList();
+        List<ClusterNode> candidates = new ArrayList<>(nodes.size());
+        for (ClusterNode node : nodes) {
+            if (node.isActive() && !dispatch.tried.contains(node.getNodeId())) {
+                candidates.add(node);
+            }
+        }
+        return candidates;
+    }
+
+    private String select(Dispatch dispatch, List<ClusterNode> candidates) {
+        int size = candidates.size();
+        switch (dispatch.strategy) {
+            case LOAD_BASED -> {
+                // Fewest fires in flight from here, then the lowest reported load score (whole
+                // points, so near-equal nodes tie); the scan starts at a rotating offset so ties
+                // spread out like round robin
+                int start = (int) Math.floorMod(nextIndex.getAndIncrement(), (long) size);
+                String best = null;
+                int bestLoad = Integer.MAX_VALUE;
+                long bestScore = Long.MAX_VALUE;
+                for (int i = 0; i < size; i++) {
+                    ClusterNode node = candidates.get((start + i) % size);
+                    int load = inFlight(node.getNodeId());
+                    long score = Math.round(node.getLoadScore());
+                    if (load < bestLoad || (load == bestLoad && score < bestScore)) {
+                        best = node.getNodeId();
+                        bestLoad = load;
+                        bestScore = score;
+                    }
+                }
+                return best;
+            }
+            case AFFINITY -> {
+                String best = null;
+                long bestScore = Long.MIN_VALUE;
+                for (ClusterNode node : candidates) {
+                    long score = rendezvousScore(dispatch.job.jobId(), node.getNodeId());
+                    if (best == null || score > bestScore) {
+                        best = node.getNodeId();
+                        bestScore = score;
+                    }
+                }
+                return best;
+            }
+            default -> {
+                return candidates.get((int) Math.floorMod(nextIndex.getAndIncrement(), (long) size)).getNodeId();
+            }
+        }
+    }
+
+    private static long rendezvousScore(String jobId, String nodeId) {
+        long h = jobId.hashCode() * 0x9E3779B97F4A7C15L + nodeId.hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private void send(Dispatch dispatch, String nodeId) {
+        dispatch.tried.add(nodeId);
+        dispatch.target.set(nodeId);
+        inFlight.computeIfAbsent(nodeId, id -> ConcurrentHashMap.newKeySet()).add(dispatch);
+
+        CompletableFuture<JobExecutionResult> attempt;
+        if (nodeId.equals(localNodeId)) {
+            attempt = runLocally(dispatch);
+        } else {
+            Member member = membership.get().member(nodeId);
+            attempt = new CompletableFuture<>();
+            if (member == null) {
+                attempt.completeExceptionally(new TargetNotMemberException("Node " + nodeId + " is not a member"));
+            } else {
+                submit(dispatch, member, attempt);
+            }
+        }
+        attempt.whenComplete((result, error) -> finished(dispatch, nodeId, result, error));
+    }
+
+    private void submit(Dispatch dispatch, Member member, CompletableFuture<JobExecutionResult> attempt) {
+        try {
+            executor.submitToMember(new RemoteJobTask(dispatch.job, dispatch.scheduledTime, dispatch.fencingToken),
+                    member, new ExecutionCallback<JobExecutionResult>() {
+                        @Override
+                        public void onResponse(JobExecutionResult response) {
+                            attempt.complete(response);
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            attempt.completeExceptionally(t);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            attempt.completeExceptionally(e);
+        }
+    }
+
+    private CompletableFuture<JobExecutionResult> runLocally(Dispatch dispatch) {
+        JobRunner runner = (JobRunner) hazelcast.getUserContext().get(RemoteJobTask.RUNNER_KEY);
+        if (runner == null) {
+            return CompletableFuture.completedFuture(failure("No scheduler running on this node",
+                    ErrorType.RESOURCE_UNAVAILABLE));
+        }
+        try {
+            return runner.run(dispatch.job, dispatch.scheduledTime, dispatch.fencingToken);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void finished(Dispatch dispatch, String nodeId, JobExecutionResult result, Throwable error) {
+        if (!dispatch.claim(nodeId)) {
+            return; // already reassigned away from this node
+        }
+        Set<Dispatch> running = inFlight.get(nodeId);
+        if (running != null) {
+            running.remove(dispatch);
+        }
+        if (error == null) {
+            dispatch.result.complete(result);
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!dispatch.pinned && (cause instanceof MemberLeftException || cause instanceof TargetNotMemberException)) {
+            redispatch(dispatch);
+        } else {
+            dispatch.result.complete(failure("Dispatch to node " + nodeId + " failed: " + cause.getMessage(),
+                    ErrorType.NETWORK_ERROR));
+        }
+    }
+
+    private void redispatch(Dispatch dispatch) {
+        if (dispatch.strategy == DistributionStrategy.WORK_QUEUE) {
+            enqueue(dispatch);
+            return;
+        }
+        List<ClusterNode> candidates = candidates(dispatch);
+        if (candidates.isEmpty()) {
+            dispatch.result.complete(failure("No node left to run the fire", ErrorType.RESOURCE_UNAVAILABLE));
+        } else {
+            send(dispatch, select(dispatch, candidates));
+        }
+    }
+
+    private void enqueue(Dispatch dispatch) {
+        dispatch.rearm();
+        queued.put(dispatch.fireId, dispatch);
+        outbox.add(dispatch);
+        enqueuer.execute(this::flushOutbox);
+    }
+
+    /**
+     * Sends everything in the outbox, one call per target queue; most runs find it already
+     * emptied by an earlier one.
+     */
+    private void flushOutbox() {
+        List<Dispatch> pending = new ArrayList<>();
+        outbox.drainTo(pending);
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ClusterNode> nodes = new ArrayList<>();
+        for (ClusterNode node : membership.get().nodeList()) {
+            if (node.isActive()) {
+                nodes.add(node);
+            }
+        }
+        Map<String, List<Dispatch>> byQueue = new LinkedHashMap<>();
+        for (Dispatch dispatch : pending) {
+            String nodeId = nodes.isEmpty() ? localNodeId
+                    : nodes.get((int) Math.floorMod(nextIndex.getAndIncrement(), (long) nodes.size())).getNodeId();
+            byQueue.computeIfAbsent(WorkQueueWorker.queueName(nodeId), name -> new ArrayList<>()).add(dispatch);
+        }
+        byQueue.forEach((queueName, dispatches) -> {
+            List<QueuedFire> fires = new ArrayList<>(dispatches.size());
+            for (Dispatch dispatch : dispatches) {
+                fires.add(new QueuedFire(dispatch.fireId, localNodeId, dispatch.job, dispatch.scheduledTime,
+                        dispatch.fencingToken));
+            }
+            try {
+                hazelcast.<QueuedFire>getQueue(queueName).addAll(fires);
+            } catch (RuntimeException e) {
+                for (Dispatch dispatch : dispatches) {
+                    if (queued.remove(dispatch.fireId, dispatch)) {
+                        dispatch.result.complete(failure("Could not queue the fire: " + e.getMessage(),
+                                ErrorType.NETWORK_ERROR));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * {@code workerNodeId} pulled these fires of ours; they are queued again if it fails.
+     */
+    void claimed(String workerNodeId, long[] fireIds) {
+        for (long fireId : fireIds) {
+            Dispatch dispatch = queued.get(fireId);
+            if (dispatch != null && dispatch.target.compareAndSet(null, workerNodeId)) {
+                dispatch.rearm();
+                inFlight.computeIfAbsent(workerNodeId, id -> ConcurrentHashMap.newKeySet()).add(dispatch);
+                if (!queued.containsKey(fireId)) {
+                    inFlight.get(workerNodeId).remove(dispatch); // the result overtook the claim
+                }
+            }
+        }
+    }
+
+    void completed(String workerNodeId, long fireId, JobExecutionResult result) {
+        Dispatch dispatch = queued.remove(fireId);
+        if (dispatch == null) {
+            return; // queued again after the worker was given up, and finished elsewhere
+        }
+        dispatch.target.set(null);
+        Set<Dispatch> running = inFlight.get(workerNodeId);
+        if (running != null) {
+            running.remove(dispatch);
+        }
+        dispatch.result.complete(result);
+    }
+
+    /**
+     * Fails our queued fires that got no result in time; the worker loop calls this, and it
+     * sweeps at most once a second. A late result for such a fire is ignored.
+     */
+    void expireQueued() {
+        long now = System.nanoTime();
+        long due = nextExpirySweep.get();
+        if (now - due < 0 || !nextExpirySweep.compareAndSet(due, now + EXPIRY_SWEEP_NANOS)) {
+            return;
+        }
+        for (Dispatch dispatch : queued.values()) {
+            if (now - dispatch.deadline < 0 || !queued.remove(dispatch.fireId, dispatch)) {
+                continue;
+            }
+            String nodeId = dispatch.target.getAndSet(null);
+            if (nodeId != null) {
+                Set<Dispatch> running = inFlight.get(nodeId);
+                if (running != null) {
+                    running.remove(dispatch);
+                }
+            }
+            String where = nodeId != null ? "; it may still run on node " + nodeId : "";
+            dispatch.result.complete(failure("No result for the queued fire within "
+                    + dispatch.timeout().toSeconds() + "s" + where, ErrorType.TIMEOUT));
+        }
+    }
+
+    private int inFlight(String nodeId) {
+        Set<Dispatch> running = inFlight.get(nodeId);
+        return running != null ? running.size() : 0;
+    }
+
+    private static JobExecutionResult failure(String message, ErrorType errorType) {
+        return new JobExecutionResult.Failure(message, null, Duration.ZERO, true, errorType, 0);
+    }
+
+    /**
+     * One fire on its way to, or running on, a member. Whoever claims the current target
+     * first (the answer, or a reassignment after the member left) decides what happens next;
+     * {@code tried} keeps a moved fire from being sent back.
+     */
+    private static final class Dispatch {
+        private static final AtomicLong NEXT_FIRE_ID = new AtomicLong();
+
+        final JobDefinition job;
+        final DistributionStrategy strategy;
+        final Instant scheduledTime;
+        final long fencingToken;
+        final boolean pinned;
+        final CompletableFuture<JobExecutionResult> result = new CompletableFuture<>();
+        final Set<String> tried = ConcurrentHashMap.newKeySet();
+        final AtomicReference<String> target = new AtomicReference<>();
+        final long fireId;
+        volatile long deadline;
+
+        Dispatch(JobDefinition job, DistributionStrategy strategy, Instant scheduledTime, long fencingToken,
+                 boolean pinned) {
+            this.job = job;
+            this.strategy = strategy;
+            this.scheduledTime = scheduledTime;
+            this.fencingToken = fencingToken;
+            this.pinned = pinned;
+            this.fireId = strategy == DistributionStrategy.WORK_QUEUE ? NEXT_FIRE_ID.incrementAndGet() : 0;
+        }
+
+        Duration timeout() {
+            return job.timeout() != null ? QUEUED_FIRE_TIMEOUT.plus(job.timeout()) : QUEUED_FIRE_TIMEOUT;
+        }
+
+        /**
+         * Starts the wait for a result over, when the fire is queued and again when claimed.
+         */
+        void rearm() {
+            deadline = System.nanoTime() + timeout().toNanos();
+        }
+
+        /**
+         * Node ids are compared by value: the same id arrives as different strings from the
+         * membership, the member events and the workers' reports.
+         */
+        boolean claim(String nodeId) {
+            String current = target.get();
+            return nodeId.equals(current) && target.compareAndSet(current, null);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import org.github.Alyas100.cluster.Lease;
+import org.github.Alyas100.cluster.LeaseLeaderElection;
+import org.github.Alyas100.cluster.LeaseStore;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link LeaseStore} in a Hazelcast map. Each call is an entry processor, so the
+ * compare-and-set runs atomically on the partition owner of the lease entry and expiry is
+ * judged by that member's clock alone. Released leases stay in the map so fencing tokens
+ * keep increasing. Calls give up after the lease duration instead of Hazelcast's invocation
+ * timeout (a release after the one last asked for), so an unreachable partition cannot hold
+ * up the election's step-down or a node's shutdown.
+ */
+public class HazelcastLeaseStore implements LeaseStore {
+    public static final String MAP_NAME = "scheduler-leases";
+
+    private final IMap<String, Lease> leases;
+    private final String name;
+    private volatile long leaseMillis = LeaseLeaderElection.DEFAULT_LEASE_DURATION.toMillis();
+
+    public HazelcastLeaseStore(HazelcastInstance hazelcast, String name) {
+        this.leases = hazelcast.getMap(MAP_NAME);
+        this.name = name;
+    }
+
+    @Override
+    public Lease acquireOrRenew(String owner, long ttlMillis) {
+        leaseMillis = ttlMillis;
+        return await(leases.submitToKey(name, new AcquireOrRenew(owner, ttlMillis)).toCompletableFuture(), ttlMillis);
+    }
+
+    @Override
+    public void release(String owner, long fencingToken) {
+        await(leases.submitToKey(name, new Release(owner, fencingToken)).toCompletableFuture(), leaseMillis);
+    }
+
+    private static Lease await(CompletableFuture<Lease> call, long timeoutMillis) {
+        try {
+            return call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the lease", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Lease request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Lease request timed out after " + timeoutMillis + "ms", e);
+        }
+    }
+
+    /**
+     * Backups are sent the lease the owner wrote rather than the processor itself, which
+     * would judge expiry by the backup member's clock.
+     */
+    private abstract static class LeaseUpdate implements EntryProcessor<String, Lease, Lease> {
+        private Lease written;
+
+        abstract Lease next(Lease current);
+
+        @Override
+        public Lease process(Map.Entry<String, Lease> entry) {
+            Lease current = entry.getValue();
+            Lease next = next(current);
+            if (next != current) {
+                entry.setValue(next);
+                written = next;
+            }
+            return next;
+        }
+
+        @Override
+        public EntryProcessor<String, Lease, Lease> getBackupProcessor() {
+            return written != null ? new Put(written) : null;
+        }
+    }
+
+    private static final class AcquireOrRenew extends LeaseUpdate {
+        private final String owner;
+        private final long ttlMillis;
+
+        AcquireOrRenew(String owner, long ttlMillis) {
+            this.owner = owner;
+            this.ttlMillis = ttlMillis;
+        }
+
+        @Override
+        Lease next(Lease current) {
+            return Lease.acquireOrRenew(current, owner, ttlMillis, System.currentTimeMillis());
+        }
+    }
+
+    private static final class Release extends LeaseUpdate {
+        private final String owner;
+        private final long fencingToken;
+
+        Release(String owner, long fencingToken) {
+            this.owner = owner;
+            this.fencingToken = fencingToken;
+        }
+
+        @Override
+        Lease next(Lease current) {
+            return Lease.release(current, owner, fencingToken);
+        }
+    }
+
+    private record Put(Lease lease) implements EntryProcessor<String, Lease, Lease> {
+        @Override
+        public Lease process(Map.Entry<String, Lease> entry) {
+            entry.setValue(lease);
+            return null;
+        }
+    }
+}
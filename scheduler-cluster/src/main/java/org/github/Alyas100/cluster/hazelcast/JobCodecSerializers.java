@@ -0,0 +1,28 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.SerializerConfig;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+
+/**
+ * Registers the compact {@link org.github.Alyas100.codec.JobCodec} serializers on a Hazelcast config.
+ *
+ * <p>Every member of a cluster must register them, otherwise the members disagree on the
+ * wire format of jobs and results.</p>
+ */
+public final class JobCodecSerializers {
+    private JobCodecSerializers() {
+    }
+
+    public static Config register(Config config) {
+        config.getSerializationConfig()
+                .addSerializerConfig(new SerializerConfig()
+                        .setTypeClass(JobDefinition.class)
+                        .setImplementation(new JobDefinitionSerializer()))
+                .addSerializerConfig(new SerializerConfig()
+                        .setTypeClass(JobExecutionResult.class)
+                        .setImplementation(new JobExecutionResultSerializer()));
+        return config;
+    }
+}
@@ -0,0 +1,32 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.codec.JobCodec;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer that ships job definitions in the {@link JobCodec} format
+ * instead of Java serialization.
+ */
+public class JobDefinitionSerializer implements StreamSerializer<JobDefinition> {
+    static final int TYPE_ID = 1001;
+
+    @Override
+    public void write(ObjectDataOutput out, JobDefinition job) throws IOException {
+        out.writeByteArray(JobCodec.encode(job));
+    }
+
+    @Override
+    public JobDefinition read(ObjectDataInput in) throws IOException {
+        return JobCodec.decodeJobDefinition(in.readByteArray());
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+}
@@ -0,0 +1,31 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.codec.JobCodec;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer for every {@link JobExecutionResult} variant, using the {@link JobCodec} format.
+ */
+public class JobExecutionResultSerializer implements StreamSerializer<JobExecutionResult> {
+    static final int TYPE_ID = 1002;
+
+    @Override
+    public void write(ObjectDataOutput out, JobExecutionResult result) throws IOException {
+        out.writeByteArray(JobCodec.encode(result));
+    }
+
+    @Override
+    public JobExecutionResult read(ObjectDataInput in) throws IOException {
+        return JobCodec.decodeResult(in.readByteArray());
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+}
@@ -0,0 +1,110 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.cluster.Member;
+import org.github.Alyas100.cluster.ClusterNode;
+import org.github.Alyas100.cluster.ConsistentHashRing;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of the Hazelcast member list, rebuilt on membership events only.
+ *
+ * <p>The smallest node id (a deterministic pick that every member agrees on) is resolved once
+ * per snapshot, so checks against it and node lookups are a field read plus a map lookup.
+ * Leadership itself is decided by the lease election. The consistent-hash ring of the
+ * members is built along with each snapshot. Nodes still present in the previous snapshot
+ * are carried over as the same {@link ClusterNode} objects, keeping their status and load.</p>
+ */
+public final class MembershipView {
+    private static final MembershipView EMPTY = new MembershipView(Map.of(), Map.of(), null, ConsistentHashRing.empty());
+
+    private final Map<String, ClusterNode> nodes;
+    private final Map<String, Member> members;
+    private final Set<ClusterNode> nodeSet;
+    private final List<ClusterNode> nodeList;
+    private final String leaderId;
+    private final ConsistentHashRing ring;
+
+    private MembershipView(Map<String, ClusterNode> nodes, Map<String, Member> members, String leaderId,
+                           ConsistentHashRing ring) {
+        this.nodes = nodes;
+        this.members = members;
+        this.nodeSet = Set.copyOf(nodes.values());
+        List<ClusterNode> sorted = new ArrayList<>(nodes.values());
+        sorted.sort(Comparator.comparing(ClusterNode::getNodeId));
+        this.nodeList = List.copyOf(sorted);
+        this.leaderId = leaderId;
+        this.ring = ring;
+    }
+
+    public static MembershipView empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the view of {@code members}, reusing the nodes of {@code previous}.
+     */
+    public static MembershipView of(Collection<Member> members, MembershipView previous) {
+        Map<String, ClusterNode> nodes = new HashMap<>(members.size() * 2);
+        Map<String, Member> byId = new HashMap<>(members.size() * 2);
+        String leaderId = null;
+        for (Member member : members) {
+            String id = member.getUuid().toString();
+            ClusterNode node = previous.nodes.get(id);
+            if (node == null) {
+                node = new ClusterNode(id, member.getAddress().getHost(), member.getAddress().getPort());
+                node.setStatus(ClusterNode.NodeStatus.ACTIVE);
+            }
+            nodes.put(id, node);
+            byId.put(id, member);
+            if (leaderId == null || id.compareTo(leaderId) < 0) {
+                leaderId = id;
+            }
+        }
+        return new MembershipView(Map.copyOf(nodes), Map.copyOf(byId), leaderId, ConsistentHashRing.of(nodes.keySet()));
+    }
+
+    public boolean isLeader(String nodeId) {
+        return nodeId.equals(leaderId);
+    }
+
+    /**
+     * Smallest node id; null for an empty view.
+     */
+    public String leaderId() {
+        return leaderId;
+    }
+
+    /**
+     * The node with this id; null if it is not a member.
+     */
+    public ClusterNode node(String nodeId) {
+        return nodeId != null ? nodes.get(nodeId) : null;
+    }
+
+    /**
+     * The Hazelcast member with this id; null if it is not a member.
+     */
+    public Member member(String nodeId) {
+        return nodeId != null ? members.get(nodeId) : null;
+    }
+
+    public Set<ClusterNode> nodes() {
+        return nodeSet;
+    }
+
+    /**
+     * Nodes ordered by id, the same order on every member.
+     */
+    public List<ClusterNode> nodeList() {
+        return nodeList;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+}
@@ -0,0 +1,72 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import org.github.Alyas100.JobDefinition;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * A fire waiting in a member's work queue. {@code originNodeId} and {@code fireId} name the
+ * dispatching member and its handle for the fire, so whoever pulls it can report back.
+ */
+public class QueuedFire implements DataSerializable {
+    private long fireId;
+    private String originNodeId;
+    private JobDefinition job;
+    private Instant scheduledTime;
+    private long fencingToken;
+
+    public QueuedFire() {
+        // for deserialization
+    }
+
+    public QueuedFire(long fireId, String originNodeId, JobDefinition job, Instant scheduledTime, long fencingToken) {
+        this.fireId = fireId;
+        this.originNodeId = originNodeId;
+        this.job = job;
+        this.scheduledTime = scheduledTime;
+        this.fencingToken = fencingToken;
+    }
+
+    public long getFireId() {
+        return fireId;
+    }
+
+    public String getOriginNodeId() {
+        return originNodeId;
+    }
+
+    public JobDefinition getJob() {
+        return job;
+    }
+
+    public Instant getScheduledTime() {
+        return scheduledTime;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(fireId);
+        out.writeString(originNodeId);
+        out.writeObject(job);
+        out.writeLong(scheduledTime.getEpochSecond());
+        out.writeInt(scheduledTime.getNano());
+        out.writeLong(fencingToken);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        fireId = in.readLong();
+        originNodeId = in.readString();
+        job = in.readObject();
+        scheduledTime = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        fencingToken = in.readLong();
+    }
+}
@@ -0,0 +1,70 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.cluster.JobRunner;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+
+/**
+ * A fire sent to another member's executor service. The job travels in the compact
+ * {@link JobDefinitionSerializer} format; on arrival the task hands it to the
+ * {@link JobRunner} the member registered and waits for its result.
+ */
+public class RemoteJobTask implements Callable<JobExecutionResult>, DataSerializable, HazelcastInstanceAware {
+    static final String RUNNER_KEY = JobRunner.class.getName();
+
+    private JobDefinition job;
+    private Instant scheduledTime;
+    private long fencingToken;
+    private transient HazelcastInstance hazelcast;
+
+    public RemoteJobTask() {
+        // for deserialization
+    }
+
+    public RemoteJobTask(JobDefinition job, Instant scheduledTime, long fencingToken) {
+        this.job = job;
+        this.scheduledTime = scheduledTime;
+        this.fencingToken = fencingToken;
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance hazelcast) {
+        this.hazelcast = hazelcast;
+    }
+
+    @Override
+    public JobExecutionResult call() {
+        JobRunner runner = (JobRunner) hazelcast.getUserContext().get(RUNNER_KEY);
+        if (runner == null) {
+            return new JobExecutionResult.Failure("No scheduler running on the target node", null,
+                    Duration.ZERO, true, ErrorType.RESOURCE_UNAVAILABLE, 0);
+        }
+        return runner.run(job, scheduledTime, fencingToken).join();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(job);
+        out.writeLong(scheduledTime.getEpochSecond());
+        out.writeInt(scheduledTime.getNano());
+        out.writeLong(fencingToken);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        job = in.readObject();
+        scheduledTime = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        fencingToken = in.readLong();
+    }
+}
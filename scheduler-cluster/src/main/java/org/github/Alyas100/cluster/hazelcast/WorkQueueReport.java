@@ -0,0 +1,78 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import org.github.Alyas100.JobExecutionResult;
+
+import java.io.IOException;
+
+/**
+ * Sent by a worker to the member that queued some fires: either the fires it just pulled
+ * (one report per pulled batch) or the result of one of them.
+ */
+public class WorkQueueReport implements Runnable, DataSerializable, HazelcastInstanceAware {
+    private String workerNodeId;
+    private long[] claimedFireIds;
+    private long fireId;
+    private JobExecutionResult result;
+    private transient HazelcastInstance hazelcast;
+
+    public WorkQueueReport() {
+        // for deserialization
+    }
+
+    private WorkQueueReport(String workerNodeId, long[] claimedFireIds, long fireId, JobExecutionResult result) {
+        this.workerNodeId = workerNodeId;
+        this.claimedFireIds = claimedFireIds;
+        this.fireId = fireId;
+        this.result = result;
+    }
+
+    public static WorkQueueReport claimed(String workerNodeId, long[] fireIds) {
+        return new WorkQueueReport(workerNodeId, fireIds, 0, null);
+    }
+
+    public static WorkQueueReport completed(String workerNodeId, long fireId, JobExecutionResult result) {
+        return new WorkQueueReport(workerNodeId, new long[0], fireId, result);
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance hazelcast) {
+        this.hazelcast = hazelcast;
+    }
+
+    @Override
+    public void run() {
+        deliver((HazelcastJobDistributor) hazelcast.getUserContext().get(HazelcastJobDistributor.DISTRIBUTOR_KEY));
+    }
+
+    void deliver(HazelcastJobDistributor distributor) {
+        if (distributor == null) {
+            return;
+        }
+        if (result == null) {
+            distributor.claimed(workerNodeId, claimedFireIds);
+        } else {
+            distributor.completed(workerNodeId, fireId, result);
+        }
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeString(workerNodeId);
+        out.writeLongArray(claimedFireIds);
+        out.writeLong(fireId);
+        out.writeObject(result);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        workerNodeId = in.readString();
+        claimedFireIds = in.readLongArray();
+        fireId = in.readLong();
+        result = in.readObject();
+    }
+}
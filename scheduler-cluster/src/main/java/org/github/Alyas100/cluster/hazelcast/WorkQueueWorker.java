@@ -0,0 +1,241 @@
+package org.github.Alyas100.cluster.hazelcast;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.IExecutorService;
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.cluster.ClusterNode;
+import org.github.Alyas100.cluster.JobRunner;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pulls queued fires for one member and runs them with its {@link JobRunner}, at most
+ * {@code slots} at a time.
+ *
+ * <p>Whenever slots are free the worker drains as many fires as it has slots from its own
+ * queue in one call. If that is empty it asks the other members' queues for their depth and
+ * steals half of the deepest (up to its free slots), then the next deepest, so an idle member
+ * empties the backlog of a busy one in a few batched calls rather than one round trip per
+ * fire. Queues of members that left are emptied before any other and then destroyed. With
+ * nothing anywhere it blocks on its own queue for a short while.</p>
+ *
+ * <p>Every pulled batch is reported to the members that queued its fires, so they know where
+ * their fires run and can queue them again if this member fails; each result goes back the
+ * same way. Queues are taken from the head, so the oldest fires run first. The loop also has
+ * the local distributor time out its own fires whose report never came.</p>
+ */
+class WorkQueueWorker {
+    static final String QUEUE_PREFIX = "scheduler-work-";
+    static final String REPORT_EXECUTOR_NAME = "scheduler-work-reports";
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final HazelcastInstance hazelcast;
+    private final String localNodeId;
+    private final Supplier<MembershipView> membership;
+    private final HazelcastJobDistributor distributor;
+    private final IExecutorService reports;
+    private final Semaphore slots;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong pulled = new AtomicLong();
+    private final AtomicLong stolen = new AtomicLong();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Set<String> seenNodes = new HashSet<>();
+
+    private volatile boolean pulling;
+    private Thread thread;
+
+    WorkQueueWorker(HazelcastInstance hazelcast, String localNodeId, Supplier<MembershipView> membership,
+                    HazelcastJobDistributor distributor, int slots) {
+        this.hazelcast = hazelcast;
+        this.localNodeId = localNodeId;
+        this.membership = membership;
+        this.distributor = distributor;
+        this.reports = hazelcast.getExecutorService(REPORT_EXECUTOR_NAME);
+        this.slots = new Semaphore(slots);
+    }
+
+    static String queueName(String nodeId) {
+        return QUEUE_PREFIX + nodeId;
+    }
+
+    synchronized void start() {
+        if (pulling) {
+            return;
+        }
+        pulling = true;
+        thread = new Thread(this::pull, "work-queue-" + localNodeId.substring(0, 8));
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops pulling; fires already pulled run to the end.
+     */
+    synchronized void stop() {
+        if (!pulling) {
+            return;
+        }
+        pulling = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    HazelcastJobDistributor.WorkQueueStats stats() {
+        return new HazelcastJobDistributor.WorkQueueStats(batches.get(), pulled.get(), stolen.get(), running.get());
+    }
+
+    private void pull() {
+        IQueue<QueuedFire> own = hazelcast.getQueue(queueName(localNodeId));
+        while (pulling) {
+            try {
+                distributor.expireQueued();
+                JobRunner runner = (JobRunner) hazelcast.getUserContext().get(RemoteJobTask.RUNNER_KEY);
+                if (runner == null) {
+                    Thread.sleep(IDLE_POLL_MILLIS); // nothing to run fires with yet
+                    continue;
+                }
+                if (!slots.tryAcquire(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    continue; // all slots busy; come round to expire stale fires meanwhile
+                }
+                int free = 1 + slots.drainPermits();
+                List<QueuedFire> batch = new ArrayList<>(free);
+                try {
+                    own.drainTo(batch, free);
+                    if (batch.isEmpty()) {
+                        steal(batch, free);
+                    }
+                    if (batch.isEmpty()) {
+                        QueuedFire next = own.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        if (next != null) {
+                            batch.add(next);
+                            own.drainTo(batch, free - 1);
+                        }
+                    }
+                } finally {
+                    slots.release(free - batch.size());
+                }
+                if (!batch.isEmpty()) {
+                    running.addAndGet(batch.size());
+                    batches.incrementAndGet();
+                    pulled.addAndGet(batch.size());
+                    claim(batch);
+                    batch.forEach(fire -> run(runner, fire));
+                }
+            } catch (InterruptedException | HazelcastInstanceNotActiveException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ Failed to pull queued fires: " + e.getMessage());
+                try {
+                    Thread.sleep(IDLE_POLL_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void steal(List<QueuedFire> batch, int free) {
+        MembershipView view = membership.get();
+        for (Iterator<String> departed = seenNodes.iterator(); departed.hasNext(); ) {
+            String nodeId = departed.next();
+            if (view.node(nodeId) != null) {
+                continue;
+            }
+            IQueue<QueuedFire> orphan = hazelcast.getQueue(queueName(nodeId));
+            stolen.addAndGet(orphan.drainTo(batch, free - batch.size()));
+            if (orphan.isEmpty()) {
+                orphan.destroy();
+                departed.remove();
+            }
+            if (batch.size() == free) {
+                return;
+            }
+        }
+        List<Map.Entry<IQueue<QueuedFire>, Integer>> victims = new ArrayList<>();
+        for (ClusterNode node : view.nodeList()) {
+            if (node.getNodeId().equals(localNodeId)) {
+                continue;
+            }
+            seenNodes.add(node.getNodeId());
+            IQueue<QueuedFire> queue = hazelcast.getQueue(queueName(node.getNodeId()));
+            int depth = queue.size();
+            if (depth > 0) {
+                victims.add(Map.entry(queue, depth));
+            }
+        }
+        victims.sort(Map.Entry.<IQueue<QueuedFire>, Integer>comparingByValue().reversed());
+        for (Map.Entry<IQueue<QueuedFire>, Integer> victim : victims) {
+            int wanted = Math.min(free - batch.size(), (victim.getValue() + 1) / 2);
+            if (wanted <= 0) {
+                break;
+            }
+            stolen.addAndGet(victim.getKey().drainTo(batch, wanted));
+        }
+    }
+
+    private void claim(List<QueuedFire> batch) {
+        Map<String, List<QueuedFire>> byOrigin = new HashMap<>();
+        for (QueuedFire fire : batch) {
+            byOrigin.computeIfAbsent(fire.getOriginNodeId(), id -> new ArrayList<>()).add(fire);
+        }
+        byOrigin.forEach((originNodeId, fires) -> report(originNodeId,
+                WorkQueueReport.claimed(localNodeId, fires.stream().mapToLong(QueuedFire::getFireId).toArray())));
+    }
+
+    private void run(JobRunner runner, QueuedFire fire) {
+        CompletableFuture<JobExecutionResult> execution;
+        try {
+            execution = runner.run(fire.getJob(), fire.getScheduledTime(), fire.getFencingToken());
+        } catch (RuntimeException e) {
+            execution = CompletableFuture.failedFuture(e);
+        }
+        execution.whenComplete((result, error) -> {
+            running.decrementAndGet();
+            slots.release();
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                result = new JobExecutionResult.Failure("Queued fire failed on node " + localNodeId + ": "
+                        + cause.getMessage(), null, Duration.ZERO, true, ErrorType.UNKNOWN_ERROR, 0);
+            }
+            report(fire.getOriginNodeId(), WorkQueueReport.completed(localNodeId, fire.getFireId(), result));
+        });
+    }
+
+    /**
+     * Straight to the local distributor for fires queued here, otherwise to the origin member;
+     * dropped if the origin has left, as nobody waits for the fire any more.
+     */
+    private void report(String originNodeId, WorkQueueReport report) {
+        if (originNodeId.equals(localNodeId)) {
+            report.deliver(distributor);
+            return;
+        }
+        Member origin = membership.get().member(originNodeId);
+        if (origin == null) {
+            return;
+        }
+        try {
+            reports.executeOnMember(report, origin);
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Failed to report queued fires to node " + originNodeId + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,896 @@
+package org.github.Alyas100.cluster.swim;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.cluster.*;
+import org.github.Alyas100.codec.CodecException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * {@link ClusterManager} that keeps membership with SWIM gossip over UDP, for nodes too small
+ * to embed a Hazelcast member.
+ *
+ * <p>One daemon thread runs a {@link Selector} over a non-blocking {@link DatagramChannel}.
+ * Every protocol period it pings one member, taking them in a shuffled round-robin order; if
+ * no ACK comes within a third of the period it asks {@value #INDIRECT_PROBES} other members to
+ * ping it on its behalf, and if still none has come by the next period the member is
+ * SUSPECT. A suspect that does not refute within {@value #SUSPECT_PERIODS} periods is DEAD.
+ * Membership changes ride on the pings and ACKs themselves, each sent a few times over
+ * log(n) periods, so there is no other traffic; a member refutes a suspicion of itself by
+ * raising its incarnation. A joining node asks its seeds, which answer with their member
+ * list. Every datagram also carries the sender's load, kept in its {@link ClusterNode}.
+ * What a node says about itself takes the address its datagram came from, not the one it
+ * bound, so a node bound to the wildcard address is reached where its peers see it.</p>
+ *
+ * <p>The leader is the member with the smallest id, as in a {@code MembershipView}. A node
+ * that becomes leader claims a term above the highest it has heard; every datagram carries
+ * the highest term its sender knows, so a deposed leader learns of its successor's term and
+ * its fires are fenced off, and a leader that hears of a higher claim claims again above
+ * it. In {@link Mode#PARTITIONED} mode job ids hash onto the members'
+ * {@link ConsistentHashRing}, which every member derives from its own view, so ownership
+ * needs no shared table and a change of members moves only the slots of the node that came
+ * or went.</p>
+ *
+ * <p>The leader runs its fires itself ({@link #getJobDistributor()} is null): a datagram
+ * protocol has no reliable way to hand a fire over. Distributed-job announcements are sent
+ * once, batched, and may be lost.</p>
+ */
+public class SwimClusterManager implements ClusterManager {
+    public static final Duration DEFAULT_PROTOCOL_PERIOD = Duration.ofMillis(200);
+
+    static final int INDIRECT_PROBES = 3;
+    static final int SUSPECT_PERIODS = 5;
+
+    private static final int MAX_PIGGYBACK = 8;
+    private static final int MAX_DATAGRAM = 1400;
+    private static final int MAX_EVENT_BYTES = MAX_DATAGRAM - 200;
+    private static final int SYNC_CHUNK = 32;
+    private static final int JOIN_WAIT_PERIODS = 5;
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(30);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InetSocketAddress bindAddress;
+    private final List<InetSocketAddress> seeds;
+    private final long periodNanos;
+    private final Mode mode;
+    private final Duration handoffDelay;
+    private final Set<ClusterListener> listeners = ConcurrentHashMap.newKeySet();
+    private final NodeLoadSampler loadSampler = new NodeLoadSampler();
+    private final Queue<String> outgoingJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicLong highestTerm = new AtomicLong();
+    private final ThreadPoolExecutor notifier = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "swim-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Owned by the protocol thread
+    private final Map<String, Member> members = new HashMap<>();
+    private final Map<String, Gossip> gossip = new LinkedHashMap<>();
+    private final Map<Long, Relay> relays = new HashMap<>();
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM * 2);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(65536);
+    private final List<String> probeOrder = new ArrayList<>();
+    private int probeIndex;
+    private long incarnation;
+    private long nextSequence = 1;
+    private String probeTarget;
+    private long probeSequence;
+    private long probeSentAt;
+    private boolean probeAcked;
+    private boolean probeEscalated;
+    private boolean viewDirty;
+    private boolean joining;
+    private long joinDeadline;
+    private NodeLoadSampler.Sample localLoad = new NodeLoadSampler.Sample(0, 0, 0);
+
+    private final CountDownLatch joined = new CountDownLatch(1);
+    private volatile ClusterNode localNode;
+    private DatagramChannel channel;
+    private Selector selector;
+    private Thread protocolThread;
+    private volatile boolean running;
+    private volatile boolean graceful;
+    private volatile View view = View.EMPTY;
+    private volatile long leaderTerm;
+    private volatile Supplier<? extends Collection<String>> jobCatalog = List::of;
+    private volatile RebalanceReport lastRebalance = RebalanceReport.none();
+
+    /**
+     * @param bindAddress where this node listens; port 0 picks a free one
+     * @param seeds       members to join through; may include this node's own address
+     */
+    public SwimClusterManager(InetSocketAddress bindAddress, List<InetSocketAddress> seeds) {
+        this(bindAddress, seeds, DEFAULT_PROTOCOL_PERIOD, Mode.LEADER, Duration.ZERO);
+    }
+
+    /**
+     * @param protocolPeriod time between probes; failure detection takes about
+     *                       {@value #SUSPECT_PERIODS} + 1 periods
+     * @param handoffDelay   how long a member waits before arming jobs it gained
+     */
+    public SwimClusterManager(InetSocketAddress bindAddress, List<InetSocketAddress> seeds,
+                              Duration protocolPeriod, Mode mode, Duration handoffDelay) {
+        this.bindAddress = bindAddress;
+        this.seeds = List.copyOf(seeds);
+        this.periodNanos = protocolPeriod.toNanos();
+        this.mode = mode;
+        this.handoffDelay = handoffDelay;
+        this.notifier.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * A leaderless member scheduling the jobs it owns on the ring.
+     */
+    public static SwimClusterManager partitioned(InetSocketAddress bindAddress, List<InetSocketAddress> seeds) {
+        return new SwimClusterManager(bindAddress, seeds, DEFAULT_PROTOCOL_PERIOD, Mode.PARTITIONED,
+                DEFAULT_HANDOFF_DELAY);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Address the node listens on, with the port actually bound once started.
+     */
+    public InetSocketAddress getBoundAddress() {
+        try {
+            return channel != null ? (InetSocketAddress) channel.getLocalAddress() : bindAddress;
+        } catch (IOException e) {
+            return bindAddress;
+        }
+    }
+
+    /**
+     * Binds the socket and joins through the seeds, waiting up to {@value #JOIN_WAIT_PERIODS}
+     * periods for one to answer; without an answer the node starts alone and keeps asking.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            selector = Selector.open();
+            channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            channel.bind(bindAddress);
+            channel.register(selector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot bind SWIM node to " + bindAddress, e);
+        }
+        InetSocketAddress bound = getBoundAddress();
+        System.out.println("🚀 Starting SWIM cluster node: " + nodeId + " on " + bound + " (" + mode + ")");
+        localNode = new ClusterNode(nodeId, bound.getHostString(), bound.getPort());
+        localLoad = loadSampler.sample();
+        joining = !otherSeeds().isEmpty();
+        joinDeadline = System.nanoTime() + periodNanos * JOIN_WAIT_PERIODS;
+        viewDirty = true;
+        running = true;
+        graceful = true;
+        protocolThread = new Thread(this::runProtocol, "swim-" + nodeId.substring(0, 8));
+        protocolThread.setDaemon(true);
+        protocolThread.start();
+        try {
+            joined.await(periodNanos * JOIN_WAIT_PERIODS * 2, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Tells every member this node is leaving, so they drop it at once instead of after a
+     * failed probe and a suspicion.
+     */
+    @Override
+    public void stop() {
+        shutdown(true);
+        System.out.println("🛑 Stopping SWIM cluster node: " + nodeId);
+    }
+
+    /**
+     * Stops without telling anyone, as a crash would; the others find out by probing.
+     */
+    public void terminate() {
+        shutdown(false);
+    }
+
+    private void shutdown(boolean leave) {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            graceful = leave;
+            running = false;
+            thread = protocolThread;
+        }
+        if (mode == Mode.PARTITIONED) {
+            listeners.forEach(ClusterListener::onOwnershipChanged);
+        }
+        selector.wakeup();
+        try {
+            thread.join(TimeUnit.NANOSECONDS.toMillis(periodNanos * 5) + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        view = View.EMPTY;
+        leaderTerm = 0;
+    }
+
+    @Override
+    public boolean isLeader() {
+        return running && nodeId.equals(view.leaderId());
+    }
+
+    /**
+     * In a partitioned cluster: whether this member is the job's ring owner.
+     */
+    @Override
+    public boolean ownsJob(String jobId) {
+        if (mode == Mode.LEADER) {
+            return isLeader();
+        }
+        return running && nodeId.equals(SlotAssignment.ringOwner(view.ring(), jobId, SlotAssignment.DEFAULT_SLOT_COUNT));
+    }
+
+    @Override
+    public Duration getOwnershipHandoffDelay() {
+        return handoffDelay;
+    }
+
+    /**
+     * The term this node claimed when it became leader; 0 when not leading, and always in a
+     * partitioned cluster, where a fire is admitted only while its job is owned here.
+     */
+    @Override
+    public long getFencingToken() {
+        if (mode == Mode.PARTITIONED || !isLeader()) {
+            return 0;
+        }
+        return leaderTerm;
+    }
+
+    @Override
+    public boolean acceptFencingToken(long fencingToken) {
+        return fencingToken >= highestTerm.accumulateAndGet(fencingToken, Math::max);
+    }
+
+    @Override
+    public void setActiveJobCounter(IntSupplier activeJobs) {
+        loadSampler.setActiveJobs(activeJobs);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Members that are alive or suspected, this one included; an immutable set shared by every
+     * caller until membership changes.
+     */
+    @Override
+    public Set<ClusterNode> getClusterNodes() {
+        return view.nodeSet();
+    }
+
+    /**
+     * Announces the job to every member's {@link ClusterListener#onJobDistributed}, batched
+     * into the next protocol round; best effort.
+     */
+    @Override
+    public void distributeJob(JobDefinition job) {
+        if (isLeader()) {
+            System.out.println("📤 [CLUSTER] Leader distributing job: " + job.jobId());
+            notifyListeners(() -> listeners.forEach(listener -> listener.onJobDistributed(job.jobId(), nodeId)));
+            outgoingJobs.add(job.jobId());
+            selector.wakeup();
+        }
+    }
+
+    @Override
+    public void setJobCatalog(Supplier<? extends Collection<String>> jobIds) {
+        this.jobCatalog = jobIds != null ? jobIds : List::of;
+    }
+
+    /**
+     * Ownership follows the ring of the current members with nothing to commit, so this only
+     * reports what the last change of members moved; nothing in leader mode.
+     */
+    @Override
+    public RebalanceReport rebalanceJobs() {
+        return lastRebalance;
+    }
+
+    public RebalanceReport getLastRebalance() {
+        return lastRebalance;
+    }
+
+    @Override
+    public void addClusterListener(ClusterListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeClusterListener(ClusterListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public ClusterState getClusterState() {
+        View current = view;
+        String leaderId = current.leaderId() != null ? current.leaderId() : "unknown";
+        int active = 0;
+        for (ClusterNode node : current.nodeSet()) {
+            if (node.getStatus() == ClusterNode.NodeStatus.ACTIVE) {
+                active++;
+            }
+        }
+        return new ClusterState(leaderId, current.nodeSet().size(), active, true);
+    }
+
+    // ----- Protocol thread -----
+
+    private void runProtocol() {
+        long nextTick = System.nanoTime();
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                long deadline = nextTick;
+                if (probeTarget != null && !probeAcked && !probeEscalated) {
+                    deadline = Math.min(deadline, probeSentAt + periodNanos / 3);
+                }
+                long waitMillis = TimeUnit.NANOSECONDS.toMillis(deadline - now);
+                if (waitMillis > 0) {
+                    selector.select(waitMillis);
+                } else {
+                    selector.selectNow();
+                }
+                selector.selectedKeys().clear();
+                receive();
+                now = System.nanoTime();
+                if (probeTarget != null && !probeAcked && !probeEscalated && now - probeSentAt >= periodNanos / 3) {
+                    probeIndirectly();
+                }
+                if (now - nextTick >= 0) {
+                    tick(now);
+                    nextTick = now + periodNanos;
+                }
+                sendJobs();
+                if (joining && now - joinDeadline >= 0) {
+                    System.out.println("⚠️ [CLUSTER] No seed answered; starting alone and retrying");
+                    joining = false;
+                }
+                if (viewDirty && !joining) {
+                    rebuildView();
+                    joined.countDown();
+                }
+            }
+            if (graceful) {
+                leave();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("⚠️ [CLUSTER] SWIM node " + nodeId + " failed: " + e);
+        } finally {
+            // However the thread ends, the node must stop claiming leadership or jobs
+            boolean crashed = running;
+            running = false;
+            view = View.EMPTY;
+            joined.countDown();
+            if (crashed && mode == Mode.PARTITIONED) {
+                listeners.forEach(ClusterListener::onOwnershipChanged);
+            }
+            try {
+                channel.close();
+                selector.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+
+    private void receive() throws IOException {
+        while (true) {
+            receiveBuffer.clear();
+            SocketAddress from = channel.receive(receiveBuffer);
+            if (from == null) {
+                return;
+            }
+            receiveBuffer.flip();
+            SwimCodec.Message message;
+            try {
+                message = SwimCodec.decode(receiveBuffer);
+            } catch (CodecException e) {
+                System.out.println("⚠️ [CLUSTER] Dropped SWIM datagram from " + from + ": " + e.getMessage());
+                continue;
+            }
+            try {
+                if (!message.senderId().equals(nodeId)) {
+                    handle(message, (InetSocketAddress) from);
+                }
+            } catch (RuntimeException e) {
+                // one bad datagram (say an unresolvable address) must not take the node down
+                System.out.println("⚠️ [CLUSTER] Failed to handle SWIM " + message.type() + " from " + from + ": " + e);
+            }
+        }
+    }
+
+    private void handle(SwimCodec.Message message, InetSocketAddress from) {
+        observeTerm(message.term());
+        for (SwimCodec.Update update : message.updates()) {
+            // The sender's own bind address may be a wildcard; where it sends from is not
+            apply(update.nodeId().equals(message.senderId()) ? update.at(from) : update);
+        }
+        Member sender = members.get(message.senderId());
+        if (sender != null && sender.isMember()) {
+            NodeLoadSampler.Sample load = message.load();
+            sender.node.updateLoad(load.cpuLoad(), load.memoryUsed(), load.activeJobs());
+            sender.node.updateHeartbeat();
+        }
+        switch (message.type()) {
+            case PING -> send(SwimCodec.Type.ACK, message.sequence(), null, from, piggyback());
+            case PING_REQ -> {
+                Member target = members.get(message.targetId());
+                if (target != null && target.isMember()) {
+                    long sequence = nextSequence++;
+                    relays.put(sequence, new Relay(from, message.sequence(), System.nanoTime() + periodNanos * 2));
+                    send(SwimCodec.Type.PING, sequence, null, target.address, piggyback());
+                }
+            }
+            case ACK -> {
+                Relay relay = relays.remove(message.sequence());
+                if (relay != null) {
+                    send(SwimCodec.Type.ACK, relay.sequence(), null, relay.requester(), piggyback());
+                } else if (message.sequence() == probeSequence) {
+                    probeAcked = true;
+                }
+            }
+            case JOIN -> {
+                List<SwimCodec.Update> known = new ArrayList<>();
+                known.add(selfUpdate());
+                Member joiner = members.get(message.senderId());
+                if (joiner != null && !joiner.isMember()) {
+                    known.add(joiner.update()); // declared dead here: it has to refute that first
+                }
+                for (Member member : members.values()) {
+                    if (member.isMember()) {
+                        known.add(member.update());
+                    }
+                }
+                for (int start = 0; start < known.size(); start += SYNC_CHUNK) {
+                    send(SwimCodec.Type.SYNC, message.sequence(), null, from,
+                            known.subList(start, Math.min(known.size(), start + SYNC_CHUNK)));
+                }
+            }
+            case SYNC -> joining = false;
+            case EVENTS -> {
+                notifyListeners(() -> {
+                    for (String jobId : message.jobIds()) {
+                        listeners.forEach(listener -> listener.onJobDistributed(jobId, message.senderId()));
+                    }
+                });
+            }
+            case LEAVE -> {
+                // the LEFT update it carries has been applied
+            }
+        }
+    }
+
+    /**
+     * Applies what a member says about another, if it is newer than what is known here: an
+     * ALIVE overrides with a higher incarnation, a SUSPECT overrides an ALIVE of the same
+     * one, and DEAD or LEFT override both. About this node, a suspicion is refuted at once.
+     */
+    private void apply(SwimCodec.Update update) {
+        if (update.nodeId().equals(nodeId)) {
+            if ((update.status() == SwimCodec.Status.SUSPECT || update.status() == SwimCodec.Status.DEAD)
+                    && update.incarnation() >= incarnation) {
+                incarnation = update.incarnation() + 1;
+                disseminate(selfUpdate());
+            }
+            return;
+        }
+        Member member = members.get(update.nodeId());
+        if (member == null) {
+            member = new Member(update.nodeId(), update.address());
+            member.status = update.status();
+            member.incarnation = update.incarnation();
+            member.since = System.nanoTime();
+            members.put(member.id, member);
+            if (member.isMember()) {
+                disseminate(update);
+                viewDirty = true;
+            }
+            return;
+        }
+        boolean newer = switch (update.status()) {
+            case ALIVE -> update.incarnation() > member.incarnation;
+            case SUSPECT -> member.isMember() && (update.incarnation() > member.incarnation
+                    || (update.incarnation() == member.incarnation && member.status == SwimCodec.Status.ALIVE));
+            case DEAD, LEFT -> member.isMember() && update.incarnation() >= member.incarnation;
+        };
+        if (newer) {
+            setStatus(member, update.status(), update.incarnation());
+        }
+    }
+
+    private void setStatus(Member member, SwimCodec.Status status, long incarnation) {
+        member.status = status;
+        member.incarnation = incarnation;
+        member.since = System.nanoTime();
+        disseminate(member.update());
+        viewDirty = true;
+    }
+
+    /**
+     * A leader hearing a higher term than its own was deposed somewhere; it claims above it.
+     */
+    private void observeTerm(long term) {
+        if (highestTerm.accumulateAndGet(term, Math::max) > leaderTerm && leaderTerm > 0) {
+            leaderTerm = highestTerm.incrementAndGet();
+            System.out.println("👑 [CLUSTER] Heard a newer leader term; leading again as term " + leaderTerm);
+        }
+    }
+
+    private void tick(long now) {
+        localLoad = loadSampler.sample();
+        if (probeTarget != null && !probeAcked) {
+            Member target = members.get(probeTarget);
+            if (target != null && target.status == SwimCodec.Status.ALIVE) {
+                setStatus(target, SwimCodec.Status.SUSPECT, target.incarnation);
+            }
+        }
+        probeTarget = null;
+
+        for (Iterator<Member> it = members.values().iterator(); it.hasNext(); ) {
+            Member member = it.next();
+            if (member.status == SwimCodec.Status.SUSPECT && now - member.since >= periodNanos * SUSPECT_PERIODS) {
+                setStatus(member, SwimCodec.Status.DEAD, member.incarnation);
+            } else if (!member.isMember() && now - member.since >= TOMBSTONE_TTL.toNanos()) {
+                it.remove();
+                gossip.remove(member.id);
+            }
+        }
+        relays.values().removeIf(relay -> now - relay.expiresAt() >= 0);
+
+        if (view.nodeSet().size() <= 1 && members.values().stream().noneMatch(Member::isMember)) {
+            joinSeeds();
+        }
+        Member target = nextProbeTarget();
+        if (target != null) {
+            probeTarget = target.id;
+            probeSequence = nextSequence++;
+            probeSentAt = now;
+            probeAcked = false;
+            probeEscalated = false;
+            send(SwimCodec.Type.PING, probeSequence, null, target.address, piggyback());
+        }
+    }
+
+    private void probeIndirectly() {
+        probeEscalated = true;
+        List<Member> helpers = new ArrayList<>();
+        for (Member member : members.values()) {
+            if (member.status == SwimCodec.Status.ALIVE && !member.id.equals(probeTarget)) {
+                helpers.add(member);
+            }
+        }
+        Collections.shuffle(helpers);
+        for (Member helper : helpers.subList(0, Math.min(INDIRECT_PROBES, helpers.size()))) {
+            send(SwimCodec.Type.PING_REQ, probeSequence, probeTarget, helper.address, piggyback());
+        }
+    }
+
+    /**
+     * Members in a shuffled order, reshuffled after each full round, so every member is
+     * probed once per round.
+     */
+    private Member nextProbeTarget() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            while (probeIndex < probeOrder.size()) {
+                Member member = members.get(probeOrder.get(probeIndex++));
+                if (member != null && member.isMember()) {
+                    return member;
+                }
+            }
+            probeOrder.clear();
+            for (Member member : members.values()) {
+                if (member.isMember()) {
+                    probeOrder.add(member.id);
+                }
+            }
+            Collections.shuffle(probeOrder);
+            probeIndex = 0;
+        }
+        return null;
+    }
+
+    private List<InetSocketAddress> otherSeeds() {
+        List<InetSocketAddress> others = new ArrayList<>();
+        InetSocketAddress bound = getBoundAddress();
+        for (InetSocketAddress seed : seeds) {
+            if (!seed.equals(bound)) {
+                others.add(seed);
+            }
+        }
+        return others;
+    }
+
+    private void joinSeeds() {
+        for (InetSocketAddress seed : otherSeeds()) {
+            send(SwimCodec.Type.JOIN, nextSequence++, null, seed, List.of(selfUpdate()));
+        }
+    }
+
+    private void leave() {
+        List<SwimCodec.Update> left = List.of(new SwimCodec.Update(nodeId, getBoundAddress(), SwimCodec.Status.LEFT,
+                incarnation + 1));
+        for (Member member : members.values()) {
+            if (member.isMember()) {
+                send(SwimCodec.Type.LEAVE, nextSequence++, null, member.address, left);
+            }
+        }
+    }
+
+    /**
+     * Sends the announced job ids in datagrams of up to {@value #MAX_EVENT_BYTES} bytes of ids;
+     * an id too long for one on its own is dropped.
+     */
+    private void sendJobs() {
+        while (!outgoingJobs.isEmpty()) {
+            List<String> batch = new ArrayList<>();
+            int bytes = 0;
+            String jobId;
+            while ((jobId = outgoingJobs.peek()) != null) {
+                int size = jobId.getBytes(StandardCharsets.UTF_8).length + 5; // id and its length varint
+                if (size > MAX_EVENT_BYTES) {
+                    outgoingJobs.poll();
+                    System.out.println("⚠️ [CLUSTER] Job id too long to announce: " + jobId.substring(0, 64) + "...");
+                    continue;
+                }
+                if (bytes + size > MAX_EVENT_BYTES) {
+                    break;
+                }
+                batch.add(outgoingJobs.poll());
+                bytes += size;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            for (Member member : members.values()) {
+                if (member.isMember()) {
+                    send(SwimCodec.Type.EVENTS, nextSequence++, null, member.address, List.of(), batch);
+                }
+            }
+        }
+    }
+
+    private void send(SwimCodec.Type type, long sequence, String targetId, InetSocketAddress to,
+                      List<SwimCodec.Update> updates) {
+        send(type, sequence, targetId, to, updates, List.of());
+    }
+
+    /**
+     * A datagram that cannot be encoded or sent is logged and lost, like one dropped on the
+     * way; the protocol already copes with that, and the node keeps running.
+     */
+    private void send(SwimCodec.Type type, long sequence, String targetId, InetSocketAddress to,
+                      List<SwimCodec.Update> updates, List<String> jobIds) {
+        try {
+            sendBuffer.clear();
+            SwimCodec.encode(new SwimCodec.Message(type, nodeId, highestTerm.get(), sequence, targetId, localLoad,
+                    updates, jobIds), sendBuffer);
+            sendBuffer.flip();
+            channel.send(sendBuffer, to);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("⚠️ [CLUSTER] Failed to send SWIM " + type + " to " + to + ": " + e);
+        }
+    }
+
+    private void disseminate(SwimCodec.Update update) {
+        gossip.remove(update.nodeId());
+        gossip.put(update.nodeId(), new Gossip(update));
+    }
+
+    /**
+     * Up to {@value #MAX_PIGGYBACK} updates, the least sent first; each is dropped once sent
+     * about 3 log2(n) times, by when it has reached every member with high probability.
+     */
+    private List<SwimCodec.Update> piggyback() {
+        if (gossip.isEmpty()) {
+            return List.of();
+        }
+        int limit = 3 * (64 - Long.numberOfLeadingZeros(members.size() + 1));
+        List<Gossip> pending = new ArrayList<>(gossip.values());
+        pending.sort(Comparator.comparingInt(entry -> entry.transmissions));
+        List<SwimCodec.Update> updates = new ArrayList<>(Math.min(MAX_PIGGYBACK, pending.size()));
+        for (Gossip entry : pending.subList(0, Math.min(MAX_PIGGYBACK, pending.size()))) {
+            updates.add(entry.update);
+            if (++entry.transmissions >= limit) {
+                gossip.remove(entry.update.nodeId());
+            }
+        }
+        return updates;
+    }
+
+    private SwimCodec.Update selfUpdate() {
+        return new SwimCodec.Update(nodeId, getBoundAddress(), SwimCodec.Status.ALIVE, incarnation);
+    }
+
+    /**
+     * Publishes the members as a new {@link View} and tells the listeners what changed. A
+     * node gaining leadership claims its term before the view says it leads; one losing it
+     * keeps its term until the view says it no longer does.
+     */
+    private void rebuildView() {
+        viewDirty = false;
+        View previous = view;
+        Map<String, ClusterNode> nodes = new HashMap<>();
+        String leaderId = null;
+        if (running) {
+            localNode.updateLoad(localLoad.cpuLoad(), localLoad.memoryUsed(), localLoad.activeJobs());
+            localNode.updateHeartbeat();
+            nodes.put(nodeId, localNode);
+            leaderId = nodeId;
+        }
+        List<Runnable> changes = new ArrayList<>();
+        for (Member member : members.values()) {
+            ClusterNode.NodeStatus status = member.status == SwimCodec.Status.ALIVE ? ClusterNode.NodeStatus.ACTIVE
+                    : member.status == SwimCodec.Status.SUSPECT ? ClusterNode.NodeStatus.SUSPECTED
+                    : ClusterNode.NodeStatus.DOWN;
+            ClusterNode node = member.node;
+            boolean known = previous.nodes().containsKey(member.id);
+            ClusterNode.NodeStatus before = node.getStatus();
+            if (member.isMember()) {
+                nodes.put(member.id, node);
+                if (leaderId == null || member.id.compareTo(leaderId) < 0) {
+                    leaderId = member.id;
+                }
+            }
+            if (!known && member.isMember()) {
+                node.setStatus(status);
+                changes.add(() -> listeners.forEach(listener -> listener.onNodeJoined(node)));
+            } else if (known && before != status) {
+                node.setStatus(status);
+                changes.add(() -> listeners.forEach(listener -> listener.onNodeStatusChanged(node, before)));
+                if (!member.isMember()) {
+                    changes.add(() -> listeners.forEach(listener -> listener.onNodeLeft(node)));
+                }
+            }
+        }
+        boolean ringChanged = !nodes.keySet().equals(previous.nodes().keySet());
+        View next = new View(Map.copyOf(nodes), Set.copyOf(nodes.values()), leaderId,
+                ringChanged ? ConsistentHashRing.of(nodes.keySet()) : previous.ring(), previous.version() + 1);
+        boolean leading = nodeId.equals(leaderId);
+        boolean wasLeading = nodeId.equals(previous.leaderId());
+        if (leading && !wasLeading) {
+            leaderTerm = highestTerm.incrementAndGet();
+        }
+        view = next;
+        if (!leading && wasLeading) {
+            leaderTerm = 0;
+        }
+        if (!Objects.equals(leaderId, previous.leaderId()) && leaderId != null) {
+            String elected = leaderId;
+            if (leading) {
+                System.out.println("👑 [CLUSTER] " + nodeId + " leads as term " + leaderTerm);
+            }
+            changes.add(() -> listeners.forEach(listener -> listener.onLeaderElected(elected)));
+        }
+        if (mode == Mode.PARTITIONED && ringChanged) {
+            changes.add(() -> {
+                reportRingChange(previous.ring(), next);
+                listeners.forEach(ClusterListener::onOwnershipChanged);
+            });
+        }
+        if (!changes.isEmpty()) {
+            notifyListeners(() -> changes.forEach(Runnable::run));
+        }
+    }
+
+    /**
+     * Counts the slots, and the catalog's jobs in them, whose ring owner changed.
+     */
+    private void reportRingChange(ConsistentHashRing before, View next) {
+        long startedAt = System.nanoTime();
+        int slotCount = SlotAssignment.DEFAULT_SLOT_COUNT;
+        int[] jobsPerSlot = new int[slotCount];
+        int totalJobs = 0;
+        for (String jobId : jobCatalog.get()) {
+            jobsPerSlot[SlotAssignment.slotOf(jobId, slotCount)]++;
+            totalJobs++;
+        }
+        int movedSlots = 0;
+        int movedJobs = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            String key = "slot-" + slot;
+            String owner = next.ring().owner(key);
+            if (before.isEmpty() || !Objects.equals(before.owner(key), owner)) {
+                movedSlots++;
+                movedJobs += jobsPerSlot[slot];
+            }
+        }
+        RebalanceReport report = new RebalanceReport(next.version(), next.nodes().size(), totalJobs, movedSlots,
+                movedJobs, Duration.ofNanos(System.nanoTime() - startedAt));
+        lastRebalance = report;
+        if (!before.isEmpty()) {
+            System.out.println("⚖️ [CLUSTER] Ring now has " + report.nodes() + " nodes: " + report.movedJobs()
+                    + " of " + report.totalJobs() + " jobs (" + report.movedSlots() + " slots) changed owner");
+        }
+    }
+
+    /**
+     * Runs listener callbacks off the protocol thread, in the order the changes happened.
+     */
+    private void notifyListeners(Runnable notification) {
+        notifier.execute(() -> {
+            try {
+                notification.run();
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ [CLUSTER] Cluster listener failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Immutable snapshot of the live members, replaced by the protocol thread on every change.
+     */
+    private record View(Map<String, ClusterNode> nodes, Set<ClusterNode> nodeSet, String leaderId,
+                        ConsistentHashRing ring, long version) {
+        static final View EMPTY = new View(Map.of(), Set.of(), null, ConsistentHashRing.empty(), 0);
+    }
+
+    private record Relay(InetSocketAddress requester, long sequence, long expiresAt) {}
+
+    private static final class Gossip {
+        final SwimCodec.Update update;
+        int transmissions;
+
+        Gossip(SwimCodec.Update update) {
+            this.update = update;
+        }
+    }
+
+    /**
+     * What this node knows of another; only the protocol thread touches it.
+     */
+    private static final class Member {
+        final String id;
+        final InetSocketAddress address;
+        final ClusterNode node;
+        SwimCodec.Status status;
+        long incarnation;
+        long since;
+
+        Member(String id, InetSocketAddress address) {
+            this.id = id;
+            this.address = address;
+            this.node = new ClusterNode(id, address.getHostString(), address.getPort());
+        }
+
+        boolean isMember() {
+            return status == SwimCodec.Status.ALIVE || status == SwimCodec.Status.SUSPECT;
+        }
+
+        SwimCodec.Update update() {
+            return new SwimCodec.Update(id, address, status, incarnation);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.github.Alyas100.cluster.swim;
+
+import org.github.Alyas100.cluster.NodeLoadSampler;
+import org.github.Alyas100.codec.CodecException;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Wire format of the SWIM datagrams.
+ *
+ * <p>A datagram is {@code [byte formatVersion][byte type]}, the sender's node id as 16 raw
+ * UUID bytes, its leadership term, a sequence number, the target id of a PING_REQ, the
+ * sender's load, the piggybacked membership updates and, for EVENTS, job ids. Numbers are
+ * unsigned varints and addresses raw bytes, so a ping carrying a few updates fits in a
+ * couple of hundred bytes.</p>
+ */
+final class SwimCodec {
+    static final int FORMAT_VERSION = 1;
+
+    private SwimCodec() {
+    }
+
+    enum Type { PING, ACK, PING_REQ, JOIN, SYNC, LEAVE, EVENTS }
+
+    enum Status { ALIVE, SUSPECT, DEAD, LEFT }
+
+    /**
+     * What one node believes about another; see {@link SwimClusterManager} for which update wins.
+     */
+    record Update(String nodeId, InetSocketAddress address, Status status, long incarnation) {
+        /**
+         * The same update at the address its node was seen sending from.
+         */
+        Update at(InetSocketAddress observed) {
+            return new Update(nodeId, observed, status, incarnation);
+        }
+    }
+
+    /**
+     * @param term     highest leadership term the sender knows
+     * @param sequence matches an ACK to its PING or PING_REQ
+     * @param targetId node to probe on the sender's behalf (PING_REQ only)
+     * @param jobIds   jobs the sender distributed (EVENTS only)
+     */
+    record Message(Type type, String senderId, long term, long sequence, String targetId,
+                   NodeLoadSampler.Sample load, List<Update> updates, List<String> jobIds) {}
+
+    static void encode(Message message, ByteBuffer out) {
+        out.put((byte) FORMAT_VERSION);
+        out.put((byte) message.type().ordinal());
+        nodeId(out, message.senderId());
+        varint(out, message.term());
+        varint(out, message.sequence());
+        if (message.type() == Type.PING_REQ) {
+            nodeId(out, message.targetId());
+        }
+        varint(out, message.load().cpuLoad());
+        varint(out, message.load().memoryUsed());
+        varint(out, message.load().activeJobs());
+        varint(out, message.updates().size());
+        for (Update update : message.updates()) {
+            nodeId(out, update.nodeId());
+            out.put((byte) update.status().ordinal());
+            varint(out, update.incarnation());
+            byte[] address = update.address().getAddress().getAddress();
+            out.put((byte) address.length);
+            out.put(address);
+            varint(out, update.address().getPort());
+        }
+        varint(out, message.jobIds().size());
+        for (String jobId : message.jobIds()) {
+            byte[] utf8 = jobId.getBytes(StandardCharsets.UTF_8);
+            varint(out, utf8.length);
+            out.put(utf8);
+        }
+    }
+
+    static Message decode(ByteBuffer in) {
+        try {
+            int version = in.get();
+            if (version != FORMAT_VERSION) {
+                throw new CodecException("Unsupported SWIM format version " + version);
+            }
+            int typeIndex = in.get();
+            if (typeIndex < 0 || typeIndex >= Type.values().length) {
+                throw new CodecException("Unknown SWIM message type " + typeIndex);
+            }
+            Type type = Type.values()[typeIndex];
+            String senderId = nodeId(in);
+            long term = varint(in);
+            long sequence = varint(in);
+            String targetId = type == Type.PING_REQ ? nodeId(in) : null;
+            NodeLoadSampler.Sample load = new NodeLoadSampler.Sample((int) varint(in), varint(in), (int) varint(in));
+            int updateCount = length(in, "update count");
+            List<Update> updates = new ArrayList<>(updateCount);
+            for (int i = 0; i < updateCount; i++) {
+                String nodeId = nodeId(in);
+                int statusIndex = in.get();
+                if (statusIndex < 0 || statusIndex >= Status.values().length) {
+                    throw new CodecException("Unknown SWIM member status " + statusIndex);
+                }
+                Status status = Status.values()[statusIndex];
+                long incarnation = varint(in);
+                int addressLength = in.get();
+                if (addressLength != 4 && addressLength != 16) {
+                    throw new CodecException("Bad SWIM address length " + addressLength);
+                }
+                byte[] address = new byte[addressLength];
+                in.get(address);
+                int port = (int) varint(in);
+                updates.add(new Update(nodeId, new InetSocketAddress(InetAddress.getByAddress(address), port),
+                        status, incarnation));
+            }
+            int jobCount = length(in, "job count");
+            List<String> jobIds = new ArrayList<>(jobCount);
+            for (int i = 0; i < jobCount; i++) {
+                byte[] utf8 = new byte[length(in, "job id length")];
+                in.get(utf8);
+                jobIds.add(new String(utf8, StandardCharsets.UTF_8));
+            }
+            return new Message(type, senderId, term, sequence, targetId, load, updates, jobIds);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | UnknownHostException e) {
+            throw new CodecException("Malformed SWIM datagram", e);
+        }
+    }
+
+    private static void nodeId(ByteBuffer out, String nodeId) {
+        UUID uuid = UUID.fromString(nodeId);
+        out.putLong(uuid.getMostSignificantBits());
+        out.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static String nodeId(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong()).toString();
+    }
+
+    // A count or length can never exceed the bytes left, each entry taking at least one
+    private static int length(ByteBuffer in, String what) {
+        long value = varint(in);
+        if (value < 0 || value > in.remaining()) {
+            throw new CodecException("SWIM " + what + " " + value + " exceeds remaining " + in.remaining() + " bytes");
+        }
+        return (int) value;
+    }
+
+    private static void varint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long varint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new CodecException("Malformed varint");
+    }
+}
@@ -1,6 +1,8 @@
 package org.github.Alyas100.core;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.BitSet;
 import java.util.StringTokenizer;
 import java.util.regex.Pattern;
@@ -102,7 +104,7 @@ public class CronExpression {
     }
 
     public LocalDateTime next(LocalDateTime after) {
-        LocalDateTime next = after.plusSeconds(1);
+        LocalDateTime next = after.withNano(0).plusSeconds(1);
 
         while (true) {
             if (!months.get(next.getMonthValue())) {
@@ -142,6 +144,25 @@ public class CronExpression {
         return next;
     }
 
+    /**
+     * Next fire instant strictly after {@code after}, evaluated in wall-clock time of {@code zone}.
+     *
+     * <p>DST handling: a wall time that falls into a spring-forward gap fires at the shifted
+     * (later) instant; a wall time repeated by a fall-back overlap fires only once, at its
+     * earlier offset.</p>
+     */
+    public Instant next(Instant after, ZoneId zone) {
+        LocalDateTime candidate = next(LocalDateTime.ofInstant(after, zone));
+        while (true) {
+            Instant instant = candidate.atZone(zone).toInstant();
+            if (instant.isAfter(after)) {
+                return instant;
+            }
+            // Only reachable inside a fall-back overlap: this wall time already fired
+            candidate = next(candidate);
+        }
+    }
+
 //    public static CronExpression parse(String expression) {
 //        return new CronExpression(expression);
 //    }
@@ -1,10 +1,16 @@
 package org.github.Alyas100.core;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Utility class for parsing cron expressions.
- * This is just a thin wrapper around CronExpression for better naming.
+ * Parsed expressions are immutable, so they are cached by their text: thousands of jobs
+ * usually share a handful of schedules and each is parsed once.
  */
 public class CronExpressionParser {
+    private static final int MAX_CACHED_EXPRESSIONS = 10_000;
+    private static final Map<String, CronExpression> CACHE = new ConcurrentHashMap<>();
 
     /**
      * Parse a cron expression string into a CronExpression object.
@@ -14,7 +20,15 @@ public class CronExpressionParser {
      * @throws IllegalArgumentException if expression is invalid
      */
     public static CronExpression parse(String expression) {
-        return new CronExpression(expression);
+        CronExpression cached = CACHE.get(expression);
+        if (cached != null) {
+            return cached;
+        }
+        CronExpression parsed = new CronExpression(expression);
+        if (CACHE.size() < MAX_CACHED_EXPRESSIONS) {
+            CACHE.putIfAbsent(expression, parsed);
+        }
+        return parsed;
     }
 
     /**
@@ -22,7 +36,7 @@ public class CronExpressionParser {
      */
     public static boolean isValid(String expression) {
         try {
-            new CronExpression(expression);
+            parse(expression);
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -0,0 +1,75 @@
+package org.github.Alyas100.core;
+
+import org.github.Alyas100.cluster.ClusterManager;
+
+/**
+ * Stamps scheduled fires with the leader's fencing token and turns away fires whose token is
+ * no longer current, so a deposed leader cannot run a job the new leader also runs. In a
+ * partitioned cluster the same check is per job: a node fires a job only while it owns it.
+ */
+public interface ExecutionFence {
+    /** Token of fires that need no fencing (single node, or a manager without fencing) */
+    long UNFENCED = 0;
+    /** Returned by {@link #currentToken} when this node may not fire the job */
+    long STALE = -1;
+
+    ExecutionFence NONE = new ExecutionFence() {
+        @Override
+        public long currentToken(String jobId) {
+            return UNFENCED;
+        }
+
+        @Override
+        public boolean admit(String jobId, long fencingToken) {
+            return true;
+        }
+
+        @Override
+        public boolean admitDispatched(long fencingToken) {
+            return true;
+        }
+    };
+
+    /**
+     * Token to stamp on a fire of {@code jobId} issued now, or {@link #STALE}.
+     */
+    long currentToken(String jobId);
+
+    /**
+     * Whether a fire of {@code jobId} stamped with {@code fencingToken} may start now.
+     */
+    boolean admit(String jobId, long fencingToken);
+
+    /**
+     * Whether a fire the leader dispatched to this node under {@code fencingToken} may start now.
+     */
+    boolean admitDispatched(long fencingToken);
+
+    /**
+     * Fires a job only while this node owns it ({@link ClusterManager#ownsJob}: while it leads,
+     * unless the cluster is partitioned), and only under the token of its current leadership.
+     */
+    static ExecutionFence cluster(ClusterManager clusterManager) {
+        return new ExecutionFence() {
+            @Override
+            public long currentToken(String jobId) {
+                long token = clusterManager.getFencingToken();
+                return clusterManager.ownsJob(jobId) ? token : STALE;
+            }
+
+            @Override
+            public boolean admit(String jobId, long fencingToken) {
+                if (fencingToken == STALE || !clusterManager.ownsJob(jobId)) {
+                    return false;
+                }
+                return fencingToken == UNFENCED
+                        || (fencingToken == clusterManager.getFencingToken() && clusterManager.acceptFencingToken(fencingToken));
+            }
+
+            @Override
+            public boolean admitDispatched(long fencingToken) {
+                return fencingToken == UNFENCED || clusterManager.acceptFencingToken(fencingToken);
+            }
+        };
+    }
+}
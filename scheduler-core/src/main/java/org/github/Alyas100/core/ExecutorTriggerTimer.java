@@ -0,0 +1,38 @@
+package org.github.Alyas100.core;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock {@link TriggerTimer} backed by a {@link ScheduledExecutorService}.
+ */
+public class ExecutorTriggerTimer implements TriggerTimer {
+    private final ScheduledExecutorService scheduler;
+    private final Clock clock;
+
+    public ExecutorTriggerTimer(Clock clock) {
+        this(Executors.newScheduledThreadPool(4), clock);
+    }
+
+    public ExecutorTriggerTimer(ScheduledExecutorService scheduler, Clock clock) {
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    @Override
+    public Handle schedule(Runnable task, Instant at) {
+        long delay = Math.max(0, Duration.between(clock.instant(), at).toMillis());
+        ScheduledFuture<?> future = scheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
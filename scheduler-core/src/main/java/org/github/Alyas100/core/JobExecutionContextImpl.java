@@ -9,24 +9,41 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class JobExecutionContextImpl implements JobExecutionContext {
     private final JobDefinition jobDefinition;
-    private final Instant executionTime;
+    private final Instant scheduledTime;
+    private final Instant actualExecutionTime;
+    private final String nodeId;
+    private final long fencingToken;
     private final Map<String, Object> sharedState = new ConcurrentHashMap<>();
 
     public JobExecutionContextImpl(JobDefinition jobDefinition) {
+        this(jobDefinition, Instant.now(), Instant.now(), "local-node");
+    }
+
+    public JobExecutionContextImpl(JobDefinition jobDefinition, Instant scheduledTime, Instant actualExecutionTime,
+                                   String nodeId) {
+        this(jobDefinition, scheduledTime, actualExecutionTime, nodeId, 0);
+    }
+
+    public JobExecutionContextImpl(JobDefinition jobDefinition, Instant scheduledTime, Instant actualExecutionTime,
+                                   String nodeId, long fencingToken) {
         this.jobDefinition = jobDefinition;
-        this.executionTime = Instant.now();
+        this.scheduledTime = scheduledTime;
+        this.actualExecutionTime = actualExecutionTime;
+        this.nodeId = nodeId;
+        this.fencingToken = fencingToken;
     }
 
     @Override public String getJobId() { return jobDefinition.jobId(); }
     @Override public String getJobName() { return jobDefinition.jobName(); }
     @Override public String getPluginName() { return jobDefinition.pluginName(); }
-    @Override public Instant getScheduledTime() { return executionTime; }
-    @Override public Instant getActualExecutionTime() { return Instant.now(); }
+    @Override public Instant getScheduledTime() { return scheduledTime; }
+    @Override public Instant getActualExecutionTime() { return actualExecutionTime; }
     @Override public Instant getJobCreationTime() { return Instant.now(); }
     @Override public Map<String, Object> getParameters() { return jobDefinition.parameters(); }
-    @Override public String getNodeId() { return "local-node"; }
+    @Override public String getNodeId() { return nodeId; }
     @Override public String getCorrelationId() { return jobDefinition.jobId() + "-" + System.currentTimeMillis(); }
     @Override public boolean isRecoveryExecution() { return false; }
+    @Override public long getFencingToken() { return fencingToken; }
 
     @Override
     public void updateProgress(int percentage, String statusMessage) {
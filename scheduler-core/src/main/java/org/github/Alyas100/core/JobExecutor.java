@@ -1,31 +1,130 @@
 package org.github.Alyas100.core;
 
 import org.github.Alyas100.*;
+import org.github.Alyas100.cluster.JobDistributor;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
 
 /**
  * Handles actual job execution with timeout and exception handling.
+ * With a {@link JobDistributor}, scheduled fires run on whichever node it picks; fires sent
+ * here by the leader arrive through {@link #executeDispatched}.
  */
 public class JobExecutor {
     private final PluginRegistry pluginRegistry;
-    private final ExecutorService executorService;
+    private final Executor executor;
+    private final Clock clock;
+    private final String nodeId;
+    private final ExecutionFence fence;
+    private final JobDistributor distributor;
+    private final AtomicInteger running = new AtomicInteger();
 
     public JobExecutor(PluginRegistry pluginRegistry) {
+        this(pluginRegistry, Executors.newCachedThreadPool(), Clock.systemDefaultZone(), "local-node");
+    }
+
+    public JobExecutor(PluginRegistry pluginRegistry, Executor executor, Clock clock, String nodeId) {
+        this(pluginRegistry, executor, clock, nodeId, ExecutionFence.NONE);
+    }
+
+    /**
+     * @param executor runs plugin executions (a caller-runs executor makes execution deterministic)
+     * @param clock source of execution timestamps handed to plugins
+     * @param nodeId cluster node reported to plugins as the executing node
+     * @param fence stamps scheduled fires with the leader's fencing token and rejects stale ones
+     */
+    public JobExecutor(PluginRegistry pluginRegistry, Executor executor, Clock clock, String nodeId,
+                       ExecutionFence fence) {
+        this(pluginRegistry, executor, clock, nodeId, fence, null);
+    }
+
+    /**
+     * @param distributor sends scheduled fires to other nodes; null runs them all here
+     */
+    public JobExecutor(PluginRegistry pluginRegistry, Executor executor, Clock clock, String nodeId,
+                       ExecutionFence fence, JobDistributor distributor) {
         this.pluginRegistry = pluginRegistry;
-        this.executorService = Executors.newCachedThreadPool();
+        this.executor = executor;
+        this.clock = clock;
+        this.nodeId = nodeId;
+        this.fence = fence;
+        this.distributor = distributor;
     }
 
     /**
-     * Executes a job asynchronously with timeout support.
+     * Executes a job asynchronously with timeout support. Manual runs are not fenced.
      */
     public CompletableFuture<JobExecutionResult> executeJob(Optional<JobDefinition> jobOpt) {
+        return execute(jobOpt, clock.instant(), ExecutionFence.UNFENCED, token -> true);
+    }
+
+    /**
+     * Executes a job asynchronously for a planned fire time (used by cron triggers so
+     * plugins can compare when they were meant to run against when they actually ran),
+     * stamped with the current fencing token.
+     */
+    public CompletableFuture<JobExecutionResult> executeJob(Optional<JobDefinition> jobOpt, Instant scheduledTime) {
+        return executeJob(jobOpt, scheduledTime, fence.currentToken(jobOpt.map(JobDefinition::jobId).orElse(null)));
+    }
+
+    /**
+     * Executes a fire issued under {@code fencingToken} (see {@link #currentFencingToken}).
+     * The token is checked again right before the plugin runs, since leadership or the job's
+     * ownership may have moved while the fire waited for a thread.
+     */
+    public CompletableFuture<JobExecutionResult> executeJob(Optional<JobDefinition> jobOpt, Instant scheduledTime,
+                                                            long fencingToken) {
+        if (fencingToken == ExecutionFence.STALE) {
+            return CompletableFuture.completedFuture(rejected(fencingToken));
+        }
+        if (distributor != null && jobOpt.isPresent()) {
+            return distributor.dispatch(jobOpt.get(), scheduledTime, fencingToken);
+        }
+        String jobId = jobOpt.map(JobDefinition::jobId).orElse(null);
+        return execute(jobOpt, scheduledTime, fencingToken, token -> fence.admit(jobId, token));
+    }
+
+    /**
+     * Runs a fire the leader dispatched to this node, unless a newer leader's token has been
+     * seen here.
+     */
+    public CompletableFuture<JobExecutionResult> executeDispatched(JobDefinition job, Instant scheduledTime,
+                                                                   long fencingToken) {
+        return execute(Optional.of(job), scheduledTime, fencingToken, fence::admitDispatched);
+    }
+
+    /**
+     * Number of plugin executions running on this node right now.
+     */
+    public int getRunningCount() {
+        return running.get();
+    }
+
+    /**
+     * Token to stamp on a fire of {@code jobId} issued now; {@link ExecutionFence#STALE} if this
+     * node may not fire it.
+     */
+    public long currentFencingToken(String jobId) {
+        return fence.currentToken(jobId);
+    }
+
+    private CompletableFuture<JobExecutionResult> execute(Optional<JobDefinition> jobOpt, Instant scheduledTime,
+                                                          long fencingToken, LongPredicate admission) {
         return CompletableFuture.supplyAsync(() -> {
             JobDefinition job = jobOpt.orElseThrow(() -> new IllegalArgumentException("Job is missing")); // check first if the 'JobDefinition type object' exist in Optional, if yes extract it from 'Optional' and assigns it into 'job', else throw excp
+            if (!admission.test(fencingToken)) {
+                return rejected(fencingToken);
+            }
             JobPlugin plugin = pluginRegistry.getPlugin(job.pluginName(), job.parameters());
-            JobExecutionContext context = new JobExecutionContextImpl(job);
+            JobExecutionContext context = new JobExecutionContextImpl(job, scheduledTime, clock.instant(), nodeId,
+                    fencingToken);
 
+            running.incrementAndGet();
             try {
                 return plugin.execute(context);
             } catch (Exception e) {
@@ -37,11 +136,26 @@ public class JobExecutor {
                         ErrorType.PLUGIN_ERROR,
                         0
                 );
+            } finally {
+                running.decrementAndGet();
             }
-        }, executorService);
+        }, executor);
+    }
+
+    private static JobExecutionResult rejected(long fencingToken) {
+        return new JobExecutionResult.Failure(
+                "Fire rejected: fencing token " + fencingToken + " is no longer the leader's",
+                null,
+                java.time.Duration.ZERO,
+                false,
+                ErrorType.PERMISSION_DENIED,
+                0
+        );
     }
 
     public void shutdown() {
-        executorService.shutdown();
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+package org.github.Alyas100.core;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.TriggerState;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Startup pipeline that turns a stream of persisted jobs into armed triggers.
+ *
+ * <p>The calling thread pulls jobs from the stream (the repository pages them in lazily) and
+ * cuts them into chunks. Worker threads validate each chunk, parse cron expressions (cached
+ * by {@link CronExpressionParser}), compute first fire times and register the chunk with
+ * {@link JobScheduler#scheduleAll}. At most two chunks per worker are in flight, so memory
+ * stays flat however many jobs are stored. Progress is printed every second.</p>
+ *
+ * <p>With a repository, each chunk's stored trigger states are read in one call and jobs
+ * resume from them, so fires missed while no node was scheduling are caught up per their
+ * misfire policy (see {@link JobScheduler#prepare(JobDefinition, TriggerState)}).</p>
+ *
+ * <p>Invalid jobs (unknown plugin, bad cron expression) are still registered as definitions
+ * so they can be fixed through the API, but get no trigger; the first few reasons end up in
+ * the {@link LoadReport}.</p>
+ */
+public class JobLoader {
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final JobScheduler jobScheduler;
+    private final Set<String> knownPlugins;
+    private final JobRepository triggerStates;
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * Outcome of one load.
+     *
+     * @param misfired scheduled jobs whose stored next fire had already passed
+     * @param timeToReady from the first read until every valid job was armed
+     * @param errors the first few validation failures, as "jobId: reason"
+     */
+    public record LoadReport(long loaded, long scheduled, long invalid, long misfired, Duration timeToReady,
+                             List<String> errors) {}
+
+    public JobLoader(JobScheduler jobScheduler, Set<String> knownPlugins) {
+        this(jobScheduler, knownPlugins, null);
+    }
+
+    /**
+     * @param triggerStates repository to resume trigger states from; null to start every job from now
+     */
+    public JobLoader(JobScheduler jobScheduler, Set<String> knownPlugins, JobRepository triggerStates) {
+        this(jobScheduler, knownPlugins, triggerStates, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param parallelism worker threads that validate and register chunks
+     * @param chunkSize jobs handed to a worker at a time
+     */
+    public JobLoader(JobScheduler jobScheduler, Set<String> knownPlugins, JobRepository triggerStates,
+                     int parallelism, int chunkSize) {
+        this.jobScheduler = jobScheduler;
+        this.knownPlugins = knownPlugins;
+        this.triggerStates = triggerStates;
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Loads every job of the stream and closes it.
+     *
+     * @param definitions receives every loaded job, valid or not
+     * @param schedule false to only validate and register definitions (cluster followers)
+     */
+    public LoadReport load(Stream<JobDefinition> jobs, Map<String, JobDefinition> definitions, boolean schedule) {
+        return load(jobs, definitions, job -> schedule);
+    }
+
+    /**
+     * Loads every job of the stream and closes it, arming only the jobs {@code schedule}
+     * accepts (the ones this node owns in a partitioned cluster); trigger states are only
+     * read for those.
+     *
+     * @param definitions receives every loaded job, valid or not
+     */
+    public LoadReport load(Stream<JobDefinition> jobs, Map<String, JobDefinition> definitions,
+                           Predicate<JobDefinition> schedule) {
+        long start = System.nanoTime();
+        AtomicLong registered = new AtomicLong();
+        AtomicLong scheduled = new AtomicLong();
+        AtomicLong invalid = new AtomicLong();
+        AtomicLong misfired = new AtomicLong();
+        Queue<String> errors = new ConcurrentLinkedQueue<>();
+        AtomicInteger reportedErrors = new AtomicInteger();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "job-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<?>> chunks = new ArrayList<>();
+        long read = 0;
+        long lastProgress = start;
+
+        try (jobs) {
+            Iterator<JobDefinition> iterator = jobs.iterator();
+            while (iterator.hasNext()) {
+                List<JobDefinition> chunk = new ArrayList<>(chunkSize);
+                while (chunk.size() < chunkSize && iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                }
+                read += chunk.size();
+                inFlight.acquireUninterruptibly();
+                chunks.add(workers.submit(() -> {
+                    try {
+                        List<JobScheduler.PreparedJob> prepared = new ArrayList<>(chunk.size());
+                        List<JobDefinition> owned = new ArrayList<>(chunk.size());
+                        for (JobDefinition job : chunk) {
+                            if (job.jobId() != null && schedule.test(job)) {
+                                owned.add(job);
+                            }
+                        }
+                        Map<String, TriggerState> stored = owned.isEmpty() ? Map.of() : storedStates(owned);
+                        Set<JobDefinition> toSchedule = Collections.newSetFromMap(new IdentityHashMap<>(owned.size()));
+                        toSchedule.addAll(owned);
+                        for (JobDefinition job : chunk) {
+                            String problem = validate(job);
+                            if (job.jobId() != null) {
+                                definitions.put(job.jobId(), job);
+                            }
+                            if (problem == null && hasCron(job)) {
+                                try {
+                                    JobScheduler.PreparedJob ready = jobScheduler.prepare(job, stored.get(job.jobId()));
+                                    if (job.enabled() && toSchedule.contains(job)) {
+                                        prepared.add(ready);
+                                        if (ready.misfired()) {
+                                            misfired.incrementAndGet();
+                                        }
+                                    }
+                                } catch (IllegalArgumentException e) {
+                                    problem = "invalid cron expression '" + job.cronExpression() + "' (" + e.getMessage() + ")";
+                                }
+                            }
+                            if (problem != null) {
+                                invalid.incrementAndGet();
+                                if (reportedErrors.getAndIncrement() < MAX_REPORTED_ERRORS) {
+                                    errors.add(job.jobId() + ": " + problem);
+                                }
+                            }
+                        }
+                        jobScheduler.scheduleAll(prepared);
+                        scheduled.addAndGet(prepared.size());
+                        registered.addAndGet(chunk.size());
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+
+                long now = System.nanoTime();
+                if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = now;
+                    System.out.printf("⏳ Loading jobs: %d read, %d registered (%.0f jobs/s)%n",
+                            read, registered.get(), registered.get() / ((now - start) / 1e9));
+                }
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading jobs", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load jobs", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Duration timeToReady = Duration.ofNanos(System.nanoTime() - start);
+        LoadReport report = new LoadReport(registered.get(), scheduled.get(), invalid.get(), misfired.get(),
+                timeToReady, List.copyOf(errors));
+        System.out.printf("✅ Loaded %d jobs (%d scheduled, %d invalid, %d misfired) - ready in %dms%n",
+                report.loaded(), report.scheduled(), report.invalid(), report.misfired(), timeToReady.toMillis());
+        report.errors().forEach(error -> System.out.println("   ⚠️ " + error));
+        return report;
+    }
+
+    private Map<String, TriggerState> storedStates(List<JobDefinition> jobs) {
+        if (triggerStates == null) {
+            return Map.of();
+        }
+        List<String> jobIds = new ArrayList<>(jobs.size());
+        for (JobDefinition job : jobs) {
+            jobIds.add(job.jobId());
+        }
+        return triggerStates.getTriggerStates(jobIds);
+    }
+
+    private String validate(JobDefinition job) {
+        if (job.jobId() == null || job.jobId().isBlank()) {
+            return "missing job id";
+        }
+        if (job.pluginName() == null || !knownPlugins.contains(job.pluginName())) {
+            return "unknown plugin '" + job.pluginName() + "'";
+        }
+        return null;
+    }
+
+    private static boolean hasCron(JobDefinition job) {
+        return job.cronExpression() != null && !job.cronExpression().isBlank();
+    }
+}
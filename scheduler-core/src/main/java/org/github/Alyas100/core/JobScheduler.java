@@ -2,61 +2,327 @@ package org.github.Alyas100.core;
 
 import org.github.Alyas100.JobDefinition;
 import org.github.Alyas100.core.CronExpression;
+import org.github.Alyas100.storage.TriggerState;
 
+import java.time.Clock;
 import java.time.Duration;
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.*;
 
 /**
  * Manages scheduled job execution using cron expressions.
+ *
+ * <p>With a {@link TriggerStateRecorder}, every trigger reports its last and next fire time
+ * so they survive restarts. A job prepared with its stored {@link TriggerState} whose next
+ * fire already passed has misfired; its {@link org.github.Alyas100.MisfirePolicy} decides
+ * which missed slots are caught up. Catch-up fires of all jobs share one queue released
+ * at most once per {@code catchUpSpacing}, so recovering many jobs does not flood the
+ * executor; regular fires go on in parallel from the next cron slot.</p>
  */
 public class JobScheduler {
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private static final Duration DEFAULT_CATCH_UP_SPACING = Duration.ofMillis(2);
+    private static final int MAX_CATCH_UP_FIRES_PER_JOB = 1000;
+
+    private final TriggerTimer triggerTimer;
+    private final Clock clock;
     private final JobExecutor jobExecutor;
-    private final Map<String, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
+    private final TriggerStateRecorder recorder;
+    private final Duration catchUpSpacing;
+    private final Map<String, Trigger> scheduledJobs = new ConcurrentHashMap<>();
+    private Instant nextCatchUpSlot = Instant.MIN; // guarded by this
 
     public JobScheduler(JobExecutor jobExecutor) {
+        this(jobExecutor, Clock.systemDefaultZone(), new ExecutorTriggerTimer(Clock.systemDefaultZone()));
+    }
+
+    /**
+     * @param clock source of "now"; cron expressions are evaluated in the clock's zone
+     * @param triggerTimer timer that fires triggers at instants of {@code clock}
+     */
+    public JobScheduler(JobExecutor jobExecutor, Clock clock, TriggerTimer triggerTimer) {
+        this(jobExecutor, clock, triggerTimer, null);
+    }
+
+    /**
+     * @param recorder receives trigger state changes; null to keep them in memory only
+     */
+    public JobScheduler(JobExecutor jobExecutor, Clock clock, TriggerTimer triggerTimer,
+                        TriggerStateRecorder recorder) {
+        this(jobExecutor, clock, triggerTimer, recorder, DEFAULT_CATCH_UP_SPACING);
+    }
+
+    /**
+     * @param recorder receives trigger state changes; null to keep them in memory only
+     * @param catchUpSpacing minimum gap between two catch-up fires, across all jobs
+     */
+    public JobScheduler(JobExecutor jobExecutor, Clock clock, TriggerTimer triggerTimer,
+                        TriggerStateRecorder recorder, Duration catchUpSpacing) {
         this.jobExecutor = jobExecutor;
+        this.clock = clock;
+        this.triggerTimer = triggerTimer;
+        this.recorder = recorder;
+        this.catchUpSpacing = catchUpSpacing;
     }
 
+    /**
+     * A job with its cron expression parsed and its fire times computed, ready to arm.
+     *
+     * @param firstFire first regular cron slot after now
+     * @param catchUpFires missed slots to fire late, oldest first
+     * @param misfired whether the stored next fire had already passed
+     * @param stored trigger state the job was prepared from, if any
+     */
+    public record PreparedJob(JobDefinition job, CronExpression cron, Instant firstFire,
+                              List<Instant> catchUpFires, boolean misfired, TriggerState stored) {}
+
     /**
      * Schedules a job based on its cron expression.
      */
     public void scheduleJob(JobDefinition job) {
+        scheduleAll(List.of(prepare(job)));
+    }
+
+    /**
+     * Parses the cron expression and computes the first fire time without touching scheduler
+     * state, so many jobs can be prepared in parallel and then armed with {@link #scheduleAll}.
+     *
+     * @throws IllegalArgumentException if the job has no cron expression or it is invalid
+     */
+    public PreparedJob prepare(JobDefinition job) {
+        return prepare(job, null);
+    }
+
+    /**
+     * Like {@link #prepare(JobDefinition)}, resuming from the job's stored trigger state:
+     * cron slots between its next fire and now are misfires, handled per the job's policy.
+     */
+    public PreparedJob prepare(JobDefinition job, TriggerState stored) {
         if (job.cronExpression() == null || job.cronExpression().isBlank()) {
             throw new IllegalArgumentException("Job must have a cron expression: " + job.jobId());
         }
-
         CronExpression cron = CronExpressionParser.parse(job.cronExpression());
-        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(
-                () -> jobExecutor.executeJob(Optional.of(job)),
-                computeInitialDelay(cron),
-                Duration.ofMinutes(1).toMillis(), // Fixed rate for simplicity
-                TimeUnit.MILLISECONDS
-        );
+        Instant now = clock.instant();
+        ZoneId zone = clock.getZone();
+        Instant firstFire = cron.next(now, zone);
+
+        Instant due = null;
+        if (stored != null) {
+            due = stored.nextFireTime() != null ? stored.nextFireTime()
+                    : stored.lastFireTime() != null ? cron.next(stored.lastFireTime(), zone) : null;
+        }
+        if (due == null || due.isAfter(now)) {
+            return new PreparedJob(job, cron, firstFire, List.of(), false, stored);
+        }
+        List<Instant> catchUp = switch (job.misfirePolicy()) {
+            case SKIP -> List.of();
+            case FIRE_ONCE -> List.of(due);
+            case FIRE_ALL -> {
+                List<Instant> missed = new ArrayList<>();
+                for (Instant slot = due; !slot.isAfter(now) && missed.size() < MAX_CATCH_UP_FIRES_PER_JOB;
+                     slot = cron.next(slot, zone)) {
+                    missed.add(slot);
+                }
+                yield missed;
+            }
+        };
+        return new PreparedJob(job, cron, firstFire, catchUp, true, stored);
+    }
+
+    /**
+     * Arms prepared jobs, replacing any trigger a job already had.
+     */
+    public void scheduleAll(Collection<PreparedJob> jobs) {
+        List<TriggerState> changed = new ArrayList<>();
+        for (PreparedJob prepared : jobs) {
+            TriggerState state = register(prepared);
+            if (!state.equals(prepared.stored())) {
+                changed.add(state);
+            }
+        }
+        if (recorder != null && !changed.isEmpty()) {
+            recorder.recordAll(changed);
+        }
+    }
 
-        scheduledJobs.put(job.jobId(), future);
+    private TriggerState register(PreparedJob prepared) {
+        TriggerState stored = prepared.stored();
+        Trigger trigger = new Trigger(prepared.job(), prepared.cron(), stored != null ? stored.lastFireTime() : null);
+        Trigger previous = scheduledJobs.put(prepared.job().jobId(), trigger);
+        if (previous != null) {
+            previous.cancel();
+            if (stored == null) {
+                trigger.lastFire = previous.lastFire; // rescheduled in place, e.g. a new cron
+            }
+        }
+        for (Instant slot : prepared.catchUpFires()) {
+            trigger.catchUp(slot, nextCatchUpSlot());
+        }
+        trigger.arm(prepared.firstFire());
+        return trigger.state();
+    }
+
+    private synchronized Instant nextCatchUpSlot() {
+        Instant now = clock.instant();
+        Instant slot = nextCatchUpSlot.isAfter(now) ? nextCatchUpSlot : now;
+        nextCatchUpSlot = slot.plus(catchUpSpacing);
+        return slot;
     }
 
     /**
-     * Computes initial delay until next cron execution.
+     * Hands a new definition to the job's trigger without re-arming it: fire times stay as
+     * they are and the next fire runs the new definition. Only valid when the cron expression
+     * is unchanged; returns false if the job has no trigger.
      */
-    private long computeInitialDelay(CronExpression cron) {
-        LocalDateTime nextExecution = cron.next(LocalDateTime.now());
-        return Duration.between(LocalDateTime.now(), nextExecution).toMillis();
+    public boolean updateDefinition(JobDefinition job) {
+        Trigger trigger = scheduledJobs.get(job.jobId());
+        if (trigger == null) {
+            return false;
+        }
+        trigger.job = job;
+        return true;
     }
 
     public void unscheduleJob(String jobId) {
-        ScheduledFuture<?> future = scheduledJobs.remove(jobId);
-        if (future != null) {
-            future.cancel(false);
+        Trigger trigger = scheduledJobs.remove(jobId);
+        if (trigger != null) {
+            trigger.cancel();
         }
     }
 
+    public boolean isScheduled(String jobId) {
+        return scheduledJobs.containsKey(jobId);
+    }
+
+    /**
+     * Number of jobs that currently have an armed trigger.
+     */
+    public int getScheduledJobCount() {
+        return scheduledJobs.size();
+    }
+
     public void shutdown() {
-        scheduledJobs.values().forEach(future -> future.cancel(false));
-        scheduler.shutdown();
+        scheduledJobs.values().forEach(Trigger::cancel);
+        triggerTimer.shutdown();
+    }
+
+    /**
+     * One armed cron trigger. Each fire re-arms itself for the next cron time, so the
+     * planned fire time handed to the executor is always the real cron slot. Catch-up fires
+     * are one-shot timer tasks that also carry their missed slot as planned time.
+     */
+    private final class Trigger {
+        private volatile JobDefinition job;
+        private final CronExpression cron;
+        private final NavigableSet<Instant> catchUps = new ConcurrentSkipListSet<>();
+        private final List<TriggerTimer.Handle> catchUpHandles = new CopyOnWriteArrayList<>();
+        private volatile TriggerTimer.Handle handle;
+        private volatile Instant armedFire;
+        private volatile Instant lastFire;
+        private volatile boolean cancelled;
+
+        Trigger(JobDefinition job, CronExpression cron, Instant lastFire) {
+            this.job = job;
+            this.cron = cron;
+            this.lastFire = lastFire;
+        }
+
+        void armAfter(Instant after) {
+            arm(cron.next(after, clock.getZone()));
+        }
+
+        void arm(Instant nextExecution) {
+            armedFire = nextExecution;
+            handle = triggerTimer.schedule(() -> fire(nextExecution), nextExecution);
+            if (cancelled) {
+                handle.cancel();
+            }
+        }
+
+        /**
+         * Fires the missed {@code slot} at {@code at} instead of at the slot itself.
+         */
+        void catchUp(Instant slot, Instant at) {
+            catchUps.add(slot); // before scheduling: the task may run right away
+            catchUpHandles.add(triggerTimer.schedule(() -> fireCatchUp(slot), at));
+        }
+
+        /**
+         * A node that lost leadership or the job skips the slot without recording it, so its
+         * trigger state never overwrites the one the new owner keeps.
+         */
+        private void fire(Instant plannedTime) {
+            if (cancelled) {
+                return;
+            }
+            long fencingToken = jobExecutor.currentFencingToken(job.jobId());
+            if (fencingToken == ExecutionFence.STALE) {
+                armAfter(plannedTime);
+                return;
+            }
+            try {
+                jobExecutor.executeJob(Optional.of(job), plannedTime, fencingToken);
+            } finally {
+                if (!cancelled) {
+                    fired(plannedTime);
+                    armAfter(plannedTime);
+                    record();
+                }
+            }
+        }
+
+        private void fireCatchUp(Instant slot) {
+            if (cancelled) {
+                return;
+            }
+            long fencingToken = jobExecutor.currentFencingToken(job.jobId());
+            if (fencingToken == ExecutionFence.STALE) {
+                catchUps.remove(slot);
+                return;
+            }
+            try {
+                jobExecutor.executeJob(Optional.of(job), slot, fencingToken);
+            } finally {
+                catchUps.remove(slot);
+                if (!cancelled) {
+                    fired(slot);
+                    record();
+                }
+            }
+        }
+
+        private synchronized void fired(Instant slot) {
+            if (lastFire == null || slot.isAfter(lastFire)) {
+                lastFire = slot;
+            }
+        }
+
+        /**
+         * Pending catch-ups count as not fired yet, so a crash during recovery replays them.
+         */
+        TriggerState state() {
+            Instant next = armedFire;
+            Instant oldestCatchUp = catchUps.ceiling(Instant.MIN);
+            if (oldestCatchUp != null && (next == null || oldestCatchUp.isBefore(next))) {
+                next = oldestCatchUp;
+            }
+            return new TriggerState(job.jobId(), lastFire, next);
+        }
+
+        void record() {
+            if (recorder != null && !cancelled) {
+                recorder.record(state());
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            TriggerTimer.Handle current = handle;
+            if (current != null) {
+                current.cancel();
+            }
+            catchUpHandles.forEach(TriggerTimer.Handle::cancel);
+        }
     }
-}
\ No newline at end of file
+}
@@ -6,27 +6,50 @@ import org.github.Alyas100.cluster.ClusterManager;
 import org.github.Alyas100.cluster.ClusterListener;  // ✅ YOUR ClusterListener
 import org.github.Alyas100.cluster.ClusterNode;      // ✅ YOUR ClusterNode
 import org.github.Alyas100.cluster.ClusterState;     // ✅ YOUR ClusterState (NOT Hazelcast's!)
+import org.github.Alyas100.storage.JobChange;
+import org.github.Alyas100.storage.JobChangeListener;
+import org.github.Alyas100.storage.JobPage;
+import org.github.Alyas100.storage.JobQuery;
 import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.JobVersionConflictException;
+import org.github.Alyas100.storage.JobWatch;
+import org.github.Alyas100.storage.VersionedJob;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Main orchestrator that ties everything together.
  * This is the primary API for interacting with the scheduler.
  */
 public class SchedulerEngine {
+    private static final Duration RESYNC_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_RESYNC_BACKOFF = Duration.ofMinutes(1);
+
     private final PluginRegistry pluginRegistry;
     private final JobExecutor jobExecutor;
     private final JobScheduler jobScheduler;
+    private final TriggerStateRecorder triggerStateRecorder;
     private final List<SchedulerListener> listeners = new CopyOnWriteArrayList<>();
     private final JobRepository jobRepository;
     private final ClusterManager clusterManager;
+    private final Clock clock;
+    private final TriggerTimer triggerTimer;
+    private final Object ownershipLock = new Object();
+    private final Object jobMutationLock = new Object();
     private final Map<String, JobDefinition> jobDefinitions = new ConcurrentHashMap<>(); // ✅ ADD THIS!
 
     private volatile boolean running = false;
+    private volatile JobLoader.LoadReport startupReport;
+    private volatile long loadedChangeSequence;
+    private volatile JobWatch jobWatch;
+    private volatile int resyncStreak;
+    private final AtomicLong ownershipChanges = new AtomicLong();
 
     /**
      * @param pluginBasePackage the root package name where scheduler should look for plugins when scanning the classpath
@@ -34,11 +57,27 @@ public class SchedulerEngine {
      * @param clusterManager cluster coordination manager (can be null for single-node)
      */
     public SchedulerEngine(String pluginBasePackage, JobRepository jobRepository, ClusterManager clusterManager) {
+        this(pluginBasePackage, jobRepository, clusterManager, SchedulerRuntime.system());
+    }
+
+    /**
+     * @param runtime clock, trigger timer and execution threads (see {@code core.simulation} for virtual time)
+     */
+    public SchedulerEngine(String pluginBasePackage, JobRepository jobRepository, ClusterManager clusterManager,
+                           SchedulerRuntime runtime) {
         this.pluginRegistry = new PluginRegistry(pluginBasePackage);
-        this.jobExecutor = new JobExecutor(pluginRegistry);
-        this.jobScheduler = new JobScheduler(jobExecutor);
+        this.jobExecutor = new JobExecutor(pluginRegistry, runtime.executionExecutor(), runtime.clock(),
+                clusterManager != null ? clusterManager.getNodeId() : "local-node",
+                clusterManager != null ? ExecutionFence.cluster(clusterManager) : ExecutionFence.NONE,
+                clusterManager != null ? clusterManager.getJobDistributor() : null);
+        this.triggerStateRecorder = jobRepository != null ? new TriggerStateRecorder(jobRepository, runtime.clock(),
+                runtime.triggerTimer()) : null;
+        this.jobScheduler = new JobScheduler(jobExecutor, runtime.clock(), runtime.triggerTimer(),
+                triggerStateRecorder);
         this.jobRepository = jobRepository;
         this.clusterManager = clusterManager;
+        this.clock = runtime.clock();
+        this.triggerTimer = runtime.triggerTimer();
 
         setupClusterListeners();
         loadPersistedJobs(); // ✅ CALL THIS!
@@ -59,38 +98,158 @@ public class SchedulerEngine {
     }
 
     /**
-     * Loads persisted jobs from storage on startup.
+     * Loads persisted jobs from storage on startup: streamed from the repository, validated
+     * and parsed in parallel, then armed in bulk from their stored trigger states, catching up
+     * misfires (see {@link JobLoader}).
      */
-    private void loadPersistedJobs() {  // ✅ IMPLEMENT THIS!
+    private void loadPersistedJobs() {
         if (jobRepository == null) {
             System.out.println("💡 No persistence configured - skipping job loading");
             return;
         }
 
         try {
-            List<JobDefinition> persistedJobs = jobRepository.getAllJobs();
-            System.out.println("📂 Found " + persistedJobs.size() + " persisted jobs in storage");
-
-            int scheduledCount = 0;
-            for (JobDefinition job : persistedJobs) {
-                jobDefinitions.put(job.jobId(), job);
-
-                // Only schedule if we're the leader (in cluster) or always (single-node)
-                boolean shouldSchedule = clusterManager == null || clusterManager.isLeader();
-                if (shouldSchedule && job.enabled() && job.cronExpression() != null && !job.cronExpression().isBlank()) {
-                    jobScheduler.scheduleJob(job);
-                    scheduledCount++;
+            // Read the feed position first: changes racing the load are replayed by the watch
+            loadedChangeSequence = jobRepository.getLatestChangeSequence();
+            JobLoader loader = new JobLoader(jobScheduler, pluginRegistry.getAvailablePlugins(), jobRepository);
+            startupReport = loader.load(jobRepository.streamAllJobs(), jobDefinitions, this::ownsJob);
+        } catch (Exception e) {
+            System.out.println("❌ Failed to load persisted jobs: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Follows the repository's change feed so jobs other nodes create, update or delete reach
+     * this node's definitions (and triggers, for the jobs it owns) without a full reload. A feed
+     * that has moved past our position triggers one reload, after which watching resumes; if
+     * the feed is truncated again before delivering a single change, the re-watch waits twice
+     * as long each time (up to {@link #MAX_RESYNC_BACKOFF}) instead of reloading in a loop.
+     */
+    private void watchJobChanges(long afterSequence) {
+        jobWatch = jobRepository.watch(afterSequence, new JobChangeListener() {
+            @Override
+            public void onChange(JobChange change) {
+                resyncStreak = 0;
+                applyJobChange(change);
+            }
+
+            @Override
+            public void onResyncRequired(long latestSequence) {
+                System.out.println("🔄 Job change feed truncated - reloading all jobs");
+                resyncJobs();
+                int streak = resyncStreak++;
+                if (!running) {
+                    return;
+                }
+                if (streak == 0) {
+                    watchJobChanges(latestSequence);
+                    return;
+                }
+                Duration delay = RESYNC_BACKOFF.multipliedBy(1L << Math.min(streak - 1, 6));
+                if (delay.compareTo(MAX_RESYNC_BACKOFF) > 0) {
+                    delay = MAX_RESYNC_BACKOFF;
                 }
+                System.out.println("⏳ Change feed truncated again - watching again in " + delay.toMillis() + "ms");
+                jobWatch = null;
+                triggerTimer.schedule(() -> {
+                    if (running) {
+                        watchJobChanges(latestSequence);
+                    }
+                }, clock.instant().plus(delay));
             }
+        });
+    }
 
-            System.out.println("✅ Loaded and scheduled " + scheduledCount + " persisted jobs");
+    private void applyJobChange(JobChange change) {
+        String jobId = change.jobId();
+        if (change.type() == JobChange.Type.DELETED) {
+            JobDefinition removed = jobDefinitions.remove(jobId);
+            if (removed != null) {
+                jobScheduler.unscheduleJob(jobId);
+                listeners.forEach(listener -> listener.onJobUnscheduled(removed));
+            }
+            return;
+        }
+        JobDefinition job = change.job();
+        JobDefinition previous = jobDefinitions.put(jobId, job);
+        if (job.equals(previous)) {
+            return; // our own write, or already loaded
+        }
+        applyTrigger(previous, job);
+        if (previous != null) {
+            listeners.forEach(listener -> listener.onJobUpdated(previous, job));
+        } else {
+            listeners.forEach(listener -> listener.onJobScheduled(job));
+        }
+    }
 
-        } catch (Exception e) {
-            System.out.println("❌ Failed to load persisted jobs: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Brings the job's trigger in line with its new definition. The trigger is only re-armed
+     * when the cron expression or enabled flag changed; otherwise its next fire simply runs
+     * the new definition. Returns whether the schedule changed.
+     */
+    private boolean applyTrigger(JobDefinition previous, JobDefinition job) {
+        boolean scheduleChanged = previous == null
+                || !Objects.equals(previous.cronExpression(), job.cronExpression())
+                || previous.enabled() != job.enabled();
+        if (!scheduleChanged) {
+            jobScheduler.updateDefinition(job);
+            return false;
+        }
+        if (ownsJob(job) && isSchedulable(job)) {
+            jobScheduler.scheduleJob(job);
+        } else {
+            jobScheduler.unscheduleJob(job.jobId());
+        }
+        return true;
+    }
+
+    /**
+     * Reloads every job after the feed was truncated, applying each difference the way
+     * {@link #applyJobChange} would: missing jobs are unscheduled, and changed ones have
+     * their trigger re-armed or cancelled, so a job disabled while we were behind stops firing.
+     */
+    private void resyncJobs() {
+        Set<String> reloaded = new HashSet<>();
+        try (var jobs = jobRepository.streamAllJobs()) {
+            jobs.forEach(job -> {
+                reloaded.add(job.jobId());
+                JobDefinition previous = jobDefinitions.put(job.jobId(), job);
+                if (job.equals(previous)) {
+                    return;
+                }
+                applyTrigger(previous, job);
+                if (previous != null) {
+                    listeners.forEach(listener -> listener.onJobUpdated(previous, job));
+                } else {
+                    listeners.forEach(listener -> listener.onJobScheduled(job));
+                }
+            });
+        }
+        for (String jobId : jobDefinitions.keySet()) {
+            if (!reloaded.contains(jobId)) {
+                JobDefinition removed = jobDefinitions.remove(jobId);
+                if (removed != null) {
+                    jobScheduler.unscheduleJob(jobId);
+                    listeners.forEach(listener -> listener.onJobUnscheduled(removed));
+                }
+            }
         }
     }
 
+    /**
+     * Whether this node should arm the job's trigger: always on a single node, otherwise as
+     * the cluster decides (every job on the leader, or the job's ring owner when partitioned).
+     */
+    private boolean ownsJob(JobDefinition job) {
+        return clusterManager == null || clusterManager.ownsJob(job.jobId());
+    }
+
+    private static boolean isSchedulable(JobDefinition job) {
+        return job.enabled() && job.cronExpression() != null && !job.cronExpression().isBlank();
+    }
+
     /**
      * Sets up cluster event listeners.
      */
@@ -105,11 +264,15 @@ public class SchedulerEngine {
                 System.out.println("👑 New cluster leader: " + leaderId);
                 if (clusterManager.isLeader()) {
                     System.out.println("🎯 I am the new leader! Taking over job scheduling...");
-                    scheduleAllEnabledJobs(); // ✅ Schedule all jobs as new leader
                 } else {
                     System.out.println("💼 I am a worker node. Following leader: " + leaderId);
-                    unscheduleAllJobs(); // ✅ Unschedule all jobs as worker
                 }
+                reconcileOwnership(clusterManager.getOwnershipHandoffDelay());
+            }
+
+            @Override
+            public void onOwnershipChanged() {
+                reconcileOwnership(clusterManager.getOwnershipHandoffDelay());
             }
 
             @Override
@@ -117,6 +280,13 @@ public class SchedulerEngine {
                 System.out.println("🟢 Node joined: " + node.getNodeId());
             }
 
+            @Override
+            public void onNodeStatusChanged(ClusterNode node, ClusterNode.NodeStatus previous) {
+                String icon = node.isActive() ? "🟢" : node.isSuspected() ? "🟡" : "🔴";
+                System.out.println(icon + " Node " + node.getNodeId() + ": " + previous.getDisplayName()
+                        + " -> " + node.getStatus().getDisplayName());
+            }
+
             @Override
             public void onNodeLeft(ClusterNode node) {
                 System.out.println("🔴 Node left: " + node.getNodeId());
@@ -128,27 +298,58 @@ public class SchedulerEngine {
     }
 
     /**
-     * Schedule all enabled jobs (called when becoming leader)
+     * Brings the armed triggers in line with the jobs this node owns now. Jobs it lost are
+     * stopped at once and their trigger states stored; jobs it gained are armed after
+     * {@code handoffDelay}, once the previous owner has done the same, resuming from those
+     * states so slots missed during the handoff are caught up once instead of fired twice.
      */
-    private void scheduleAllEnabledJobs() {
-        int scheduled = 0;
-        for (JobDefinition job : jobDefinitions.values()) {
-            if (job.enabled() && job.cronExpression() != null && !job.cronExpression().isBlank()) {
-                jobScheduler.scheduleJob(job);
-                scheduled++;
+    private void reconcileOwnership(Duration handoffDelay) {
+        int lost = 0;
+        synchronized (ownershipLock) {
+            for (JobDefinition job : jobDefinitions.values()) {
+                if (jobScheduler.isScheduled(job.jobId()) && !ownsJob(job)) {
+                    jobScheduler.unscheduleJob(job.jobId());
+                    lost++;
+                }
+            }
+        }
+        if (lost > 0) {
+            if (triggerStateRecorder != null) {
+                triggerStateRecorder.flush();
             }
+            System.out.println("⏸️  Handed off " + lost + " jobs");
+        }
+        // Each change restarts the wait; only the task of the latest one arms anything
+        long change = ownershipChanges.incrementAndGet();
+        if (handoffDelay.isZero()) {
+            scheduleGainedJobs(change);
+        } else {
+            triggerTimer.schedule(() -> scheduleGainedJobs(change), clock.instant().plus(handoffDelay));
         }
-        System.out.println("📅 Leader scheduled " + scheduled + " enabled jobs");
     }
 
     /**
-     * Unschedule all jobs (called when becoming worker)
+     * Arms the jobs owned here that have no trigger yet, from their stored trigger states.
+     * Ownership is checked again here, since it may have moved during the handoff delay.
      */
-    private void unscheduleAllJobs() {
-        for (String jobId : jobDefinitions.keySet()) {
-            jobScheduler.unscheduleJob(jobId);
+    private void scheduleGainedJobs(long change) {
+        synchronized (ownershipLock) {
+            if (change != ownershipChanges.get()) {
+                return;
+            }
+            List<JobDefinition> gained = new ArrayList<>();
+            for (JobDefinition job : jobDefinitions.values()) {
+                if (isSchedulable(job) && ownsJob(job) && !jobScheduler.isScheduled(job.jobId())) {
+                    gained.add(job);
+                }
+            }
+            if (gained.isEmpty()) {
+                return;
+            }
+            JobLoader loader = new JobLoader(jobScheduler, pluginRegistry.getAvailablePlugins(), jobRepository);
+            JobLoader.LoadReport report = loader.load(gained.stream(), jobDefinitions, this::ownsJob);
+            System.out.println("📅 Took over " + report.scheduled() + " jobs (" + report.misfired() + " misfired)");
         }
-        System.out.println("⏸️  Worker unscheduled all jobs");
     }
 
     /**
@@ -161,9 +362,15 @@ public class SchedulerEngine {
 
         running = true;
 
-        // Start cluster if available
+        // Start cluster if available, ready to run fires the leader sends here
         if (clusterManager != null) {
+            clusterManager.setJobRunner(jobExecutor::executeDispatched);
+            clusterManager.setActiveJobCounter(jobExecutor::getRunningCount);
+            clusterManager.setJobCatalog(jobDefinitions::keySet);
             clusterManager.start();
+            if (jobRepository != null && jobRepository.hasChangeFeed()) {
+                watchJobChanges(loadedChangeSequence);
+            }
         }
 
         listeners.forEach(SchedulerListener::onSchedulerStart);
@@ -182,12 +389,27 @@ public class SchedulerEngine {
 
         running = false;
 
-        // Stop cluster if available
+        JobWatch watch = jobWatch;
+        if (watch != null) {
+            watch.close();
+        }
+
+        // Stop cluster if available - a failed leave must not keep local triggers running
         if (clusterManager != null) {
-            clusterManager.stop();
+            try {
+                clusterManager.setJobRunner(null);
+                clusterManager.setActiveJobCounter(null);
+                clusterManager.setJobCatalog(null);
+                clusterManager.stop();
+            } catch (Exception e) {
+                System.out.println("⚠️ Failed to leave cluster cleanly: " + e.getMessage());
+            }
         }
 
         jobScheduler.shutdown();
+        if (triggerStateRecorder != null) {
+            triggerStateRecorder.close();
+        }
         jobExecutor.shutdown();
         pluginRegistry.shutdown();
         listeners.forEach(SchedulerListener::onSchedulerStop);
@@ -207,9 +429,8 @@ public class SchedulerEngine {
 
         jobDefinitions.put(job.jobId(), job);
 
-        // Only schedule if we're the leader (in cluster) or always (single-node)
-        boolean shouldSchedule = clusterManager == null || clusterManager.isLeader();
-        if (shouldSchedule && job.cronExpression() != null && !job.cronExpression().isBlank()) {
+        // Only schedule if this node owns the job (in cluster) or always (single-node)
+        if (ownsJob(job) && job.cronExpression() != null && !job.cronExpression().isBlank()) {
             jobScheduler.scheduleJob(job);
         }
 
@@ -221,6 +442,87 @@ public class SchedulerEngine {
         listeners.forEach(listener -> listener.onJobScheduled(job));
     }
 
+    /**
+     * Replaces a registered job in place: it is persisted with a version check and never
+     * stops existing, and its trigger is only re-armed when the cron expression or enabled
+     * flag changed. Config-only changes (parameters, retries, timeout...) apply from the
+     * job's next run, without touching its schedule or the cluster. The check, the write and
+     * the new definition happen under the lock {@link #unscheduleJob} takes, so an update
+     * racing a removal can never bring the job back.
+     *
+     * @param expectedVersion version the caller read with {@link #getVersionedJob}, or
+     *                        {@link JobRepository#ANY_VERSION}
+     * @return the job's new version
+     * @throws IllegalArgumentException if the job is not registered
+     * @throws JobVersionConflictException if the stored job is at another version
+     */
+    public long updateJob(JobDefinition job, long expectedVersion) {
+        validateJobDefinition(job);
+        synchronized (jobMutationLock) {
+            if (!jobDefinitions.containsKey(job.jobId())) {
+                throw new IllegalArgumentException("Job not found: " + job.jobId());
+            }
+            long version = 0;
+            if (jobRepository != null) {
+                version = jobRepository.updateJob(job, expectedVersion);
+            } else if (expectedVersion != JobRepository.ANY_VERSION) {
+                throw new IllegalStateException("Version checks need a job repository");
+            }
+            applyUpdate(job);
+            return version;
+        }
+    }
+
+    /**
+     * Updates many registered jobs at once, without version checks: one bulk save, and only
+     * the jobs whose cron expression or enabled flag changed are re-armed.
+     *
+     * @throws IllegalArgumentException if any job is not registered; nothing is updated then
+     */
+    public void updateJobs(Collection<JobDefinition> jobs) {
+        for (JobDefinition job : jobs) {
+            validateJobDefinition(job);
+        }
+        int rescheduled = 0;
+        synchronized (jobMutationLock) {
+            for (JobDefinition job : jobs) {
+                if (!jobDefinitions.containsKey(job.jobId())) {
+                    throw new IllegalArgumentException("Job not found: " + job.jobId());
+                }
+            }
+            if (jobRepository != null) {
+                jobRepository.saveJobs(jobs);
+            }
+            for (JobDefinition job : jobs) {
+                if (applyUpdate(job)) {
+                    rescheduled++;
+                }
+            }
+        }
+        System.out.println("✏️ Updated " + jobs.size() + " jobs, " + rescheduled + " rescheduled");
+    }
+
+    private boolean applyUpdate(JobDefinition job) {
+        JobDefinition previous = jobDefinitions.put(job.jobId(), job);
+        boolean rescheduled = applyTrigger(previous, job);
+        if (rescheduled && clusterManager != null) {
+            clusterManager.distributeJob(job);
+        }
+        listeners.forEach(listener -> listener.onJobUpdated(previous, job));
+        return rescheduled;
+    }
+
+    /**
+     * The job with its stored version, for a later {@link #updateJob}; without persistence
+     * the version is always 0.
+     */
+    public Optional<VersionedJob> getVersionedJob(String jobId) {
+        if (jobRepository != null) {
+            return jobRepository.getVersionedJob(jobId);
+        }
+        return Optional.ofNullable(jobDefinitions.get(jobId)).map(job -> new VersionedJob(job, 0));
+    }
+
     /**
      * Executes a job immediately (on-demand).
      */
@@ -238,16 +540,20 @@ public class SchedulerEngine {
      * Removes a job from the scheduler.
      */
     public void unscheduleJob(String jobId) {
-        JobDefinition job = jobDefinitions.remove(jobId);
-        if (job != null) {
+        JobDefinition job;
+        synchronized (jobMutationLock) {
+            job = jobDefinitions.remove(jobId);
+            if (job == null) {
+                return;
+            }
             // Remove from storage if available
             if (jobRepository != null) {
                 jobRepository.deleteJob(jobId);
             }
 
             jobScheduler.unscheduleJob(jobId);
-            listeners.forEach(listener -> listener.onJobUnscheduled(job));
         }
+        listeners.forEach(listener -> listener.onJobUnscheduled(job));
     }
 
     /**
@@ -257,6 +563,34 @@ public class SchedulerEngine {
         return Collections.unmodifiableCollection(jobDefinitions.values());
     }
 
+    /**
+     * Number of jobs with an armed trigger on this node: its own share in a cluster.
+     */
+    public int getArmedJobCount() {
+        return jobScheduler.getScheduledJobCount();
+    }
+
+    /**
+     * Finds one page of jobs matching the query, using the repository's indexes when
+     * persistence is configured. Pass the returned cursor back to get the next page.
+     */
+    public JobPage findJobs(JobQuery query, String cursor, int pageSize) {
+        if (jobRepository != null) {
+            return jobRepository.findJobs(query, cursor, pageSize);
+        }
+        List<JobDefinition> matching = jobDefinitions.values().stream()
+                .filter(query::matches)
+                .filter(job -> cursor == null || job.jobId().compareTo(cursor) > 0)
+                .sorted(Comparator.comparing(JobDefinition::jobId))
+                .limit(pageSize + 1L)
+                .toList();
+        if (matching.size() <= pageSize) {
+            return new JobPage(matching, null);
+        }
+        List<JobDefinition> page = matching.subList(0, pageSize);
+        return new JobPage(page, page.get(pageSize - 1).jobId());
+    }
+
     /**
      * Gets available plugins discovered by the registry.
      */
@@ -282,6 +616,13 @@ public class SchedulerEngine {
         return running;
     }
 
+    /**
+     * How the persisted jobs were loaded at construction; null without persistence.
+     */
+    public JobLoader.LoadReport getStartupReport() {
+        return startupReport;
+    }
+
     /**
      * Gets cluster state if clustering is enabled.
      */
@@ -11,6 +11,7 @@ import java.util.Optional;
     default void onSchedulerStart() {}
     default void onSchedulerStop() {}
     default void onJobScheduled(JobDefinition job) {}
+    default void onJobUpdated(JobDefinition previous, JobDefinition job) {}
     default void onJobUnscheduled(JobDefinition job) {}
     default void onJobExecuting(Optional<JobDefinition> job) {}
 }
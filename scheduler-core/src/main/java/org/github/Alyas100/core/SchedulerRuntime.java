@@ -0,0 +1,23 @@
+package org.github.Alyas100.core;
+
+import java.time.Clock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Time and threading dependencies of the scheduler, bundled so they can be swapped as one.
+ *
+ * @param clock source of "now" for cron calculations and execution contexts
+ * @param triggerTimer fires cron triggers at instants of {@code clock}
+ * @param executionExecutor runs plugin executions
+ */
+public record SchedulerRuntime(Clock clock, TriggerTimer triggerTimer, Executor executionExecutor) {
+
+    /**
+     * Real time: system clock, a small trigger pool and a cached pool for executions.
+     */
+    public static SchedulerRuntime system() {
+        Clock clock = Clock.systemDefaultZone();
+        return new SchedulerRuntime(clock, new ExecutorTriggerTimer(clock), Executors.newCachedThreadPool());
+    }
+}
@@ -0,0 +1,140 @@
+package org.github.Alyas100.core;
+
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.TriggerState;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Batches trigger state updates on their way to the {@link JobRepository}.
+ *
+ * <p>Every fire records the job's new last/next fire times here. Only the latest state per
+ * job is kept, and everything recorded since the previous flush goes to
+ * {@link JobRepository#saveTriggerStates} one {@code flushInterval} after the first state
+ * came in, so a job firing every second costs one row or log record per interval, not one
+ * per fire. The flush is armed on the scheduler's {@link TriggerTimer} only while states are
+ * pending, so under simulated time it runs at virtual instants like the triggers do. A failed
+ * flush keeps its states (unless newer ones replaced them) for the next one.</p>
+ */
+public class TriggerStateRecorder implements AutoCloseable {
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    private final JobRepository repository;
+    private final Clock clock;
+    private final TriggerTimer timer;
+    private final Duration flushInterval;
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();               // one flush at a time, in order
+    private Map<String, TriggerState> pending = new HashMap<>(); // guarded by lock
+    private TriggerTimer.Handle scheduledFlush;                  // guarded by lock
+    private boolean closed;                                      // guarded by lock
+
+    public TriggerStateRecorder(JobRepository repository, Clock clock, TriggerTimer timer) {
+        this(repository, clock, timer, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * @param clock the clock {@code timer} runs on
+     */
+    public TriggerStateRecorder(JobRepository repository, Clock clock, TriggerTimer timer, Duration flushInterval) {
+        this.repository = repository;
+        this.clock = clock;
+        this.timer = timer;
+        this.flushInterval = flushInterval.compareTo(Duration.ofMillis(1)) < 0 ? Duration.ofMillis(1) : flushInterval;
+    }
+
+    public void record(TriggerState state) {
+        synchronized (lock) {
+            if (!closed) {
+                pending.put(state.jobId(), state);
+                scheduleFlush();
+            }
+        }
+    }
+
+    public void recordAll(Collection<TriggerState> states) {
+        synchronized (lock) {
+            if (!closed && !states.isEmpty()) {
+                for (TriggerState state : states) {
+                    pending.put(state.jobId(), state);
+                }
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Writes everything recorded so far on the calling thread.
+     *
+     * <p>The scheduled flush, ownership handoffs and {@link #close()} all flush. Each holds
+     * {@code flushLock} from taking its batch until the repository has it, so batches are
+     * saved in the order they were taken and an older one never overwrites a newer state.</p>
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, TriggerState> batch;
+            synchronized (lock) {
+                batch = pending;
+                pending = new HashMap<>();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                repository.saveTriggerStates(batch.values());
+            } catch (RuntimeException e) {
+                System.out.println("❌ Failed to save " + batch.size() + " trigger states: " + e.getMessage());
+                synchronized (lock) {
+                    batch.putAll(pending); // newer states win
+                    pending = batch;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the scheduled flush and writes what is pending; later states are ignored.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel();
+                scheduledFlush = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Arms one flush an interval from now unless one is armed already; caller holds {@code lock}.
+     */
+    private void scheduleFlush() {
+        if (scheduledFlush != null) {
+            return;
+        }
+        try {
+            scheduledFlush = timer.schedule(this::runScheduledFlush, clock.instant().plus(flushInterval));
+        } catch (RuntimeException e) {
+            // Timer already shut down while the scheduler stops; close() flushes what is left
+        }
+    }
+
+    private void runScheduledFlush() {
+        synchronized (lock) {
+            scheduledFlush = null; // states recorded from here on arm the next flush
+        }
+        flush();
+        synchronized (lock) {
+            if (!closed && !pending.isEmpty()) {
+                scheduleFlush(); // retry what a failed flush kept
+            }
+        }
+    }
+}
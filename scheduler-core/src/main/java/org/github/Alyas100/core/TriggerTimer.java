@@ -0,0 +1,25 @@
+package org.github.Alyas100.core;
+
+import java.time.Instant;
+
+/**
+ * Runs tasks at a given instant of the scheduler's clock.
+ * The real implementation waits in wall-clock time; the simulated one jumps virtual time
+ * forward, so the same {@link JobScheduler} code can be replayed over days or years.
+ */
+public interface TriggerTimer {
+
+    /**
+     * Runs {@code task} once at (or as soon as possible after) {@code at}.
+     */
+    Handle schedule(Runnable task, Instant at);
+
+    void shutdown();
+
+    /**
+     * Handle used to cancel a pending task.
+     */
+    interface Handle {
+        void cancel();
+    }
+}
@@ -0,0 +1,96 @@
+package org.github.Alyas100.core.simulation;
+
+import org.github.Alyas100.core.TriggerTimer;
+
+import java.time.Instant;
+import java.util.PriorityQueue;
+
+/**
+ * {@link TriggerTimer} driven by a {@link VirtualClock}: nothing fires until
+ * {@link #advanceTo(Instant)} is called, and then every due task runs on the calling
+ * thread in (time, submission) order, so a run is fully reproducible.
+ */
+public class SimulatedTriggerTimer implements TriggerTimer {
+    private final VirtualClock clock;
+    private final PriorityQueue<Task> queue = new PriorityQueue<>();
+    private long sequence;
+    private long firedTasks;
+
+    public SimulatedTriggerTimer(VirtualClock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Handle schedule(Runnable task, Instant at) {
+        Task scheduled = new Task(at, sequence++, task);
+        queue.add(scheduled);
+        return scheduled;
+    }
+
+    /**
+     * Runs every task due up to {@code target}, jumping the clock to each task's time.
+     *
+     * @return number of tasks fired during this call
+     */
+    public long advanceTo(Instant target) {
+        long fired = 0;
+        while (true) {
+            Task next;
+            synchronized (this) {
+                next = queue.peek();
+                if (next == null || next.at.isAfter(target)) {
+                    break;
+                }
+                queue.poll();
+            }
+            if (next.cancelled) {
+                continue;
+            }
+            clock.advanceTo(next.at);
+            next.task.run();
+            fired++;
+        }
+        clock.advanceTo(target);
+        synchronized (this) {
+            firedTasks += fired;
+        }
+        return fired;
+    }
+
+    public synchronized int getPendingTasks() {
+        return queue.size();
+    }
+
+    public synchronized long getFiredTasks() {
+        return firedTasks;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        queue.clear();
+    }
+
+    private static final class Task implements Comparable<Task>, Handle {
+        private final Instant at;
+        private final long sequence;
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        Task(Instant at, long sequence, Runnable task) {
+            this.at = at;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byTime = at.compareTo(other.at);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.github.Alyas100.core.simulation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Clock whose time only moves when the simulation advances it.
+ */
+public class VirtualClock extends Clock {
+    private final AtomicReference<Instant> now;
+    private final ZoneId zone;
+
+    public VirtualClock(Instant start, ZoneId zone) {
+        this(new AtomicReference<>(start), zone);
+    }
+
+    private VirtualClock(AtomicReference<Instant> now, ZoneId zone) {
+        this.now = now;
+        this.zone = zone;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns a view in another zone that shares this clock's time.
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new VirtualClock(now, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return now.get();
+    }
+
+    /**
+     * Moves time forward; moving backwards is ignored so time stays monotonic.
+     */
+    public void advanceTo(Instant target) {
+        now.accumulateAndGet(target, (current, requested) -> requested.isAfter(current) ? requested : current);
+    }
+}
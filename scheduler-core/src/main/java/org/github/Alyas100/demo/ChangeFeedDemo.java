@@ -0,0 +1,171 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.storage.InMemoryJobRepository;
+import org.github.Alyas100.storage.JobChange;
+import org.github.Alyas100.storage.JobChangeListener;
+import org.github.Alyas100.storage.JobChangePage;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.JobWatch;
+import org.github.Alyas100.storage.file.FileJobRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Follows the change feed of the in-memory and file repositories the way a node would: a
+ * replica map is kept in sync from a watch, the watch is closed and resumed from its last
+ * sequence, and a watcher that fell behind the retained feed is told to resync.
+ *
+ * <p>Arguments: {@code jobs=10000}</p>
+ */
+public class ChangeFeedDemo {
+
+    public static void main(String[] args) throws Exception {
+        int jobs = 10_000;
+        for (String arg : args) {
+            if (arg.startsWith("jobs=")) jobs = Integer.parseInt(arg.substring(5));
+        }
+        System.out.println("📰 CHANGE FEED: " + jobs + " jobs");
+
+        boolean ok = run("in-memory", new InMemoryJobRepository(), jobs);
+        Path directory = Files.createTempDirectory("change-feed");
+        try {
+            try (FileJobRepository repository = new FileJobRepository(directory)) {
+                ok &= run("file", repository, jobs);
+            }
+            try (FileJobRepository reopened = new FileJobRepository(directory)) {
+                JobChangePage page = reopened.getChanges(0, 10);
+                ok &= check("file: reopened feed asks old readers to resync", page.truncated());
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+
+        // A watcher further behind than the retained changes cannot replay them
+        InMemoryJobRepository small = new InMemoryJobRepository(100);
+        for (int i = 0; i < 500; i++) {
+            small.saveJob(job("job-" + i, "v1"));
+        }
+        CountDownLatch resync = new CountDownLatch(1);
+        long[] resyncFrom = new long[1];
+        try (JobWatch ignored = small.watch(0, new JobChangeListener() {
+            @Override
+            public void onChange(JobChange change) {
+            }
+
+            @Override
+            public void onResyncRequired(long latestSequence) {
+                resyncFrom[0] = latestSequence;
+                resync.countDown();
+            }
+        })) {
+            ok &= check("truncated feed requests a resync from the latest sequence",
+                    resync.await(5, TimeUnit.SECONDS) && resyncFrom[0] == small.getLatestChangeSequence());
+        }
+
+        System.out.println(ok ? "✅ CHANGE FEED PASSED" : "❌ CHANGE FEED FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean run(String name, JobRepository repository, int jobs) throws InterruptedException {
+        Map<String, JobDefinition> replica = new ConcurrentHashMap<>();
+        long before = repository.getLatestChangeSequence();
+        JobChangeListener apply = change -> {
+            if (change.type() == JobChange.Type.DELETED) {
+                replica.remove(change.jobId());
+            } else {
+                replica.put(change.jobId(), change.job());
+            }
+        };
+
+        JobWatch watch = repository.watch(before, apply);
+        List<JobDefinition> created = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            created.add(job("job-" + i, "v1"));
+        }
+        repository.saveJobs(created);
+        boolean ok = check(name + ": watch sees every created job", await(() -> replica.size() == jobs));
+
+        // Close mid-stream, keep writing, then resume from where the watch stopped
+        watch.close();
+        long resumeFrom = watch.getLastSequence();
+        for (int i = 0; i < jobs; i += 2) {
+            repository.saveJob(job("job-" + i, "v2"));
+        }
+        for (int i = 1; i < jobs; i += 10) {
+            repository.deleteJob("job-" + i);
+        }
+        long start = System.nanoTime();
+        try (JobWatch resumed = repository.watch(resumeFrom, apply)) {
+            boolean caughtUp = await(() -> replica.equals(asMap(repository.getAllJobs())));
+            System.out.printf("   ⏩ %s: replayed %d changes in %dms%n", name,
+                    repository.getLatestChangeSequence() - resumeFrom, (System.nanoTime() - start) / 1_000_000);
+            ok &= check(name + ": resumed watch converges on the repository", caughtUp);
+        }
+
+        JobChangePage page = repository.getChanges(before, Integer.MAX_VALUE);
+        Map<JobChange.Type, Long> counts = new EnumMap<>(JobChange.Type.class);
+        long previous = before;
+        boolean increasing = true;
+        for (JobChange change : page.changes()) {
+            increasing &= change.sequence() > previous;
+            previous = change.sequence();
+            counts.merge(change.type(), 1L, Long::sum);
+        }
+        System.out.println("   📊 " + name + ": " + counts + " up to sequence " + page.lastSequence());
+        ok &= check(name + ": sequences strictly increase", increasing);
+        ok &= check(name + ": one event per write",
+                counts.getOrDefault(JobChange.Type.CREATED, 0L) == jobs
+                        && counts.getOrDefault(JobChange.Type.UPDATED, 0L) == (jobs + 1) / 2
+                        && counts.getOrDefault(JobChange.Type.DELETED, 0L) == (jobs + 9) / 10);
+        ok &= check(name + ": reading past the head is refused",
+                repository.getChanges(page.lastSequence() + 1, 10).truncated());
+        return ok;
+    }
+
+    private static Map<String, JobDefinition> asMap(Collection<JobDefinition> jobs) {
+        Map<String, JobDefinition> map = new HashMap<>();
+        jobs.forEach(job -> map.put(job.jobId(), job));
+        return map;
+    }
+
+    private static boolean await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static JobDefinition job(String jobId, String version) {
+        return new JobDefinition(
+                jobId,
+                "Feed job " + jobId,
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", "NOOP", "version", version),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true
+        );
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,234 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+import org.github.Alyas100.core.SchedulerEngine;
+import org.github.Alyas100.storage.InMemoryJobRepository;
+import org.github.Alyas100.storage.JobRepository;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Repeatable multi-member benchmark on loopback.
+ *
+ * <p>Starts N embedded Hazelcast members, each with a {@link HazelcastClusterManager} and a
+ * {@link SchedulerEngine}, registers every-second synthetic jobs, then:
+ * <ol>
+ *   <li>measures a steady window (fires, missed/duplicated slots, distribution skew),</li>
+ *   <li>kills the leader and measures time-to-new-leader plus missed/duplicated fires after it,</li>
+ *   <li>repeats a steady window for 1..maxMembers members to show throughput scaling.</li>
+ * </ol>
+ * The report is written as JSON so runs can be diffed for scaling regressions.</p>
+ *
+ * <p>Arguments: {@code members=3 jobs=100 window=10 maxMembers=4 output=cluster-benchmark.json}</p>
+ */
+public class ClusterBenchmark {
+
+    private record Member(HazelcastInstance hazelcast, HazelcastClusterManager clusterManager, SchedulerEngine engine) {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int members = Integer.parseInt(options.getOrDefault("members", "3"));
+        int jobCount = Integer.parseInt(options.getOrDefault("jobs", "100"));
+        int windowSeconds = Integer.parseInt(options.getOrDefault("window", "10"));
+        int maxMembers = Integer.parseInt(options.getOrDefault("maxMembers", "4"));
+        String output = options.getOrDefault("output", "cluster-benchmark.json");
+
+        System.out.println("🚀 CLUSTER BENCHMARK: members=" + members + " jobs=" + jobCount + " window=" + windowSeconds + "s");
+
+        FireLog fireLog = new FireLog();
+        SyntheticLoadPlugin.setFireLog(fireLog);
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < jobCount; i++) {
+            jobIds.add("bench-job-" + i);
+        }
+
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"members\": ").append(members).append(",\n");
+        json.append("  \"jobs\": ").append(jobCount).append(",\n");
+        json.append("  \"windowSeconds\": ").append(windowSeconds).append(",\n");
+
+        // Failover
+        List<Member> cluster = startCluster("bench-failover-" + System.currentTimeMillis(), members, jobIds);
+        try {
+            long from = nextWholeSecond();
+            Thread.sleep(windowSeconds * 1000L);
+            FireLog.WindowStats steady = fireLog.analyze(jobIds, from, nowSecond(), Set.of(), 0);
+            printStats("Steady state (" + members + " members)", steady, members);
+
+            Member leader = cluster.stream().filter(m -> m.clusterManager().isLeader()).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No leader in cluster"));
+            List<Member> survivors = new ArrayList<>(cluster);
+            survivors.remove(leader);
+
+            System.out.println("💀 Killing leader " + leader.clusterManager().getNodeId());
+            long killedAt = System.currentTimeMillis();
+            leader.hazelcast().getLifecycleService().terminate();
+
+            long newLeaderMs = -1;
+            long deadline = killedAt + 30_000;
+            while (System.currentTimeMillis() < deadline) {
+                if (survivors.stream().anyMatch(m -> m.clusterManager().isLeader())) {
+                    newLeaderMs = System.currentTimeMillis() - killedAt;
+                    break;
+                }
+                Thread.sleep(5);
+            }
+            System.out.println("👑 Time to new leader: " + newLeaderMs + "ms");
+
+            long failoverFrom = killedAt / 1000 + 1;
+            Thread.sleep(windowSeconds * 1000L + 1000);
+            FireLog.WindowStats afterFailover = fireLog.analyze(jobIds, failoverFrom, failoverFrom + windowSeconds,
+                    Set.of(leader.clusterManager().getNodeId()), killedAt);
+            printStats("After failover (" + survivors.size() + " members)", afterFailover, survivors.size());
+
+            json.append("  \"steady\": ").append(toJson(steady, members)).append(",\n");
+            json.append("  \"failover\": {\n");
+            json.append("    \"timeToNewLeaderMs\": ").append(newLeaderMs).append(",\n");
+            json.append("    \"window\": ").append(toJson(afterFailover, survivors.size())).append("\n");
+            json.append("  },\n");
+        } finally {
+            stopCluster(cluster);
+        }
+
+        // Throughput as members are added
+        json.append("  \"scaling\": [\n");
+        for (int size = 1; size <= maxMembers; size++) {
+            fireLog.clear();
+            List<Member> scaled = startCluster("bench-scale-" + size + "-" + System.currentTimeMillis(), size, jobIds);
+            try {
+                long from = nextWholeSecond();
+                Thread.sleep(windowSeconds * 1000L);
+                FireLog.WindowStats stats = fireLog.analyze(jobIds, from, nowSecond(), Set.of(), 0);
+                double firesPerSecond = (double) stats.fired() / windowSeconds;
+                System.out.printf("📈 %d member(s): %.1f fires/s, skew %.2f%n", size, firesPerSecond, stats.distributionSkew(size));
+                json.append("    {\"members\": ").append(size)
+                        .append(", \"firesPerSecond\": ").append(String.format(Locale.ROOT, "%.1f", firesPerSecond))
+                        .append(", \"window\": ").append(toJson(stats, size)).append("}")
+                        .append(size < maxMembers ? ",\n" : "\n");
+            } finally {
+                stopCluster(scaled);
+            }
+        }
+        json.append("  ]\n}\n");
+
+        SyntheticLoadPlugin.setFireLog(null);
+        writeReport(output, json.toString());
+        System.out.println("✅ CLUSTER BENCHMARK COMPLETE - report written to " + output);
+        System.exit(0);
+    }
+
+    private static List<Member> startCluster(String clusterName, int size, List<String> jobIds) throws InterruptedException {
+        // Shared storage stands in for a shared database: every member knows every job,
+        // only the leader arms triggers
+        JobRepository repository = new InMemoryJobRepository();
+        List<Member> cluster = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName));
+            HazelcastClusterManager clusterManager = new HazelcastClusterManager(hazelcast);
+            SchedulerEngine engine = new SchedulerEngine("org.github.Alyas100.demo", repository, clusterManager);
+            engine.start();
+            cluster.add(new Member(hazelcast, clusterManager, engine));
+        }
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (cluster.get(0).clusterManager().getClusterNodes().size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        for (Member member : cluster) {
+            for (String jobId : jobIds) {
+                member.engine().scheduleJob(benchmarkJob(jobId));
+            }
+        }
+        return cluster;
+    }
+
+    private static void stopCluster(List<Member> cluster) {
+        for (Member member : cluster) {
+            try {
+                member.engine().stop();
+            } catch (Exception e) {
+                System.out.println("⚠️ Failed to stop engine: " + e.getMessage());
+            }
+            member.hazelcast().getLifecycleService().terminate();
+        }
+    }
+
+    private static Config loopbackConfig(String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return JobCodecSerializers.register(config);
+    }
+
+    private static JobDefinition benchmarkJob(String jobId) {
+        return new JobDefinition(
+                jobId,
+                "Benchmark job " + jobId,
+                "synthetic-load",
+                "* * * * * *",
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true
+        );
+    }
+
+    private static long nowSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static long nextWholeSecond() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        Thread.sleep(1000 - now % 1000);
+        return nowSecond();
+    }
+
+    private static void printStats(String label, FireLog.WindowStats stats, int nodeCount) {
+        System.out.println("📊 " + label + ": expected=" + stats.expected() + " fired=" + stats.fired() +
+                " missed=" + stats.missed() + " duplicated=" + stats.duplicated() +
+                String.format(Locale.ROOT, " skew=%.2f", stats.distributionSkew(nodeCount)));
+    }
+
+    private static String toJson(FireLog.WindowStats stats, int nodeCount) {
+        return "{\"expected\": " + stats.expected() +
+                ", \"fired\": " + stats.fired() +
+                ", \"missed\": " + stats.missed() +
+                ", \"duplicated\": " + stats.duplicated() +
+                ", \"distributionSkew\": " + String.format(Locale.ROOT, "%.3f", stats.distributionSkew(nodeCount)) +
+                ", \"firesPerNode\": " + perNodeJson(stats.perNode()) + "}";
+    }
+
+    private static String perNodeJson(Map<String, Long> perNode) {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        perNode.forEach((nodeId, fires) -> joiner.add("\"" + nodeId + "\": " + fires));
+        return joiner.toString();
+    }
+
+    private static void writeReport(String path, String json) throws IOException {
+        try (FileWriter writer = new FileWriter(path)) {
+            writer.write(json);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.codec.JobCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Compares {@link JobCodec} with Java serialization on encoded size and encode/decode
+ * throughput, and checks that every value round-trips unchanged.
+ *
+ * <p>Arguments: {@code iterations=200000}</p>
+ */
+public class CodecBenchmark {
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int iterations = 200_000;
+        for (String arg : args) {
+            if (arg.startsWith("iterations=")) iterations = Integer.parseInt(arg.substring(11));
+        }
+        System.out.println("⏱️ CODEC BENCHMARK: " + iterations + " iterations per value");
+
+        JobDefinition job = sampleJob();
+        Map<String, JobExecutionResult> results = new LinkedHashMap<>();
+        results.put("Success", new JobExecutionResult.Success("Processed batch",
+                Map.of("rows", 1200, "file", "out/part-0001.csv", "ratio", 0.98),
+                Duration.ofMillis(842), 24_576));
+        results.put("Failure", new JobExecutionResult.Failure("Connection refused",
+                new IllegalStateException("upstream down", new java.net.ConnectException("refused")),
+                Duration.ofMillis(31), true, ErrorType.NETWORK_ERROR, 2));
+        results.put("PartialSuccess", new JobExecutionResult.PartialSuccess("Batch mostly done",
+                Map.of("processed", 950L), "50 rows rejected", Duration.ofSeconds(3), 950, 50));
+        results.put("Cancelled", new JobExecutionResult.Cancelled("Rebalance", "system",
+                Duration.ofMillis(120), 40));
+
+        boolean ok = check("JobDefinition", job, JobCodec.decodeJobDefinition(JobCodec.encode(job)));
+        ok &= check("JobDefinition (ByteBuffer)", job, decodeViaBuffer(job));
+        for (Map.Entry<String, JobExecutionResult> entry : results.entrySet()) {
+            JobExecutionResult decoded = JobCodec.decodeResult(JobCodec.encode(entry.getValue()));
+            ok &= check(entry.getKey(), comparable(entry.getValue()), comparable(decoded));
+        }
+
+        System.out.println();
+        compare("JobDefinition", job, iterations, JobCodec::encode, JobCodec::decodeJobDefinition);
+        for (Map.Entry<String, JobExecutionResult> entry : results.entrySet()) {
+            compare(entry.getKey(), entry.getValue(), iterations, JobCodec::encode, JobCodec::decodeResult);
+        }
+
+        System.out.println();
+        System.out.println(ok ? "✅ All values round-trip through JobCodec" : "❌ Round-trip mismatches found");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static JobDefinition decodeViaBuffer(JobDefinition job) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+        JobCodec.encode(job, buffer);
+        buffer.flip();
+        return JobCodec.decodeJobDefinition(buffer);
+    }
+
+    private static <T> void compare(String name, T value, int iterations,
+                                    Function<T, byte[]> encoder, Function<byte[], T> decoder) {
+        byte[] compact = encoder.apply(value);
+        byte[] java = javaSerialize(value);
+
+        // warm up both paths before timing
+        for (int i = 0; i < Math.min(iterations, 20_000); i++) {
+            sink = decoder.apply(encoder.apply(value));
+            sink = javaDeserialize(javaSerialize(value));
+        }
+
+        long codecEncode = time(iterations, () -> sink = encoder.apply(value));
+        long codecDecode = time(iterations, () -> sink = decoder.apply(compact));
+        long javaEncode = time(iterations, () -> sink = javaSerialize(value));
+        long javaDecode = time(iterations, () -> sink = javaDeserialize(java));
+
+        System.out.printf("📦 %-15s size %4d B vs %5d B (%.1fx smaller) | encode %5d ns vs %6d ns | decode %5d ns vs %6d ns%n",
+                name, compact.length, java.length, (double) java.length / compact.length,
+                codecEncode, javaEncode, codecDecode, javaDecode);
+    }
+
+    /** Average nanoseconds per call */
+    private static long time(int iterations, Runnable action) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private static boolean check(String name, Object expected, Object actual) {
+        boolean equal = Objects.equals(expected, actual);
+        System.out.println((equal ? "✅ " : "❌ ") + name + " round trip" + (equal ? "" : ": " + actual));
+        return equal;
+    }
+
+    /**
+     * Failure causes come back as {@link org.github.Alyas100.codec.RemoteThrowable}, so compare
+     * them by class name and message down the cause chain.
+     */
+    private static Object comparable(JobExecutionResult result) {
+        if (result instanceof JobExecutionResult.Failure failure) {
+            return List.of(failure.errorMessage(), describe(failure.cause()), failure.executionDuration(),
+                    failure.shouldRetry(), failure.errorType(), failure.retryCount());
+        }
+        return result;
+    }
+
+    private static String describe(Throwable throwable) {
+        StringBuilder description = new StringBuilder();
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            description.append(t).append(" @").append(t.getStackTrace().length > 0 ? t.getStackTrace()[0] : "?").append(" <- ");
+        }
+        return description.toString();
+    }
+
+    private static byte[] javaSerialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T javaDeserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JobDefinition sampleJob() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("url", "https://example.com/report?region=eu-west-1");
+        parameters.put("batchSize", 500);
+        parameters.put("threshold", 0.75);
+        parameters.put("dryRun", false);
+        parameters.put("tags", List.of("nightly", "billing"));
+        parameters.put("owner", Map.of("team", "payments", "pager", "payments-oncall"));
+        return new JobDefinition(
+                "job-7f3a9c21",
+                "Nightly billing report",
+                "http-report",
+                "0 0 2 * * *",
+                parameters,
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(10), 2.0, true),
+                Duration.ofMinutes(15),
+                3,
+                true
+        );
+    }
+}
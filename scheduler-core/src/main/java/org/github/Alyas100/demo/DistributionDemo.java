@@ -0,0 +1,219 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.cluster.JobDistributor;
+import org.github.Alyas100.cluster.JobDistributor.DistributionStrategy;
+import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+import org.github.Alyas100.core.ExecutionFence;
+import org.github.Alyas100.core.JobExecutor;
+import org.github.Alyas100.core.PluginRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Remote execution across {@code members} embedded Hazelcast members on loopback, driven
+ * through the leader's {@link JobDistributor}.
+ *
+ * <p>Each strategy is checked by where the synthetic fires ran: round robin spreads evenly,
+ * affinity keeps a job on one member, a job asking for the work queue runs although the
+ * cluster's default is load-based, broadcast reaches every member once and folds the
+ * results, and load-based spreads concurrent slow fires while {@code getNodeLoad} reports them
+ * in flight. Then a member running a slow fire is killed and the fire has to finish on
+ * another member, and a fire stamped with an outdated fencing token has to be refused.</p>
+ *
+ * <p>Arguments: {@code members=3 fires=30}</p>
+ */
+public class DistributionDemo {
+
+    private record Member(HazelcastInstance hazelcast, HazelcastClusterManager clusterManager) {}
+
+    public static void main(String[] args) throws Exception {
+        int memberCount = 3;
+        int fires = 30;
+        for (String arg : args) {
+            if (arg.startsWith("members=")) memberCount = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("fires=")) fires = Integer.parseInt(arg.substring(6));
+        }
+        System.out.println("📦 DISTRIBUTION: " + memberCount + " members, " + fires + " fires per strategy");
+
+        FireLog fireLog = new FireLog();
+        SyntheticLoadPlugin.setFireLog(fireLog);
+        PluginRegistry plugins = new PluginRegistry("org.github.Alyas100.demo");
+        String clusterName = "distribution-" + System.currentTimeMillis();
+        List<Member> members = new ArrayList<>();
+        boolean ok;
+        try {
+            for (int i = 0; i < memberCount; i++) {
+                HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName));
+                HazelcastClusterManager clusterManager = new HazelcastClusterManager(hazelcast);
+                clusterManager.setJobRunner(new JobExecutor(plugins, Executors.newCachedThreadPool(), Clock.systemUTC(),
+                        clusterManager.getNodeId(), ExecutionFence.cluster(clusterManager))::executeDispatched);
+                clusterManager.start();
+                members.add(new Member(hazelcast, clusterManager));
+            }
+            int expectedMembers = memberCount;
+            await(() -> members.get(0).clusterManager().getClusterNodes().size() == expectedMembers
+                    && members.stream().anyMatch(member -> member.clusterManager().isLeader()), 30_000);
+            Member leader = members.stream().filter(member -> member.clusterManager().isLeader()).findFirst().orElseThrow();
+            JobDistributor distributor = leader.clusterManager().getJobDistributor();
+
+            // Round robin: an even spread
+            fireLog.clear();
+            joinAll(dispatch(distributor, leader, fires, i -> job("rr-" + i, "NOOP", 0, DistributionStrategy.ROUND_ROBIN)));
+            Map<String, Long> perNode = perNode(fireLog);
+            System.out.println("   🔄 Round robin: " + perNode.values());
+            ok = check("round robin used every member", perNode.size() == memberCount);
+            ok &= check("round robin spread evenly", perNode.values().stream().mapToLong(Long::longValue).max().orElse(0)
+                    - perNode.values().stream().mapToLong(Long::longValue).min().orElse(0) <= 1);
+
+            // Affinity: the same job always lands on the same member
+            fireLog.clear();
+            joinAll(dispatch(distributor, leader, fires, i -> job("sticky", "NOOP", 0, DistributionStrategy.AFFINITY)));
+            ok &= check("affinity kept one job on one member", perNode(fireLog).size() == 1);
+            fireLog.clear();
+            joinAll(dispatch(distributor, leader, fires, i -> job("affine-" + i, "NOOP", 0, DistributionStrategy.AFFINITY)));
+            ok &= check("affinity spread different jobs", perNode(fireLog).size() > 1);
+
+            // Work queue asked for by the job: every member pulls, whatever the default strategy
+            fireLog.clear();
+            List<CompletableFuture<JobExecutionResult>> queuedFires = dispatch(distributor, leader, fires,
+                    i -> job("queued-" + i, "NOOP", 0, DistributionStrategy.WORK_QUEUE));
+            ok &= check("per-job work queue fires all ran", await(() -> queuedFires.stream()
+                    .allMatch(CompletableFuture::isDone), 30_000) && fireLog.fires().size() == fires);
+
+            // Broadcast: every member once, results folded
+            fireLog.clear();
+            JobExecutionResult broadcast = distributor.dispatch(job("everywhere", "NOOP", 0, DistributionStrategy.BROADCAST),
+                    Instant.now(), leader.clusterManager().getFencingToken()).join();
+            ok &= check("broadcast ran once on every member", perNode(fireLog).size() == memberCount
+                    && fireLog.fires().size() == memberCount);
+            ok &= check("broadcast folded into one success", broadcast instanceof JobExecutionResult.Success success
+                    && success.outputData().size() == memberCount);
+
+            // Load based: concurrent slow fires spread out and show up as live load
+            fireLog.clear();
+            List<CompletableFuture<JobExecutionResult>> slow = dispatch(distributor, leader, 2 * memberCount,
+                    i -> job("slow-" + i, "SLEEP", 1500, DistributionStrategy.LOAD_BASED));
+            Map<String, Integer> load = distributor.getNodeLoad();
+            System.out.println("   ⚖️ In flight while running: " + load.values());
+            ok &= check("node load reports the running fires", load.values().stream().mapToInt(Integer::intValue).sum()
+                    == 2 * memberCount && load.values().stream().allMatch(count -> count == 2));
+            joinAll(slow);
+            ok &= check("node load drops back to zero", distributor.getNodeLoad().values().stream().allMatch(count -> count == 0));
+
+            // A member leaves with a fire running: the fire moves on
+            Member victim = members.stream().filter(member -> member != leader).findFirst().orElseThrow();
+            String victimId = victim.clusterManager().getNodeId();
+            fireLog.clear();
+            CompletableFuture<JobExecutionResult> moving = null;
+            for (int attempt = 0; attempt < 10 * memberCount && moving == null; attempt++) {
+                CompletableFuture<JobExecutionResult> candidate = distributor.dispatch(
+                        job("moving-" + attempt, "SLEEP", 3000, DistributionStrategy.ROUND_ROBIN),
+                        Instant.now(), leader.clusterManager().getFencingToken());
+                if (await(() -> fireLog.fires().stream().anyMatch(fire -> fire.nodeId().equals(victimId)), 500)) {
+                    moving = candidate;
+                }
+            }
+            victim.hazelcast().getLifecycleService().terminate();
+            members.remove(victim);
+            JobExecutionResult moved = moving != null ? moving.join() : null;
+            String movedJob = fireLog.fires().stream().filter(fire -> fire.nodeId().equals(victimId))
+                    .map(FireLog.Fire::jobId).findFirst().orElse("");
+            ok &= check("fire on a departed member finished elsewhere", moved instanceof JobExecutionResult.Success
+                    && fireLog.fires().stream().anyMatch(fire -> fire.jobId().equals(movedJob)
+                    && !fire.nodeId().equals(victimId)));
+
+            // Fires from an outdated leadership are refused by the workers
+            long token = leader.clusterManager().getFencingToken();
+            members.forEach(member -> member.clusterManager().acceptFencingToken(token + 1));
+            JobExecutionResult stale = distributor.dispatch(job("stale", "NOOP", 0, DistributionStrategy.ROUND_ROBIN),
+                    Instant.now(), token).join();
+            ok &= check("worker refused a fire with an outdated token", stale instanceof JobExecutionResult.Failure failure
+                    && failure.errorType() == ErrorType.PERMISSION_DENIED);
+        } finally {
+            SyntheticLoadPlugin.setFireLog(null);
+            for (Member member : members) {
+                member.clusterManager().stop();
+                member.hazelcast().getLifecycleService().terminate();
+            }
+        }
+        System.out.println(ok ? "✅ DISTRIBUTION PASSED" : "❌ DISTRIBUTION FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static List<CompletableFuture<JobExecutionResult>> dispatch(JobDistributor distributor, Member leader, int count,
+                                                                        java.util.function.IntFunction<JobDefinition> jobs) {
+        List<CompletableFuture<JobExecutionResult>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(distributor.dispatch(jobs.apply(i), Instant.now(), leader.clusterManager().getFencingToken()));
+        }
+        return results;
+    }
+
+    private static void joinAll(List<CompletableFuture<JobExecutionResult>> results) {
+        results.forEach(CompletableFuture::join);
+    }
+
+    private static Map<String, Long> perNode(FireLog fireLog) {
+        Map<String, Long> counts = new TreeMap<>();
+        fireLog.fires().forEach(fire -> counts.merge(fire.nodeId(), 1L, Long::sum));
+        return counts;
+    }
+
+    private static JobDefinition job(String jobId, String profile, int workMs, DistributionStrategy strategy) {
+        return new JobDefinition(
+                jobId,
+                "Distributed job " + jobId,
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", profile, "workMs", workMs, JobDistributor.STRATEGY_PARAMETER, strategy.name()),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true
+        );
+    }
+
+    private static Config loopbackConfig(String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return JobCodecSerializers.register(config);
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,183 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import com.hazelcast.topic.ITopic;
+import org.github.Alyas100.cluster.ClusterEvent;
+import org.github.Alyas100.cluster.hazelcast.ClusterEventBus;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cluster events one publish each on a plain topic, against the batched {@link ClusterEventBus}.
+ *
+ * <p>Two embedded members; one announces {@code events} distributed jobs, as a bulk
+ * registration does, and the other counts them in. Reports events per second, topic messages
+ * and bytes per event both ways, and checks that the bus delivers every event once and in
+ * order.</p>
+ *
+ * <p>Then a member whose subscriber is too slow for a small ringbuffer: it has to skip ahead
+ * rather than stop, and see from the batch numbers how many batches it missed.</p>
+ *
+ * <p>Arguments: {@code events=20000}</p>
+ */
+public class EventBusDemo {
+
+    public static void main(String[] args) throws Exception {
+        int eventCount = 20_000;
+        for (String arg : args) {
+            if (arg.startsWith("events=")) eventCount = Integer.parseInt(arg.substring(7));
+        }
+        System.out.println("📣 EVENT BUS: " + eventCount + " events");
+
+        boolean ok = throughput(eventCount);
+        ok &= lagging();
+
+        System.out.println(ok ? "✅ EVENT BUS PASSED" : "❌ EVENT BUS FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean throughput(int eventCount) throws Exception {
+        String clusterName = "event-bus-" + System.currentTimeMillis();
+        HazelcastInstance sender = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName, 0));
+        HazelcastInstance receiver = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName, 0));
+        try {
+            String senderId = sender.getCluster().getLocalMember().getUuid().toString();
+            List<ClusterEvent> events = new ArrayList<>(eventCount);
+            for (int i = 0; i < eventCount; i++) {
+                events.add(new ClusterEvent.JobDistributed("job-" + i, senderId));
+            }
+
+            // Before: one plain topic message per event
+            ITopic<ClusterEvent> plain = sender.getTopic("cluster-events-plain");
+            AtomicLong plainReceived = new AtomicLong();
+            receiver.<ClusterEvent>getTopic("cluster-events-plain").addMessageListener(message -> plainReceived.incrementAndGet());
+            long startedAt = System.nanoTime();
+            for (ClusterEvent event : events) {
+                plain.publish(event);
+            }
+            boolean plainDone = await(() -> plainReceived.get() == eventCount, 60_000);
+            long plainMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            int plainBytes = ((SerializationServiceSupport) sender).getSerializationService()
+                    .toData(events.get(eventCount / 2)).totalSize();
+            System.out.printf(Locale.ROOT, "   🐢 Plain topic:   %,8.0f events/s, %d messages, %d bytes per event%n",
+                    eventCount * 1000.0 / plainMillis, eventCount, plainBytes);
+
+            // After: batched on the bus
+            ClusterEventBus senderBus = new ClusterEventBus(sender, senderId);
+            ClusterEventBus receiverBus = new ClusterEventBus(receiver, receiver.getCluster().getLocalMember().getUuid().toString());
+            List<String> received = Collections.synchronizedList(new ArrayList<>(eventCount));
+            receiverBus.subscribe(event -> {
+                if (event instanceof ClusterEvent.JobDistributed distributed) {
+                    received.add(distributed.jobId());
+                }
+            });
+            startedAt = System.nanoTime();
+            for (ClusterEvent event : events) {
+                senderBus.publish(event);
+            }
+            boolean busDone = await(() -> received.size() >= eventCount, 60_000);
+            long busMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            ClusterEventBus.Stats stats = senderBus.stats();
+            double busBytes = (double) stats.bytes() / stats.published();
+            System.out.printf(Locale.ROOT, "   🚀 Batched bus:   %,8.0f events/s, %d messages, %.1f bytes per event%n",
+                    eventCount * 1000.0 / busMillis, stats.batches(), busBytes);
+
+            boolean inOrder = received.size() == eventCount;
+            for (int i = 0; inOrder && i < eventCount; i++) {
+                inOrder = received.get(i).equals("job-" + i);
+            }
+            boolean ok = check("every plain event arrived", plainDone);
+            ok &= check("every batched event arrived once, in order", busDone && inOrder);
+            ok &= check("no batch was missed", receiverBus.stats().missedBatches() == 0);
+            ok &= check("at least 20 events per topic message", stats.batches() * 20 <= eventCount);
+            ok &= check("batched events are at least 3x smaller", busBytes * 3 <= plainBytes);
+            ok &= check("the bus is faster than one publish per event", busMillis < plainMillis);
+            return ok;
+        } finally {
+            sender.getLifecycleService().terminate();
+            receiver.getLifecycleService().terminate();
+        }
+    }
+
+    private static boolean lagging() throws Exception {
+        int capacity = 16;
+        int batchCount = 200;
+        String clusterName = "event-bus-lag-" + System.currentTimeMillis();
+        HazelcastInstance sender = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName, capacity));
+        HazelcastInstance receiver = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName, capacity));
+        try {
+            String senderId = sender.getCluster().getLocalMember().getUuid().toString();
+            ClusterEventBus senderBus = new ClusterEventBus(sender, senderId);
+            ClusterEventBus receiverBus = new ClusterEventBus(receiver, receiver.getCluster().getLocalMember().getUuid().toString());
+            AtomicLong received = new AtomicLong();
+            receiverBus.subscribe(event -> {
+                received.incrementAndGet();
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            for (int i = 0; i < batchCount; i++) {
+                senderBus.publish(new ClusterEvent.JobDistributed("lag-" + i, senderId));
+                senderBus.flush();
+            }
+            senderBus.publish(new ClusterEvent.NodeLeft(senderId));
+            senderBus.flush();
+            boolean caughtUp = await(() -> received.get() + receiverBus.stats().missedBatches() == batchCount + 1, 30_000);
+            ClusterEventBus.Stats stats = receiverBus.stats();
+            System.out.println("   🐌 Slow member got " + received.get() + " of " + (batchCount + 1)
+                    + " batches from a " + capacity + "-slot ringbuffer, missed " + stats.missedBatches());
+            boolean ok = check("the slow member kept listening to the end", caughtUp);
+            ok &= check("it counted the batches it missed", stats.missedBatches() > 0);
+            return ok;
+        } finally {
+            sender.getLifecycleService().terminate();
+            receiver.getLifecycleService().terminate();
+        }
+    }
+
+    /**
+     * @param ringbufferCapacity capacity of the bus ringbuffer, or 0 for Hazelcast's default
+     */
+    private static Config loopbackConfig(String clusterName, int ringbufferCapacity) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        if (ringbufferCapacity > 0) {
+            config.addRingBufferConfig(new RingbufferConfig("*" + ClusterEventBus.TOPIC_NAME)
+                    .setCapacity(ringbufferCapacity));
+        }
+        return JobCodecSerializers.register(config);
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,101 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.storage.JobExecutionStore;
+import org.github.Alyas100.storage.file.MappedJobExecutionStore;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Write / tail-read / recovery benchmark for {@link MappedJobExecutionStore}.
+ *
+ * <p>Arguments: {@code records=2000000 jobs=10000 dir=<temp dir>}</p>
+ */
+public class ExecutionStoreBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int records = 2_000_000;
+        int jobs = 10_000;
+        Path directory = null;
+        for (String arg : args) {
+            if (arg.startsWith("records=")) records = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("jobs=")) jobs = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("dir=")) directory = Path.of(arg.substring(4));
+        }
+        boolean temporary = directory == null;
+        if (temporary) {
+            directory = Files.createTempDirectory("execution-store-bench");
+        }
+
+        System.out.println("💾 EXECUTION STORE BENCHMARK: " + records + " records over " + jobs + " jobs in " + directory);
+
+        String[] jobIds = new String[jobs];
+        for (int i = 0; i < jobs; i++) {
+            jobIds[i] = "job-" + i;
+        }
+        JobExecutionResult[] results = {
+                new JobExecutionResult.Success("ok", Map.of("rows", 42), Duration.ofMillis(12), 0L),
+                new JobExecutionResult.Failure("timeout", null, Duration.ofSeconds(30), true, ErrorType.TIMEOUT, 1),
+                new JobExecutionResult.PartialSuccess("batch", Map.of(), "3 rows skipped", Duration.ofMillis(80), 97, 3),
+        };
+
+        try (MappedJobExecutionStore store = new MappedJobExecutionStore(directory)) {
+            long gcBefore = gcCount();
+            long gcTimeBefore = gcTime();
+            Instant base = Instant.now();
+            long start = System.nanoTime();
+            for (int i = 0; i < records; i++) {
+                store.saveExecution(jobIds[i % jobs], results[i % results.length], base.plusMillis(i));
+            }
+            long writeNanos = System.nanoTime() - start;
+            System.out.printf("   ✍️  Writes: %.0f records/s (%d segments, %d GCs, %dms GC time)%n",
+                    records / (writeNanos / 1e9), store.getSegmentCount(),
+                    gcCount() - gcBefore, gcTime() - gcTimeBefore);
+
+            int reads = 100_000;
+            start = System.nanoTime();
+            long returned = 0;
+            for (int i = 0; i < reads; i++) {
+                returned += store.getExecutionHistory(jobIds[i % jobs], 20).size();
+            }
+            long readNanos = System.nanoTime() - start;
+            System.out.printf("   📖 Tail reads (last 20): %.1f µs/query, %d records returned%n",
+                    readNanos / 1e3 / reads, returned);
+        }
+
+        long start = System.nanoTime();
+        try (JobExecutionStore reopened = new MappedJobExecutionStore(directory)) {
+            long recoveryMs = (System.nanoTime() - start) / 1_000_000;
+            List<JobExecutionStore.ExecutionRecord> latest = reopened.getExecutionHistory(jobIds[0], 1);
+            System.out.println("   🔁 Recovery (index rebuild): " + recoveryMs + "ms, latest job-0 record at " +
+                    (latest.isEmpty() ? "none" : latest.get(0).executedAt()));
+        }
+
+        if (temporary) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        System.out.println("✅ EXECUTION STORE BENCHMARK COMPLETE");
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
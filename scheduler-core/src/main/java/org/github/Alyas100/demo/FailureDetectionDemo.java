@@ -0,0 +1,203 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.github.Alyas100.cluster.ClusterListener;
+import org.github.Alyas100.cluster.ClusterNode;
+import org.github.Alyas100.cluster.PhiAccrualFailureDetector;
+import org.github.Alyas100.cluster.PhiAccrualHeartbeatManager;
+import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Phi-accrual failure detection.
+ *
+ * <p>First the detector alone on a virtual millisecond clock, with the heartbeat manager's
+ * defaults: a node heartbeating steadily and one with heavy jitter both stop, and the time
+ * until each is suspected and declared down is measured; then a node with GC pauses shorter
+ * than the acceptable pause must never be declared down.</p>
+ *
+ * <p>Then {@code members} embedded Hazelcast members: one stops heartbeating (a hung scheduler
+ * whose Hazelcast member still answers) and the others have to see it go ACTIVE, SUSPECTED,
+ * DOWN long before Hazelcast's own 60s member timeout, and ACTIVE again once it resumes.</p>
+ *
+ * <p>Arguments: {@code members=3 seed=7}</p>
+ */
+public class FailureDetectionDemo {
+    private static final long INTERVAL = PhiAccrualHeartbeatManager.DEFAULT_INTERVAL.toMillis();
+
+    public static void main(String[] args) throws Exception {
+        int memberCount = 3;
+        long seed = 7;
+        for (String arg : args) {
+            if (arg.startsWith("members=")) memberCount = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("seed=")) seed = Long.parseLong(arg.substring(5));
+        }
+        System.out.println("💓 FAILURE DETECTION: heartbeat every " + INTERVAL + "ms, acceptable pause "
+                + PhiAccrualHeartbeatManager.DEFAULT_ACCEPTABLE_PAUSE.toMillis() + "ms");
+
+        boolean ok = detector(new Random(seed));
+        ok &= cluster(memberCount);
+
+        System.out.println(ok ? "✅ FAILURE DETECTION PASSED" : "❌ FAILURE DETECTION FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean detector(Random random) {
+        long[] steady = detectAfterSilence(random, 20);
+        long[] jittery = detectAfterSilence(random, 250);
+        System.out.printf("   ⏱️ Steady node (±20ms):   suspected after %dms, down after %dms%n", steady[0], steady[1]);
+        System.out.printf("   ⏱️ Jittery node (±250ms): suspected after %dms, down after %dms%n", jittery[0], jittery[1]);
+        boolean ok = check("a silent steady node is down within 4s", steady[1] > 0 && steady[1] <= 4_000);
+        ok &= check("jittery heartbeats get more slack than steady ones", jittery[1] > steady[1]);
+        ok &= check("suspicion comes before the verdict", steady[0] < steady[1] && jittery[0] < jittery[1]);
+
+        // An hour of heartbeats with a GC pause of up to 1.5s every few minutes
+        PhiAccrualFailureDetector detector = newDetector();
+        long now = 0;
+        double maxPhi = 0;
+        int pauses = 0;
+        detector.heartbeat(now);
+        while (now < 3_600_000) {
+            long gap = INTERVAL + random.nextInt(41) - 20;
+            if (random.nextInt(400) == 0) {
+                gap += 500 + random.nextInt(1001);
+                pauses++;
+            }
+            for (long t = now + 10; t < now + gap; t += 10) {
+                maxPhi = Math.max(maxPhi, detector.phi(t));
+            }
+            now += gap;
+            detector.heartbeat(now);
+        }
+        System.out.printf("   💤 %d GC pauses of up to 1.5s in an hour: highest phi %.2f%n", pauses, maxPhi);
+        ok &= check("GC pauses never declared the node down", maxPhi < PhiAccrualHeartbeatManager.DEFAULT_DOWN_PHI);
+        return ok;
+    }
+
+    /**
+     * Heartbeats for a minute with the given jitter, then silence: how long until phi reaches
+     * the suspect and down thresholds.
+     */
+    private static long[] detectAfterSilence(Random random, int jitterMillis) {
+        PhiAccrualFailureDetector detector = newDetector();
+        long now = 0;
+        detector.heartbeat(now);
+        while (now < 60_000) {
+            now += INTERVAL + random.nextInt(2 * jitterMillis + 1) - jitterMillis;
+            detector.heartbeat(now);
+        }
+        long suspected = -1;
+        for (long silence = 0; silence <= 60_000; silence += 10) {
+            double phi = detector.phi(now + silence);
+            if (suspected < 0 && phi >= PhiAccrualHeartbeatManager.DEFAULT_SUSPECT_PHI) {
+                suspected = silence;
+            }
+            if (phi >= PhiAccrualHeartbeatManager.DEFAULT_DOWN_PHI) {
+                return new long[]{suspected, silence};
+            }
+        }
+        return new long[]{suspected, -1};
+    }
+
+    private static PhiAccrualFailureDetector newDetector() {
+        Duration interval = PhiAccrualHeartbeatManager.DEFAULT_INTERVAL;
+        return new PhiAccrualFailureDetector(interval, interval.dividedBy(5),
+                PhiAccrualHeartbeatManager.DEFAULT_ACCEPTABLE_PAUSE, 200);
+    }
+
+    private static boolean cluster(int memberCount) throws Exception {
+        String clusterName = "failure-detection-" + System.currentTimeMillis();
+        List<HazelcastInstance> instances = new ArrayList<>();
+        List<HazelcastClusterManager> managers = new ArrayList<>();
+        boolean ok;
+        try {
+            for (int i = 0; i < memberCount; i++) {
+                HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName));
+                HazelcastClusterManager clusterManager = new HazelcastClusterManager(hazelcast);
+                clusterManager.start();
+                instances.add(hazelcast);
+                managers.add(clusterManager);
+            }
+            ok = check("every member sees every other as active", await(() -> managers.stream().allMatch(manager ->
+                    manager.getClusterNodes().size() == managers.size()
+                            && manager.getClusterNodes().stream().allMatch(ClusterNode::isActive)), 30_000));
+
+            HazelcastClusterManager hung = managers.get(managers.size() - 1);
+            String hungId = hung.getNodeId();
+            HazelcastClusterManager observer = managers.get(0);
+            List<ClusterNode.NodeStatus> seen = new CopyOnWriteArrayList<>();
+            observer.addClusterListener(new ClusterListener() {
+                @Override
+                public void onNodeStatusChanged(ClusterNode node, ClusterNode.NodeStatus previous) {
+                    if (node.getNodeId().equals(hungId)) {
+                        if (seen.isEmpty()) {
+                            seen.add(previous);
+                        }
+                        seen.add(node.getStatus());
+                    }
+                }
+            });
+
+            long stoppedAt = System.nanoTime();
+            hung.getHeartbeatManager().stopHeartbeat();
+            boolean down = await(() -> managers.stream().filter(manager -> manager != hung)
+                    .allMatch(manager -> manager.getHeartbeatManager().getDeadNodes().contains(hungId)), 20_000);
+            long detectionMillis = (System.nanoTime() - stoppedAt) / 1_000_000;
+            System.out.println("   🔴 Silent member declared down after " + detectionMillis + "ms (phi "
+                    + String.format(Locale.ROOT, "%.1f", observer.getHeartbeatManager().getPhi(hungId)) + ")");
+            ok &= check("every other member declared the silent one down", down);
+            ok &= check("detected well before Hazelcast's 60s member timeout", down && detectionMillis < 10_000);
+            ok &= check("listeners saw ACTIVE -> SUSPECTED -> DOWN", seen.equals(List.of(ClusterNode.NodeStatus.ACTIVE,
+                    ClusterNode.NodeStatus.SUSPECTED, ClusterNode.NodeStatus.DOWN)));
+            ok &= check("cluster state counts it out", observer.getClusterState().activeNodes() == memberCount - 1);
+
+            hung.getHeartbeatManager().startHeartbeat();
+            ok &= check("resumed member is active again", await(() -> managers.stream()
+                    .allMatch(manager -> manager.getClusterNodes().stream().allMatch(ClusterNode::isActive)), 5_000)
+                    && seen.get(seen.size() - 1) == ClusterNode.NodeStatus.ACTIVE);
+        } finally {
+            for (int i = 0; i < managers.size(); i++) {
+                managers.get(i).stop();
+                instances.get(i).getLifecycleService().terminate();
+            }
+        }
+        return ok;
+    }
+
+    private static Config loopbackConfig(String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return JobCodecSerializers.register(config);
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,120 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.storage.file.FileJobRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk load / concurrent write / recovery benchmark for {@link FileJobRepository}.
+ *
+ * <p>Arguments: {@code jobs=1000000 writers=32 concurrentSaves=50000 dir=<temp dir>}</p>
+ */
+public class FileRepositoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int jobs = 1_000_000;
+        int writers = 32;
+        int concurrentSaves = 50_000;
+        Path directory = null;
+        for (String arg : args) {
+            if (arg.startsWith("jobs=")) jobs = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("writers=")) writers = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("concurrentSaves=")) concurrentSaves = Integer.parseInt(arg.substring(16));
+            if (arg.startsWith("dir=")) directory = Path.of(arg.substring(4));
+        }
+        boolean temporary = directory == null;
+        if (temporary) {
+            directory = Files.createTempDirectory("job-repository-bench");
+        }
+
+        System.out.println("💾 FILE REPOSITORY BENCHMARK: " + jobs + " jobs in " + directory);
+
+        try (FileJobRepository repository = new FileJobRepository(directory)) {
+            long start = System.nanoTime();
+            List<JobDefinition> chunk = new ArrayList<>(10_000);
+            for (int i = 0; i < jobs; i++) {
+                chunk.add(job("job-" + i));
+                if (chunk.size() == 10_000 || i == jobs - 1) {
+                    repository.saveJobs(chunk);
+                    chunk.clear();
+                }
+            }
+            long bulkNanos = System.nanoTime() - start;
+            System.out.printf("   📦 Bulk saveJobs: %.0f jobs/s%n", jobs / (bulkNanos / 1e9));
+
+            // Single-job saves from many threads: group commit shares one fsync per batch
+            ExecutorService pool = Executors.newFixedThreadPool(writers);
+            int perWriter = concurrentSaves / writers;
+            start = System.nanoTime();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                pool.execute(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        repository.saveJob(job("job-" + (writer * perWriter + i)));
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.MINUTES);
+            long concurrentNanos = System.nanoTime() - start;
+            System.out.printf("   ✍️  Concurrent saveJob (%d threads): %.0f durable saves/s%n",
+                    writers, perWriter * writers / (concurrentNanos / 1e9));
+
+            for (int i = 0; i < 1000; i++) {
+                repository.deleteJob("job-" + i);
+            }
+        }
+
+        recover(directory, "Recovery", true, Math.max(0, jobs - 1000));
+        recover(directory, "Recovery from fresh snapshot", false, Math.max(0, jobs - 1000));
+
+        if (temporary) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        System.out.println("✅ FILE REPOSITORY BENCHMARK COMPLETE");
+    }
+
+    /**
+     * Reopens in its own frame so the previous repository is unreachable before the next one
+     * loads (a dead local in a long-running {@code main} still counts as a GC root).
+     */
+    private static void recover(Path directory, String label, boolean snapshotAfter, int expected) {
+        long start = System.nanoTime();
+        try (FileJobRepository reopened = new FileJobRepository(directory)) {
+            long recoveryMs = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("   🔁 " + label + ": " + recoveryMs + "ms, " + reopened.getAllJobs().size() +
+                    " jobs (expected " + expected + ")");
+            if (snapshotAfter) {
+                reopened.snapshot();
+            }
+        }
+    }
+
+    private static JobDefinition job(String jobId) {
+        return new JobDefinition(
+                jobId,
+                "Benchmark job " + jobId,
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                3,
+                true
+        );
+    }
+}
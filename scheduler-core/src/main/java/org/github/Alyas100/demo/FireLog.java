@@ -0,0 +1,75 @@
+package org.github.Alyas100.demo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records every synthetic fire (job, planned second, executing node, the job's {@code tag}
+ * parameter) so benchmarks can count missed and duplicated cron slots after the fact.
+ */
+public class FireLog {
+
+    public record Fire(String jobId, long plannedEpochSecond, String nodeId, long recordedAtMillis, String tag) {}
+
+    private final ConcurrentLinkedQueue<Fire> fires = new ConcurrentLinkedQueue<>();
+
+    public void record(String jobId, long plannedEpochSecond, String nodeId) {
+        record(jobId, plannedEpochSecond, nodeId, null);
+    }
+
+    public void record(String jobId, long plannedEpochSecond, String nodeId, String tag) {
+        fires.add(new Fire(jobId, plannedEpochSecond, nodeId, System.currentTimeMillis(), tag));
+    }
+
+    public List<Fire> fires() {
+        return new ArrayList<>(fires);
+    }
+
+    public void clear() {
+        fires.clear();
+    }
+
+    /**
+     * Counts fires in the planned-time window {@code [fromSecond, toSecond)}.
+     *
+     * @param deadNodes nodes whose fires after {@code deadSinceMillis} are ignored (a crashed process fires nothing)
+     */
+    public WindowStats analyze(Collection<String> jobIds, long fromSecond, long toSecond,
+                               Set<String> deadNodes, long deadSinceMillis) {
+        Map<String, Integer> slotCounts = new HashMap<>();
+        Map<String, Long> perNode = new TreeMap<>();
+        for (Fire fire : fires) {
+            if (fire.plannedEpochSecond() < fromSecond || fire.plannedEpochSecond() >= toSecond) {
+                continue;
+            }
+            if (deadNodes.contains(fire.nodeId()) && fire.recordedAtMillis() >= deadSinceMillis) {
+                continue;
+            }
+            slotCounts.merge(fire.jobId() + "@" + fire.plannedEpochSecond(), 1, Integer::sum);
+            perNode.merge(fire.nodeId(), 1L, Long::sum);
+        }
+
+        long expected = (long) jobIds.size() * (toSecond - fromSecond);
+        long duplicated = slotCounts.values().stream().mapToLong(count -> count - 1).sum();
+        long missed = expected - slotCounts.size();
+        long total = perNode.values().stream().mapToLong(Long::longValue).sum();
+        return new WindowStats(expected, total, missed, duplicated, perNode);
+    }
+
+    /**
+     * @param perNode fires per executing node, used for distribution skew
+     */
+    public record WindowStats(long expected, long fired, long missed, long duplicated, Map<String, Long> perNode) {
+
+        /**
+         * max/mean of fires per node over {@code nodeCount} nodes (1.0 = perfectly even).
+         */
+        public double distributionSkew(int nodeCount) {
+            if (fired == 0 || nodeCount == 0) {
+                return 0;
+            }
+            long max = perNode.values().stream().mapToLong(Long::longValue).max().orElse(0);
+            return max / ((double) fired / nodeCount);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.github.Alyas100.demo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.storage.JobChange;
+import org.github.Alyas100.storage.JobExecutionStore;
+import org.github.Alyas100.storage.JobPage;
+import org.github.Alyas100.storage.JobQuery;
+import org.github.Alyas100.storage.jdbc.JdbcJobExecutionStore;
+import org.github.Alyas100.storage.jdbc.JdbcJobRepository;
+import org.github.Alyas100.storage.jdbc.JdbcStorage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises the JDBC stores against an embedded H2 database, so no server is needed. H2 is a
+ * {@code provided} dependency of this module: it is on the classpath when running from the
+ * build or an IDE, but not shipped to anything depending on scheduler-core.
+ *
+ * <p>Checks repository round trips and their change feed, bulk saves, batched execution
+ * inserts under load (rows per round trip) and keyset pagination over a job's history.</p>
+ *
+ * <p>Arguments: {@code jobs=10000 executions=100000 producers=8 url=jdbc:h2:mem:scheduler}</p>
+ */
+public class JdbcStorageDemo {
+    private static int failures = 0;
+
+    public static void main(String[] args) throws Exception {
+        int jobs = 10_000;
+        int executions = 100_000;
+        int producers = 8;
+        String url = "jdbc:h2:mem:scheduler;DB_CLOSE_DELAY=-1";
+        for (String arg : args) {
+            if (arg.startsWith("jobs=")) jobs = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("executions=")) executions = Integer.parseInt(arg.substring(11));
+            if (arg.startsWith("producers=")) producers = Integer.parseInt(arg.substring(10));
+            if (arg.startsWith("url=")) url = arg.substring(4);
+        }
+
+        System.out.println("🗄️ JDBC STORAGE DEMO against " + url);
+
+        try (HikariDataSource dataSource = JdbcStorage.dataSource(url, "sa", "", 8)) {
+            JdbcJobRepository repository = new JdbcJobRepository(dataSource);
+
+            // Single-job round trip
+            JobDefinition job = job("job-0", true);
+            repository.saveJob(job);
+            check("saved job reads back", repository.getJob("job-0").orElse(null), job);
+            JobDefinition disabled = job("job-0", false);
+            repository.saveJob(disabled);
+            check("save overwrites existing job", repository.getJob("job-0").orElse(null), disabled);
+            check("deleteJob returns removed job", repository.deleteJob("job-0"), disabled);
+            check("deleted job is gone", repository.jobExists("job-0"), false);
+            check("change feed records create, update, delete",
+                    repository.getChanges(0, 10).changes().stream().map(JobChange::type).toList(),
+                    List.of(JobChange.Type.CREATED, JobChange.Type.UPDATED, JobChange.Type.DELETED));
+
+            // Bulk save: one update batch + one insert batch per 1000 jobs
+            List<JobDefinition> bulk = new ArrayList<>();
+            for (int i = 0; i < jobs; i++) {
+                bulk.add(job("job-" + i, true));
+            }
+            long start = System.nanoTime();
+            repository.saveJobs(bulk);
+            repository.saveJobs(bulk.subList(0, jobs / 2)); // half of them again, as updates
+            System.out.printf("   📦 saveJobs: %d jobs in %dms%n", jobs + jobs / 2, (System.nanoTime() - start) / 1_000_000);
+            check("bulk save stores every job once", repository.getAllJobs().size(), jobs);
+
+            // Indexed query: disable every 4th job, then page through the enabled ones
+            repository.saveJobs(bulk.stream().filter(j -> Integer.parseInt(j.jobId().substring(4)) % 4 == 0)
+                    .map(j -> job(j.jobId(), false)).toList());
+            JobQuery enabledQuery = JobQuery.all().withPluginName("synthetic-load").withEnabled(true);
+            int enabledCount = 0;
+            String jobCursor = null;
+            do {
+                JobPage page = repository.findJobs(enabledQuery, jobCursor, 100);
+                enabledCount += page.jobs().size();
+                jobCursor = page.nextCursor();
+            } while (jobCursor != null);
+            check("findJobs pages through enabled jobs", enabledCount, jobs - (jobs + 3) / 4);
+            check("streamJobs by name prefix", repository.streamJobs(JobQuery.all().withNamePrefix("Demo job job-99")).count(),
+                    repository.getAllJobs().stream().filter(j -> j.jobName().startsWith("Demo job job-99")).count());
+
+            // Batched execution inserts from concurrent producers
+            try (JdbcJobExecutionStore store = new JdbcJobExecutionStore(dataSource)) {
+                ExecutorService pool = Executors.newFixedThreadPool(producers);
+                int perProducer = executions / producers;
+                Instant base = Instant.now();
+                start = System.nanoTime();
+                for (int p = 0; p < producers; p++) {
+                    int producer = p;
+                    pool.execute(() -> {
+                        for (int i = 0; i < perProducer; i++) {
+                            int n = producer * perProducer + i;
+                            store.saveExecution("job-" + (n % 100), result(n), base.plusMillis(n));
+                        }
+                    });
+                }
+                pool.shutdown();
+                pool.awaitTermination(5, TimeUnit.MINUTES);
+                store.flush();
+                long nanos = System.nanoTime() - start;
+                long written = store.getWrittenCount();
+                System.out.printf("   ✍️  Executions: %.0f rows/s, %d rows in %d round trips (%.0f rows/trip)%n",
+                        written / (nanos / 1e9), written, store.getBatchCount(), (double) written / store.getBatchCount());
+                check("every execution stored", written, (long) perProducer * producers);
+
+                // Keyset pagination: walk job-7 newest first, 50 at a time
+                long cursor = Long.MAX_VALUE;
+                int total = 0;
+                Set<Instant> seen = new HashSet<>();
+                start = System.nanoTime();
+                int pages = 0;
+                while (cursor != -1) {
+                    JdbcJobExecutionStore.HistoryPage page = store.getExecutionHistoryBefore("job-7", cursor, 50);
+                    page.records().forEach(record -> seen.add(record.executedAt()));
+                    total += page.records().size();
+                    cursor = page.nextCursor();
+                    pages++;
+                }
+                System.out.printf("   📖 Paged history: %d records in %d pages, %.0f µs/page%n",
+                        total, pages, (System.nanoTime() - start) / 1e3 / pages);
+                check("pagination returns every job-7 execution", total, (perProducer * producers) / 100);
+                check("pages never overlap", seen.size(), total);
+
+                // executedAt encodes n, so the stored result must equal what result(n) produced
+                JobExecutionStore.ExecutionRecord latest = store.getExecutionHistory("job-70", 1).get(0);
+                JobExecutionResult expected = result((int) (latest.executedAt().toEpochMilli() - base.toEpochMilli()));
+                check("result survives round trip", latest.result(), expected);
+            }
+        }
+
+        if (failures == 0) {
+            System.out.println("✅ JDBC STORAGE DEMO PASSED");
+        } else {
+            System.out.println("❌ JDBC STORAGE DEMO: " + failures + " check(s) failed");
+            System.exit(1);
+        }
+    }
+
+    private static void check(String label, Object actual, Object expected) {
+        if (java.util.Objects.equals(actual, expected)) {
+            System.out.println("   ✅ " + label);
+        } else {
+            failures++;
+            System.out.println("   ❌ " + label + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static JobExecutionResult result(int n) {
+        return n % 10 == 0
+                ? new JobExecutionResult.Failure("timeout", null, Duration.ofSeconds(30), true, ErrorType.TIMEOUT, 1)
+                : new JobExecutionResult.Success("ok", Map.of("rows", n), Duration.ofMillis(12), 0L);
+    }
+
+    private static JobDefinition job(String jobId, boolean enabled) {
+        return new JobDefinition(
+                jobId,
+                "Demo job " + jobId,
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                3,
+                enabled
+        );
+    }
+}
@@ -0,0 +1,117 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.storage.InMemoryJobRepository;
+import org.github.Alyas100.storage.JobPage;
+import org.github.Alyas100.storage.JobQuery;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Indexed, paginated queries on {@link InMemoryJobRepository} against a full scan, plus a
+ * consistency check with writers flipping plugin and enabled flags while readers page.
+ *
+ * <p>Arguments: {@code jobs=1000000 plugins=20 pageSize=50}</p>
+ */
+public class JobQueryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int jobs = 1_000_000;
+        int plugins = 20;
+        int pageSize = 50;
+        for (String arg : args) {
+            if (arg.startsWith("jobs=")) jobs = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("plugins=")) plugins = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("pageSize=")) pageSize = Integer.parseInt(arg.substring(9));
+        }
+        System.out.println("🔎 JOB QUERY BENCHMARK: " + jobs + " jobs, " + plugins + " plugins, pages of " + pageSize);
+
+        InMemoryJobRepository repository = new InMemoryJobRepository();
+        for (int i = 0; i < jobs; i++) {
+            repository.saveJob(job(i, "plugin-" + (i % plugins), i % 10 != 0));
+        }
+
+        JobQuery query = JobQuery.all().withPluginName("plugin-3").withEnabled(true);
+        int rounds = 2_000;
+        long start = System.nanoTime();
+        String cursor = null;
+        for (int i = 0; i < rounds; i++) {
+            JobPage page = repository.findJobs(query, cursor, pageSize);
+            cursor = page.nextCursor();
+        }
+        double indexedMicros = (System.nanoTime() - start) / 1e3 / rounds;
+
+        int scans = 20;
+        start = System.nanoTime();
+        for (int i = 0; i < scans; i++) {
+            repository.getAllJobs().stream().filter(query::matches).limit(pageSize).toList();
+        }
+        double scanMicros = (System.nanoTime() - start) / 1e3 / scans;
+        System.out.printf("   📄 Indexed page: %.1f µs, getAllJobs + filter: %.0f µs (%.0fx)%n",
+                indexedMicros, scanMicros, scanMicros / indexedMicros);
+
+        start = System.nanoTime();
+        long prefixed = repository.streamJobs(JobQuery.all().withNamePrefix("Job 12345")).count();
+        System.out.printf("   🔤 Name prefix stream: %d matches in %.1f ms%n", prefixed, (System.nanoTime() - start) / 1e6);
+
+        // Writers move jobs between plugins and flip enabled; readers must never see a non-match
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong violations = new AtomicLong();
+        AtomicLong pagesRead = new AtomicLong();
+        int total = jobs;
+        int pluginCount = plugins;
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            int seed = w;
+            writers[w] = new Thread(() -> {
+                int i = seed;
+                while (!stop.get()) {
+                    int index = (i * 7919) % total;
+                    repository.saveJob(job(index, "plugin-" + ((index + i) % pluginCount), i % 3 != 0));
+                    writes.incrementAndGet();
+                    i += writers.length;
+                }
+            });
+            writers[w].start();
+        }
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            int size = pageSize;
+            readers[r] = new Thread(() -> {
+                while (!stop.get()) {
+                    Set<String> seen = new HashSet<>();
+                    String next = null;
+                    do {
+                        JobPage page = repository.findJobs(query, next, size);
+                        for (JobDefinition job : page.jobs()) {
+                            if (!query.matches(job) || !seen.add(job.jobId())) {
+                                violations.incrementAndGet();
+                            }
+                        }
+                        pagesRead.incrementAndGet();
+                        next = page.nextCursor();
+                    } while (next != null && seen.size() < 20_000 && !stop.get());
+                }
+            });
+            readers[r].start();
+        }
+        Thread.sleep(3_000);
+        stop.set(true);
+        for (Thread thread : writers) thread.join();
+        for (Thread thread : readers) thread.join();
+
+        System.out.println("   ✍️  Concurrent: " + writes.get() + " writes, " + pagesRead.get() + " pages read, " +
+                violations.get() + " non-matching or duplicate results");
+        System.out.println(violations.get() == 0 ? "✅ JOB QUERY BENCHMARK PASSED" : "❌ JOB QUERY BENCHMARK FAILED");
+    }
+
+    private static JobDefinition job(int i, String plugin, boolean enabled) {
+        return new JobDefinition("job-" + String.format("%07d", i), "Job " + i, plugin,
+                "0 " + (i % 60) + " * * * *", Map.of(), null, null, 0, enabled);
+    }
+}
@@ -0,0 +1,223 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.cluster.*;
+import org.github.Alyas100.core.ExecutionFence;
+import org.github.Alyas100.core.JobExecutor;
+import org.github.Alyas100.core.PluginRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lease election between {@code nodes} in-process nodes sharing one lease store.
+ *
+ * <p>The leader is cut off from the store: it has to stop leading on its own before its
+ * lease runs out, a successor has to take over within the lease duration plus a renew
+ * interval, two nodes must never lead at once, and a fire stamped with the old leader's
+ * token has to be rejected. Then the new leader stops cleanly, releasing its lease, and
+ * the handover must be near-immediate.</p>
+ *
+ * <p>Arguments: {@code nodes=3 leaseMillis=1000 renewMillis=250}</p>
+ */
+public class LeaderElectionDemo {
+
+    public static void main(String[] args) throws Exception {
+        int nodeCount = 3;
+        long leaseMillis = 1000;
+        long renewMillis = 250;
+        for (String arg : args) {
+            if (arg.startsWith("nodes=")) nodeCount = Integer.parseInt(arg.substring(6));
+            if (arg.startsWith("leaseMillis=")) leaseMillis = Long.parseLong(arg.substring(12));
+            if (arg.startsWith("renewMillis=")) renewMillis = Long.parseLong(arg.substring(12));
+        }
+        System.out.println("🗳️ LEADER ELECTION: " + nodeCount + " nodes, lease " + leaseMillis + "ms, renew every " + renewMillis + "ms");
+
+        PartitionableLeaseStore store = new PartitionableLeaseStore();
+        Map<String, LeaseLeaderElection> nodes = new LinkedHashMap<>();
+        Map<String, List<String>> events = new ConcurrentHashMap<>();
+        for (int i = 0; i < nodeCount; i++) {
+            String nodeId = "node-" + i;
+            LeaseLeaderElection election = new LeaseLeaderElection(store, nodeId,
+                    Duration.ofMillis(leaseMillis), Duration.ofMillis(renewMillis));
+            List<String> seen = new CopyOnWriteArrayList<>();
+            election.addLeadershipListener((leaderId, token) -> seen.add(leaderId));
+            events.put(nodeId, seen);
+            nodes.put(nodeId, election);
+        }
+        nodes.values().forEach(LeaderElection::startElection);
+
+        boolean ok = check("one leader elected", await(() -> leaders(nodes).size() == 1, 5_000));
+        String oldLeaderId = leaders(nodes).get(0);
+        LeaseLeaderElection oldLeader = nodes.get(oldLeaderId);
+        long oldToken = oldLeader.getFencingToken();
+        ok &= check("followers were told who leads", await(() -> nodes.entrySet().stream()
+                .allMatch(entry -> oldLeaderId.equals(entry.getValue().getCurrentLeader())), 5_000));
+
+        // Fires stamped while leading run; the same stamp is turned away after losing the lease
+        PluginRegistry plugins = new PluginRegistry("org.github.Alyas100.demo");
+        JobExecutor oldLeaderExecutor = new JobExecutor(plugins, Runnable::run, Clock.systemUTC(), oldLeaderId,
+                ExecutionFence.cluster(new ElectionClusterManager(oldLeaderId, oldLeader)));
+        long stamped = oldLeaderExecutor.currentFencingToken(job().jobId());
+        ok &= check("leader stamps fires with its token", stamped == oldToken && oldToken > 0);
+        ok &= check("leader's fire runs", oldLeaderExecutor.executeJob(Optional.of(job()), Instant.now(), stamped)
+                .join() instanceof JobExecutionResult.Success);
+
+        // Cut the leader off from the store and watch the handover
+        store.cut(oldLeaderId);
+        long cutAt = System.nanoTime();
+        long stepDownNanos = -1;
+        long failoverNanos = -1;
+        int maxConcurrentLeaders = 0;
+        while (System.nanoTime() - cutAt < 5_000_000_000L && failoverNanos < 0) {
+            List<String> leaders = leaders(nodes);
+            maxConcurrentLeaders = Math.max(maxConcurrentLeaders, leaders.size());
+            if (stepDownNanos < 0 && !oldLeader.isLeader()) {
+                stepDownNanos = System.nanoTime() - cutAt;
+            }
+            if (leaders.size() == 1 && !leaders.get(0).equals(oldLeaderId)) {
+                failoverNanos = System.nanoTime() - cutAt;
+            }
+            Thread.sleep(1);
+        }
+        System.out.printf("   ⬇️ Old leader stopped leading after %dms, successor leading after %dms%n",
+                stepDownNanos / 1_000_000, failoverNanos / 1_000_000);
+        ok &= check("cut-off leader stepped down within its lease", stepDownNanos >= 0 && stepDownNanos / 1_000_000 <= leaseMillis);
+        ok &= check("never two leaders at once", maxConcurrentLeaders <= 1);
+        ok &= check("failover under two seconds", failoverNanos >= 0 && failoverNanos < 2_000_000_000L);
+        ok &= check("cut-off leader notified its listeners", await(() -> events.get(oldLeaderId).contains(null), 2_000));
+
+        String newLeaderId = leaders(nodes).isEmpty() ? null : leaders(nodes).get(0);
+        LeaseLeaderElection newLeader = newLeaderId != null ? nodes.get(newLeaderId) : null;
+        long newToken = newLeader != null ? newLeader.getFencingToken() : 0;
+        ok &= check("new leader holds a greater token", newToken > oldToken);
+        ok &= check("old leader cannot issue fires", oldLeaderExecutor.currentFencingToken(job().jobId()) == ExecutionFence.STALE);
+        JobExecutionResult staleFire = oldLeaderExecutor.executeJob(Optional.of(job()), Instant.now(), stamped).join();
+        ok &= check("fire stamped with the old token is rejected", staleFire instanceof JobExecutionResult.Failure failure
+                && failure.errorType() == ErrorType.PERMISSION_DENIED);
+        ok &= check("nodes that saw the new token refuse the old one",
+                newLeader != null && !newLeader.acceptFencingToken(oldToken) && newLeader.acceptFencingToken(newToken));
+
+        // Back in touch, the old leader follows instead of fighting for the lease
+        store.heal(oldLeaderId);
+        ok &= check("healed node follows the new leader", await(() -> !oldLeader.isLeader()
+                && newLeaderId != null && newLeaderId.equals(oldLeader.getCurrentLeader()), 2_000));
+
+        // A clean stop releases the lease: no waiting for it to expire
+        if (newLeader != null) {
+            long stopAt = System.nanoTime();
+            newLeader.stopElection();
+            boolean handedOver = await(() -> leaders(nodes).size() == 1 && !leaders(nodes).contains(newLeaderId), 2_000);
+            long handoverMillis = (System.nanoTime() - stopAt) / 1_000_000;
+            System.out.printf("   🤝 Clean handover after %dms%n", handoverMillis);
+            ok &= check("released lease is taken over within two renew intervals",
+                    handedOver && handoverMillis <= 2 * renewMillis + 100);
+            ok &= check("tokens keep increasing across handovers",
+                    handedOver && nodes.get(leaders(nodes).get(0)).getFencingToken() > newToken);
+        }
+
+        nodes.values().forEach(LeaderElection::stopElection);
+        System.out.println(ok ? "✅ LEADER ELECTION PASSED" : "❌ LEADER ELECTION FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static List<String> leaders(Map<String, LeaseLeaderElection> nodes) {
+        List<String> leaders = new ArrayList<>();
+        nodes.forEach((nodeId, election) -> {
+            if (election.isLeader()) {
+                leaders.add(nodeId);
+            }
+        });
+        return leaders;
+    }
+
+    private static JobDefinition job() {
+        return new JobDefinition(
+                "fenced-job",
+                "Fenced job",
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true
+        );
+    }
+
+    /**
+     * Lease store that can be made unreachable for single nodes.
+     */
+    private static final class PartitionableLeaseStore implements LeaseStore {
+        private final InMemoryLeaseStore delegate = new InMemoryLeaseStore();
+        private final Set<String> cut = ConcurrentHashMap.newKeySet();
+
+        void cut(String nodeId) {
+            cut.add(nodeId);
+        }
+
+        void heal(String nodeId) {
+            cut.remove(nodeId);
+        }
+
+        @Override
+        public Lease acquireOrRenew(String owner, long ttlMillis) {
+            reachable(owner);
+            return delegate.acquireOrRenew(owner, ttlMillis);
+        }
+
+        @Override
+        public void release(String owner, long fencingToken) {
+            reachable(owner);
+            delegate.release(owner, fencingToken);
+        }
+
+        private void reachable(String owner) {
+            if (cut.contains(owner)) {
+                throw new IllegalStateException(owner + " is partitioned from the lease store");
+            }
+        }
+    }
+
+    /**
+     * Just enough of a cluster manager for {@link ExecutionFence#cluster}.
+     */
+    private record ElectionClusterManager(String nodeId, LeaderElection election) implements ClusterManager {
+        @Override public void start() { election.startElection(); }
+        @Override public void stop() { election.stopElection(); }
+        @Override public boolean isLeader() { return election.isLeader(); }
+        @Override public String getNodeId() { return nodeId; }
+        @Override public Set<ClusterNode> getClusterNodes() { return Set.of(); }
+        @Override public void distributeJob(JobDefinition job) { }
+        @Override public RebalanceReport rebalanceJobs() { return RebalanceReport.none(); }
+        @Override public void addClusterListener(ClusterListener listener) { }
+        @Override public void removeClusterListener(ClusterListener listener) { }
+        @Override public ClusterState getClusterState() { return ClusterState.empty(); }
+        @Override public long getFencingToken() { return election.getFencingToken(); }
+        @Override public boolean acceptFencingToken(long fencingToken) { return election.acceptFencingToken(fencingToken); }
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(5);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
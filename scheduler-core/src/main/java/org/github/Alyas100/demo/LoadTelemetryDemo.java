@@ -0,0 +1,218 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.cluster.ClusterNode;
+import org.github.Alyas100.cluster.JobDistributor;
+import org.github.Alyas100.cluster.JobDistributor.DistributionStrategy;
+import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+import org.github.Alyas100.core.ExecutionFence;
+import org.github.Alyas100.core.JobExecutor;
+import org.github.Alyas100.core.PluginRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Load telemetry carried by the heartbeats of {@code members} embedded Hazelcast members.
+ *
+ * <p>One member runs {@code busy} slow fires: the others must see its running fires in its
+ * {@link ClusterNode} within a second, and the leader's load-based placement must steer new
+ * fires away from it. CPU burnt and heap allocated in the process must show up in the peers'
+ * view, and over a few seconds of sampling no peer's load may be older than a second.</p>
+ *
+ * <p>The members share one JVM, so CPU and heap are the same process figures on every
+ * member; only the running fires tell them apart.</p>
+ *
+ * <p>Arguments: {@code members=3 busy=40}</p>
+ */
+public class LoadTelemetryDemo {
+
+    private record Member(HazelcastInstance hazelcast, HazelcastClusterManager clusterManager, JobExecutor executor) {}
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        int memberCount = 3;
+        int busy = 40;
+        for (String arg : args) {
+            if (arg.startsWith("members=")) memberCount = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("busy=")) busy = Integer.parseInt(arg.substring(5));
+        }
+        System.out.println("📡 LOAD TELEMETRY: " + memberCount + " members, " + busy + " busy fires");
+
+        FireLog fireLog = new FireLog();
+        SyntheticLoadPlugin.setFireLog(fireLog);
+        PluginRegistry plugins = new PluginRegistry("org.github.Alyas100.demo");
+        String clusterName = "telemetry-" + System.currentTimeMillis();
+        List<Member> members = new ArrayList<>();
+        boolean ok;
+        try {
+            for (int i = 0; i < memberCount; i++) {
+                HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName));
+                HazelcastClusterManager clusterManager = new HazelcastClusterManager(hazelcast);
+                JobExecutor executor = new JobExecutor(plugins, Executors.newCachedThreadPool(), Clock.systemUTC(),
+                        clusterManager.getNodeId(), ExecutionFence.cluster(clusterManager));
+                clusterManager.setJobRunner(executor::executeDispatched);
+                clusterManager.setActiveJobCounter(executor::getRunningCount);
+                clusterManager.start();
+                members.add(new Member(hazelcast, clusterManager, executor));
+            }
+            int expectedMembers = memberCount;
+            ok = check("members see each other's load", await(() -> members.stream().allMatch(member ->
+                    member.clusterManager().getClusterNodes().size() == expectedMembers
+                            && member.clusterManager().getClusterNodes().stream()
+                            .allMatch(node -> node.getLastLoadUpdate() > 0))
+                    && members.stream().anyMatch(member -> member.clusterManager().isLeader()), 30_000));
+            Member leader = members.stream().filter(member -> member.clusterManager().isLeader()).findFirst().orElseThrow();
+            Member loaded = members.stream().filter(member -> member != leader).findFirst().orElseThrow();
+            String loadedId = loaded.clusterManager().getNodeId();
+
+            // Running fires on one member reach everyone's view of it
+            List<CompletableFuture<JobExecutionResult>> slow = new ArrayList<>();
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < busy; i++) {
+                slow.add(loaded.executor().executeDispatched(job("busy-" + i, "SLEEP", 4000,
+                        DistributionStrategy.LOAD_BASED), Instant.now(), ExecutionFence.UNFENCED));
+            }
+            int busyFires = busy;
+            boolean seen = await(() -> members.stream().allMatch(member ->
+                    view(member, loadedId).getActiveJobs() == busyFires), 2_000);
+            long seenAfter = (System.nanoTime() - startedAt) / 1_000_000;
+            System.out.println("   🏃 Busy member's running fires seen by all after " + seenAfter + "ms: "
+                    + view(leader, loadedId));
+            ok &= check("running fires reported to every member within a second", seen && seenAfter <= 1_000);
+
+            // Load-based placement avoids the busy member
+            JobDistributor distributor = leader.clusterManager().getJobDistributor();
+            fireLog.clear();
+            for (int i = 0; i < 12; i++) {
+                distributor.dispatch(job("placed-" + i, "NOOP", 0, DistributionStrategy.LOAD_BASED), Instant.now(),
+                        leader.clusterManager().getFencingToken()).join();
+            }
+            Set<String> targets = new TreeSet<>();
+            fireLog.fires().forEach(fire -> targets.add(fire.nodeId()));
+            System.out.println("   ⚖️ Load scores: " + scores(leader));
+            ok &= check("load-based placement kept new fires off the busy member",
+                    !targets.isEmpty() && !targets.contains(loadedId));
+            slow.forEach(CompletableFuture::join);
+            ok &= check("finished fires drop out of the reported load",
+                    await(() -> view(leader, loadedId).getActiveJobs() == 0, 2_000));
+
+            // CPU and heap of the process
+            int idleCpu = view(leader, loadedId).getCpuLoad();
+            long idleHeap = view(leader, loadedId).getMemoryUsed();
+            Thread burner = new Thread(() -> {
+                long until = System.nanoTime() + 2_000_000_000L;
+                long x = 0;
+                while (System.nanoTime() < until) {
+                    x += System.nanoTime() % 7;
+                }
+                sink = x;
+            }, "cpu-burner");
+            burner.start();
+            byte[][] ballast = new byte[64][];
+            for (int i = 0; i < ballast.length; i++) {
+                ballast[i] = new byte[1024 * 1024];
+            }
+            sink = ballast;
+            boolean cpuSeen = await(() -> view(leader, loadedId).getCpuLoad() >= Math.min(90, idleCpu + 30), 2_000);
+            boolean heapSeen = await(() -> view(leader, loadedId).getMemoryUsed() >= idleHeap + 48, 2_000);
+            System.out.println("   🔥 CPU " + idleCpu + "% -> " + view(leader, loadedId).getCpuLoad()
+                    + "%, heap " + idleHeap + "MB -> " + view(leader, loadedId).getMemoryUsed() + "MB");
+            ok &= check("busy CPU shows up in the peers' view", cpuSeen);
+            ok &= check("allocated heap shows up in the peers' view", heapSeen);
+            burner.join();
+            sink = null;
+
+            // Freshness: sampled for a few seconds, no peer's figures are older than a second
+            long oldest = 0;
+            long until = System.nanoTime() + 3_000_000_000L;
+            while (System.nanoTime() < until) {
+                long now = System.currentTimeMillis();
+                for (Member member : members) {
+                    for (ClusterNode node : member.clusterManager().getClusterNodes()) {
+                        oldest = Math.max(oldest, now - node.getLastLoadUpdate());
+                    }
+                }
+                Thread.sleep(20);
+            }
+            System.out.println("   🕐 Oldest load figure seen: " + oldest + "ms");
+            ok &= check("load figures are never more than a second old", oldest < 1_000);
+        } finally {
+            SyntheticLoadPlugin.setFireLog(null);
+            for (Member member : members) {
+                member.clusterManager().stop();
+                member.hazelcast().getLifecycleService().terminate();
+            }
+        }
+        System.out.println(ok ? "✅ LOAD TELEMETRY PASSED" : "❌ LOAD TELEMETRY FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static ClusterNode view(Member member, String nodeId) {
+        return member.clusterManager().getClusterNodes().stream()
+                .filter(node -> node.getNodeId().equals(nodeId)).findFirst().orElseThrow();
+    }
+
+    private static Map<String, String> scores(Member member) {
+        Map<String, String> scores = new TreeMap<>();
+        member.clusterManager().getClusterNodes().forEach(node -> scores.put(node.getNodeId().substring(0, 8),
+                String.format(Locale.ROOT, "%.1f", node.getLoadScore())));
+        return scores;
+    }
+
+    private static JobDefinition job(String jobId, String profile, int workMs, DistributionStrategy strategy) {
+        return new JobDefinition(
+                jobId,
+                "Telemetry job " + jobId,
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", profile, "workMs", workMs, JobDistributor.STRATEGY_PARAMETER, strategy.name()),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true
+        );
+    }
+
+    private static Config loopbackConfig(String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return JobCodecSerializers.register(config);
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,129 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.core.SchedulerEngine;
+import org.github.Alyas100.storage.InMemoryJobRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process load generator: registers a configurable number of synthetic jobs through
+ * {@link SchedulerEngine#scheduleJob} and reports fire skew, throughput, heap and threads.
+ *
+ * <p>Arguments are {@code key=value} pairs, all optional:
+ * <pre>
+ *   jobs=1000000       number of jobs to register
+ *   duration=60        seconds to run after registration
+ *   profile=NOOP       NOOP | CPU | SLEEP | ALLOC
+ *   workMs=1           work per run for CPU / SLEEP
+ *   allocBytes=65536   allocation per run for ALLOC
+ *   cron=              cron used for every job; empty spreads jobs over the 60 seconds of a minute
+ * </pre></p>
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        int jobCount = Integer.parseInt(options.getOrDefault("jobs", "1000000"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        String profile = options.getOrDefault("profile", "NOOP");
+        int workMs = Integer.parseInt(options.getOrDefault("workMs", "1"));
+        int allocBytes = Integer.parseInt(options.getOrDefault("allocBytes", "65536"));
+        String cron = options.getOrDefault("cron", "");
+
+        System.out.println("🚀 LOAD TEST: " + jobCount + " jobs, profile=" + profile + ", duration=" + durationSeconds + "s");
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        LoadTestMetrics metrics = SyntheticLoadPlugin.metrics();
+        metrics.reset();
+
+        SchedulerEngine engine = new SchedulerEngine("org.github.Alyas100.demo", new InMemoryJobRepository(), null);
+        engine.start();
+
+        long heapBefore = usedHeapMb(memory);
+        long registrationStart = System.nanoTime();
+        for (int i = 0; i < jobCount; i++) {
+            engine.scheduleJob(syntheticJob(i, cron, profile, workMs, allocBytes));
+            if ((i + 1) % 100_000 == 0) {
+                System.out.println("   📥 Registered " + (i + 1) + " jobs");
+            }
+        }
+        long registrationMs = (System.nanoTime() - registrationStart) / 1_000_000;
+        long heapAfterRegistration = usedHeapMb(memory);
+
+        System.out.println("✅ Registered " + jobCount + " jobs in " + registrationMs + "ms" +
+                " (heap " + heapBefore + "MB -> " + heapAfterRegistration + "MB)");
+
+        // Only measure steady state, not the registration burst
+        metrics.reset();
+        threads.resetPeakThreadCount();
+        long peakHeap = 0;
+        long runStart = System.nanoTime();
+        for (int second = 1; second <= durationSeconds; second++) {
+            Thread.sleep(1000);
+            long heap = usedHeapMb(memory);
+            peakHeap = Math.max(peakHeap, heap);
+            if (second % 10 == 0 || second == durationSeconds) {
+                System.out.println("   ⏳ [" + second + "s] started=" + metrics.getStarted() +
+                        " completed=" + metrics.getCompleted() +
+                        " p99 skew=" + metrics.skewPercentile(99) + "ms" +
+                        " heap=" + heap + "MB threads=" + threads.getThreadCount());
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - runStart) / 1_000_000_000.0;
+
+        System.out.println("\n📊 LOAD TEST REPORT");
+        System.out.println("-----------------------------");
+        System.out.println("   - Jobs registered:     " + jobCount);
+        System.out.println("   - Registration time:   " + registrationMs + "ms");
+        System.out.println("   - Fires started:       " + metrics.getStarted());
+        System.out.println("   - Fires completed:     " + metrics.getCompleted() + " (" + metrics.getFailed() + " failed)");
+        System.out.printf ("   - Throughput:          %.1f completions/s%n", metrics.getCompleted() / elapsedSeconds);
+        System.out.println("   - Fire skew p50/p90/p99/p99.9/max: " +
+                metrics.skewPercentile(50) + "/" + metrics.skewPercentile(90) + "/" +
+                metrics.skewPercentile(99) + "/" + metrics.skewPercentile(99.9) + "/" +
+                metrics.skewPercentile(100) + " ms");
+        System.out.println("   - Heap used (peak):    " + peakHeap + "MB");
+        System.out.println("   - Threads (now/peak):  " + threads.getThreadCount() + "/" + threads.getPeakThreadCount());
+
+        engine.stop();
+    }
+
+    private static JobDefinition syntheticJob(int index, String cron, String profile, int workMs, int allocBytes) {
+        // Spreading jobs over the seconds of a minute gives a steady rate instead of one burst
+        String jobCron = cron.isBlank() ? (index % 60) + " * * * * *" : cron;
+        return new JobDefinition(
+                "load-job-" + index,
+                "Synthetic load job " + index,
+                "synthetic-load",
+                jobCron,
+                Map.of("profile", profile, "workMs", workMs, "allocBytes", allocBytes),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true
+        );
+    }
+
+    private static long usedHeapMb(MemoryMXBean memory) {
+        return memory.getHeapMemoryUsage().getUsed() / (1024 * 1024);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
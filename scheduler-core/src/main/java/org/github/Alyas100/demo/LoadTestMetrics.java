@@ -0,0 +1,68 @@
+package org.github.Alyas100.demo;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free recorder for the load test harness.
+ * Fire skew (actual start - planned cron time) goes into 1ms buckets so recording
+ * a sample never allocates, even with millions of fires.
+ */
+public class LoadTestMetrics {
+    private static final int MAX_TRACKED_SKEW_MS = 60_000;
+
+    private final AtomicLongArray skewBuckets = new AtomicLongArray(MAX_TRACKED_SKEW_MS + 1); // last bucket = overflow
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public void recordStart(long skewMillis) {
+        int bucket = (int) Math.max(0, Math.min(skewMillis, MAX_TRACKED_SKEW_MS));
+        skewBuckets.incrementAndGet(bucket);
+        started.increment();
+    }
+
+    public void recordCompletion(boolean success) {
+        completed.increment();
+        if (!success) {
+            failed.increment();
+        }
+    }
+
+    public long getStarted() { return started.sum(); }
+    public long getCompleted() { return completed.sum(); }
+    public long getFailed() { return failed.sum(); }
+
+    /**
+     * @param percentile value between 0 and 100
+     * @return skew in ms at that percentile, or -1 if nothing has been recorded
+     */
+    public long skewPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < skewBuckets.length(); i++) {
+            total += skewBuckets.get(i);
+        }
+        if (total == 0) {
+            return -1;
+        }
+
+        long rank = (long) Math.ceil(total * (percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < skewBuckets.length(); i++) {
+            seen += skewBuckets.get(i);
+            if (seen >= rank) {
+                return i;
+            }
+        }
+        return MAX_TRACKED_SKEW_MS;
+    }
+
+    public void reset() {
+        for (int i = 0; i < skewBuckets.length(); i++) {
+            skewBuckets.set(i, 0);
+        }
+        started.reset();
+        completed.reset();
+        failed.reset();
+    }
+}
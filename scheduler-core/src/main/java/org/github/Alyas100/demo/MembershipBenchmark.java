@@ -0,0 +1,142 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.cluster.Member;
+import org.github.Alyas100.cluster.ClusterNode;
+import org.github.Alyas100.cluster.hazelcast.MembershipView;
+
+import java.lang.reflect.Proxy;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Per-call cost of leader checks and node lookups against a cluster of {@code members}
+ * Hazelcast members: the previous implementation, which rebuilt the node set from the member
+ * list on every call, versus the cached {@link MembershipView}.
+ *
+ * <p>Members are stand-ins (only id and address are answered), so no cluster has to be
+ * started and the numbers only reflect the work done per call.</p>
+ *
+ * <p>Arguments: {@code members=50 iterations=200000}</p>
+ */
+public class MembershipBenchmark {
+    private static volatile Object sink;
+    private static volatile boolean flag;
+
+    public static void main(String[] args) throws Exception {
+        int memberCount = 50;
+        int iterations = 200_000;
+        for (String arg : args) {
+            if (arg.startsWith("members=")) memberCount = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("iterations=")) iterations = Integer.parseInt(arg.substring(11));
+        }
+        System.out.println("👥 MEMBERSHIP BENCHMARK: " + memberCount + " members, " + iterations + " calls");
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            members.add(member(UUID.randomUUID(), 5701 + i));
+        }
+        Set<Member> memberSet = Collections.unmodifiableSet(new LinkedHashSet<>(members));
+        String localId = members.get(memberCount / 2).getUuid().toString();
+        String lookupId = members.get(memberCount - 1).getUuid().toString();
+        MembershipView view = MembershipView.of(memberSet, MembershipView.empty());
+
+        boolean ok = check("leader agrees with the previous implementation",
+                legacyIsLeader(memberSet, localId) == view.isLeader(localId)
+                        && view.isLeader(legacyLeader(memberSet)));
+        ok &= check("lookup finds the same node", Objects.equals(legacyFindNode(memberSet, lookupId), view.node(lookupId)));
+
+        for (int round = 0; round < 3; round++) { // warm-up
+            time(iterations / 10, () -> legacyIsLeader(memberSet, localId));
+            time(iterations / 10, () -> view.isLeader(localId));
+        }
+        long legacyLeader = time(iterations, () -> legacyIsLeader(memberSet, localId));
+        long viewLeader = time(iterations, () -> view.isLeader(localId));
+        long legacyLookup = time(iterations, () -> sink = legacyFindNode(memberSet, lookupId));
+        long viewLookup = time(iterations, () -> sink = view.node(lookupId));
+        long rebuild = time(iterations / 10, () -> sink = MembershipView.of(memberSet, view));
+
+        System.out.printf("   👑 isLeader():  %7d ns/call before, %4d ns/call cached (%.0fx)%n",
+                legacyLeader, viewLeader, (double) legacyLeader / Math.max(1, viewLeader));
+        System.out.printf("   🔎 findNode():  %7d ns/call before, %4d ns/call cached (%.0fx)%n",
+                legacyLookup, viewLookup, (double) legacyLookup / Math.max(1, viewLookup));
+        System.out.printf("   🔁 snapshot rebuild per membership event: %d ns%n", rebuild);
+        ok &= check("cached leader check is at least 10x cheaper", viewLeader * 10 <= legacyLeader);
+
+        System.out.println(ok ? "✅ MEMBERSHIP BENCHMARK PASSED" : "❌ MEMBERSHIP BENCHMARK FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    // ---- the previous HazelcastClusterManager code paths ----
+
+    private static Set<ClusterNode> legacyNodes(Set<Member> members) {
+        Set<ClusterNode> nodes = new HashSet<>();
+        for (Member member : members) {
+            ClusterNode node = new ClusterNode(
+                    member.getUuid().toString(),
+                    member.getAddress().getHost(),
+                    member.getAddress().getPort()
+            );
+            node.setStatus(ClusterNode.NodeStatus.ACTIVE);
+            node.updateHeartbeat();
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private static boolean legacyIsLeader(Set<Member> members, String nodeId) {
+        return legacyNodes(members).stream()
+                .min(Comparator.comparing(ClusterNode::getNodeId))
+                .map(leader -> leader.getNodeId().equals(nodeId))
+                .orElse(false);
+    }
+
+    private static String legacyLeader(Set<Member> members) {
+        return legacyNodes(members).stream().min(Comparator.comparing(ClusterNode::getNodeId))
+                .map(ClusterNode::getNodeId).orElse(null);
+    }
+
+    private static ClusterNode legacyFindNode(Set<Member> members, String nodeId) {
+        return legacyNodes(members).stream()
+                .filter(node -> node.getNodeId().equals(nodeId))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // ---- helpers ----
+
+    private static Member member(UUID uuid, int port) throws UnknownHostException {
+        Address address = new Address("127.0.0.1", port);
+        return (Member) Proxy.newProxyInstance(Member.class.getClassLoader(), new Class<?>[]{Member.class},
+                (proxy, method, methodArgs) -> switch (method.getName()) {
+                    case "getUuid" -> uuid;
+                    case "getAddress" -> address;
+                    case "hashCode" -> uuid.hashCode();
+                    case "equals" -> proxy == methodArgs[0];
+                    case "toString" -> "Member[" + address + "] " + uuid;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static long time(int iterations, BooleanSupplier call) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            flag ^= call.getAsBoolean();
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private static long time(int iterations, Runnable call) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
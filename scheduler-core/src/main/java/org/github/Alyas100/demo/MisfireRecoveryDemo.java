@@ -0,0 +1,129 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.MisfirePolicy;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.core.simulation.SchedulerSimulation;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.TriggerState;
+import org.github.Alyas100.storage.file.FileJobRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Restarts a scheduler on virtual time after a downtime and checks that each misfire policy
+ * catches up the minutely fires missed in between, with trigger states kept in a
+ * {@link FileJobRepository}.
+ *
+ * <p>Arguments: {@code downtimeMinutes=30}</p>
+ */
+public class MisfireRecoveryDemo {
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration UPTIME = Duration.ofMinutes(10);
+    private static final Duration AFTER_RESTART = Duration.ofMinutes(5);
+
+    public static void main(String[] args) throws Exception {
+        int downtimeMinutes = 30;
+        for (String arg : args) {
+            if (arg.startsWith("downtimeMinutes=")) downtimeMinutes = Integer.parseInt(arg.substring(16));
+        }
+        System.out.println("⏰ MISFIRE RECOVERY: every-minute jobs, " + downtimeMinutes + " minutes of downtime");
+
+        FireLog fireLog = new FireLog();
+        SyntheticLoadPlugin.setFireLog(fireLog);
+        Path directory = Files.createTempDirectory("misfire-recovery");
+        boolean ok;
+        try {
+            // First run: fire 00:01 .. 00:10, then stop (the recorder flushes trigger states)
+            JobRepository repository = new FileJobRepository(directory);
+            SchedulerSimulation first = new SchedulerSimulation("org.github.Alyas100.demo", repository, START, ZoneOffset.UTC);
+            first.engine().start();
+            for (MisfirePolicy policy : MisfirePolicy.values()) {
+                first.engine().scheduleJob(job(policy));
+            }
+            first.advance(UPTIME);
+            first.shutdown();
+            repository.close();
+
+            // Second run after the downtime, mid-minute so the first regular fire is in the future
+            Instant restart = START.plus(UPTIME).plusSeconds(downtimeMinutes * 60L + 30);
+            repository = new FileJobRepository(directory);
+            SchedulerSimulation second = new SchedulerSimulation("org.github.Alyas100.demo", repository, restart, ZoneOffset.UTC);
+            second.engine().start();
+            second.advance(AFTER_RESTART);
+
+            long missedFrom = START.plus(UPTIME).plusSeconds(60).getEpochSecond();
+            long missedTo = missedFrom + downtimeMinutes * 60L;
+            Map<String, Long> caughtUp = new TreeMap<>();
+            Map<String, Long> regular = new TreeMap<>();
+            for (FireLog.Fire fire : fireLog.fires()) {
+                long planned = fire.plannedEpochSecond();
+                if (planned >= missedFrom && planned < missedTo) {
+                    caughtUp.merge(fire.jobId(), 1L, Long::sum);
+                } else if (planned >= missedTo) {
+                    regular.merge(fire.jobId(), 1L, Long::sum);
+                }
+            }
+            System.out.println("   🔁 Catch-up fires: " + caughtUp);
+            System.out.println("   📅 Regular fires after restart: " + regular);
+
+            ok = check("startup reported 3 misfired jobs", second.engine().getStartupReport().misfired() == 3);
+            ok &= check("FIRE_ONCE caught up once", caughtUp.getOrDefault(jobId(MisfirePolicy.FIRE_ONCE), 0L) == 1);
+            ok &= check("FIRE_ALL caught up every missed minute",
+                    caughtUp.getOrDefault(jobId(MisfirePolicy.FIRE_ALL), 0L) == downtimeMinutes);
+            ok &= check("SKIP caught up nothing", !caughtUp.containsKey(jobId(MisfirePolicy.SKIP)));
+            ok &= check("all jobs back on schedule",
+                    regular.values().stream().allMatch(count -> count == AFTER_RESTART.toMinutes()) && regular.size() == 3);
+
+            second.shutdown();
+            Instant expectedNext = restart.plus(AFTER_RESTART).plusSeconds(30);
+            Map<String, TriggerState> states = repository.getTriggerStates(
+                    Arrays.stream(MisfirePolicy.values()).map(MisfirePolicy::name).map(MisfireRecoveryDemo::jobId).toList());
+            System.out.println("   💾 Stored trigger states: " + states.values());
+            ok &= check("trigger states persisted on stop",
+                    states.size() == 3 && states.values().stream().allMatch(s -> expectedNext.equals(s.nextFireTime())));
+            repository.close();
+        } finally {
+            SyntheticLoadPlugin.setFireLog(null);
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        System.out.println(ok ? "✅ MISFIRE RECOVERY PASSED" : "❌ MISFIRE RECOVERY FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static JobDefinition job(MisfirePolicy policy) {
+        return new JobDefinition(
+                jobId(policy),
+                "Misfire " + policy,
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true,
+                policy
+        );
+    }
+
+    private static String jobId(MisfirePolicy policy) {
+        return jobId(policy.name());
+    }
+
+    private static String jobId(String policy) {
+        return "misfire-" + policy.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,290 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.MisfirePolicy;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.cluster.ConsistentHashRing;
+import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+import org.github.Alyas100.core.SchedulerEngine;
+import org.github.Alyas100.storage.InMemoryJobRepository;
+import org.github.Alyas100.storage.JobRepository;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Leaderless scheduling on a consistent-hash ring.
+ *
+ * <p>First the ring alone, over {@code keys} job ids: how evenly 1..{@code maxNodes} nodes
+ * share them, and how many move when a node joins or leaves (only about 1/N, and only to or
+ * from that node).</p>
+ *
+ * <p>Then {@code members} embedded Hazelcast members in partitioned mode, sharing one
+ * repository, schedule {@code jobs} every-second jobs: each member arms only its share, every
+ * slot fires exactly once, and across a member joining and a member leaving the moved jobs
+ * are handed off without a slot firing twice or getting lost.</p>
+ *
+ * <p>Arguments: {@code keys=100000 maxNodes=8 members=3 jobs=60 window=4}</p>
+ */
+public class PartitionedSchedulingDemo {
+    private static final Duration HANDOFF_DELAY = Duration.ofSeconds(2);
+
+    private record Member(HazelcastInstance hazelcast, HazelcastClusterManager clusterManager, SchedulerEngine engine) {}
+
+    public static void main(String[] args) throws Exception {
+        int keys = 100_000;
+        int maxNodes = 8;
+        int memberCount = 3;
+        int jobCount = 60;
+        int windowSeconds = 4;
+        for (String arg : args) {
+            if (arg.startsWith("keys=")) keys = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("maxNodes=")) maxNodes = Integer.parseInt(arg.substring(9));
+            if (arg.startsWith("members=")) memberCount = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("jobs=")) jobCount = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("window=")) windowSeconds = Integer.parseInt(arg.substring(7));
+        }
+        System.out.println("💍 PARTITIONED SCHEDULING: " + keys + " ring keys, " + memberCount + " members, "
+                + jobCount + " jobs");
+
+        boolean ok = ringProperties(keys, maxNodes);
+        ok &= clusterHandoff(memberCount, jobCount, windowSeconds);
+
+        System.out.println(ok ? "✅ PARTITIONED SCHEDULING PASSED" : "❌ PARTITIONED SCHEDULING FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean ringProperties(int keyCount, int maxNodes) {
+        List<String> keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add("job-" + i);
+        }
+        boolean balanced = true;
+        boolean minimalMoves = true;
+        List<String> nodes = new ArrayList<>();
+        ConsistentHashRing previous = ConsistentHashRing.empty();
+        for (int size = 1; size <= maxNodes; size++) {
+            String joining = UUID.randomUUID().toString();
+            nodes.add(joining);
+            ConsistentHashRing ring = ConsistentHashRing.of(nodes);
+            Map<String, Integer> share = new HashMap<>();
+            int moved = 0;
+            int movedElsewhere = 0;
+            for (String key : keys) {
+                String owner = ring.owner(key);
+                share.merge(owner, 1, Integer::sum);
+                if (!previous.isEmpty() && !owner.equals(previous.owner(key))) {
+                    moved++;
+                    if (!owner.equals(joining)) {
+                        movedElsewhere++;
+                    }
+                }
+            }
+            double skew = share.values().stream().mapToInt(Integer::intValue).max().orElse(0)
+                    / ((double) keyCount / size);
+            System.out.printf("   📊 %d node(s): max/mean share %.2f, %5.1f%% of keys moved on join (ideal %.1f%%)%n",
+                    size, skew, 100.0 * moved / keyCount, size > 1 ? 100.0 / size : 0.0);
+            balanced &= skew <= 1.35;
+            minimalMoves &= movedElsewhere == 0 && (size == 1 || moved <= 1.5 * keyCount / size);
+            previous = ring;
+        }
+        boolean ok = check("virtual nodes keep every share within 35% of the mean", balanced);
+        ok &= check("a join moves about 1/N of the keys, all to the new node", minimalMoves);
+
+        String leaving = nodes.get(nodes.size() / 2);
+        List<String> remaining = new ArrayList<>(nodes);
+        remaining.remove(leaving);
+        ConsistentHashRing after = ConsistentHashRing.of(remaining);
+        boolean onlyLeaverMoved = true;
+        for (String key : keys) {
+            String before = previous.owner(key);
+            onlyLeaverMoved &= before.equals(leaving) || before.equals(after.owner(key));
+        }
+        ok &= check("a leave moves only the leaving node's keys", onlyLeaverMoved);
+        ok &= check("owners do not depend on member order",
+                ConsistentHashRing.of(remaining).owner("job-42").equals(ConsistentHashRing.of(reversed(remaining)).owner("job-42")));
+        return ok;
+    }
+
+    private static boolean clusterHandoff(int memberCount, int jobCount, int windowSeconds) throws Exception {
+        FireLog fireLog = new FireLog();
+        SyntheticLoadPlugin.setFireLog(fireLog);
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < jobCount; i++) {
+            jobIds.add("partitioned-job-" + i);
+        }
+        String clusterName = "partitioned-" + System.currentTimeMillis();
+        JobRepository repository = new InMemoryJobRepository();
+        List<Member> members = new ArrayList<>();
+        boolean ok;
+        try {
+            for (int i = 0; i < memberCount; i++) {
+                members.add(startMember(clusterName, repository));
+            }
+            for (String jobId : jobIds) {
+                members.get(0).engine().scheduleJob(job(jobId));
+            }
+            ok = check("members split the jobs between them", await(() -> armed(members) == jobCount
+                    && members.stream().allMatch(member -> member.engine().getArmedJobCount() > 0), 30_000));
+
+            // Steady state: each member fires its own share, every slot exactly once
+            long from = nextWholeSecond();
+            Thread.sleep(windowSeconds * 1000L);
+            FireLog.WindowStats steady = fireLog.analyze(jobIds, from, nowSecond(), Set.of(), 0);
+            printStats("Steady (" + members.size() + " members)", steady, members);
+            ok &= check("every slot fired exactly once", steady.missed() == 0 && steady.duplicated() == 0);
+            ok &= check("each member fired only its own jobs", steady.perNode().size() == members.size());
+
+            // A member joins: only the ranges it takes over move, after the handoff
+            Map<String, String> ownersBefore = owners(members, jobIds);
+            long joinFrom = nowSecond();
+            members.add(startMember(clusterName, repository));
+            Member joined = members.get(members.size() - 1);
+            ok &= check("joining member took over its share", await(() -> armed(members) == jobCount
+                    && joined.engine().getArmedJobCount() > 0, 10_000));
+            Map<String, String> ownersAfter = owners(members, jobIds);
+            long moved = jobIds.stream().filter(jobId -> !ownersBefore.get(jobId).equals(ownersAfter.get(jobId))).count();
+            boolean movedToJoiner = jobIds.stream().filter(jobId -> !ownersBefore.get(jobId).equals(ownersAfter.get(jobId)))
+                    .allMatch(jobId -> ownersAfter.get(jobId).equals(joined.clusterManager().getNodeId()));
+            System.out.println("   🔀 " + moved + " of " + jobCount + " jobs moved to the new member");
+            ok &= check("only jobs moving to the new member changed hands", movedToJoiner && moved > 0);
+            Thread.sleep(windowSeconds * 1000L);
+            FireLog.WindowStats afterJoin = fireLog.analyze(jobIds, joinFrom, nowSecond(), Set.of(), 0);
+            printStats("Across the join (" + members.size() + " members)", afterJoin, members);
+            ok &= check("no slot fired twice or got lost across the join",
+                    afterJoin.duplicated() == 0 && afterJoin.missed() == 0);
+
+            // A member leaves cleanly: its jobs move to the others, resuming where it stopped
+            Member leaving = members.get(0);
+            long leaveFrom = nowSecond();
+            leaving.engine().stop();
+            leaving.hazelcast().shutdown();
+            members.remove(leaving);
+            ok &= check("remaining members took over the leaver's jobs", await(() -> armed(members) == jobCount, 10_000));
+            Thread.sleep(windowSeconds * 1000L);
+            FireLog.WindowStats afterLeave = fireLog.analyze(jobIds, leaveFrom, nowSecond(), Set.of(), 0);
+            printStats("Across the leave (" + members.size() + " members)", afterLeave, members);
+            ok &= check("no slot fired twice or got lost across the leave",
+                    afterLeave.duplicated() == 0 && afterLeave.missed() == 0);
+
+            // A member crashes: its jobs come back once the others see it gone
+            Member crashed = members.get(0);
+            String crashedId = crashed.clusterManager().getNodeId();
+            crashed.hazelcast().getLifecycleService().terminate();
+            long crashedAt = System.currentTimeMillis();
+            members.remove(crashed);
+            ok &= check("survivors took over the crashed member's jobs", await(() -> armed(members) == jobCount, 15_000));
+            long crashFrom = nextWholeSecond();
+            Thread.sleep(windowSeconds * 1000L);
+            FireLog.WindowStats afterCrash = fireLog.analyze(jobIds, crashFrom, nowSecond(), Set.of(crashedId), crashedAt);
+            printStats("After the crash (" + members.size() + " members)", afterCrash, members);
+            ok &= check("every slot fired exactly once after the crash",
+                    afterCrash.missed() == 0 && afterCrash.duplicated() == 0);
+        } finally {
+            SyntheticLoadPlugin.setFireLog(null);
+            for (Member member : members) {
+                member.engine().stop();
+                member.hazelcast().getLifecycleService().terminate();
+            }
+        }
+        return ok;
+    }
+
+    private static Member startMember(String clusterName, JobRepository repository) {
+        HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName));
+        HazelcastClusterManager clusterManager = HazelcastClusterManager.partitioned(hazelcast, HANDOFF_DELAY);
+        SchedulerEngine engine = new SchedulerEngine("org.github.Alyas100.demo", repository, clusterManager);
+        engine.start();
+        return new Member(hazelcast, clusterManager, engine);
+    }
+
+    private static int armed(List<Member> members) {
+        return members.stream().mapToInt(member -> member.engine().getArmedJobCount()).sum();
+    }
+
+    private static Map<String, String> owners(List<Member> members, List<String> jobIds) {
+        Map<String, String> owners = new HashMap<>();
+        for (String jobId : jobIds) {
+            for (Member member : members) {
+                if (member.clusterManager().ownsJob(jobId)) {
+                    owners.put(jobId, member.clusterManager().getNodeId());
+                }
+            }
+        }
+        return owners;
+    }
+
+    private static void printStats(String label, FireLog.WindowStats stats, List<Member> members) {
+        StringJoiner armed = new StringJoiner("/");
+        members.forEach(member -> armed.add(String.valueOf(member.engine().getArmedJobCount())));
+        System.out.println("   📊 " + label + ": expected=" + stats.expected() + " fired=" + stats.fired() +
+                " missed=" + stats.missed() + " duplicated=" + stats.duplicated() + " armed=" + armed +
+                String.format(Locale.ROOT, " skew=%.2f", stats.distributionSkew(members.size())));
+    }
+
+    private static JobDefinition job(String jobId) {
+        return new JobDefinition(
+                jobId,
+                "Partitioned job " + jobId,
+                "synthetic-load",
+                "* * * * * *",
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true,
+                MisfirePolicy.FIRE_ALL
+        );
+    }
+
+    private static List<String> reversed(List<String> nodes) {
+        List<String> copy = new ArrayList<>(nodes);
+        Collections.reverse(copy);
+        return copy;
+    }
+
+    private static Config loopbackConfig(String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return JobCodecSerializers.register(config);
+    }
+
+    private static long nowSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static long nextWholeSecond() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        Thread.sleep(1000 - now % 1000);
+        return nowSecond();
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
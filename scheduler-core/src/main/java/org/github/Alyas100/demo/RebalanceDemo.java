@@ -0,0 +1,294 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.github.Alyas100.cluster.ClusterNode;
+import org.github.Alyas100.cluster.ConsistentHashRing;
+import org.github.Alyas100.cluster.RebalanceReport;
+import org.github.Alyas100.cluster.SlotAssignment;
+import org.github.Alyas100.cluster.SlotRebalancer;
+import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Minimal-movement rebalancing of a large job catalog.
+ *
+ * <p>First the planner alone, over {@code jobs} job ids and {@code nodes} nodes: the table
+ * stays within the tolerance of every node's share, a node reporting a high load gets less,
+ * and when a node leaves or joins only the jobs that have to move do, each plan taking
+ * milliseconds.</p>
+ *
+ * <p>Then {@code members} embedded Hazelcast members in partitioned mode sharing the same
+ * catalog: after a member leaves and after one joins, the leader commits a new table within
+ * seconds moving only the leaver's jobs or only the joiner's share, and once every member
+ * has applied it each job has exactly one owner.</p>
+ *
+ * <p>Arguments: {@code jobs=200000 nodes=10 members=3}</p>
+ */
+public class RebalanceDemo {
+    private static final double TOLERANCE = SlotRebalancer.DEFAULT_TOLERANCE;
+
+    private record Member(HazelcastInstance hazelcast, HazelcastClusterManager clusterManager) {}
+
+    public static void main(String[] args) throws Exception {
+        int jobCount = 200_000;
+        int nodeCount = 10;
+        int memberCount = 3;
+        for (String arg : args) {
+            if (arg.startsWith("jobs=")) jobCount = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("nodes=")) nodeCount = Integer.parseInt(arg.substring(6));
+            if (arg.startsWith("members=")) memberCount = Integer.parseInt(arg.substring(8));
+        }
+        System.out.println("⚖️ REBALANCE: " + jobCount + " jobs, " + nodeCount + " planned nodes, "
+                + memberCount + " members");
+
+        List<String> catalog = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            catalog.add("job-" + i);
+        }
+        boolean ok = plannerProperties(catalog, nodeCount);
+        ok &= clusterRebalance(catalog, memberCount);
+
+        System.out.println(ok ? "✅ REBALANCE PASSED" : "❌ REBALANCE FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean plannerProperties(List<String> catalog, int nodeCount) {
+        int[] jobsPerSlot = new int[SlotAssignment.DEFAULT_SLOT_COUNT];
+        for (String jobId : catalog) {
+            jobsPerSlot[SlotAssignment.slotOf(jobId, jobsPerSlot.length)]++;
+        }
+        List<ClusterNode> nodes = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(new ClusterNode(UUID.randomUUID().toString(), "127.0.0.1", 5701 + i));
+        }
+        SlotAssignment ring = SlotAssignment.fromRing(ConsistentHashRing.of(
+                nodes.stream().map(ClusterNode::getNodeId).toList()), jobsPerSlot.length, 0);
+
+        // Balance: the first plan brings every node within the tolerance
+        long startedAt = System.nanoTime();
+        SlotRebalancer.Plan balanced = SlotRebalancer.plan(ring, jobsPerSlot, nodes, TOLERANCE);
+        long balanceMicros = (System.nanoTime() - startedAt) / 1000;
+        Map<String, Integer> shares = shares(balanced.assignment(), jobsPerSlot);
+        double fair = (double) catalog.size() / nodeCount;
+        double spread = shares.values().stream().mapToDouble(share -> Math.abs(share / fair - 1)).max().orElse(0);
+        System.out.printf(Locale.ROOT, "   📐 Balanced %d jobs over %d nodes in %dµs: max deviation %.1f%%, %d jobs moved off the ring%n",
+                catalog.size(), nodeCount, balanceMicros, spread * 100, balanced.movedJobs());
+        boolean ok = check("every node within the tolerance of its share", spread <= TOLERANCE + 0.02);
+
+        // Leave: exactly the leaver's jobs move
+        ClusterNode leaver = nodes.get(0);
+        List<ClusterNode> remaining = nodes.subList(1, nodes.size());
+        startedAt = System.nanoTime();
+        SlotRebalancer.Plan afterLeave = SlotRebalancer.plan(balanced.assignment(), jobsPerSlot, remaining, TOLERANCE);
+        long leaveMicros = (System.nanoTime() - startedAt) / 1000;
+        int leaverJobs = shares.get(leaver.getNodeId());
+        System.out.println("   👋 Node left holding " + leaverJobs + " jobs: moved " + afterLeave.movedJobs()
+                + " (" + afterLeave.movedSlots() + " slots) in " + leaveMicros + "µs");
+        ok &= check("only the leaver's jobs moved", afterLeave.movedJobs() == leaverJobs
+                && onlyMoved(balanced.assignment(), afterLeave.assignment(), from -> from.equals(leaver.getNodeId()), to -> true));
+
+        // Join: the newcomer takes about its share, all from the others
+        ClusterNode joiner = new ClusterNode(UUID.randomUUID().toString(), "127.0.0.1", 5701 + nodeCount);
+        List<ClusterNode> grown = new ArrayList<>(remaining);
+        grown.add(joiner);
+        startedAt = System.nanoTime();
+        SlotRebalancer.Plan afterJoin = SlotRebalancer.plan(afterLeave.assignment(), jobsPerSlot, grown, TOLERANCE);
+        long joinMicros = (System.nanoTime() - startedAt) / 1000;
+        double joinerShare = (double) catalog.size() / grown.size();
+        System.out.printf(Locale.ROOT, "   🤝 Node joined: moved %d jobs (%d slots) in %dµs, %.0f%% of a fair share%n",
+                afterJoin.movedJobs(), afterJoin.movedSlots(), joinMicros, afterJoin.movedJobs() / joinerShare * 100);
+        ok &= check("only jobs for the joiner moved", onlyMoved(afterLeave.assignment(), afterJoin.assignment(),
+                from -> true, to -> to.equals(joiner.getNodeId())));
+        ok &= check("the joiner got its share less the tolerance, and no more",
+                afterJoin.movedJobs() >= joinerShare * (1 - TOLERANCE - 0.02) && afterJoin.movedJobs() <= joinerShare);
+
+        // Load: a busy node is given less
+        ClusterNode busy = grown.get(0);
+        busy.updateLoad(100, 0, 0);
+        SlotRebalancer.Plan afterLoad = SlotRebalancer.plan(afterJoin.assignment(), jobsPerSlot, grown, TOLERANCE);
+        Map<String, Integer> loaded = shares(afterLoad.assignment(), jobsPerSlot);
+        int busyJobs = loaded.get(busy.getNodeId());
+        double others = loaded.entrySet().stream().filter(entry -> !entry.getKey().equals(busy.getNodeId()))
+                .mapToInt(Map.Entry::getValue).average().orElse(0);
+        System.out.printf(Locale.ROOT, "   🔥 Busy node keeps %d jobs against %.0f on the others; moved %d%n",
+                busyJobs, others, afterLoad.movedJobs());
+        ok &= check("the busy node holds fewer jobs", busyJobs < others * 0.9);
+
+        ok &= check("each plan took under 100ms", Math.max(balanceMicros, Math.max(leaveMicros, joinMicros)) < 100_000);
+        return ok;
+    }
+
+    private static boolean clusterRebalance(List<String> catalog, int memberCount) throws Exception {
+        String clusterName = "rebalance-" + System.currentTimeMillis();
+        List<Member> members = new ArrayList<>();
+        try {
+            for (int i = 0; i < memberCount; i++) {
+                members.add(startMember(clusterName, catalog));
+            }
+            int expected = memberCount;
+            boolean ok = check("the leader committed a table over every member", await(() -> agreed(members, expected), 30_000));
+
+            // Leave: only the leaver's jobs move, within seconds
+            Member leaver = members.stream().filter(member -> !member.clusterManager().isLeader()).findFirst().orElseThrow();
+            SlotAssignment before = leaver.clusterManager().getSlotAssignment();
+            String leaverId = leaver.clusterManager().getNodeId();
+            long leaverJobs = catalog.stream().filter(jobId -> before.owner(jobId).equals(leaverId)).count();
+            long startedAt = System.nanoTime();
+            leaver.clusterManager().stop();
+            leaver.hazelcast().shutdown();
+            members.remove(leaver);
+            boolean settled = await(() -> agreed(members, expected - 1), 30_000)
+                    && await(() -> reported(members), 5_000);
+            long settleMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            RebalanceReport report = leaderOf(members).clusterManager().getLastRebalance();
+            System.out.println("   👋 Member left holding " + leaverJobs + " jobs: table v" + report.version() + " moved "
+                    + report.movedJobs() + " in " + report.duration().toMillis() + "ms, applied everywhere after "
+                    + settleMillis + "ms");
+            SlotAssignment afterLeave = members.get(0).clusterManager().getSlotAssignment();
+            ok &= check("a new table without the leaver was applied", settled);
+            ok &= check("only the leaver's jobs moved", onlyMoved(before, afterLeave, from -> from.equals(leaverId), to -> true));
+            ok &= check("the rebalance took seconds at most", report.duration().toMillis() < 5_000 && settleMillis < 10_000);
+            ok &= check("every job has exactly one owner", singleOwners(members, catalog));
+
+            // Join: only the joiner's share moves, all to the joiner
+            Member joiner = startMember(clusterName, catalog);
+            members.add(joiner);
+            String joinerId = joiner.clusterManager().getNodeId();
+            startedAt = System.nanoTime();
+            settled = await(() -> agreed(members, expected), 30_000)
+                    && await(() -> reported(members), 5_000);
+            settleMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            report = leaderOf(members).clusterManager().getLastRebalance();
+            SlotAssignment afterJoin = joiner.clusterManager().getSlotAssignment();
+            long joinerJobs = catalog.stream().filter(jobId -> afterJoin.owner(jobId).equals(joinerId)).count();
+            System.out.println("   🤝 Member joined: table v" + report.version() + " moved " + report.movedJobs()
+                    + " jobs, " + joinerJobs + " now on the joiner, applied everywhere after " + settleMillis + "ms");
+            ok &= check("a new table with the joiner was applied", settled);
+            ok &= check("only jobs for the joiner moved", onlyMoved(afterLeave, afterJoin, from -> true, to -> to.equals(joinerId)));
+            ok &= check("the joiner took most of an even share", joinerJobs >= catalog.size() / (double) expected * 0.75);
+            ok &= check("every job has exactly one owner", singleOwners(members, catalog));
+            return ok;
+        } finally {
+            for (Member member : members) {
+                member.clusterManager().stop();
+                member.hazelcast().getLifecycleService().terminate();
+            }
+        }
+    }
+
+    private static Member startMember(String clusterName, List<String> catalog) {
+        HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName));
+        HazelcastClusterManager clusterManager = HazelcastClusterManager.partitioned(hazelcast);
+        clusterManager.setJobCatalog(() -> catalog);
+        clusterManager.start();
+        return new Member(hazelcast, clusterManager);
+    }
+
+    /**
+     * Every member has applied the same table, spread over exactly the live members.
+     */
+    private static boolean agreed(List<Member> members, int expected) {
+        Set<Long> versions = new HashSet<>();
+        for (Member member : members) {
+            SlotAssignment assignment = member.clusterManager().getSlotAssignment();
+            if (assignment == null) {
+                return false;
+            }
+            versions.add(assignment.version());
+        }
+        if (versions.size() != 1) {
+            return false;
+        }
+        SlotAssignment assignment = members.get(0).clusterManager().getSlotAssignment();
+        Set<String> owners = new HashSet<>();
+        for (int slot = 0; slot < assignment.slotCount(); slot++) {
+            owners.add(assignment.ownerOfSlot(slot));
+        }
+        Set<String> live = new HashSet<>();
+        members.forEach(member -> live.add(member.clusterManager().getNodeId()));
+        return owners.size() == expected && owners.equals(live);
+    }
+
+    private static boolean reported(List<Member> members) {
+        return leaderOf(members).clusterManager().getLastRebalance().version()
+                == members.get(0).clusterManager().getSlotAssignment().version();
+    }
+
+    private static Member leaderOf(List<Member> members) {
+        return members.stream().filter(member -> member.clusterManager().isLeader()).findFirst().orElseThrow();
+    }
+
+    private static boolean singleOwners(List<Member> members, List<String> catalog) {
+        for (String jobId : catalog) {
+            int owners = 0;
+            for (Member member : members) {
+                if (member.clusterManager().ownsJob(jobId)) {
+                    owners++;
+                }
+            }
+            if (owners != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Every slot that changed owner moved from a node {@code from} accepts to one {@code to} accepts.
+     */
+    private static boolean onlyMoved(SlotAssignment before, SlotAssignment after,
+                                     Predicate<String> from, Predicate<String> to) {
+        for (int slot = 0; slot < before.slotCount(); slot++) {
+            String previous = before.ownerOfSlot(slot);
+            String next = after.ownerOfSlot(slot);
+            if (!previous.equals(next) && !(from.test(previous) && to.test(next))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Integer> shares(SlotAssignment assignment, int[] jobsPerSlot) {
+        Map<String, Integer> shares = new HashMap<>();
+        for (int slot = 0; slot < jobsPerSlot.length; slot++) {
+            shares.merge(assignment.ownerOfSlot(slot), jobsPerSlot[slot], Integer::sum);
+        }
+        return shares;
+    }
+
+    private static Config loopbackConfig(String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return JobCodecSerializers.register(config);
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
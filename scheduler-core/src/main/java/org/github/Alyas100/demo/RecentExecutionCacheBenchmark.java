@@ -0,0 +1,207 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.storage.JobExecutionStore;
+import org.github.Alyas100.storage.RecentExecutionCache;
+import org.github.Alyas100.storage.file.MappedJobExecutionStore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Measures the heap taken by a {@link RecentExecutionCache} tracking {@code trackedJobs}
+ * jobs, then compares "last 10 runs" reads against a {@link MappedJobExecutionStore} and
+ * checks that hot reads never reach the store.
+ *
+ * <p>Arguments: {@code trackedJobs=1000000 capacity=8 readJobs=10000}</p>
+ */
+public class RecentExecutionCacheBenchmark {
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+
+    /** Discards writes and counts reads, so only the cache's own memory is measured */
+    private static final class CountingStore implements JobExecutionStore {
+        final AtomicLong reads = new AtomicLong();
+        final JobExecutionStore target;
+
+        CountingStore(JobExecutionStore target) {
+            this.target = target;
+        }
+
+        @Override
+        public void saveExecution(String jobId, JobExecutionResult result, Instant executedAt) {
+            if (target != null) {
+                target.saveExecution(jobId, result, executedAt);
+            }
+        }
+
+        @Override
+        public List<ExecutionRecord> getExecutionHistory(String jobId, int limit) {
+            reads.incrementAndGet();
+            return target != null ? target.getExecutionHistory(jobId, limit) : List.of();
+        }
+
+        @Override
+        public void close() {
+            if (target != null) {
+                target.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int trackedJobs = 1_000_000;
+        int capacity = 8;
+        int readJobs = 10_000;
+        for (String arg : args) {
+            if (arg.startsWith("trackedJobs=")) trackedJobs = Integer.parseInt(arg.substring(12));
+            if (arg.startsWith("capacity=")) capacity = Integer.parseInt(arg.substring(9));
+            if (arg.startsWith("readJobs=")) readJobs = Integer.parseInt(arg.substring(9));
+        }
+        System.out.println("⏱️ RECENT EXECUTION CACHE BENCHMARK: " + trackedJobs + " jobs x " + capacity + " runs");
+        boolean ok = true;
+
+        String[] jobIds = new String[trackedJobs + trackedJobs / 10];
+        for (int i = 0; i < jobIds.length; i++) {
+            jobIds[i] = "job-" + i;
+        }
+        Random random = new Random(7);
+        long before = usedHeap();
+        CountingStore sink = new CountingStore(null);
+        RecentExecutionCache cache = new RecentExecutionCache(sink, capacity, trackedJobs);
+        long start = System.nanoTime();
+        for (int round = 0; round < capacity + 2; round++) {
+            for (int i = 0; i < trackedJobs; i++) {
+                cache.saveExecution(jobIds[i], randomResult(random), Instant.ofEpochMilli(1_700_000_000_000L + round));
+            }
+        }
+        long fillMs = (System.nanoTime() - start) / 1_000_000;
+        long used = usedHeap() - before;
+        RecentExecutionCache.Stats stats = cache.getStats();
+        System.out.printf("   📦 %d jobs tracked: %.0f MB heap (%.0f B/job, arrays %.0f MB), filled in %dms%n",
+                stats.trackedJobs(), used / 1e6, (double) used / trackedJobs, stats.allocatedBytes() / 1e6, fillMs);
+
+        for (int i = trackedJobs; i < jobIds.length; i++) {
+            cache.saveExecution(jobIds[i], randomResult(random), Instant.now());
+        }
+        long usedAfterOverflow = usedHeap() - before;
+        stats = cache.getStats();
+        ok &= check("tracked jobs stay bounded (" + stats.trackedJobs() + ", " + stats.evictions() + " evictions)",
+                stats.trackedJobs() == trackedJobs && stats.evictions() == jobIds.length - trackedJobs);
+        ok &= check("heap stays flat past the bound (" + (usedAfterOverflow - used) / 1_000_000 + " MB delta)",
+                usedAfterOverflow - used < used / 10);
+        cache = null;
+        jobIds = null;
+
+        Path directory = Files.createTempDirectory("recent-executions");
+        try {
+            CountingStore counting = new CountingStore(new MappedJobExecutionStore(directory));
+            try (RecentExecutionCache hot = new RecentExecutionCache(counting, 16, readJobs)) {
+                for (int round = 0; round < 50; round++) {
+                    for (int i = 0; i < readJobs; i++) {
+                        hot.saveExecution("job-" + i, randomResult(random), Instant.ofEpochMilli(1_700_000_000_000L + round * 1000L + i));
+                    }
+                }
+                ok &= check("cached history matches the store", sameHistory(hot, counting.target, readJobs));
+
+                long readsBefore = counting.reads.get();
+                long[] cached = time(readJobs, jobId -> hot.getExecutionHistory(jobId, 10));
+                ok &= check("hot reads never touch the store", counting.reads.get() == readsBefore);
+                long[] direct = time(readJobs, jobId -> counting.target.getExecutionHistory(jobId, 10));
+                long[] visits = time(readJobs, jobId -> hot.forEachRecent(jobId, 10, (t, d, type, error) -> { }));
+                System.out.printf("   ⚡ last-10 reads p50/p99: cache %d/%d ns, visitor %d/%d ns, mapped store %d/%d ns%n",
+                        cached[0], cached[1], visits[0], visits[1], direct[0], direct[1]);
+                System.out.println("   📊 " + hot.getStats());
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+
+        System.out.println(ok ? "✅ RECENT EXECUTION CACHE BENCHMARK PASSED" : "❌ RECENT EXECUTION CACHE BENCHMARK FAILED");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean sameHistory(RecentExecutionCache cache, JobExecutionStore store, int jobs) {
+        for (int i = 0; i < jobs; i += 97) {
+            List<JobExecutionStore.ExecutionRecord> cached = cache.getExecutionHistory("job-" + i, 16);
+            List<JobExecutionStore.ExecutionRecord> stored = store.getExecutionHistory("job-" + i, 16);
+            if (cached.size() != stored.size()) {
+                return false;
+            }
+            for (int j = 0; j < cached.size(); j++) {
+                JobExecutionResult a = cached.get(j).result();
+                JobExecutionResult b = stored.get(j).result();
+                if (!cached.get(j).executedAt().equals(stored.get(j).executedAt()) || a.getClass() != b.getClass()
+                        || !durationOf(a).equals(durationOf(b))
+                        || (a instanceof JobExecutionResult.Failure fa && fa.errorType() != ((JobExecutionResult.Failure) b).errorType())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long[] time(int jobs, java.util.function.Consumer<String> read) {
+        String[] ids = new String[jobs];
+        for (int i = 0; i < jobs; i++) {
+            ids[i] = "job-" + i;
+        }
+        for (int warmup = 0; warmup < 3; warmup++) {
+            for (String id : ids) {
+                read.accept(id);
+            }
+        }
+        long[] latencies = new long[jobs];
+        for (int i = 0; i < jobs; i++) {
+            long start = System.nanoTime();
+            read.accept(ids[i]);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return new long[]{latencies[jobs / 2], latencies[(int) (jobs * 0.99)]};
+    }
+
+    private static Duration durationOf(JobExecutionResult result) {
+        if (result instanceof JobExecutionResult.Success s) return s.executionDuration();
+        if (result instanceof JobExecutionResult.Failure f) return f.executionDuration();
+        if (result instanceof JobExecutionResult.PartialSuccess p) return p.executionDuration();
+        return ((JobExecutionResult.Cancelled) result).executionDuration();
+    }
+
+    private static JobExecutionResult randomResult(Random random) {
+        Duration duration = Duration.ofNanos(1_000_000 + random.nextInt(50_000_000));
+        int roll = random.nextInt(100);
+        if (roll < 90) {
+            return new JobExecutionResult.Success("ok", Map.of(), duration, 0);
+        } else if (roll < 97) {
+            return new JobExecutionResult.Failure("failed", null, duration, true,
+                    ERROR_TYPES[random.nextInt(ERROR_TYPES.length)], 0);
+        } else if (roll < 99) {
+            return new JobExecutionResult.PartialSuccess("partial", Map.of(), "warn", duration, 1, 1);
+        }
+        return new JobExecutionResult.Cancelled("stop", "user", duration, 10);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
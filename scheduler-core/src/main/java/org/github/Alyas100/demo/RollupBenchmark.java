@@ -0,0 +1,178 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.storage.JobExecutionStore;
+import org.github.Alyas100.storage.file.MappedJobExecutionStore;
+import org.github.Alyas100.storage.rollup.ExecutionRollup;
+import org.github.Alyas100.storage.rollup.RollupExecutionStore;
+import org.github.Alyas100.storage.rollup.RollupResolution;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Feeds {@code days} of synthetic history through a {@link RollupExecutionStore} and checks
+ * that range summaries built from rollups match an exact aggregate of the raw records.
+ *
+ * <p>Arguments: {@code days=30 jobs=10 interval=10} (seconds between executions of a job)</p>
+ */
+public class RollupBenchmark {
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+
+    private record Raw(long executedAt, JobExecutionResult result) {}
+
+    public static void main(String[] args) throws Exception {
+        int days = 30;
+        int jobs = 10;
+        int intervalSeconds = 10;
+        for (String arg : args) {
+            if (arg.startsWith("days=")) days = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("jobs=")) jobs = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("interval=")) intervalSeconds = Integer.parseInt(arg.substring(9));
+        }
+        Instant now = Instant.now();
+        Instant first = now.minus(Duration.ofDays(days));
+        long perJob = Duration.ofDays(days).toSeconds() / intervalSeconds;
+        System.out.println("⏱️ ROLLUP BENCHMARK: " + jobs + " jobs x " + perJob + " executions over " + days + " days");
+
+        Random random = new Random(42);
+        List<Raw> probeHistory = new ArrayList<>();
+        Path plainDirectory = Files.createTempDirectory("rollup-plain");
+        Path rollupDirectory = Files.createTempDirectory("rollup-store");
+        boolean ok = true;
+        try {
+            long plainNanos;
+            try (JobExecutionStore plain = new MappedJobExecutionStore(plainDirectory)) {
+                plainNanos = feed(plain, jobs, perJob, first, intervalSeconds, new Random(42), null);
+            }
+
+            try (RollupExecutionStore store = new RollupExecutionStore(new MappedJobExecutionStore(rollupDirectory))) {
+                long rollupNanos = feed(store, jobs, perJob, first, intervalSeconds, random, probeHistory);
+                long total = perJob * jobs;
+                System.out.printf("   ✍️  Ingest: %.0f records/s plain, %.0f records/s with rollups%n",
+                        total / (plainNanos / 1e9), total / (rollupNanos / 1e9));
+                System.out.println("   📦 Buckets held: " + store.getBucketCount() +
+                        " for " + total + " records (" + store.purgeExpired() + " expired on purge, " +
+                        store.getBucketCount() + " after)");
+
+                Instant dayAligned = first.truncatedTo(ChronoUnit.DAYS).plus(Duration.ofDays(2));
+                Instant[][] ranges = {
+                        {dayAligned, now.plusSeconds(1)},
+                        {now.minus(Duration.ofDays(3)).truncatedTo(ChronoUnit.HOURS), now.minus(Duration.ofHours(5))},
+                        {now.minus(Duration.ofHours(4)).truncatedTo(ChronoUnit.MINUTES), now.plusSeconds(1)},
+                };
+                for (Instant[] range : ranges) {
+                    ok &= compare(store, probeHistory, range[0], range[1]);
+                }
+
+                List<ExecutionRollup> hourly = store.getRollups("job-0", RollupResolution.HOUR,
+                        now.minus(Duration.ofDays(1)), now);
+                long hourlyTotal = hourly.stream().mapToLong(ExecutionRollup::total).sum();
+                long expectedHourly = probeHistory.stream()
+                        .filter(raw -> raw.executedAt() >= now.minus(Duration.ofDays(1)).truncatedTo(ChronoUnit.HOURS).toEpochMilli())
+                        .count();
+                ok &= check("hourly rollups of the last day cover every record", hourlyTotal == expectedHourly);
+                ok &= check("raw history still readable", !store.getExecutionHistory("job-0", 10).isEmpty());
+            }
+        } finally {
+            for (Path directory : List.of(plainDirectory, rollupDirectory)) {
+                try (Stream<Path> files = Files.walk(directory)) {
+                    files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+                }
+            }
+        }
+        System.out.println(ok ? "✅ ROLLUP BENCHMARK PASSED" : "❌ ROLLUP BENCHMARK FAILED");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static long feed(JobExecutionStore store, int jobs, long perJob, Instant first, int intervalSeconds,
+                             Random random, List<Raw> probeHistory) {
+        long start = System.nanoTime();
+        for (long i = 0; i < perJob; i++) {
+            long executedAt = first.toEpochMilli() + i * intervalSeconds * 1000L;
+            for (int j = 0; j < jobs; j++) {
+                JobExecutionResult result = randomResult(random);
+                store.saveExecution("job-" + j, result, Instant.ofEpochMilli(executedAt + j));
+                if (probeHistory != null && j == 0) {
+                    probeHistory.add(new Raw(executedAt, result));
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static boolean compare(RollupExecutionStore store, List<Raw> history, Instant from, Instant to) {
+        long start = System.nanoTime();
+        ExecutionRollup summary = store.summarize("job-0", from, to);
+        long summaryMicros = (System.nanoTime() - start) / 1000;
+
+        start = System.nanoTime();
+        long covered0 = summary.start().toEpochMilli();
+        long covered1 = summary.end().toEpochMilli();
+        long successes = 0, failures = 0, partial = 0, cancelled = 0;
+        Map<ErrorType, Long> byType = new EnumMap<>(ErrorType.class);
+        List<Long> durations = new ArrayList<>();
+        for (Raw raw : history) {
+            if (raw.executedAt() < covered0 || raw.executedAt() >= covered1) {
+                continue;
+            }
+            JobExecutionResult result = raw.result();
+            if (result instanceof JobExecutionResult.Success s) {
+                successes++;
+                durations.add(s.executionDuration().toNanos() / 1000);
+            } else if (result instanceof JobExecutionResult.Failure f) {
+                failures++;
+                byType.merge(f.errorType(), 1L, Long::sum);
+                durations.add(f.executionDuration().toNanos() / 1000);
+            } else if (result instanceof JobExecutionResult.PartialSuccess p) {
+                partial++;
+                durations.add(p.executionDuration().toNanos() / 1000);
+            } else if (result instanceof JobExecutionResult.Cancelled c) {
+                cancelled++;
+                durations.add(c.executionDuration().toNanos() / 1000);
+            }
+        }
+        Collections.sort(durations);
+        long scanMicros = (System.nanoTime() - start) / 1000;
+
+        long exactP95 = durations.isEmpty() ? 0 : durations.get((int) Math.ceil(0.95 * durations.size()) - 1);
+        long p95 = summary.p95().toNanos() / 1000;
+        boolean countsMatch = summary.successes() == successes && summary.failures() == failures &&
+                summary.partialSuccesses() == partial && summary.cancellations() == cancelled &&
+                summary.failuresByType().equals(byType);
+        boolean percentileClose = Math.abs(p95 - exactP95) <= exactP95 * 0.125 + 1;
+
+        System.out.printf("   🔎 %s .. %s: %d executions (%.1f%% failed), p95 %dµs (exact %dµs) in %dµs vs %dµs raw scan%n",
+                summary.start(), summary.end(), summary.total(), summary.failureRate() * 100,
+                p95, exactP95, summaryMicros, scanMicros);
+        return check("counts and error types match raw records", countsMatch)
+                & check("p95 within histogram error", percentileClose);
+    }
+
+    private static JobExecutionResult randomResult(Random random) {
+        Duration duration = Duration.ofNanos((long) (Math.exp(random.nextGaussian() * 0.6 + 10) * 1000)); // ~22ms median
+        int roll = random.nextInt(100);
+        if (roll < 90) {
+            return new JobExecutionResult.Success("ok", Map.of(), duration, 0);
+        } else if (roll < 97) {
+            ErrorType type = ERROR_TYPES[random.nextInt(ERROR_TYPES.length)];
+            return new JobExecutionResult.Failure("failed", null, duration, true, type, 0);
+        } else if (roll < 99) {
+            return new JobExecutionResult.PartialSuccess("partial", Map.of(), "some rows rejected", duration, 9, 1);
+        }
+        return new JobExecutionResult.Cancelled("rebalance", "system", duration, 50);
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
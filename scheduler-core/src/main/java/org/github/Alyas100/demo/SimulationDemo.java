@@ -0,0 +1,107 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.core.CronExpression;
+import org.github.Alyas100.core.CronExpressionParser;
+import org.github.Alyas100.core.simulation.SchedulerSimulation;
+import org.github.Alyas100.core.simulation.SchedulerSimulation.SimulationReport;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * Replays a year of cron load on virtual time and walks through both DST transitions.
+ *
+ * <p>Arguments: {@code jobs=300 days=365 zone=Europe/Berlin}</p>
+ */
+public class SimulationDemo {
+
+    private static final String[] CRON_MIX = {
+            "0 */15 * * * *",   // every 15 minutes
+            "0 0 * * * *",      // hourly
+            "0 30 2 * * *"      // daily at 02:30 - lands in the spring-forward gap once a year
+    };
+
+    public static void main(String[] args) {
+        int jobCount = 300;
+        int days = 365;
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        for (String arg : args) {
+            if (arg.startsWith("jobs=")) jobCount = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("days=")) days = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("zone=")) zone = ZoneId.of(arg.substring(5));
+        }
+
+        System.out.println("🕰️ SIMULATION: " + jobCount + " jobs over " + days + " virtual days in " + zone);
+
+        replayYear(jobCount, days, zone);
+        showDstEdges(zone);
+    }
+
+    private static void replayYear(int jobCount, int days, ZoneId zone) {
+        LoadTestMetrics metrics = SyntheticLoadPlugin.metrics();
+        metrics.reset();
+
+        Instant start = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, zone).toInstant();
+        SchedulerSimulation simulation = new SchedulerSimulation("org.github.Alyas100.demo", null, start, zone);
+        simulation.engine().start();
+
+        for (int i = 0; i < jobCount; i++) {
+            simulation.engine().scheduleJob(new JobDefinition(
+                    "sim-job-" + i,
+                    "Simulated job " + i,
+                    "synthetic-load",
+                    CRON_MIX[i % CRON_MIX.length],
+                    Map.of("profile", "NOOP"),
+                    new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                    Duration.ofMinutes(1),
+                    0,
+                    true
+            ));
+        }
+
+        // Advance a day at a time so progress is visible; the result is the same as one big step
+        long totalFires = 0;
+        long totalWallNanos = 0;
+        for (int day = 1; day <= days; day++) {
+            SimulationReport report = simulation.advance(Duration.ofDays(1));
+            totalFires += report.fires();
+            totalWallNanos += report.wallNanos();
+            if (day % 30 == 0) {
+                System.out.println("   📅 Day " + day + ": " + totalFires + " fires so far");
+            }
+        }
+
+        System.out.println("\n📊 SIMULATION REPORT");
+        System.out.println("-----------------------------");
+        System.out.println("   - Virtual span:         " + days + " days");
+        System.out.println("   - Trigger fires:        " + totalFires);
+        System.out.println("   - Plugin executions:    " + metrics.getCompleted());
+        System.out.println("   - Wall time:            " + totalWallNanos / 1_000_000 + "ms");
+        System.out.printf ("   - Dispatch cost:        %.0f ns/fire%n", totalFires == 0 ? 0.0 : (double) totalWallNanos / totalFires);
+        System.out.println("   - Max fire skew:        " + metrics.skewPercentile(100) + "ms (always 0 on virtual time)");
+
+        simulation.shutdown();
+    }
+
+    private static void showDstEdges(ZoneId zone) {
+        System.out.println("\n🌗 DST EDGES (" + zone + ")");
+        CronExpression daily = CronExpressionParser.parse("0 30 2 * * *");
+        Instant cursor = ZonedDateTime.of(2025, 3, 28, 0, 0, 0, 0, zone).toInstant();
+        for (int i = 0; i < 4; i++) {
+            cursor = daily.next(cursor, zone);
+            System.out.println("   - 02:30 daily fires at " + cursor.atZone(zone));
+        }
+
+        CronExpression everyHalfHour = CronExpressionParser.parse("0 */30 * * * *");
+        cursor = ZonedDateTime.of(2025, 10, 26, 1, 0, 0, 0, zone).toInstant();
+        for (int i = 0; i < 6; i++) {
+            cursor = everyHalfHour.next(cursor, zone);
+            System.out.println("   - half-hourly fires at " + cursor.atZone(zone));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.core.CronExpression;
+import org.github.Alyas100.core.JobLoader;
+import org.github.Alyas100.core.SchedulerEngine;
+import org.github.Alyas100.storage.InMemoryJobRepository;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.file.FileJobRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures time-to-ready of a {@link SchedulerEngine} over {@code jobs} persisted jobs, against
+ * the previous startup algorithm (materialize every job, parse and arm one by one).
+ *
+ * <p>Arguments: {@code jobs=500000 store=memory|file}</p>
+ */
+public class StartupLoadBenchmark {
+    private static final int INVALID_CRON_EVERY = 10_000;
+    private static final int UNKNOWN_PLUGIN_EVERY = 25_000;
+    private static final int DISABLED_EVERY = 10;
+
+    public static void main(String[] args) throws Exception {
+        int jobs = 500_000;
+        String store = "memory";
+        for (String arg : args) {
+            if (arg.startsWith("jobs=")) jobs = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("store=")) store = arg.substring(6);
+        }
+        System.out.println("⏱️ STARTUP LOAD BENCHMARK: " + jobs + " jobs in " + store + " storage, " +
+                Runtime.getRuntime().availableProcessors() + " CPUs");
+
+        Path directory = store.equals("file") ? Files.createTempDirectory("startup-load") : null;
+        boolean ok;
+        try {
+            JobRepository repository = directory != null ? new FileJobRepository(directory) : new InMemoryJobRepository();
+            List<JobDefinition> batch = new ArrayList<>(10_000);
+            for (int i = 0; i < jobs; i++) {
+                batch.add(job(i));
+                if (batch.size() == 10_000) {
+                    repository.saveJobs(batch);
+                    batch.clear();
+                }
+            }
+            repository.saveJobs(batch);
+            if (directory != null) {
+                repository.close();
+                long start = System.nanoTime();
+                repository = new FileJobRepository(directory);
+                System.out.println("   📂 Repository recovery: " + (System.nanoTime() - start) / 1_000_000 + "ms");
+            }
+
+            long baselineMs = legacyLoad(repository);
+            System.out.println("   🐢 Previous algorithm (getAllJobs, serial parse and arm): " + baselineMs + "ms");
+
+            long start = System.nanoTime();
+            SchedulerEngine engine = new SchedulerEngine("org.github.Alyas100.demo", repository, null);
+            long constructionMs = (System.nanoTime() - start) / 1_000_000;
+            JobLoader.LoadReport report = engine.getStartupReport();
+            System.out.println("   🚀 Engine constructed in " + constructionMs + "ms (loader: " +
+                    report.timeToReady().toMillis() + "ms, " + String.format("%.1fx", (double) baselineMs / constructionMs) + " faster)");
+
+            long expectedInvalid = countInvalid(jobs);
+            long expectedScheduled = countScheduled(jobs);
+            ok = check("every job registered", report.loaded() == jobs && engine.getScheduledJobs().size() == jobs);
+            ok &= check("invalid jobs reported (" + report.invalid() + ")", report.invalid() == expectedInvalid);
+            ok &= check("valid enabled jobs scheduled (" + report.scheduled() + ")", report.scheduled() == expectedScheduled);
+            engine.stop();
+            repository.close();
+        } finally {
+            if (directory != null) {
+                try (Stream<Path> files = Files.walk(directory)) {
+                    files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+                }
+            }
+        }
+        System.out.println(ok ? "✅ STARTUP LOAD BENCHMARK PASSED" : "❌ STARTUP LOAD BENCHMARK FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    /** The work the engine used to do per job, without its cron cache or pipeline */
+    private static long legacyLoad(JobRepository repository) throws InterruptedException {
+        ScheduledExecutorService timer = Executors.newScheduledThreadPool(4);
+        Map<String, JobDefinition> definitions = new HashMap<>();
+        long start = System.nanoTime();
+        List<JobDefinition> all = repository.getAllJobs();
+        Instant now = Instant.now();
+        ZoneId zone = ZoneId.systemDefault();
+        for (JobDefinition job : all) {
+            definitions.put(job.jobId(), job);
+            if (!job.enabled()) {
+                continue;
+            }
+            try {
+                Instant next = new CronExpression(job.cronExpression()).next(now, zone);
+                timer.schedule(() -> { }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+            } catch (IllegalArgumentException e) {
+                // the old loop stopped at the first invalid job; keep going to compare like for like
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        timer.shutdownNow();
+        timer.awaitTermination(10, TimeUnit.SECONDS);
+        return elapsed;
+    }
+
+    private static long countInvalid(int jobs) {
+        long invalid = 0;
+        for (int i = 0; i < jobs; i++) {
+            if (i % UNKNOWN_PLUGIN_EVERY == 0 || i % INVALID_CRON_EVERY == 0) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    private static long countScheduled(int jobs) {
+        long scheduled = 0;
+        for (int i = 0; i < jobs; i++) {
+            boolean valid = i % UNKNOWN_PLUGIN_EVERY != 0 && i % INVALID_CRON_EVERY != 0;
+            if (valid && i % DISABLED_EVERY != 1) {
+                scheduled++;
+            }
+        }
+        return scheduled;
+    }
+
+    private static JobDefinition job(int i) {
+        String cron = i % INVALID_CRON_EVERY == 0 ? "0 61 * * * *" : "0 " + (i % 60) + " " + (i / 60 % 24) + " * * *";
+        String plugin = i % UNKNOWN_PLUGIN_EVERY == 0 ? "missing-plugin" : "synthetic-load";
+        return new JobDefinition(
+                String.format("job-%07d", i),
+                "Startup job " + i,
+                plugin,
+                cron,
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                i % DISABLED_EVERY != 1
+        );
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,308 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.MisfirePolicy;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.cluster.ClusterManager;
+import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+import org.github.Alyas100.cluster.swim.SwimClusterManager;
+import org.github.Alyas100.core.SchedulerEngine;
+import org.github.Alyas100.storage.InMemoryJobRepository;
+import org.github.Alyas100.storage.JobRepository;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The SWIM gossip cluster manager against the Hazelcast one, all members on loopback in this JVM.
+ *
+ * <p>First the footprint: {@code members} members of each kind are started one after the
+ * other, timing how long until every member sees all the others and they agree on one
+ * leader, and measuring the heap they keep once started.</p>
+ *
+ * <p>Then failure detection: the SWIM leader crashes without a word, the survivors must drop
+ * it, elect another and fence off its term; a member that stops cleanly must be gone from the
+ * others' views at once.</p>
+ *
+ * <p>Last, {@link SchedulerEngine}s on partitioned SWIM members schedule {@code jobs}
+ * every-second jobs, with no code change from the Hazelcast setup: every slot fires exactly
+ * once, and again across a member leaving and a member crashing.</p>
+ *
+ * <p>Arguments: {@code members=5 jobs=40 window=4}</p>
+ */
+public class SwimDemo {
+    private static final InetSocketAddress LOOPBACK = new InetSocketAddress("127.0.0.1", 0);
+
+    private record Member(SwimClusterManager clusterManager, SchedulerEngine engine) {}
+
+    public static void main(String[] args) throws Exception {
+        int memberCount = 5;
+        int jobCount = 40;
+        int windowSeconds = 4;
+        for (String arg : args) {
+            if (arg.startsWith("members=")) memberCount = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("jobs=")) jobCount = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("window=")) windowSeconds = Integer.parseInt(arg.substring(7));
+        }
+        System.out.println("🗣️ SWIM: " + memberCount + " members, " + jobCount + " jobs");
+
+        boolean ok = footprint(memberCount);
+        ok &= failureDetection(memberCount);
+        ok &= scheduling(Math.max(3, memberCount - 1), jobCount, windowSeconds);
+
+        System.out.println(ok ? "✅ SWIM PASSED" : "❌ SWIM FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean footprint(int memberCount) throws Exception {
+        // Warm both code paths up, so class loading is not counted against either
+        startSwim(2, ClusterManager.Mode.LEADER).forEach(SwimClusterManager::stop);
+        HazelcastInstance warmup = Hazelcast.newHazelcastInstance(loopbackConfig("swim-warmup-" + System.currentTimeMillis()));
+        warmup.getLifecycleService().terminate();
+
+        long heapBefore = usedHeap();
+        long startedAt = System.nanoTime();
+        List<SwimClusterManager> swim = startSwim(memberCount, ClusterManager.Mode.LEADER);
+        boolean swimFormed = await(() -> formed(swim, memberCount), 30_000);
+        long swimMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        long swimHeap = usedHeap() - heapBefore;
+        swim.forEach(SwimClusterManager::stop);
+
+        heapBefore = usedHeap();
+        startedAt = System.nanoTime();
+        String clusterName = "swim-vs-hazelcast-" + System.currentTimeMillis();
+        List<HazelcastInstance> instances = new ArrayList<>();
+        List<HazelcastClusterManager> hazelcast = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            HazelcastInstance instance = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName));
+            instances.add(instance);
+            HazelcastClusterManager clusterManager = new HazelcastClusterManager(instance);
+            clusterManager.start();
+            hazelcast.add(clusterManager);
+        }
+        boolean hazelcastFormed = await(() -> formed(hazelcast, memberCount), 60_000);
+        long hazelcastMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        long hazelcastHeap = usedHeap() - heapBefore;
+        hazelcast.forEach(HazelcastClusterManager::stop);
+        instances.forEach(instance -> instance.getLifecycleService().terminate());
+
+        System.out.printf(Locale.ROOT, "   🐇 SWIM:      %d members formed in %,6d ms, %,8d KB heap (%,d KB each)%n",
+                memberCount, swimMillis, swimHeap / 1024, swimHeap / 1024 / memberCount);
+        System.out.printf(Locale.ROOT, "   🐘 Hazelcast: %d members formed in %,6d ms, %,8d KB heap (%,d KB each)%n",
+                memberCount, hazelcastMillis, hazelcastHeap / 1024, hazelcastHeap / 1024 / memberCount);
+        boolean ok = check("every SWIM member sees the others and one leader", swimFormed);
+        ok &= check("every Hazelcast member sees the others and one leader", hazelcastFormed);
+        ok &= check("SWIM forms the cluster faster", swimMillis < hazelcastMillis);
+        ok &= check("SWIM members keep at least 10x less heap", swimHeap * 10 < hazelcastHeap);
+        return ok;
+    }
+
+    private static boolean failureDetection(int memberCount) throws Exception {
+        List<SwimClusterManager> members = startSwim(memberCount, ClusterManager.Mode.LEADER);
+        try {
+            boolean ok = check("members formed a cluster", await(() -> formed(members, memberCount), 30_000));
+            SwimClusterManager leader = members.stream().filter(SwimClusterManager::isLeader).findFirst().orElseThrow();
+            long oldToken = leader.getFencingToken();
+
+            leader.terminate();
+            long crashedAt = System.nanoTime();
+            members.remove(leader);
+            boolean detected = await(() -> formed(members, memberCount - 1), 15_000);
+            long detectionMillis = (System.nanoTime() - crashedAt) / 1_000_000;
+            SwimClusterManager successor = members.stream().filter(SwimClusterManager::isLeader).findFirst().orElse(null);
+            long newToken = successor != null ? successor.getFencingToken() : 0;
+            System.out.println("   💥 Crashed leader dropped and replaced in " + detectionMillis
+                    + " ms; fencing token " + oldToken + " -> " + newToken);
+            ok &= check("survivors dropped the crashed leader and elected another", detected && successor != null);
+            ok &= check("the new leader's token is higher", newToken > oldToken);
+            ok &= check("survivors learn the new term and turn away the old leader's token",
+                    await(() -> members.stream().noneMatch(member -> member.acceptFencingToken(oldToken)), 2_000));
+
+            SwimClusterManager leaving = members.stream().filter(member -> !member.isLeader()).findFirst().orElseThrow();
+            leaving.stop();
+            long leftAt = System.nanoTime();
+            members.remove(leaving);
+            boolean gone = await(() -> formed(members, memberCount - 2), 15_000);
+            long leaveMillis = (System.nanoTime() - leftAt) / 1_000_000;
+            System.out.println("   👋 Clean leave seen by every member in " + leaveMillis + " ms");
+            ok &= check("a clean leave is seen within a protocol period or two", gone && leaveMillis < 1000);
+            return ok;
+        } finally {
+            members.forEach(SwimClusterManager::stop);
+        }
+    }
+
+    private static boolean scheduling(int memberCount, int jobCount, int windowSeconds) throws Exception {
+        FireLog fireLog = new FireLog();
+        SyntheticLoadPlugin.setFireLog(fireLog);
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < jobCount; i++) {
+            jobIds.add("swim-job-" + i);
+        }
+        JobRepository repository = new InMemoryJobRepository();
+        List<Member> members = new ArrayList<>();
+        boolean ok;
+        try {
+            InetSocketAddress seed = null;
+            for (int i = 0; i < memberCount; i++) {
+                members.add(startMember(seed, repository));
+                seed = members.get(0).clusterManager().getBoundAddress();
+            }
+            for (String jobId : jobIds) {
+                members.get(0).engine().scheduleJob(job(jobId));
+            }
+            ok = check("members split the jobs between them", await(() -> armed(members) == jobCount
+                    && members.stream().allMatch(member -> member.engine().getArmedJobCount() > 0), 30_000));
+
+            long from = nextWholeSecond();
+            Thread.sleep(windowSeconds * 1000L);
+            FireLog.WindowStats steady = fireLog.analyze(jobIds, from, nowSecond(), Set.of(), 0);
+            printStats("Steady (" + members.size() + " members)", steady, members);
+            ok &= check("every slot fired exactly once", steady.missed() == 0 && steady.duplicated() == 0);
+
+            Member leaving = members.get(members.size() - 1);
+            long leaveFrom = nowSecond();
+            leaving.engine().stop();
+            members.remove(leaving);
+            ok &= check("remaining members took over the leaver's jobs", await(() -> armed(members) == jobCount, 10_000));
+            Thread.sleep(windowSeconds * 1000L);
+            FireLog.WindowStats afterLeave = fireLog.analyze(jobIds, leaveFrom, nowSecond(), Set.of(), 0);
+            printStats("Across the leave (" + members.size() + " members)", afterLeave, members);
+            ok &= check("no slot fired twice or got lost across the leave",
+                    afterLeave.duplicated() == 0 && afterLeave.missed() == 0);
+
+            Member crashed = members.get(members.size() - 1);
+            String crashedId = crashed.clusterManager().getNodeId();
+            crashed.clusterManager().terminate();
+            long crashedAt = System.currentTimeMillis();
+            members.remove(crashed);
+            ok &= check("survivors took over the crashed member's jobs", await(() -> armed(members) == jobCount, 15_000));
+            long crashFrom = nextWholeSecond();
+            Thread.sleep(windowSeconds * 1000L);
+            FireLog.WindowStats afterCrash = fireLog.analyze(jobIds, crashFrom, nowSecond(), Set.of(crashedId), crashedAt);
+            printStats("After the crash (" + members.size() + " members)", afterCrash, members);
+            ok &= check("every slot fired exactly once after the crash",
+                    afterCrash.missed() == 0 && afterCrash.duplicated() == 0);
+            crashed.engine().stop();
+        } finally {
+            SyntheticLoadPlugin.setFireLog(null);
+            for (Member member : members) {
+                member.engine().stop();
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * Members seeded by the first one, started one after the other.
+     */
+    private static List<SwimClusterManager> startSwim(int count, ClusterManager.Mode mode) {
+        List<SwimClusterManager> members = new ArrayList<>();
+        List<InetSocketAddress> seeds = List.of();
+        for (int i = 0; i < count; i++) {
+            SwimClusterManager member = new SwimClusterManager(LOOPBACK, seeds,
+                    SwimClusterManager.DEFAULT_PROTOCOL_PERIOD, mode, Duration.ZERO);
+            member.start();
+            members.add(member);
+            seeds = List.of(members.get(0).getBoundAddress());
+        }
+        return members;
+    }
+
+    private static Member startMember(InetSocketAddress seed, JobRepository repository) {
+        SwimClusterManager clusterManager = SwimClusterManager.partitioned(LOOPBACK,
+                seed != null ? List.of(seed) : List.of());
+        SchedulerEngine engine = new SchedulerEngine("org.github.Alyas100.demo", repository, clusterManager);
+        engine.start();
+        return new Member(clusterManager, engine);
+    }
+
+    /**
+     * Every member sees {@code size} nodes and exactly one of them leads.
+     */
+    private static boolean formed(List<? extends ClusterManager> members, int size) {
+        return members.stream().allMatch(member -> member.getClusterNodes().size() == size)
+                && members.stream().filter(ClusterManager::isLeader).count() == 1;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static int armed(List<Member> members) {
+        return members.stream().mapToInt(member -> member.engine().getArmedJobCount()).sum();
+    }
+
+    private static void printStats(String label, FireLog.WindowStats stats, List<Member> members) {
+        StringJoiner armed = new StringJoiner("/");
+        members.forEach(member -> armed.add(String.valueOf(member.engine().getArmedJobCount())));
+        System.out.println("   📊 " + label + ": expected=" + stats.expected() + " fired=" + stats.fired() +
+                " missed=" + stats.missed() + " duplicated=" + stats.duplicated() + " armed=" + armed);
+    }
+
+    private static JobDefinition job(String jobId) {
+        return new JobDefinition(
+                jobId,
+                "SWIM job " + jobId,
+                "synthetic-load",
+                "* * * * * *",
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true,
+                MisfirePolicy.FIRE_ALL
+        );
+    }
+
+    private static Config loopbackConfig(String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return JobCodecSerializers.register(config);
+    }
+
+    private static long nowSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static long nextWholeSecond() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        Thread.sleep(1000 - now % 1000);
+        return nowSecond();
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
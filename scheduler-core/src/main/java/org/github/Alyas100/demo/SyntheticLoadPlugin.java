@@ -0,0 +1,111 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.*;
+import org.github.Alyas100.annotation.ScheduledJob;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Tunable plugin used by the load test harness.
+ *
+ * <p>Parameters:
+ * <ul>
+ *   <li>{@code profile} - NOOP, CPU, SLEEP or ALLOC (default NOOP)</li>
+ *   <li>{@code workMs} - how long CPU/SLEEP profiles run (default 1)</li>
+ *   <li>{@code allocBytes} - bytes allocated per run by the ALLOC profile (default 64KB)</li>
+ *   <li>{@code tag} - free text copied into the {@link FireLog}</li>
+ * </ul>
+ * It is kept in the demo package so it never shows up next to the real plugins.</p>
+ */
+@ScheduledJob(
+        name = "synthetic-load",
+        description = "Synthetic CPU / sleep / allocation load for benchmarking",
+        version = "1.0"
+)
+public class SyntheticLoadPlugin implements JobPlugin {
+
+    public enum Profile { NOOP, CPU, SLEEP, ALLOC }
+
+    private static final LoadTestMetrics METRICS = new LoadTestMetrics();
+    private static volatile FireLog fireLog;
+
+    // written to so the JIT can't drop the CPU / allocation work
+    private static volatile long sink;
+
+    public static LoadTestMetrics metrics() {
+        return METRICS;
+    }
+
+    /**
+     * Optionally log every fire (job, planned second, node); pass null to stop logging.
+     */
+    public static void setFireLog(FireLog log) {
+        fireLog = log;
+    }
+
+    @Override
+    public String getPluginName() { return "synthetic-load"; }
+
+    @Override
+    public String getVersion() { return "1.0"; }
+
+    @Override
+    public JobExecutionResult execute(JobExecutionContext context) {
+        long startNanos = System.nanoTime();
+        METRICS.recordStart(Duration.between(context.getScheduledTime(), context.getActualExecutionTime()).toMillis());
+        FireLog log = fireLog;
+        if (log != null) {
+            Object tag = context.getParameters().get("tag");
+            log.record(context.getJobId(), context.getScheduledTime().getEpochSecond(), context.getNodeId(),
+                    tag != null ? tag.toString() : null);
+        }
+
+        Map<String, Object> params = context.getParameters();
+        Profile profile = Profile.valueOf(String.valueOf(params.getOrDefault("profile", "NOOP")));
+        int workMs = ((Number) params.getOrDefault("workMs", 1)).intValue();
+        int allocBytes = ((Number) params.getOrDefault("allocBytes", 64 * 1024)).intValue();
+
+        try {
+            switch (profile) {
+                case CPU -> burnCpu(workMs);
+                case SLEEP -> Thread.sleep(workMs);
+                case ALLOC -> allocate(allocBytes);
+                case NOOP -> { }
+            }
+            METRICS.recordCompletion(true);
+            return new JobExecutionResult.Success("ok", Map.of(), Duration.ofNanos(System.nanoTime() - startNanos), 0L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            METRICS.recordCompletion(false);
+            return new JobExecutionResult.Failure("Synthetic job interrupted", e,
+                    Duration.ofNanos(System.nanoTime() - startNanos), false, ErrorType.PLUGIN_ERROR, 0);
+        }
+    }
+
+    private static void burnCpu(int workMs) {
+        long deadline = System.nanoTime() + workMs * 1_000_000L;
+        long acc = 0;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 1_000; i++) {
+                acc += i * 31L ^ acc;
+            }
+        }
+        sink = acc;
+    }
+
+    private static void allocate(int allocBytes) {
+        byte[] chunk = new byte[Math.max(1, allocBytes)];
+        chunk[chunk.length - 1] = 1;
+        sink = chunk.length;
+    }
+
+    @Override
+    public void initialize(PluginConfiguration config) { }
+
+    @Override
+    public void shutdown() { }
+
+    @Override
+    public boolean isHealthy() { return true; }
+}
@@ -0,0 +1,210 @@
+package org.github.Alyas100.demo;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.cluster.JobDistributor;
+import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.HazelcastJobDistributor;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+import org.github.Alyas100.core.ExecutionFence;
+import org.github.Alyas100.core.JobExecutor;
+import org.github.Alyas100.core.PluginRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Pull-based work stealing between {@code members} embedded Hazelcast members, each running
+ * at most {@code slots} queued fires at once.
+ *
+ * <p>Skew: the leader queues fires round robin, and every fire landing in one member's queue
+ * is long while the rest are short. Without stealing that member alone would need
+ * {@code longFires / slots * longMs}; the idle members have to steal its backlog so the lot
+ * finishes far sooner, each fire running exactly once.</p>
+ *
+ * <p>Throughput: a burst of {@code burst} no-op fires, reporting fires per second and the
+ * average number of fires per pull, which has to be well above one.</p>
+ *
+ * <p>Failure: a member is terminated while running pulled fires; the leader must queue them
+ * again so that every fire still succeeds.</p>
+ *
+ * <p>Arguments: {@code members=3 slots=4 burst=3000}</p>
+ */
+public class WorkStealingDemo {
+    private static final int LONG_MS = 300;
+    private static final int SHORT_MS = 20;
+
+    private record Member(HazelcastInstance hazelcast, HazelcastClusterManager clusterManager, JobExecutor executor) {
+        HazelcastJobDistributor.WorkQueueStats stats() {
+            return ((HazelcastJobDistributor) clusterManager.getJobDistributor()).getWorkQueueStats();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int memberCount = 3;
+        int slots = 4;
+        int burst = 3000;
+        for (String arg : args) {
+            if (arg.startsWith("members=")) memberCount = Integer.parseInt(arg.substring(8));
+            if (arg.startsWith("slots=")) slots = Integer.parseInt(arg.substring(6));
+            if (arg.startsWith("burst=")) burst = Integer.parseInt(arg.substring(6));
+        }
+        System.out.println("🧺 WORK STEALING: " + memberCount + " members, " + slots + " slots each");
+
+        FireLog fireLog = new FireLog();
+        SyntheticLoadPlugin.setFireLog(fireLog);
+        PluginRegistry plugins = new PluginRegistry("org.github.Alyas100.demo");
+        String clusterName = "work-stealing-" + System.currentTimeMillis();
+        List<Member> members = new ArrayList<>();
+        boolean ok;
+        try {
+            for (int i = 0; i < memberCount; i++) {
+                HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance(loopbackConfig(clusterName));
+                HazelcastClusterManager clusterManager = HazelcastClusterManager.workQueue(hazelcast, slots);
+                JobExecutor executor = new JobExecutor(plugins, Executors.newCachedThreadPool(), Clock.systemUTC(),
+                        clusterManager.getNodeId(), ExecutionFence.cluster(clusterManager));
+                clusterManager.setJobRunner(executor::executeDispatched);
+                clusterManager.start();
+                members.add(new Member(hazelcast, clusterManager, executor));
+            }
+            int expectedMembers = memberCount;
+            ok = check("cluster formed with a leader", await(() -> members.stream().allMatch(member ->
+                    member.clusterManager().getClusterNodes().size() == expectedMembers)
+                    && members.stream().anyMatch(member -> member.clusterManager().isLeader()), 30_000));
+            Member leader = members.stream().filter(member -> member.clusterManager().isLeader()).findFirst().orElseThrow();
+            JobDistributor distributor = leader.clusterManager().getJobDistributor();
+            long token = leader.clusterManager().getFencingToken();
+
+            // Skew: every memberCount-th fire is long, and round robin puts them all in one queue
+            int fires = 20 * memberCount;
+            int longFires = fires / memberCount;
+            long stolenBefore = members.stream().mapToLong(member -> member.stats().stolen()).sum();
+            fireLog.clear();
+            long startedAt = System.nanoTime();
+            List<CompletableFuture<JobExecutionResult>> skewed = new ArrayList<>();
+            for (int i = 0; i < fires; i++) {
+                int workMs = i % memberCount == 0 ? LONG_MS : SHORT_MS;
+                skewed.add(distributor.dispatch(job("skew-" + i, "SLEEP", workMs), Instant.now(), token));
+            }
+            boolean allSucceeded = allSucceeded(skewed, 30);
+            long makespan = (System.nanoTime() - startedAt) / 1_000_000;
+            long ownQueueOnly = (long) Math.ceil((double) longFires / slots) * LONG_MS;
+            long stolen = members.stream().mapToLong(member -> member.stats().stolen()).sum() - stolenBefore;
+            Map<String, Long> perJob = new HashMap<>();
+            fireLog.fires().forEach(fire -> perJob.merge(fire.jobId(), 1L, Long::sum));
+            System.out.println("   ⏱️ " + fires + " skewed fires done in " + makespan + "ms (own queues alone: >= "
+                    + ownQueueOnly + "ms), " + stolen + " stolen");
+            ok &= check("every skewed fire succeeded", allSucceeded);
+            ok &= check("every fire ran exactly once", perJob.size() == fires
+                    && perJob.values().stream().allMatch(count -> count == 1));
+            ok &= check("idle members stole the long backlog", stolen > 0);
+            ok &= check("stealing beat the busiest queue by a third", makespan < ownQueueOnly * 2 / 3);
+
+            // Throughput: fires per pull
+            long batchesBefore = members.stream().mapToLong(member -> member.stats().batches()).sum();
+            long pulledBefore = members.stream().mapToLong(member -> member.stats().pulled()).sum();
+            List<CompletableFuture<JobExecutionResult>> noops = new ArrayList<>(burst);
+            startedAt = System.nanoTime();
+            for (int i = 0; i < burst; i++) {
+                noops.add(distributor.dispatch(job("noop-" + i, "NOOP", 0), Instant.now(), token));
+            }
+            boolean burstSucceeded = allSucceeded(noops, 60);
+            long burstMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            long batches = members.stream().mapToLong(member -> member.stats().batches()).sum() - batchesBefore;
+            long pulled = members.stream().mapToLong(member -> member.stats().pulled()).sum() - pulledBefore;
+            double perPull = batches == 0 ? 0 : (double) pulled / batches;
+            System.out.printf(Locale.ROOT, "   🚀 %d no-op fires in %dms (%.0f/s), %.1f fires per pull%n",
+                    burst, burstMillis, burst * 1000.0 / burstMillis, perPull);
+            ok &= check("every burst fire succeeded", burstSucceeded);
+            ok &= check("pulls are batched", perPull >= 2);
+
+            // Failure: a member dies holding pulled fires
+            Member victim = members.stream().filter(member -> member != leader).findFirst().orElseThrow();
+            List<CompletableFuture<JobExecutionResult>> held = new ArrayList<>();
+            for (int i = 0; i < slots * memberCount; i++) {
+                held.add(distributor.dispatch(job("held-" + i, "SLEEP", 1500), Instant.now(), token));
+            }
+            boolean victimBusy = await(() -> victim.stats().running() > 0, 5_000);
+            int lost = victim.stats().running();
+            victim.clusterManager().stop();
+            victim.hazelcast().getLifecycleService().terminate();
+            members.remove(victim);
+            boolean recovered = allSucceeded(held, 30);
+            System.out.println("   💥 Terminated a member running " + lost + " pulled fires");
+            ok &= check("the terminated member had pulled fires", victimBusy && lost > 0);
+            ok &= check("its fires were queued again and succeeded", recovered);
+        } finally {
+            SyntheticLoadPlugin.setFireLog(null);
+            for (Member member : members) {
+                member.clusterManager().stop();
+                member.hazelcast().getLifecycleService().terminate();
+            }
+        }
+        System.out.println(ok ? "✅ WORK STEALING PASSED" : "❌ WORK STEALING FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean allSucceeded(List<CompletableFuture<JobExecutionResult>> results, long timeoutSeconds) {
+        try {
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.out.println("   ⚠️ Fires still outstanding: " + results.stream().filter(r -> !r.isDone()).count());
+            return false;
+        }
+        return results.stream().allMatch(result -> result.join() instanceof JobExecutionResult.Success);
+    }
+
+    private static JobDefinition job(String jobId, String profile, int workMs) {
+        return new JobDefinition(
+                jobId,
+                "Queued job " + jobId,
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", profile, "workMs", workMs),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                0,
+                true
+        );
+    }
+
+    private static Config loopbackConfig(String clusterName) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(5701).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return JobCodecSerializers.register(config);
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "   ✅ " : "   ❌ ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,120 @@
+package org.github.Alyas100.demo;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.RetryPolicy;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.WriteBehindJobRepository;
+import org.github.Alyas100.storage.file.FileJobRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@code saveJob} latency on a durable {@link FileJobRepository} with and without
+ * a {@link WriteBehindJobRepository} in front, then checks that a reopened store has every
+ * write the decorator acknowledged.
+ *
+ * <p>Arguments: {@code saves=20000 jobs=2000 threads=4}</p>
+ */
+public class WriteBehindBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int saves = 20_000;
+        int jobs = 2_000;
+        int threads = 4;
+        for (String arg : args) {
+            if (arg.startsWith("saves=")) saves = Integer.parseInt(arg.substring(6));
+            if (arg.startsWith("jobs=")) jobs = Integer.parseInt(arg.substring(5));
+            if (arg.startsWith("threads=")) threads = Integer.parseInt(arg.substring(8));
+        }
+        System.out.println("⏱️ WRITE-BEHIND BENCHMARK: " + saves + " saves over " + jobs + " jobs from " + threads + " threads");
+
+        Path direct = Files.createTempDirectory("write-behind-direct");
+        Path behind = Files.createTempDirectory("write-behind-cached");
+        try {
+            try (JobRepository repository = new FileJobRepository(direct)) {
+                report("Direct FileJobRepository", run(repository, saves, jobs, threads));
+            }
+
+            WriteBehindJobRepository writeBehind = new WriteBehindJobRepository(new FileJobRepository(behind));
+            long[] latencies = run(writeBehind, saves, jobs, threads);
+            writeBehind.close();
+            report("Write-behind", latencies);
+
+            WriteBehindJobRepository.Stats stats = writeBehind.getStats();
+            System.out.println("   📊 writes=" + stats.writes() + " coalesced=" + stats.coalescedWrites() +
+                    " flushed=" + stats.flushedWrites() + " flushes=" + stats.flushCount() +
+                    " avgFlush=" + stats.averageFlushLatency().toMillis() + "ms" +
+                    " maxFlush=" + stats.maxFlushLatency().toMillis() + "ms");
+
+            try (JobRepository reopened = new FileJobRepository(behind)) {
+                long stored = reopened.getAllJobs().stream().filter(job -> job.jobName().endsWith("#final")).count();
+                System.out.println(stored == jobs
+                        ? "   ✅ All " + jobs + " final writes durable after close"
+                        : "   ❌ Only " + stored + "/" + jobs + " final writes durable after close");
+            }
+        } finally {
+            delete(direct);
+            delete(behind);
+        }
+        System.out.println("✅ WRITE-BEHIND BENCHMARK COMPLETE");
+    }
+
+    /** Every thread rewrites its share of jobs repeatedly; the last pass writes a "#final" version */
+    private static long[] run(JobRepository repository, int saves, int jobs, int threads) throws InterruptedException {
+        long[] latencies = new long[saves];
+        int perThread = saves / threads;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                int jobsPerThread = jobs / threads;
+                for (int i = 0; i < perThread; i++) {
+                    int jobIndex = thread * jobsPerThread + i % jobsPerThread;
+                    boolean last = i >= perThread - jobsPerThread;
+                    long start = System.nanoTime();
+                    repository.saveJob(job("job-" + jobIndex, last ? "#final" : "#" + i));
+                    latencies[thread * perThread + i] = System.nanoTime() - start;
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.MINUTES);
+        return latencies;
+    }
+
+    private static void report(String label, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("   %s: p50=%.1fµs p99=%.1fµs max=%.1fµs%n", label,
+                sorted[sorted.length / 2] / 1e3, sorted[(int) (sorted.length * 0.99)] / 1e3, sorted[sorted.length - 1] / 1e3);
+    }
+
+    private static JobDefinition job(String jobId, String version) {
+        return new JobDefinition(
+                jobId,
+                "Benchmark job " + jobId + version,
+                "synthetic-load",
+                "0 * * * * *",
+                Map.of("profile", "NOOP"),
+                new RetryPolicy(Duration.ofSeconds(30), Duration.ofMinutes(5), 2.0, true),
+                Duration.ofMinutes(1),
+                3,
+                true
+        );
+    }
+
+    private static void delete(Path directory) throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.github.Alyas100;
 
+import java.io.Serializable;
 import java.time.Duration;
 import java.util.Map;
 
@@ -15,8 +16,9 @@ public record JobDefinition(
         RetryPolicy retryPolicy,
         Duration timeout,
         int maxRetries,
-        boolean enabled
-) {
+        boolean enabled,
+        MisfirePolicy misfirePolicy
+) implements Serializable {
     public JobDefinition {
         if (jobId == null || jobId.isBlank()) {
             throw new IllegalArgumentException("Job ID cannot be null or blank");
@@ -24,6 +26,17 @@ public record JobDefinition(
         if (pluginName == null || pluginName.isBlank()) {
             throw new IllegalArgumentException("Plugin name cannot be null or blank");
         }
+        if (misfirePolicy == null) misfirePolicy = MisfirePolicy.FIRE_ONCE;
+    }
+
+    /**
+     * Definition with the default {@link MisfirePolicy#FIRE_ONCE} misfire policy.
+     */
+    public JobDefinition(String jobId, String jobName, String pluginName, String cronExpression,
+                         Map<String, Object> parameters, RetryPolicy retryPolicy, Duration timeout,
+                         int maxRetries, boolean enabled) {
+        this(jobId, jobName, pluginName, cronExpression, parameters, retryPolicy, timeout, maxRetries, enabled,
+                MisfirePolicy.FIRE_ONCE);
     }
 }
 
@@ -35,6 +35,15 @@ public interface JobExecutionContext {
     String getCorrelationId();  // For tracing across cluster
     boolean isRecoveryExecution();  // Is this a retry after failure?
 
+    /**
+     * Fencing token of the leadership that dispatched this execution; 0 when unfenced.
+     * Pass it to external systems that can refuse writes carrying an older token, so a
+     * deposed leader's executions cannot clobber the new leader's.
+     */
+    default long getFencingToken() {
+        return 0;
+    }
+
     // Progress Tracking & Monitoring
     void updateProgress(int percentage, String statusMessage);
     void addMetric(String name, Object value);
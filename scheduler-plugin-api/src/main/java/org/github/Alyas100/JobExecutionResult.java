@@ -1,5 +1,6 @@
 package org.github.Alyas100;
 
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
@@ -28,7 +29,7 @@ import java.util.Map;
 /*here all the records is implemented inside the interface because for easier pattern matching when
 using the 'switch' statement over the sealed results
  */
-public sealed interface JobExecutionResult {
+public sealed interface JobExecutionResult extends Serializable {
 
     /**
      * Successful job execution with output data.
@@ -0,0 +1,11 @@
+package org.github.Alyas100;
+
+/**
+ * What the scheduler does with cron fires that fell due while no node was scheduling the job
+ * (downtime, restart, leader change).
+ */
+public enum MisfirePolicy {
+    FIRE_ONCE,  // One catch-up fire for the whole missed window, then back on schedule
+    FIRE_ALL,   // One catch-up fire per missed cron slot (bounded), then back on schedule
+    SKIP        // Drop missed fires and wait for the next cron slot
+}
@@ -1,5 +1,6 @@
 package org.github.Alyas100;
 
+import java.io.Serializable;
 import java.time.Duration; /**
  * This define retry timing logic (how to handle failure)
  * @param initialDelay
@@ -12,7 +13,7 @@ public  record RetryPolicy(
         Duration maxDelay,
         double backoffMultiplier,
         boolean exponentialBackoff
-) {
+) implements Serializable {
     public RetryPolicy {
         if (initialDelay == null) initialDelay = Duration.ofSeconds(30);
         if (maxDelay == null) maxDelay = Duration.ofMinutes(10);
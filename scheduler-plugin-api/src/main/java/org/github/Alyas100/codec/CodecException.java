@@ -0,0 +1,9 @@
+package org.github.Alyas100.codec;
+
+/**
+ * Thrown when bytes cannot be decoded (truncated, corrupt or of an unsupported version).
+ */
+public class CodecException extends RuntimeException {
+    public CodecException(String message) { super(message); }
+    public CodecException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,148 @@
+package org.github.Alyas100.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.github.Alyas100.codec.CodecWriter.*;
+
+/**
+ * Low-level reader for the tagged wire format, decoding in place from a {@link ByteBuffer}.
+ *
+ * <p>Nothing is copied except the characters of decoded strings (read straight out of the
+ * backing array for heap buffers). Unknown fields are skipped by wire type, which is what
+ * lets older readers decode data written by newer code.</p>
+ */
+public final class CodecReader {
+    private final ByteBuffer in;
+    private int wireType;
+
+    public CodecReader(ByteBuffer in) {
+        this.in = in;
+    }
+
+    public int readByte() {
+        return in.get();
+    }
+
+    /**
+     * Reads the next field tag and returns its field number, or 0 at the end of the message.
+     */
+    public int nextField() {
+        long tag = varint();
+        wireType = (int) (tag & 0x3);
+        return (int) (tag >>> 2);
+    }
+
+    public long readLong() {
+        expect(WIRE_VARINT);
+        long raw = varint();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public int readInt() {
+        return (int) readLong();
+    }
+
+    public boolean readBoolean() {
+        return readLong() != 0;
+    }
+
+    public double readDouble() {
+        expect(WIRE_FIXED64);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (in.get() & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String readString() {
+        expect(WIRE_BYTES);
+        int length = length();
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    public byte[] readBytes() {
+        expect(WIRE_BYTES);
+        byte[] bytes = new byte[length()];
+        in.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Enters a nested message; fields are then read until {@link #nextField()} returns 0.
+     */
+    public void enterNested() {
+        expect(WIRE_NESTED);
+        fixed32();
+    }
+
+    public boolean isNested() {
+        return wireType == WIRE_NESTED;
+    }
+
+    /** Skips the value of the field just read by {@link #nextField()} */
+    public void skip() {
+        switch (wireType) {
+            case WIRE_VARINT -> varint();
+            case WIRE_FIXED64 -> {
+                if (in.remaining() < 8) {
+                    throw new CodecException("Fixed64 value exceeds remaining " + in.remaining() + " bytes");
+                }
+                in.position(in.position() + 8);
+            }
+            case WIRE_BYTES -> {
+                int length = length();
+                in.position(in.position() + length);
+            }
+            case WIRE_NESTED -> {
+                int length = fixed32();
+                in.position(in.position() + length);
+            }
+            default -> throw new CodecException("Unknown wire type " + wireType);
+        }
+    }
+
+    private void expect(int expected) {
+        if (wireType != expected) {
+            throw new CodecException("Expected wire type " + expected + " but found " + wireType);
+        }
+    }
+
+    private int length() {
+        long length = varint();
+        if (length < 0 || length > in.remaining()) {
+            throw new CodecException("Length " + length + " exceeds remaining " + in.remaining() + " bytes");
+        }
+        return (int) length;
+    }
+
+    private int fixed32() {
+        int value = ((in.get() & 0xFF) << 24) | ((in.get() & 0xFF) << 16) | ((in.get() & 0xFF) << 8) | (in.get() & 0xFF);
+        if (value < 0 || value > in.remaining()) {
+            throw new CodecException("Nested length " + value + " exceeds remaining " + in.remaining() + " bytes");
+        }
+        return value;
+    }
+
+    private long varint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new CodecException("Malformed varint");
+    }
+}
@@ -0,0 +1,175 @@
+package org.github.Alyas100.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Low-level writer for the tagged wire format (see {@link JobCodec}).
+ *
+ * <p>Writes into a caller-supplied buffer (throwing {@link BufferOverflowException} when it
+ * is full) or into its own growable heap buffer. Multi-byte fixed values are always
+ * big-endian, whatever the buffer's byte order.</p>
+ *
+ * <p>Public so codecs in other modules (cluster events) share the same format.</p>
+ */
+public final class CodecWriter {
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_FIXED64 = 1;
+    static final int WIRE_BYTES = 2;
+    static final int WIRE_NESTED = 3;
+
+    private ByteBuffer buffer;
+    private final boolean growable;
+
+    public CodecWriter(ByteBuffer target) {
+        this.buffer = target;
+        this.growable = false;
+    }
+
+    public CodecWriter(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(initialCapacity);
+        this.growable = true;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public void header(int version, int type) {
+        ensure(2);
+        buffer.put((byte) version);
+        buffer.put((byte) type);
+    }
+
+    public void end() {
+        ensure(1);
+        buffer.put((byte) 0);
+    }
+
+    public void longField(int field, long value) {
+        tag(field, WIRE_VARINT);
+        varint((value << 1) ^ (value >> 63)); // zigzag keeps small negatives small
+    }
+
+    public void booleanField(int field, boolean value) {
+        if (value) {
+            longField(field, 1);
+        }
+    }
+
+    public void doubleField(int field, double value) {
+        tag(field, WIRE_FIXED64);
+        fixed64(Double.doubleToRawLongBits(value));
+    }
+
+    public void stringField(int field, String value) {
+        if (value == null) {
+            return;
+        }
+        tag(field, WIRE_BYTES);
+        int length = utf8Length(value);
+        varint(length);
+        ensure(length);
+        int chars = value.length();
+        for (int i = 0; i < chars; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?'); // unpaired surrogate, same replacement as String.getBytes
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    public void bytesField(int field, byte[] value) {
+        tag(field, WIRE_BYTES);
+        varint(value.length);
+        ensure(value.length);
+        buffer.put(value);
+    }
+
+    /**
+     * Starts a nested message; its length is patched in by {@link #endNested(int)}.
+     */
+    public int beginNested(int field) {
+        tag(field, WIRE_NESTED);
+        ensure(4);
+        int lengthAt = buffer.position();
+        buffer.position(lengthAt + 4);
+        return lengthAt;
+    }
+
+    public void endNested(int lengthAt) {
+        end();
+        int length = buffer.position() - lengthAt - 4;
+        buffer.put(lengthAt, (byte) (length >>> 24));
+        buffer.put(lengthAt + 1, (byte) (length >>> 16));
+        buffer.put(lengthAt + 2, (byte) (length >>> 8));
+        buffer.put(lengthAt + 3, (byte) length);
+    }
+
+    private void tag(int field, int wireType) {
+        varint(((long) field << 2) | wireType);
+    }
+
+    private void varint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void fixed64(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer.put((byte) (value >>> shift));
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (!growable) {
+            throw new BufferOverflowException();
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2; // 4 bytes for the pair of chars
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,543 @@
+package org.github.Alyas100.codec;
+
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.MisfirePolicy;
+import org.github.Alyas100.RetryPolicy;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact, versioned binary codec for {@link JobDefinition} and every {@link JobExecutionResult}.
+ *
+ * <p>A message is {@code [byte formatVersion][byte type]} followed by tagged fields and a
+ * terminating zero tag. A tag is a varint of {@code fieldNumber << 2 | wireType}; wire types
+ * are varint (zigzag integers, booleans, durations in nanos), fixed64 (doubles), length-prefixed
+ * bytes (UTF-8 strings) and nested messages with a 4-byte length (maps, retry policy, causes).
+ * Absent fields take their default (null, 0, false), so unset values cost nothing.</p>
+ *
+ * <p><b>Schema evolution:</b> new fields get new numbers and old readers skip fields they do
+ * not know. Field numbers are never reused. {@link #FORMAT_VERSION} only changes for an
+ * incompatible layout change; readers reject versions newer than their own.</p>
+ *
+ * <p>Decoding reads straight from the given {@link ByteBuffer} (heap or direct) and leaves
+ * its position after the message, so messages can be read back to back from one buffer.</p>
+ *
+ * <p>Map values keep String, Integer, Long, Double, Float, Boolean, byte[], nested Map and
+ * List types; anything else is stored as its {@code toString()}. Failure causes come back as
+ * {@link RemoteThrowable}.</p>
+ */
+public final class JobCodec {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int TYPE_JOB_DEFINITION = 1;
+    private static final int TYPE_SUCCESS = 2;
+    private static final int TYPE_FAILURE = 3;
+    private static final int TYPE_PARTIAL_SUCCESS = 4;
+    private static final int TYPE_CANCELLED = 5;
+
+    // Value fields shared by map entries (key = 1) and list items
+    private static final int VALUE_STRING = 2;
+    private static final int VALUE_INT = 3;
+    private static final int VALUE_LONG = 4;
+    private static final int VALUE_DOUBLE = 5;
+    private static final int VALUE_BOOLEAN = 6;
+    private static final int VALUE_BYTES = 7;
+    private static final int VALUE_MAP = 8;
+    private static final int VALUE_LIST = 9;
+    private static final int VALUE_FLOAT = 10;
+
+    private static final int MAX_CAUSE_DEPTH = 8;
+    private static final int MAX_STACK_FRAMES = 32;
+    private static final int MAX_CANONICAL_STRINGS = 4096;
+
+    // Plugin names, cron expressions and map keys repeat across millions of decoded jobs
+    private static final Map<String, String> CANONICAL = new ConcurrentHashMap<>();
+
+    private JobCodec() {
+    }
+
+    // ---- JobDefinition ----
+
+    public static byte[] encode(JobDefinition job) {
+        CodecWriter writer = new CodecWriter(256);
+        writeJob(writer, job);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes at the buffer's position.
+     *
+     * @throws BufferOverflowException if the buffer is too small (position is then undefined)
+     */
+    public static void encode(JobDefinition job, ByteBuffer out) {
+        writeJob(new CodecWriter(out), job);
+    }
+
+    public static JobDefinition decodeJobDefinition(byte[] bytes) {
+        return decodeJobDefinition(ByteBuffer.wrap(bytes));
+    }
+
+    public static JobDefinition decodeJobDefinition(ByteBuffer in) {
+        try {
+            CodecReader reader = new CodecReader(in);
+            int type = readHeader(reader);
+            if (type != TYPE_JOB_DEFINITION) {
+                throw new CodecException("Expected a job definition but found type " + type);
+            }
+            return readJob(reader);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new CodecException("Truncated job definition", e);
+        }
+    }
+
+    // ---- JobExecutionResult ----
+
+    public static byte[] encode(JobExecutionResult result) {
+        CodecWriter writer = new CodecWriter(128);
+        writeResult(writer, result);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes at the buffer's position.
+     *
+     * @throws BufferOverflowException if the buffer is too small (position is then undefined)
+     */
+    public static void encode(JobExecutionResult result, ByteBuffer out) {
+        writeResult(new CodecWriter(out), result);
+    }
+
+    public static JobExecutionResult decodeResult(byte[] bytes) {
+        return decodeResult(ByteBuffer.wrap(bytes));
+    }
+
+    public static JobExecutionResult decodeResult(ByteBuffer in) {
+        try {
+            CodecReader reader = new CodecReader(in);
+            int type = readHeader(reader);
+            return switch (type) {
+                case TYPE_SUCCESS -> readSuccess(reader);
+                case TYPE_FAILURE -> readFailure(reader);
+                case TYPE_PARTIAL_SUCCESS -> readPartialSuccess(reader);
+                case TYPE_CANCELLED -> readCancelled(reader);
+                default -> throw new CodecException("Expected an execution result but found type " + type);
+            };
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new CodecException("Truncated execution result", e);
+        }
+    }
+
+    // ---- writers ----
+
+    private static void writeJob(CodecWriter writer, JobDefinition job) {
+        writer.header(FORMAT_VERSION, TYPE_JOB_DEFINITION);
+        writer.stringField(1, job.jobId());
+        writer.stringField(2, job.jobName());
+        writer.stringField(3, job.pluginName());
+        writer.stringField(4, job.cronExpression());
+        writeMap(writer, 5, job.parameters());
+        RetryPolicy retry = job.retryPolicy();
+        if (retry != null) {
+            int at = writer.beginNested(6);
+            writeDuration(writer, 1, retry.initialDelay());
+            writeDuration(writer, 2, retry.maxDelay());
+            writer.doubleField(3, retry.backoffMultiplier());
+            writer.booleanField(4, retry.exponentialBackoff());
+            writer.endNested(at);
+        }
+        writeDuration(writer, 7, job.timeout());
+        if (job.maxRetries() != 0) {
+            writer.longField(8, job.maxRetries());
+        }
+        writer.booleanField(9, job.enabled());
+        if (job.misfirePolicy() != MisfirePolicy.FIRE_ONCE) {
+            writer.stringField(10, job.misfirePolicy().name());
+        }
+        writer.end();
+    }
+
+    private static void writeResult(CodecWriter writer, JobExecutionResult result) {
+        if (result instanceof JobExecutionResult.Success s) {
+            writer.header(FORMAT_VERSION, TYPE_SUCCESS);
+            writer.stringField(1, s.message());
+            writeMap(writer, 2, s.outputData());
+            writeDuration(writer, 3, s.executionDuration());
+            writeNonZero(writer, 4, s.outputSizeBytes());
+        } else if (result instanceof JobExecutionResult.Failure f) {
+            writer.header(FORMAT_VERSION, TYPE_FAILURE);
+            writer.stringField(1, f.errorMessage());
+            writeThrowable(writer, 2, f.cause(), 0);
+            writeDuration(writer, 3, f.executionDuration());
+            writer.booleanField(4, f.shouldRetry());
+            // By name, so reordering or extending ErrorType cannot change decoded values
+            writer.stringField(5, f.errorType() == null ? null : f.errorType().name());
+            writeNonZero(writer, 6, f.retryCount());
+        } else if (result instanceof JobExecutionResult.PartialSuccess p) {
+            writer.header(FORMAT_VERSION, TYPE_PARTIAL_SUCCESS);
+            writer.stringField(1, p.message());
+            writeMap(writer, 2, p.partialOutput());
+            writer.stringField(3, p.warning());
+            writeDuration(writer, 4, p.executionDuration());
+            writeNonZero(writer, 5, p.successCount());
+            writeNonZero(writer, 6, p.failureCount());
+        } else if (result instanceof JobExecutionResult.Cancelled c) {
+            writer.header(FORMAT_VERSION, TYPE_CANCELLED);
+            writer.stringField(1, c.reason());
+            writer.stringField(2, c.cancelledBy());
+            writeDuration(writer, 3, c.executionDuration());
+            writeNonZero(writer, 4, c.progressPercentage());
+        } else {
+            throw new IllegalArgumentException("Unsupported result type: " + result);
+        }
+        writer.end();
+    }
+
+    private static void writeNonZero(CodecWriter writer, int field, long value) {
+        if (value != 0) {
+            writer.longField(field, value);
+        }
+    }
+
+    /** Durations are nanos; anything beyond ~292 years saturates */
+    private static void writeDuration(CodecWriter writer, int field, Duration duration) {
+        if (duration == null) {
+            return;
+        }
+        long nanos;
+        try {
+            nanos = duration.toNanos();
+        } catch (ArithmeticException e) {
+            nanos = duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        writer.longField(field, nanos);
+    }
+
+    private static void writeMap(CodecWriter writer, int field, Map<String, ?> map) {
+        if (map == null) {
+            return;
+        }
+        int at = writer.beginNested(field);
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            int entryAt = writer.beginNested(1);
+            writer.stringField(1, entry.getKey());
+            writeValue(writer, entry.getValue());
+            writer.endNested(entryAt);
+        }
+        writer.endNested(at);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeValue(CodecWriter writer, Object value) {
+        if (value == null) {
+            return; // absent value field decodes as null
+        }
+        if (value instanceof String s) {
+            writer.stringField(VALUE_STRING, s);
+        } else if (value instanceof Integer i) {
+            writer.longField(VALUE_INT, i);
+        } else if (value instanceof Long l) {
+            writer.longField(VALUE_LONG, l);
+        } else if (value instanceof Double d) {
+            writer.doubleField(VALUE_DOUBLE, d);
+        } else if (value instanceof Float f) {
+            writer.doubleField(VALUE_FLOAT, f);
+        } else if (value instanceof Boolean b) {
+            writer.longField(VALUE_BOOLEAN, b ? 1 : 0);
+        } else if (value instanceof byte[] bytes) {
+            writer.bytesField(VALUE_BYTES, bytes);
+        } else if (value instanceof Map<?, ?> nested) {
+            Map<String, Object> stringKeyed = new LinkedHashMap<>();
+            nested.forEach((k, v) -> stringKeyed.put(String.valueOf(k), v));
+            writeMap(writer, VALUE_MAP, stringKeyed);
+        } else if (value instanceof Collection<?> items) {
+            int at = writer.beginNested(VALUE_LIST);
+            for (Object item : items) {
+                int itemAt = writer.beginNested(1);
+                writeValue(writer, item);
+                writer.endNested(itemAt);
+            }
+            writer.endNested(at);
+        } else {
+            writer.stringField(VALUE_STRING, value.toString());
+        }
+    }
+
+    private static void writeThrowable(CodecWriter writer, int field, Throwable throwable, int depth) {
+        if (throwable == null || depth >= MAX_CAUSE_DEPTH) {
+            return;
+        }
+        int at = writer.beginNested(field);
+        writer.stringField(1, throwable instanceof RemoteThrowable remote
+                ? remote.getOriginalClassName() : throwable.getClass().getName());
+        writer.stringField(2, throwable.getMessage());
+        StackTraceElement[] frames = throwable.getStackTrace();
+        for (int i = 0; i < Math.min(frames.length, MAX_STACK_FRAMES); i++) {
+            int frameAt = writer.beginNested(3);
+            writer.stringField(1, frames[i].getClassName());
+            writer.stringField(2, frames[i].getMethodName());
+            writer.stringField(3, frames[i].getFileName());
+            writer.longField(4, frames[i].getLineNumber());
+            writer.endNested(frameAt);
+        }
+        if (throwable.getCause() != throwable) {
+            writeThrowable(writer, 4, throwable.getCause(), depth + 1);
+        }
+        writer.endNested(at);
+    }
+
+    // ---- readers ----
+
+    private static int readHeader(CodecReader reader) {
+        int version = reader.readByte();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new CodecException("Unsupported format version " + version + " (this reader supports up to " + FORMAT_VERSION + ")");
+        }
+        return reader.readByte();
+    }
+
+    private static JobDefinition readJob(CodecReader reader) {
+        String jobId = null, jobName = null, pluginName = null, cron = null;
+        Map<String, Object> parameters = null;
+        RetryPolicy retry = null;
+        Duration timeout = null;
+        int maxRetries = 0;
+        boolean enabled = false;
+        MisfirePolicy misfirePolicy = null;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> jobId = reader.readString();
+                case 2 -> jobName = reader.readString();
+                case 3 -> pluginName = canonical(reader.readString());
+                case 4 -> cron = canonical(reader.readString());
+                case 5 -> parameters = readMap(reader);
+                case 6 -> retry = readRetryPolicy(reader);
+                case 7 -> timeout = Duration.ofNanos(reader.readLong());
+                case 8 -> maxRetries = reader.readInt();
+                case 9 -> enabled = reader.readBoolean();
+                case 10 -> misfirePolicy = misfirePolicy(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return new JobDefinition(jobId, jobName, pluginName, cron, parameters, retry, timeout, maxRetries, enabled,
+                misfirePolicy);
+    }
+
+    private static RetryPolicy readRetryPolicy(CodecReader reader) {
+        reader.enterNested();
+        Duration initialDelay = null, maxDelay = null;
+        double multiplier = 0;
+        boolean exponential = false;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> initialDelay = Duration.ofNanos(reader.readLong());
+                case 2 -> maxDelay = Duration.ofNanos(reader.readLong());
+                case 3 -> multiplier = reader.readDouble();
+                case 4 -> exponential = reader.readBoolean();
+                default -> reader.skip();
+            }
+        }
+        return new RetryPolicy(initialDelay, maxDelay, multiplier, exponential);
+    }
+
+    private static JobExecutionResult readSuccess(CodecReader reader) {
+        String message = null;
+        Map<String, Object> output = null;
+        Duration duration = null;
+        long outputSize = 0;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> message = reader.readString();
+                case 2 -> output = readMap(reader);
+                case 3 -> duration = Duration.ofNanos(reader.readLong());
+                case 4 -> outputSize = reader.readLong();
+                default -> reader.skip();
+            }
+        }
+        return new JobExecutionResult.Success(message, output, duration, outputSize);
+    }
+
+    private static JobExecutionResult readFailure(CodecReader reader) {
+        String message = null;
+        Throwable cause = null;
+        Duration duration = null;
+        boolean shouldRetry = false;
+        ErrorType errorType = null;
+        int retryCount = 0;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> message = reader.readString();
+                case 2 -> cause = readThrowable(reader);
+                case 3 -> duration = Duration.ofNanos(reader.readLong());
+                case 4 -> shouldRetry = reader.readBoolean();
+                case 5 -> errorType = errorType(reader.readString());
+                case 6 -> retryCount = reader.readInt();
+                default -> reader.skip();
+            }
+        }
+        return new JobExecutionResult.Failure(message, cause, duration, shouldRetry, errorType, retryCount);
+    }
+
+    private static JobExecutionResult readPartialSuccess(CodecReader reader) {
+        String message = null, warning = null;
+        Map<String, Object> output = null;
+        Duration duration = null;
+        int successCount = 0, failureCount = 0;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> message = reader.readString();
+                case 2 -> output = readMap(reader);
+                case 3 -> warning = reader.readString();
+                case 4 -> duration = Duration.ofNanos(reader.readLong());
+                case 5 -> successCount = reader.readInt();
+                case 6 -> failureCount = reader.readInt();
+                default -> reader.skip();
+            }
+        }
+        return new JobExecutionResult.PartialSuccess(message, output, warning, duration, successCount, failureCount);
+    }
+
+    private static JobExecutionResult readCancelled(CodecReader reader) {
+        String reason = null, cancelledBy = null;
+        Duration duration = null;
+        int progress = 0;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> reason = reader.readString();
+                case 2 -> cancelledBy = reader.readString();
+                case 3 -> duration = Duration.ofNanos(reader.readLong());
+                case 4 -> progress = reader.readInt();
+                default -> reader.skip();
+            }
+        }
+        return new JobExecutionResult.Cancelled(reason, cancelledBy, duration, progress);
+    }
+
+    private static String canonical(String value) {
+        String existing = CANONICAL.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (CANONICAL.size() >= MAX_CANONICAL_STRINGS) {
+            return value; // high-cardinality values are not worth sharing
+        }
+        existing = CANONICAL.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    private static ErrorType errorType(String name) {
+        try {
+            return ErrorType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return ErrorType.UNKNOWN_ERROR; // written by a newer version with more error types
+        }
+    }
+
+    private static MisfirePolicy misfirePolicy(String name) {
+        try {
+            return MisfirePolicy.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return MisfirePolicy.FIRE_ONCE; // written by a newer version with more policies
+        }
+    }
+
+    private static Map<String, Object> readMap(CodecReader reader) {
+        reader.enterNested();
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int field; (field = reader.nextField()) != 0; ) {
+            if (field != 1) {
+                reader.skip();
+                continue;
+            }
+            reader.enterNested();
+            String key = null;
+            Object value = null;
+            for (int entryField; (entryField = reader.nextField()) != 0; ) {
+                if (entryField == 1) {
+                    key = canonical(reader.readString());
+                } else {
+                    value = readValue(reader, entryField);
+                }
+            }
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    private static List<Object> readList(CodecReader reader) {
+        reader.enterNested();
+        List<Object> list = new ArrayList<>();
+        for (int field; (field = reader.nextField()) != 0; ) {
+            if (field != 1) {
+                reader.skip();
+                continue;
+            }
+            reader.enterNested();
+            Object value = null;
+            for (int itemField; (itemField = reader.nextField()) != 0; ) {
+                value = readValue(reader, itemField);
+            }
+            list.add(value);
+        }
+        return list;
+    }
+
+    private static Object readValue(CodecReader reader, int field) {
+        return switch (field) {
+            case VALUE_STRING -> reader.readString();
+            case VALUE_INT -> reader.readInt();
+            case VALUE_LONG -> reader.readLong();
+            case VALUE_DOUBLE -> reader.readDouble();
+            case VALUE_FLOAT -> (float) reader.readDouble();
+            case VALUE_BOOLEAN -> reader.readBoolean();
+            case VALUE_BYTES -> reader.readBytes();
+            case VALUE_MAP -> readMap(reader);
+            case VALUE_LIST -> readList(reader);
+            default -> {
+                reader.skip(); // value type added by a newer version
+                yield null;
+            }
+        };
+    }
+
+    private static RemoteThrowable readThrowable(CodecReader reader) {
+        reader.enterNested();
+        String className = null, message = null;
+        List<StackTraceElement> frames = new ArrayList<>();
+        RemoteThrowable cause = null;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> className = reader.readString();
+                case 2 -> message = reader.readString();
+                case 3 -> frames.add(readFrame(reader));
+                case 4 -> cause = readThrowable(reader);
+                default -> reader.skip();
+            }
+        }
+        RemoteThrowable throwable = new RemoteThrowable(className, message, cause);
+        throwable.setStackTrace(frames.toArray(new StackTraceElement[0]));
+        return throwable;
+    }
+
+    private static StackTraceElement readFrame(CodecReader reader) {
+        reader.enterNested();
+        String className = "", method = "", file = null;
+        int line = -1;
+        for (int field; (field = reader.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> className = reader.readString();
+                case 2 -> method = reader.readString();
+                case 3 -> file = reader.readString();
+                case 4 -> line = reader.readInt();
+                default -> reader.skip();
+            }
+        }
+        return new StackTraceElement(className, method, file, line);
+    }
+}
@@ -0,0 +1,32 @@
+package org.github.Alyas100.codec;
+
+/**
+ * Stand-in for a decoded failure cause.
+ *
+ * <p>The original exception class may not exist on the decoding side, so the codec keeps
+ * its class name, message, stack frames and cause chain and rebuilds them as this type.</p>
+ */
+public class RemoteThrowable extends RuntimeException {
+    private final String originalClassName;
+
+    public RemoteThrowable(String originalClassName, String message, RemoteThrowable cause) {
+        super(message, cause);
+        this.originalClassName = originalClassName;
+    }
+
+    public String getOriginalClassName() {
+        return originalClassName;
+    }
+
+    /** The stack trace comes from the encoded frames, not from where this object was created */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return message != null ? originalClassName + ": " + message : originalClassName;
+    }
+}
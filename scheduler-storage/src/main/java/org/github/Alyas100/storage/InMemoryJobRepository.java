@@ -3,13 +3,86 @@ package org.github.Alyas100.storage;
 import org.github.Alyas100.JobDefinition;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
+/**
+ * In-memory repository with secondary indexes on plugin name, enabled flag, cron expression
+ * and job-name prefix.
+ *
+ * <p>Index sets are ordered by job id so {@link #findJobs} can resume from a cursor and stop
+ * after one page. Writes to the same job id are serialized on a lock stripe; readers never
+ * lock, and re-check every indexed hit against the current definition, so a write racing
+ * with a query can delay a job's appearance but never return a non-matching job.</p>
+ *
+ * <p>Saves and deletes are appended to a {@link JobChangeLog} under the same stripe lock,
+ * so the feed orders the changes of one job exactly as they were applied. Job versions are
+ * bumped under that lock too, which makes {@link #updateJob} a compare-and-set.</p>
+ */
 public class InMemoryJobRepository implements JobRepository {
-    private final Map<String, JobDefinition> jobs = new ConcurrentHashMap<>();
+    private static final char NAME_KEY_SEPARATOR = '\u0000';
+    private static final int DEFAULT_CHANGE_RETENTION = 100_000;
+
+    private final ConcurrentSkipListMap<String, JobDefinition> jobs = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableSet<String>> byPlugin = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<String>> byCron = new ConcurrentHashMap<>();
+    private final NavigableSet<String> enabledIds = new ConcurrentSkipListSet<>();
+    private final NavigableSet<String> disabledIds = new ConcurrentSkipListSet<>();
+    private final NavigableSet<String> byName = new ConcurrentSkipListSet<>(); // "name\0jobId"
+    private final Map<String, TriggerState> triggerStates = new ConcurrentHashMap<>();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[64];
+    private final JobChangeLog changes;
+
+    public InMemoryJobRepository() {
+        this(DEFAULT_CHANGE_RETENTION);
+    }
+
+    /**
+     * @param changeRetention changes kept for {@link #getChanges}; 0 disables the change feed
+     */
+    public InMemoryJobRepository(int changeRetention) {
+        this.changes = changeRetention > 0 ? new JobChangeLog(changeRetention, 0) : null;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+    }
 
     @Override
     public void saveJob(JobDefinition job) {
-        jobs.put(job.jobId(), job);
+        synchronized (stripe(job.jobId())) {
+            put(job, versions.getOrDefault(job.jobId(), 0L) + 1);
+        }
+    }
+
+    @Override
+    public long updateJob(JobDefinition job, long expectedVersion) {
+        synchronized (stripe(job.jobId())) {
+            long current = versions.getOrDefault(job.jobId(), 0L);
+            if (current == 0 || (expectedVersion != ANY_VERSION && expectedVersion != current)) {
+                throw new JobVersionConflictException(job.jobId(), expectedVersion, current);
+            }
+            put(job, current + 1);
+            return current + 1;
+        }
+    }
+
+    /**
+     * Stores a job at the given version, for durable repositories rebuilding their state.
+     */
+    public void restoreJob(VersionedJob versioned) {
+        synchronized (stripe(versioned.job().jobId())) {
+            put(versioned.job(), versioned.version());
+        }
+    }
+
+    private void put(JobDefinition job, long version) {
+        JobDefinition previous = jobs.put(job.jobId(), job);
+        versions.put(job.jobId(), version);
+        reindex(previous, job);
+        if (changes != null) {
+            changes.append(previous == null ? JobChange.Type.CREATED : JobChange.Type.UPDATED, job.jobId(), job);
+        }
     }
 
     @Override
@@ -17,6 +90,21 @@ public class InMemoryJobRepository implements JobRepository {
         return Optional.ofNullable(jobs.get(jobId));
     }
 
+    @Override
+    public Optional<VersionedJob> getVersionedJob(String jobId) {
+        synchronized (stripe(jobId)) {
+            JobDefinition job = jobs.get(jobId);
+            return job != null ? Optional.of(new VersionedJob(job, versions.get(jobId))) : Optional.empty();
+        }
+    }
+
+    /**
+     * Current version of the job; 0 if it does not exist.
+     */
+    public long getVersion(String jobId) {
+        return versions.getOrDefault(jobId, 0L);
+    }
+
     @Override
     public List<JobDefinition> getAllJobs() {
         return new ArrayList<>(jobs.values());
@@ -24,11 +112,202 @@ public class InMemoryJobRepository implements JobRepository {
 
     @Override
     public JobDefinition deleteJob(String jobId) {
-        return jobs.remove(jobId); // user can see or acces the removed job
+        synchronized (stripe(jobId)) {
+            JobDefinition removed = jobs.remove(jobId);
+            if (removed != null) {
+                reindex(removed, null);
+                versions.remove(jobId);
+            }
+            triggerStates.remove(jobId);
+            if (removed != null && changes != null) {
+                changes.append(JobChange.Type.DELETED, jobId, null);
+            }
+            return removed; // user can see or acces the removed job
+        }
     }
 
     @Override
     public boolean jobExists(String jobId) {
         return jobs.containsKey(jobId);
     }
-}
\ No newline at end of file
+
+    public int getJobCount() {
+        return jobs.size();
+    }
+
+    /**
+     * Checked under the job's lock stripe, so a late state write cannot outlive a delete.
+     */
+    @Override
+    public void saveTriggerStates(Collection<TriggerState> states) {
+        for (TriggerState state : states) {
+            synchronized (stripe(state.jobId())) {
+                if (jobs.containsKey(state.jobId())) {
+                    triggerStates.put(state.jobId(), state);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Map<String, TriggerState> getTriggerStates(Collection<String> jobIds) {
+        Map<String, TriggerState> found = new HashMap<>();
+        for (String jobId : jobIds) {
+            TriggerState state = triggerStates.get(jobId);
+            if (state != null) {
+                found.put(jobId, state);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public boolean hasChangeFeed() {
+        return changes != null;
+    }
+
+    @Override
+    public long getLatestChangeSequence() {
+        return changes != null ? changes.latestSequence() : 0;
+    }
+
+    @Override
+    public JobChangePage getChanges(long afterSequence, int limit) {
+        return changes != null ? changes.changesAfter(afterSequence, limit) : JobChangePage.truncated(afterSequence);
+    }
+
+    @Override
+    public void awaitChangesAfter(long afterSequence, long timeoutMillis) throws InterruptedException {
+        if (changes != null) {
+            changes.awaitChangesAfter(afterSequence, timeoutMillis);
+        } else {
+            Thread.sleep(timeoutMillis);
+        }
+    }
+
+    /**
+     * Every stored job with its version, for snapshots.
+     */
+    public List<VersionedJob> getAllVersionedJobs() {
+        List<VersionedJob> all = new ArrayList<>(jobs.size());
+        for (Map.Entry<String, JobDefinition> entry : jobs.entrySet()) {
+            Long version = versions.get(entry.getKey());
+            if (version != null) {
+                all.add(new VersionedJob(entry.getValue(), version));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Every stored trigger state, for snapshots.
+     */
+    public List<TriggerState> getAllTriggerStates() {
+        return new ArrayList<>(triggerStates.values());
+    }
+
+    /**
+     * Walks the most selective index from the cursor and stops after one page. Results are in
+     * job id order, or name order when the name prefix is the only filter (cursors are only
+     * valid for the query that produced them).
+     */
+    @Override
+    public JobPage findJobs(JobQuery query, String cursor, int pageSize) {
+        NavigableSet<String> candidates;
+        boolean nameOrdered = false;
+        if (query.pluginName() != null) {
+            candidates = byPlugin.getOrDefault(query.pluginName(), Collections.emptyNavigableSet());
+        } else if (query.cronExpression() != null) {
+            candidates = byCron.getOrDefault(query.cronExpression(), Collections.emptyNavigableSet());
+        } else if (query.enabled() != null) {
+            candidates = query.enabled() ? enabledIds : disabledIds;
+        } else if (query.namePrefix() != null) {
+            String prefix = query.namePrefix();
+            candidates = byName.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+            nameOrdered = true;
+        } else {
+            candidates = jobs.navigableKeySet();
+        }
+        if (cursor != null) {
+            candidates = candidates.tailSet(cursor, false);
+        }
+
+        List<JobDefinition> page = new ArrayList<>(Math.min(pageSize, 1024));
+        String lastKey = null;
+        for (String key : candidates) {
+            JobDefinition job = jobs.get(nameOrdered ? key.substring(key.lastIndexOf(NAME_KEY_SEPARATOR) + 1) : key);
+            if (job == null || !query.matches(job)) {
+                continue; // stale index entry of a concurrent write, or filtered by another field
+            }
+            if (page.size() == pageSize) {
+                return new JobPage(page, lastKey);
+            }
+            page.add(job);
+            lastKey = key;
+        }
+        return new JobPage(page, null);
+    }
+
+    /**
+     * Moves a job's index entries from {@code previous} to {@code next} (either may be null).
+     * Only keys that changed are touched, the new one added before the old one is removed, so
+     * a query the job matches both before and after the write finds it throughout.
+     */
+    private void reindex(JobDefinition previous, JobDefinition next) {
+        String jobId = next != null ? next.jobId() : previous.jobId();
+        String oldPlugin = previous != null ? previous.pluginName() : null;
+        String newPlugin = next != null ? next.pluginName() : null;
+        if (!Objects.equals(oldPlugin, newPlugin)) {
+            addKey(byPlugin, newPlugin, jobId);
+            removeKey(byPlugin, oldPlugin, jobId);
+        }
+        String oldCron = previous != null ? previous.cronExpression() : null;
+        String newCron = next != null ? next.cronExpression() : null;
+        if (!Objects.equals(oldCron, newCron)) {
+            addKey(byCron, newCron, jobId);
+            removeKey(byCron, oldCron, jobId);
+        }
+        Boolean wasEnabled = previous != null ? previous.enabled() : null;
+        Boolean isEnabled = next != null ? next.enabled() : null;
+        if (!Objects.equals(wasEnabled, isEnabled)) {
+            if (isEnabled != null) {
+                (isEnabled ? enabledIds : disabledIds).add(jobId);
+            }
+            if (wasEnabled != null) {
+                (wasEnabled ? enabledIds : disabledIds).remove(jobId);
+            }
+        }
+        String oldName = previous != null ? previous.jobName() : null;
+        String newName = next != null ? next.jobName() : null;
+        if (!Objects.equals(oldName, newName)) {
+            if (newName != null) {
+                byName.add(nameKey(next));
+            }
+            if (oldName != null) {
+                byName.remove(nameKey(previous));
+            }
+        }
+    }
+
+    private static void addKey(Map<String, NavigableSet<String>> index, String key, String jobId) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(jobId);
+        }
+    }
+
+    // Emptied plugin/cron sets are kept; their keys are a small, bounded vocabulary
+    private static void removeKey(Map<String, NavigableSet<String>> index, String key, String jobId) {
+        NavigableSet<String> ids = key != null ? index.get(key) : null;
+        if (ids != null) {
+            ids.remove(jobId);
+        }
+    }
+
+    private static String nameKey(JobDefinition job) {
+        return job.jobName() + NAME_KEY_SEPARATOR + job.jobId();
+    }
+
+    private Object stripe(String jobId) {
+        return stripes[(jobId.hashCode() & 0x7fffffff) % stripes.length];
+    }
+}
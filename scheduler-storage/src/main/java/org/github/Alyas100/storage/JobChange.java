@@ -0,0 +1,18 @@
+package org.github.Alyas100.storage;
+
+import org.github.Alyas100.JobDefinition;
+
+/**
+ * One entry of a repository's change feed.
+ *
+ * @param sequence position in the feed; strictly increasing, but not necessarily contiguous
+ * @param job the definition after the change; null for deletes
+ */
+public record JobChange(long sequence, Type type, String jobId, JobDefinition job) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
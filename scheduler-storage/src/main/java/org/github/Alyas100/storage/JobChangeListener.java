@@ -0,0 +1,16 @@
+package org.github.Alyas100.storage;
+
+/**
+ * Receives the changes of a {@link JobWatch}, in sequence order, on the watch's thread.
+ */
+public interface JobChangeListener {
+
+    void onChange(JobChange change);
+
+    /**
+     * The changes after the watched sequence are gone (or the repository has no change feed).
+     * The watch stops; reload every job and watch again from {@code latestSequence}.
+     */
+    default void onResyncRequired(long latestSequence) {
+    }
+}
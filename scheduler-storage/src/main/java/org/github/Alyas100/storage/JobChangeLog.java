@@ -0,0 +1,64 @@
+package org.github.Alyas100.storage;
+
+import org.github.Alyas100.JobDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded in-memory change feed for repositories that keep their state in memory.
+ *
+ * <p>Changes live in a ring of {@code retention} entries; a reader that falls further behind
+ * gets a truncated page and has to reload. Sequences start after {@code startSequence}, which
+ * durable stores set above every sequence a previous incarnation could have handed out, so
+ * a reader resuming across a restart is told to reload instead of silently skipping changes.</p>
+ */
+public class JobChangeLog {
+    private final JobChange[] ring;
+    private final long startSequence;
+    private long latestSequence; // guarded by this
+
+    public JobChangeLog(int retention, long startSequence) {
+        this.ring = new JobChange[Math.max(1, retention)];
+        this.startSequence = startSequence;
+        this.latestSequence = startSequence;
+    }
+
+    public synchronized JobChange append(JobChange.Type type, String jobId, JobDefinition job) {
+        JobChange change = new JobChange(++latestSequence, type, jobId, job);
+        ring[(int) (latestSequence % ring.length)] = change;
+        notifyAll();
+        return change;
+    }
+
+    public synchronized long latestSequence() {
+        return latestSequence;
+    }
+
+    public synchronized JobChangePage changesAfter(long afterSequence, int limit) {
+        long oldest = Math.max(startSequence + 1, latestSequence - ring.length + 1);
+        if (afterSequence < oldest - 1 || afterSequence > latestSequence) {
+            return JobChangePage.truncated(afterSequence); // too old, or from another incarnation
+        }
+        long last = Math.min(latestSequence, afterSequence + Math.max(0, limit));
+        List<JobChange> changes = new ArrayList<>((int) (last - afterSequence));
+        for (long sequence = afterSequence + 1; sequence <= last; sequence++) {
+            changes.add(ring[(int) (sequence % ring.length)]);
+        }
+        return new JobChangePage(changes, last, false);
+    }
+
+    /**
+     * Waits until a change after {@code afterSequence} is appended or the timeout passes.
+     */
+    public synchronized void awaitChangesAfter(long afterSequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (latestSequence <= afterSequence) {
+            long wait = deadline - System.currentTimeMillis();
+            if (wait <= 0) {
+                return;
+            }
+            wait(wait);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.github.Alyas100.storage;
+
+import java.util.List;
+
+/**
+ * One batch of {@link JobRepository#getChanges} results.
+ *
+ * @param lastSequence sequence to resume from: the last returned change, or the requested one if none
+ * @param truncated changes after the requested sequence are no longer retained; reload every job
+ *                  and resume from {@link JobRepository#getLatestChangeSequence()} read before the reload
+ */
+public record JobChangePage(List<JobChange> changes, long lastSequence, boolean truncated) {
+
+    public static JobChangePage truncated(long afterSequence) {
+        return new JobChangePage(List.of(), afterSequence, true);
+    }
+}
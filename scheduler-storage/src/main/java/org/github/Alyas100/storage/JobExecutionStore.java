@@ -4,9 +4,19 @@ import org.github.Alyas100.JobExecutionResult;
 import java.time.Instant;
 import java.util.List;
 
-public interface JobExecutionStore {
+public interface JobExecutionStore extends AutoCloseable {
     void saveExecution(String jobId, JobExecutionResult result, Instant executedAt);
     List<ExecutionRecord> getExecutionHistory(String jobId, int limit);
 
+    /**
+     * Drops raw executions older than {@code cutoff}, for stores that support it. Stores may
+     * keep some older records when they delete in coarser units (whole segments).
+     */
+    default void deleteExecutionsBefore(Instant cutoff) {}
+
+    /** Releases files, connections or threads held by the store */
+    @Override
+    default void close() {}
+
     record ExecutionRecord(String jobId, JobExecutionResult result, Instant executedAt) {}
-}
\ No newline at end of file
+}
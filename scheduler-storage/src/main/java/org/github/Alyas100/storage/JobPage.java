@@ -0,0 +1,17 @@
+package org.github.Alyas100.storage;
+
+import org.github.Alyas100.JobDefinition;
+
+import java.util.List;
+
+/**
+ * One page of {@link JobRepository#findJobs} results.
+ *
+ * @param nextCursor opaque cursor for the next page of the same query; null on the last page
+ */
+public record JobPage(List<JobDefinition> jobs, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
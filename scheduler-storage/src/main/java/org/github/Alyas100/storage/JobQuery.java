@@ -0,0 +1,46 @@
+package org.github.Alyas100.storage;
+
+import org.github.Alyas100.JobDefinition;
+
+/**
+ * Filter for {@link JobRepository#findJobs}; null fields match everything.
+ *
+ * <pre>{@code
+ * JobQuery query = JobQuery.all().withPluginName("email-sender").withEnabled(true);
+ * }</pre>
+ */
+public record JobQuery(
+        String pluginName,
+        Boolean enabled,
+        String cronExpression,
+        String namePrefix
+) {
+    private static final JobQuery ALL = new JobQuery(null, null, null, null);
+
+    public static JobQuery all() {
+        return ALL;
+    }
+
+    public JobQuery withPluginName(String pluginName) {
+        return new JobQuery(pluginName, enabled, cronExpression, namePrefix);
+    }
+
+    public JobQuery withEnabled(Boolean enabled) {
+        return new JobQuery(pluginName, enabled, cronExpression, namePrefix);
+    }
+
+    public JobQuery withCronExpression(String cronExpression) {
+        return new JobQuery(pluginName, enabled, cronExpression, namePrefix);
+    }
+
+    public JobQuery withNamePrefix(String namePrefix) {
+        return new JobQuery(pluginName, enabled, cronExpression, namePrefix);
+    }
+
+    public boolean matches(JobDefinition job) {
+        return (pluginName == null || pluginName.equals(job.pluginName()))
+                && (enabled == null || enabled == job.enabled())
+                && (cronExpression == null || cronExpression.equals(job.cronExpression()))
+                && (namePrefix == null || (job.jobName() != null && job.jobName().startsWith(namePrefix)));
+    }
+}
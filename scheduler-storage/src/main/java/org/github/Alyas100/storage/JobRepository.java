@@ -1,13 +1,167 @@
 package org.github.Alyas100.storage;
 
 import org.github.Alyas100.JobDefinition;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public interface JobRepository extends AutoCloseable {
+    /** Expected version that matches any existing job */
+    long ANY_VERSION = -1;
 
-public interface JobRepository {
     void saveJob(JobDefinition job);
     Optional<JobDefinition> getJob(String jobId);
     List<JobDefinition> getAllJobs();
     JobDefinition deleteJob(String jobId);
     boolean jobExists(String jobId);
-}
\ No newline at end of file
+
+    /** Saves many jobs; durable stores override this to pay for one sync instead of one per job */
+    default void saveJobs(Collection<JobDefinition> jobs) {
+        jobs.forEach(this::saveJob);
+    }
+
+    /**
+     * Returns the job with its current version. The default reports every job at version 1,
+     * which only suits repositories that do not override {@link #updateJob}.
+     */
+    default Optional<VersionedJob> getVersionedJob(String jobId) {
+        return getJob(jobId).map(job -> new VersionedJob(job, 1));
+    }
+
+    /**
+     * Replaces an existing job in place if it is still at {@code expectedVersion}
+     * ({@link #ANY_VERSION} skips the check) and returns its new version. Unlike a delete
+     * followed by a save, the job exists throughout, and keeps its trigger state.
+     *
+     * <p>The default checks and saves in two steps, so a concurrent writer can slip in
+     * between; the repositories of this module override it with an atomic check.</p>
+     *
+     * @throws JobVersionConflictException if the job does not exist or is at another version
+     */
+    default long updateJob(JobDefinition job, long expectedVersion) {
+        VersionedJob current = getVersionedJob(job.jobId())
+                .orElseThrow(() -> new JobVersionConflictException(job.jobId(), expectedVersion, 0));
+        if (expectedVersion != ANY_VERSION && expectedVersion != current.version()) {
+            throw new JobVersionConflictException(job.jobId(), expectedVersion, current.version());
+        }
+        saveJob(job);
+        return current.version() + 1;
+    }
+
+    /**
+     * Returns up to {@code pageSize} jobs matching the query after {@code cursor} (null for the
+     * first page). Implementations with indexes override this; the default scans every job.
+     */
+    default JobPage findJobs(JobQuery query, String cursor, int pageSize) {
+        List<JobDefinition> matching = getAllJobs().stream()
+                .filter(query::matches)
+                .filter(job -> cursor == null || job.jobId().compareTo(cursor) > 0)
+                .sorted(Comparator.comparing(JobDefinition::jobId))
+                .limit(pageSize + 1L)
+                .toList();
+        if (matching.size() <= pageSize) {
+            return new JobPage(matching, null);
+        }
+        List<JobDefinition> page = matching.subList(0, pageSize);
+        return new JobPage(page, page.get(pageSize - 1).jobId());
+    }
+
+    /**
+     * Lazily walks every matching job page by page, without materializing the whole result.
+     */
+    default Stream<JobDefinition> streamJobs(JobQuery query) {
+        Iterator<JobDefinition> iterator = new Iterator<>() {
+            private JobPage page = findJobs(query, null, 500);
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                while (index >= page.jobs().size()) {
+                    if (!page.hasMore()) {
+                        return false;
+                    }
+                    page = findJobs(query, page.nextCursor(), 500);
+                    index = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public JobDefinition next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.jobs().get(index++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Lazily walks every job in job id order, one page at a time. Startup loading uses this
+     * instead of {@link #getAllJobs()} so the whole table is never held in one list.
+     */
+    default Stream<JobDefinition> streamAllJobs() {
+        return streamJobs(JobQuery.all());
+    }
+
+    /**
+     * Stores the trigger states of many jobs at once. States of jobs that do not exist (any
+     * more) are ignored. The default keeps nothing, so such repositories always recover
+     * triggers from "now".
+     */
+    default void saveTriggerStates(Collection<TriggerState> states) {}
+
+    /**
+     * Returns the stored trigger states of the given jobs, keyed by job id; jobs without a
+     * stored state are absent.
+     */
+    default Map<String, TriggerState> getTriggerStates(Collection<String> jobIds) {
+        return Map.of();
+    }
+
+    /**
+     * Whether {@link #getChanges} can return anything but truncated pages. Watching a
+     * repository without a feed would reload every job on every poll, so callers check this first.
+     */
+    default boolean hasChangeFeed() {
+        return false;
+    }
+
+    /**
+     * Sequence of the newest change in the feed. Read it before a full reload, then watch
+     * from it, so no change made during the reload is missed.
+     */
+    default long getLatestChangeSequence() {
+        return 0;
+    }
+
+    /**
+     * Returns up to {@code limit} create/update/delete changes after {@code afterSequence},
+     * oldest first. The default has no feed and always asks for a reload.
+     */
+    default JobChangePage getChanges(long afterSequence, int limit) {
+        return JobChangePage.truncated(afterSequence);
+    }
+
+    /**
+     * Blocks until a change after {@code afterSequence} may exist, at most {@code timeoutMillis}.
+     * The default just sleeps, which turns {@link JobWatch} into a poller.
+     */
+    default void awaitChangesAfter(long afterSequence, long timeoutMillis) throws InterruptedException {
+        Thread.sleep(timeoutMillis);
+    }
+
+    /**
+     * Delivers every change after {@code afterSequence}, then new ones as they are made,
+     * until the returned watch is closed.
+     */
+    default JobWatch watch(long afterSequence, JobChangeListener listener) {
+        return new JobWatch(this, afterSequence, listener);
+    }
+
+    /** Releases files, connections or threads held by the repository */
+    @Override
+    default void close() {}
+}
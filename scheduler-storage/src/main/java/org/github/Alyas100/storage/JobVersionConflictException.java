@@ -0,0 +1,34 @@
+package org.github.Alyas100.storage;
+
+/**
+ * Thrown by {@link JobRepository#updateJob} when the stored job is not at the expected version.
+ */
+public class JobVersionConflictException extends IllegalStateException {
+    private final String jobId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    /**
+     * @param actualVersion the stored version; 0 if the job does not exist
+     */
+    public JobVersionConflictException(String jobId, long expectedVersion, long actualVersion) {
+        super(actualVersion == 0
+                ? "Job not found: " + jobId
+                : "Job " + jobId + " is at version " + actualVersion + ", expected " + expectedVersion);
+        this.jobId = jobId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
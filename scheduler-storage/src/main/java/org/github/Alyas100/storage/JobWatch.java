@@ -0,0 +1,87 @@
+package org.github.Alyas100.storage;
+
+/**
+ * Follows a repository's change feed from a sequence on a daemon thread, handing each change
+ * to the listener in order. Between batches it blocks in
+ * {@link JobRepository#awaitChangesAfter}, which in-memory feeds end as soon as something is
+ * written and other repositories end after the poll interval.
+ */
+public class JobWatch implements AutoCloseable {
+    private static final int BATCH_SIZE = 1000;
+    private static final long POLL_INTERVAL_MILLIS = 500;
+
+    private final JobRepository repository;
+    private final JobChangeListener listener;
+    private final Thread thread;
+    private volatile long lastSequence;
+    private volatile boolean closed;
+
+    public JobWatch(JobRepository repository, long afterSequence, JobChangeListener listener) {
+        this.repository = repository;
+        this.listener = listener;
+        this.lastSequence = afterSequence;
+        this.thread = new Thread(this::run, "job-change-watch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Sequence of the last change handed to the listener; resume from here after a close.
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                JobChangePage page = repository.getChanges(lastSequence, BATCH_SIZE);
+                if (page.truncated()) {
+                    closed = true;
+                    listener.onResyncRequired(repository.getLatestChangeSequence());
+                    return;
+                }
+                for (JobChange change : page.changes()) {
+                    if (closed) {
+                        return;
+                    }
+                    try {
+                        listener.onChange(change);
+                    } catch (RuntimeException e) {
+                        System.out.println("⚠️ Job change listener failed on " + change.jobId() + ": " + e.getMessage());
+                    }
+                    lastSequence = change.sequence();
+                }
+                lastSequence = page.lastSequence();
+                if (page.changes().isEmpty()) {
+                    repository.awaitChangesAfter(lastSequence, POLL_INTERVAL_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                return; // closed
+            } catch (RuntimeException e) {
+                if (closed) {
+                    return;
+                }
+                System.out.println("⚠️ Job change feed read failed, retrying: " + e.getMessage());
+                try {
+                    Thread.sleep(POLL_INTERVAL_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
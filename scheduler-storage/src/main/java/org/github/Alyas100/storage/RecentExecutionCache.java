@@ -0,0 +1,332 @@
+package org.github.Alyas100.storage;
+
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobExecutionResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the most recent executions of each job, in front of any {@link JobExecutionStore}.
+ *
+ * <p>Every tracked job owns a fixed slot of {@code capacity} entries in three preallocated
+ * arrays shared by all jobs: execution time, duration in nanos and a byte holding the result
+ * and error type. There are no per-execution objects, and memory is fixed up front at about
+ * {@code maxTrackedJobs * capacity * 17} bytes plus the job id index. When every slot is taken
+ * the least recently used job (CLOCK approximation) gives its slot up.</p>
+ *
+ * <p>Saves go to the delegate and are appended to the job's ring. {@link #getExecutionHistory}
+ * is answered from the ring when it holds {@code limit} entries or the job's whole history;
+ * otherwise it reads the delegate once and fills the ring. Cached results carry the result
+ * type, duration and error type only (messages, output and causes are not kept); read the
+ * delegate directly when those are needed.</p>
+ */
+public class RecentExecutionCache implements JobExecutionStore {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DEFAULT_MAX_TRACKED_JOBS = 100_000;
+    private static final int STRIPES = 64;
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte PARTIAL_SUCCESS = 2;
+    private static final byte CANCELLED = 3;
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+
+    private final JobExecutionStore delegate;
+    private final int capacity;
+    private final int maxTrackedJobs;
+
+    // Entry i of slot s lives at s * capacity + i; a slot is guarded by its stripe lock
+    private final long[] executedAt;
+    private final long[] durationNanos;
+    private final byte[] kinds;          // result type << 4 | (error type ordinal + 1)
+    private final String[] owners;
+    private final int[] heads;           // next entry to write
+    private final int[] sizes;
+    private final int[] writes;          // saves since the slot was assigned, to detect racing fills
+    private final boolean[] complete;    // ring holds the job's whole history
+    private final byte[] referenced;     // CLOCK bits, racy by design
+    private final Object[] stripes = new Object[STRIPES];
+
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private int usedSlots;               // guarded by this
+    private int clockHand;               // guarded by this
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /** Per-execution view used by {@link #forEachRecent} without allocating results */
+    @FunctionalInterface
+    public interface RecentExecutionVisitor {
+        /**
+         * @param resultType the result's record class, e.g. {@code JobExecutionResult.Failure.class}
+         * @param errorType null unless the result is a failure
+         */
+        void visit(long executedAtMillis, long durationNanos,
+                   Class<? extends JobExecutionResult> resultType, ErrorType errorType);
+    }
+
+    public record Stats(int trackedJobs, long hits, long misses, long evictions, long allocatedBytes) {}
+
+    public RecentExecutionCache(JobExecutionStore delegate) {
+        this(delegate, DEFAULT_CAPACITY, DEFAULT_MAX_TRACKED_JOBS);
+    }
+
+    /**
+     * @param capacity executions kept per job
+     * @param maxTrackedJobs jobs with a ring; further jobs evict the least recently used
+     */
+    public RecentExecutionCache(JobExecutionStore delegate, int capacity, int maxTrackedJobs) {
+        if (capacity < 1 || maxTrackedJobs < 1 || (long) capacity * maxTrackedJobs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Unsupported cache size: " + maxTrackedJobs + " jobs x " + capacity);
+        }
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.maxTrackedJobs = maxTrackedJobs;
+        int entries = capacity * maxTrackedJobs;
+        this.executedAt = new long[entries];
+        this.durationNanos = new long[entries];
+        this.kinds = new byte[entries];
+        this.owners = new String[maxTrackedJobs];
+        this.heads = new int[maxTrackedJobs];
+        this.sizes = new int[maxTrackedJobs];
+        this.writes = new int[maxTrackedJobs];
+        this.complete = new boolean[maxTrackedJobs];
+        this.referenced = new byte[maxTrackedJobs];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    @Override
+    public void saveExecution(String jobId, JobExecutionResult result, Instant executedAt) {
+        delegate.saveExecution(jobId, result, executedAt);
+        long time = executedAt.toEpochMilli();
+        long duration = durationOf(result);
+        byte kind = kindOf(result);
+        while (true) {
+            int slot = slotFor(jobId);
+            synchronized (stripes[slot % STRIPES]) {
+                if (!jobId.equals(owners[slot])) {
+                    continue; // evicted between lookup and lock
+                }
+                append(slot, time, duration, kind);
+                writes[slot]++;
+                referenced[slot] = 1;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Newest first. Results served from the ring only carry type, duration and error type;
+     * on a miss the delegate's full records are returned.
+     */
+    @Override
+    public List<ExecutionRecord> getExecutionHistory(String jobId, int limit) {
+        List<ExecutionRecord> records = new ArrayList<>(Math.min(limit, capacity));
+        Integer slot = slots.get(jobId);
+        if (slot != null && visitCached(slot, jobId, limit, (time, duration, type, error) ->
+                records.add(new ExecutionRecord(jobId, rebuild(type, duration, error), Instant.ofEpochMilli(time))))) {
+            hits.increment();
+            return records;
+        }
+        misses.increment();
+        List<ExecutionRecord> history = load(jobId, limit);
+        return history.size() > limit ? history.subList(0, limit) : history;
+    }
+
+    /**
+     * Visits up to {@code limit} recent executions, newest first, without allocating results.
+     *
+     * @return true when answered from the cache, false when the delegate had to be read
+     */
+    public boolean forEachRecent(String jobId, int limit, RecentExecutionVisitor visitor) {
+        Integer slot = slots.get(jobId);
+        if (slot != null && visitCached(slot, jobId, limit, visitor)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        List<ExecutionRecord> history = load(jobId, limit);
+        for (int i = 0; i < Math.min(limit, history.size()); i++) {
+            ExecutionRecord record = history.get(i);
+            JobExecutionResult result = record.result();
+            visitor.visit(record.executedAt().toEpochMilli(), durationOf(result), typeOf(kindOf(result)),
+                    errorOf(kindOf(result)));
+        }
+        return false;
+    }
+
+    public Stats getStats() {
+        long bytes = (long) capacity * maxTrackedJobs * 17 + (long) maxTrackedJobs * 18;
+        return new Stats(slots.size(), hits.sum(), misses.sum(), evictions.sum(), bytes);
+    }
+
+    @Override
+    public void deleteExecutionsBefore(Instant cutoff) {
+        delegate.deleteExecutionsBefore(cutoff);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private boolean visitCached(int slot, String jobId, int limit, RecentExecutionVisitor visitor) {
+        synchronized (stripes[slot % STRIPES]) {
+            if (!jobId.equals(owners[slot]) || (sizes[slot] < limit && !complete[slot])) {
+                return false;
+            }
+            referenced[slot] = 1;
+            int base = slot * capacity;
+            int count = Math.min(limit, sizes[slot]);
+            for (int i = 1; i <= count; i++) {
+                int entry = base + Math.floorMod(heads[slot] - i, capacity);
+                byte kind = kinds[entry];
+                visitor.visit(executedAt[entry], durationNanos[entry], typeOf(kind), errorOf(kind));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Reads the delegate and replaces the job's ring with the result, unless a save to the
+     * job raced with the read (the ring then keeps the newer data and stays partial).
+     */
+    private List<ExecutionRecord> load(String jobId, int limit) {
+        int slot;
+        int writesBefore;
+        while (true) {
+            slot = slotFor(jobId);
+            synchronized (stripes[slot % STRIPES]) {
+                if (jobId.equals(owners[slot])) {
+                    writesBefore = writes[slot];
+                    break;
+                }
+            }
+        }
+        int requested = Math.max(limit, capacity);
+        List<ExecutionRecord> history = delegate.getExecutionHistory(jobId, requested);
+
+        synchronized (stripes[slot % STRIPES]) {
+            if (jobId.equals(owners[slot]) && writes[slot] == writesBefore) {
+                heads[slot] = 0;
+                sizes[slot] = 0;
+                for (int i = Math.min(capacity, history.size()) - 1; i >= 0; i--) {
+                    ExecutionRecord record = history.get(i);
+                    append(slot, record.executedAt().toEpochMilli(), durationOf(record.result()), kindOf(record.result()));
+                }
+                complete[slot] = history.size() < requested;
+                referenced[slot] = 1;
+            }
+        }
+        return history;
+    }
+
+    private void append(int slot, long time, long duration, byte kind) {
+        int entry = slot * capacity + heads[slot];
+        executedAt[entry] = time;
+        durationNanos[entry] = duration;
+        kinds[entry] = kind;
+        heads[slot] = (heads[slot] + 1) % capacity;
+        if (sizes[slot] < capacity) {
+            sizes[slot]++;
+        } else {
+            complete[slot] = false; // the oldest entry was overwritten
+        }
+    }
+
+    private int slotFor(String jobId) {
+        Integer slot = slots.get(jobId);
+        return slot != null ? slot : allocate(jobId);
+    }
+
+    private synchronized int allocate(String jobId) {
+        Integer existing = slots.get(jobId);
+        if (existing != null) {
+            return existing;
+        }
+        int slot;
+        if (usedSlots < maxTrackedJobs) {
+            slot = usedSlots++;
+        } else {
+            while (referenced[clockHand] != 0) {
+                referenced[clockHand] = 0;
+                clockHand = (clockHand + 1) % maxTrackedJobs;
+            }
+            slot = clockHand;
+            clockHand = (clockHand + 1) % maxTrackedJobs;
+            evictions.increment();
+        }
+        synchronized (stripes[slot % STRIPES]) {
+            if (owners[slot] != null) {
+                slots.remove(owners[slot]);
+            }
+            owners[slot] = jobId;
+            heads[slot] = 0;
+            sizes[slot] = 0;
+            writes[slot] = 0;
+            complete[slot] = false;
+            referenced[slot] = 1;
+        }
+        slots.put(jobId, slot);
+        return slot;
+    }
+
+    private static long durationOf(JobExecutionResult result) {
+        Duration duration;
+        if (result instanceof JobExecutionResult.Success success) {
+            duration = success.executionDuration();
+        } else if (result instanceof JobExecutionResult.Failure failure) {
+            duration = failure.executionDuration();
+        } else if (result instanceof JobExecutionResult.PartialSuccess partial) {
+            duration = partial.executionDuration();
+        } else {
+            duration = ((JobExecutionResult.Cancelled) result).executionDuration();
+        }
+        return duration == null ? 0 : duration.toNanos();
+    }
+
+    private static byte kindOf(JobExecutionResult result) {
+        if (result instanceof JobExecutionResult.Failure failure) {
+            int error = failure.errorType() == null ? 0 : failure.errorType().ordinal() + 1;
+            return (byte) (FAILURE << 4 | error);
+        }
+        byte type = result instanceof JobExecutionResult.Success ? SUCCESS
+                : result instanceof JobExecutionResult.PartialSuccess ? PARTIAL_SUCCESS : CANCELLED;
+        return (byte) (type << 4);
+    }
+
+    private static Class<? extends JobExecutionResult> typeOf(byte kind) {
+        return switch (kind >> 4) {
+            case SUCCESS -> JobExecutionResult.Success.class;
+            case FAILURE -> JobExecutionResult.Failure.class;
+            case PARTIAL_SUCCESS -> JobExecutionResult.PartialSuccess.class;
+            default -> JobExecutionResult.Cancelled.class;
+        };
+    }
+
+    private static ErrorType errorOf(byte kind) {
+        int error = kind & 0x0F;
+        return error == 0 ? null : ERROR_TYPES[error - 1];
+    }
+
+    private static JobExecutionResult rebuild(Class<? extends JobExecutionResult> type, long durationNanos, ErrorType error) {
+        Duration duration = Duration.ofNanos(durationNanos);
+        if (type == JobExecutionResult.Success.class) {
+            return new JobExecutionResult.Success(null, Map.of(), duration, 0);
+        } else if (type == JobExecutionResult.Failure.class) {
+            return new JobExecutionResult.Failure(null, null, duration, false, error, 0);
+        } else if (type == JobExecutionResult.PartialSuccess.class) {
+            return new JobExecutionResult.PartialSuccess(null, Map.of(), null, duration, 0, 0);
+        }
+        return new JobExecutionResult.Cancelled(null, null, duration, 0);
+    }
+}
@@ -0,0 +1,13 @@
+package org.github.Alyas100.storage;
+
+import java.time.Instant;
+
+/**
+ * Where a job's cron trigger stands, persisted next to its definition so fires that fall
+ * due while no node is scheduling the job can be detected as misfires.
+ *
+ * @param lastFireTime cron slot of the last fire; null if the job never fired
+ * @param nextFireTime earliest cron slot not fired yet
+ */
+public record TriggerState(String jobId, Instant lastFireTime, Instant nextFireTime) {
+}
@@ -0,0 +1,11 @@
+package org.github.Alyas100.storage;
+
+import org.github.Alyas100.JobDefinition;
+
+/**
+ * A stored job with its version, for {@link JobRepository#updateJob} checks.
+ *
+ * @param version starts at 1 when the job is created and grows by one with every save
+ */
+public record VersionedJob(JobDefinition job, long version) {
+}
@@ -0,0 +1,481 @@
+package org.github.Alyas100.storage;
+
+import org.github.Alyas100.JobDefinition;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Write-behind decorator for any {@link JobRepository}.
+ *
+ * <p>Writes land in a pending map keyed by job id and return immediately; repeated writes
+ * to the same job before a flush collapse into one. A flusher thread hands pending saves
+ * to the delegate's {@link JobRepository#saveJobs} (deletes one by one) when
+ * {@code flushBatchSize} jobs are pending or {@code flushInterval} has passed.</p>
+ *
+ * <p>Reads see pending and in-flight writes first, then an LRU cache of delegate reads.
+ * Memory is bounded: at most {@code maxPending} distinct jobs wait for a flush (writers block
+ * beyond that) and at most {@code maxCachedJobs} are cached.</p>
+ *
+ * <p>{@link #close()} flushes everything and closes the delegate; a JVM shutdown hook does
+ * the same flush if the repository was never closed. A failed flush keeps its writes
+ * pending (unless newer ones replaced them) and is retried on the next cycle.</p>
+ */
+public class WriteBehindJobRepository implements JobRepository {
+    private static final int DEFAULT_FLUSH_BATCH_SIZE = 500;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(200);
+    private static final int DEFAULT_MAX_PENDING = 50_000;
+    private static final int DEFAULT_MAX_CACHED_JOBS = 100_000;
+    private static final int GET_ALL_ATTEMPTS = 3;
+
+    private final JobRepository delegate;
+    private final int flushBatchSize;
+    private final long flushIntervalMillis;
+    private final int maxPending;
+    private final int maxCachedJobs;
+
+    private final Object lock = new Object();
+    // Guarded by lock. A null value is a pending delete (tombstone).
+    private LinkedHashMap<String, JobDefinition> pending = new LinkedHashMap<>();
+    private Map<String, JobDefinition> inFlight = Map.of();
+    private final LinkedHashMap<String, JobDefinition> cache;
+    private boolean flushRequested;
+    private long flushGeneration;   // completed flush cycles, for getAllJobs()
+    private long durableWrites;     // writes up to this count have reached the delegate
+    private long failedThrough;     // writes up to this count were in the last failed flush
+    private boolean closed;
+
+    // Metrics, guarded by lock
+    private long writes;
+    private long coalescedWrites;
+    private long flushedWrites;
+    private long flushCount;
+    private long failedFlushes;
+    private long totalFlushNanos;
+    private long maxFlushNanos;
+    private long lastFlushNanos;
+
+    private final Thread flusher;
+    private final Thread shutdownHook;
+
+    /**
+     * Write-behind metrics.
+     *
+     * @param pendingWrites distinct jobs waiting for a flush
+     * @param inFlightWrites jobs in the flush currently running
+     * @param coalescedWrites writes absorbed by a later write to the same job
+     */
+    public record Stats(int pendingWrites, int inFlightWrites, long writes, long coalescedWrites,
+                        long flushedWrites, long flushCount, long failedFlushes,
+                        Duration lastFlushLatency, Duration averageFlushLatency, Duration maxFlushLatency) {}
+
+    public WriteBehindJobRepository(JobRepository delegate) {
+        this(delegate, DEFAULT_FLUSH_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_MAX_PENDING, DEFAULT_MAX_CACHED_JOBS);
+    }
+
+    /**
+     * @param flushBatchSize pending jobs that trigger a flush before the interval elapses
+     * @param flushInterval longest time a write stays pending
+     * @param maxPending distinct pending jobs beyond which writers block until a flush
+     * @param maxCachedJobs size of the LRU read cache
+     */
+    public WriteBehindJobRepository(JobRepository delegate, int flushBatchSize, Duration flushInterval,
+                                    int maxPending, int maxCachedJobs) {
+        this.delegate = delegate;
+        this.flushBatchSize = flushBatchSize;
+        this.flushIntervalMillis = Math.max(1, flushInterval.toMillis());
+        this.maxPending = Math.max(flushBatchSize, maxPending);
+        this.maxCachedJobs = maxCachedJobs;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JobDefinition> eldest) {
+                return size() > WriteBehindJobRepository.this.maxCachedJobs;
+            }
+        };
+
+        this.flusher = new Thread(this::runFlusher, "job-repository-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        this.shutdownHook = new Thread(this::flushOnExit, "job-repository-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void saveJob(JobDefinition job) {
+        enqueue(job.jobId(), job);
+    }
+
+    @Override
+    public void saveJobs(Collection<JobDefinition> jobs) {
+        jobs.forEach(this::saveJob);
+    }
+
+    @Override
+    public Optional<JobDefinition> getJob(String jobId) {
+        synchronized (lock) {
+            if (pending.containsKey(jobId)) {
+                return Optional.ofNullable(pending.get(jobId));
+            }
+            if (inFlight.containsKey(jobId)) {
+                return Optional.ofNullable(inFlight.get(jobId));
+            }
+            JobDefinition cached = cache.get(jobId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<JobDefinition> loaded = delegate.getJob(jobId);
+        synchronized (lock) {
+            // A write that raced with the load wins; only cache what is still current
+            if (loaded.isPresent() && !pending.containsKey(jobId) && !inFlight.containsKey(jobId)) {
+                cache.put(jobId, loaded.get());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * The delegate's jobs with the pending and in-flight writes laid over them. A flush that
+     * completes while the delegate is being read may or may not be in what it returned, so the
+     * read is retried; if flushes keep landing, the writes buffered before the read are laid
+     * over it as well, so none of them is lost or undone.
+     */
+    @Override
+    public List<JobDefinition> getAllJobs() {
+        for (int attempt = 0; ; attempt++) {
+            long generation;
+            Map<String, JobDefinition> writesBefore = new LinkedHashMap<>();
+            synchronized (lock) {
+                generation = flushGeneration;
+                writesBefore.putAll(inFlight);
+                writesBefore.putAll(pending);
+            }
+            List<JobDefinition> stored = delegate.getAllJobs();
+            synchronized (lock) {
+                if (flushGeneration != generation && attempt < GET_ALL_ATTEMPTS) {
+                    continue;
+                }
+                Map<String, JobDefinition> merged = new LinkedHashMap<>();
+                for (JobDefinition job : stored) {
+                    merged.put(job.jobId(), job);
+                }
+                overlay(merged, writesBefore);
+                overlay(merged, inFlight);
+                overlay(merged, pending);
+                return new ArrayList<>(merged.values());
+            }
+        }
+    }
+
+    /**
+     * Versioned reads and conditional updates cannot be deferred: pending writes are flushed
+     * first and the call goes to the delegate, which checks and bumps the version.
+     */
+    @Override
+    public Optional<VersionedJob> getVersionedJob(String jobId) {
+        flush();
+        return delegate.getVersionedJob(jobId);
+    }
+
+    @Override
+    public long updateJob(JobDefinition job, long expectedVersion) {
+        flush();
+        long version = delegate.updateJob(job, expectedVersion);
+        synchronized (lock) {
+            if (!pending.containsKey(job.jobId()) && !inFlight.containsKey(job.jobId())) {
+                cache.put(job.jobId(), job);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Flushes pending writes first so the delegate's indexes (and cursors) see them.
+     */
+    @Override
+    public JobPage findJobs(JobQuery query, String cursor, int pageSize) {
+        flush();
+        return delegate.findJobs(query, cursor, pageSize);
+    }
+
+    /**
+     * Trigger states are already batched by the scheduler, so they go straight to the
+     * delegate; pending job writes are flushed first so states of new jobs are not dropped.
+     */
+    @Override
+    public void saveTriggerStates(Collection<TriggerState> states) {
+        flush();
+        delegate.saveTriggerStates(states);
+    }
+
+    @Override
+    public Map<String, TriggerState> getTriggerStates(Collection<String> jobIds) {
+        flush();
+        return delegate.getTriggerStates(jobIds);
+    }
+
+    /**
+     * The feed is the delegate's, so it lists changes once they are flushed; reading it
+     * flushes first.
+     */
+    @Override
+    public boolean hasChangeFeed() {
+        return delegate.hasChangeFeed();
+    }
+
+    @Override
+    public long getLatestChangeSequence() {
+        flush();
+        return delegate.getLatestChangeSequence();
+    }
+
+    @Override
+    public JobChangePage getChanges(long afterSequence, int limit) {
+        flush();
+        return delegate.getChanges(afterSequence, limit);
+    }
+
+    @Override
+    public void awaitChangesAfter(long afterSequence, long timeoutMillis) throws InterruptedException {
+        delegate.awaitChangesAfter(afterSequence, timeoutMillis);
+    }
+
+    @Override
+    public JobDefinition deleteJob(String jobId) {
+        JobDefinition existing = getJob(jobId).orElse(null);
+        enqueue(jobId, null);
+        return existing;
+    }
+
+    @Override
+    public boolean jobExists(String jobId) {
+        return getJob(jobId).isPresent();
+    }
+
+    /**
+     * Blocks until every write made before this call has reached the delegate. Only a flush
+     * that succeeded counts: if the one carrying these writes fails, this throws rather than
+     * return while they are still pending.
+     *
+     * @throws IllegalStateException if that flush failed (its writes stay pending and are
+     *         retried), or if interrupted while waiting; the interrupt flag stays set
+     */
+    public void flush() {
+        synchronized (lock) {
+            long target = writes;
+            if (durableWrites >= target) {
+                return;
+            }
+            long failuresBefore = failedFlushes;
+            flushRequested = true;
+            lock.notifyAll();
+            while (durableWrites < target) {
+                if (failedFlushes != failuresBefore && failedThrough >= target) {
+                    throw new IllegalStateException("Write-behind flush failed; "
+                            + pending.size() + " job writes stay pending and will be retried");
+                }
+                await("pending job writes to flush");
+            }
+        }
+    }
+
+    public Stats getStats() {
+        synchronized (lock) {
+            return new Stats(pending.size(), inFlight.size(), writes, coalescedWrites, flushedWrites,
+                    flushCount, failedFlushes,
+                    Duration.ofNanos(lastFlushNanos),
+                    Duration.ofNanos(flushCount == 0 ? 0 : totalFlushNanos / flushCount),
+                    Duration.ofNanos(maxFlushNanos));
+        }
+    }
+
+    /**
+     * Flushes all pending writes, stops the flusher and closes the delegate.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM already shutting down
+        }
+        delegate.close();
+    }
+
+    private void enqueue(String jobId, JobDefinition job) {
+        synchronized (lock) {
+            while (!closed && pending.size() >= maxPending && !pending.containsKey(jobId)) {
+                flushRequested = true;
+                lock.notifyAll();
+                await("room among pending job writes");
+            }
+            if (closed) {
+                throw new IllegalStateException("Job repository is closed");
+            }
+            writes++;
+            if (pending.containsKey(jobId)) {
+                coalescedWrites++;
+            }
+            pending.put(jobId, job);
+            if (job == null) {
+                cache.remove(jobId);
+            } else {
+                cache.put(jobId, job);
+            }
+            if (pending.size() >= flushBatchSize) {
+                flushRequested = true;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            Map<String, JobDefinition> batch;
+            long covered;
+            boolean stopping;
+            synchronized (lock) {
+                long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                while (!closed && !flushRequested) {
+                    long wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        break;
+                    }
+                    awaitQuietly(wait);
+                }
+                stopping = closed;
+                flushRequested = false;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                inFlight = batch;
+                // Failed batches go back into pending, so this one holds every write not yet durable
+                covered = writes;
+            }
+
+            boolean succeeded = batch.isEmpty() || write(batch);
+
+            synchronized (lock) {
+                if (succeeded) {
+                    durableWrites = covered;
+                } else {
+                    // Put back what newer writes did not replace, ahead of them
+                    LinkedHashMap<String, JobDefinition> retry = new LinkedHashMap<>(batch);
+                    retry.putAll(pending);
+                    pending = retry;
+                    failedThrough = covered;
+                    failedFlushes++;
+                }
+                inFlight = Map.of();
+                flushGeneration++;
+                lock.notifyAll();
+                if (stopping && (succeeded || pending.isEmpty())) {
+                    return;
+                }
+                if (stopping) {
+                    flushRequested = true; // keep retrying the final flush
+                }
+            }
+            if (!succeeded) {
+                sleepQuietly(flushIntervalMillis);
+            }
+        }
+    }
+
+    private boolean write(Map<String, JobDefinition> batch) {
+        long started = System.nanoTime();
+        try {
+            List<JobDefinition> saves = new ArrayList<>(batch.size());
+            for (Map.Entry<String, JobDefinition> entry : batch.entrySet()) {
+                if (entry.getValue() != null) {
+                    saves.add(entry.getValue());
+                } else {
+                    delegate.deleteJob(entry.getKey());
+                }
+            }
+            if (!saves.isEmpty()) {
+                delegate.saveJobs(saves);
+            }
+            long elapsed = System.nanoTime() - started;
+            synchronized (lock) {
+                flushCount++;
+                flushedWrites += batch.size();
+                lastFlushNanos = elapsed;
+                totalFlushNanos += elapsed;
+                maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("❌ Write-behind flush of " + batch.size() + " jobs failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void flushOnExit() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+        }
+        System.out.println("💾 Flushing pending job writes before exit");
+        close();
+    }
+
+    private static void overlay(Map<String, JobDefinition> target, Map<String, JobDefinition> writes) {
+        for (Map.Entry<String, JobDefinition> entry : writes.entrySet()) {
+            if (entry.getValue() == null) {
+                target.remove(entry.getKey());
+            } else {
+                target.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Waits on {@code lock} for a caller. An interrupt ends the wait for good: keeping the
+     * flag set and waiting again would return at once, spinning with the lock held.
+     */
+    private void await(String waitingFor) {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + waitingFor, e);
+        }
+    }
+
+    /**
+     * Waits on {@code lock} in the flusher, which only {@link #close()} stops; an interrupt
+     * just cuts this wait short.
+     */
+    private void awaitQuietly(long millis) {
+        try {
+            lock.wait(millis);
+        } catch (InterruptedException e) {
+            // cleared, not restored: a set flag would make every later wait return at once
+        }
+    }
+
+    /**
+     * The flusher's pause between retries; like {@link #awaitQuietly}, an interrupt only cuts it short.
+     */
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // cleared, as in awaitQuietly
+        }
+    }
+}
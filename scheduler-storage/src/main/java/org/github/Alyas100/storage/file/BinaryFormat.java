@@ -0,0 +1,111 @@
+package org.github.Alyas100.storage.file;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.codec.JobCodec;
+import org.github.Alyas100.storage.TriggerState;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Record layouts used by the file-based stores. Definitions and results themselves are
+ * encoded with {@link JobCodec}; this class only adds the fields the stores index on.
+ *
+ * <p>Execution record:
+ * <pre>
+ *   long   executedAt (epoch millis)
+ *   str    jobId
+ *   bytes  result, JobCodec encoded
+ * </pre></p>
+ *
+ * <p>Trigger state record:
+ * <pre>
+ *   str    jobId
+ *   long   lastFireTime (epoch millis, Long.MIN_VALUE for never)
+ *   long   nextFireTime (epoch millis, Long.MIN_VALUE for unknown)
+ * </pre></p>
+ *
+ * Strings are a short length (-1 for null) followed by UTF-8 bytes. Writers throw
+ * {@link java.nio.BufferOverflowException} when the buffer is too small; callers grow and retry.
+ */
+final class BinaryFormat {
+
+    private BinaryFormat() {
+    }
+
+    static void writeExecution(ByteBuffer out, String jobId, JobExecutionResult result, long executedAtMillis) {
+        out.putLong(executedAtMillis);
+        writeString(out, jobId);
+        JobCodec.encode(result, out);
+    }
+
+    /**
+     * Reads the jobId of the record at {@code offset} without decoding the result.
+     */
+    static String readJobId(ByteBuffer in, int offset) {
+        return readString(in.position(offset + 8));
+    }
+
+    static long readExecutedAt(ByteBuffer in, int offset) {
+        return in.getLong(offset);
+    }
+
+    /**
+     * Decodes the result of the record at the buffer's position.
+     */
+    static JobExecutionResult readExecution(ByteBuffer in) {
+        in.getLong(); // executedAt, read separately
+        int jobIdLength = in.getShort();
+        in.position(in.position() + Math.max(0, jobIdLength));
+        return JobCodec.decodeResult(in);
+    }
+
+    static void writeJob(ByteBuffer out, JobDefinition job) {
+        JobCodec.encode(job, out);
+    }
+
+    static JobDefinition readJob(ByteBuffer in) {
+        return JobCodec.decodeJobDefinition(in);
+    }
+
+    static void writeTriggerState(ByteBuffer out, TriggerState state) {
+        writeString(out, state.jobId());
+        out.putLong(toMillis(state.lastFireTime()));
+        out.putLong(toMillis(state.nextFireTime()));
+    }
+
+    static TriggerState readTriggerState(ByteBuffer in) {
+        return new TriggerState(readString(in), fromMillis(in.getLong()), fromMillis(in.getLong()));
+    }
+
+    private static long toMillis(Instant instant) {
+        return instant == null ? Long.MIN_VALUE : instant.toEpochMilli();
+    }
+
+    private static Instant fromMillis(long millis) {
+        return millis == Long.MIN_VALUE ? null : Instant.ofEpochMilli(millis);
+    }
+
+    static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, Short.MAX_VALUE);
+        out.putShort((short) length);
+        out.put(bytes, 0, length);
+    }
+
+    static String readString(ByteBuffer in) {
+        short length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,756 @@
+package org.github.Alyas100.storage.file;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.storage.InMemoryJobRepository;
+import org.github.Alyas100.storage.JobChange;
+import org.github.Alyas100.storage.JobChangeLog;
+import org.github.Alyas100.storage.JobChangePage;
+import org.github.Alyas100.storage.JobPage;
+import org.github.Alyas100.storage.JobQuery;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.JobVersionConflictException;
+import org.github.Alyas100.storage.TriggerState;
+import org.github.Alyas100.storage.VersionedJob;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Durable {@link JobRepository}: an in-memory view backed by a write-ahead log and snapshots.
+ *
+ * <p>Every mutation is appended to the current WAL file by a single writer thread. The
+ * writer drains everything queued since its last sync and covers the whole batch with one
+ * {@code fsync} (group commit); callers return once their mutation is durable. Every
+ * {@code snapshotEvery} mutations the writer rotates to a new WAL generation and a background
+ * thread writes a snapshot of the current state, after which older WAL files are deleted.</p>
+ *
+ * <p>Snapshots are taken while writes continue, so they may already contain some mutations
+ * of the newer generation. Replay is idempotent (a save stores the full definition, a delete
+ * removes by id), so replaying the newer generation on top of such a snapshot is safe.</p>
+ *
+ * <p>On open the latest snapshot is loaded and the WAL generations at or after it are
+ * replayed. A torn or corrupt tail record ends replay and is truncated away. A write or
+ * sync that fails at runtime is truncated away at once, so later records never follow a
+ * torn one; if even that fails, the repository rejects every further write.</p>
+ *
+ * <p>The change feed lists mutations once they are durable. It is not persisted: sequences of
+ * one open start at {@code generation << 40}, above anything an earlier open handed out, so
+ * readers resuming across a restart are told to reload.</p>
+ *
+ * <p>Trigger states are logged like any other mutation; a snapshot stores them after the
+ * jobs. Version 2 files (no trigger states) are still read.</p>
+ *
+ * <p>Job versions are assigned by the writer thread before a batch is logged, so
+ * {@link #updateJob} checks against every save queued ahead of it; a failed check is never
+ * logged. Saves log the assigned version and snapshots store it, so replay restores versions
+ * exactly. Jobs from version 3 files or older start at version 1.</p>
+ *
+ * <p>File framing, shared by WAL and snapshot: {@code [int length][int crc32][payload]}.
+ * The first record of each file is a header (magic, version, generation[, job count,
+ * trigger state count]).</p>
+ */
+public class FileJobRepository implements JobRepository {
+    private static final int WAL_MAGIC = 0x4A57414C;      // "JWAL"
+    private static final int SNAPSHOT_MAGIC = 0x4A534E50; // "JSNP"
+    private static final int FORMAT_VERSION = 4; // 2: definitions and results encoded with JobCodec, 3: trigger states, 4: job versions
+    private static final int MIN_FORMAT_VERSION = 2;
+
+    private static final byte OP_SAVE = 1;
+    private static final byte OP_DELETE = 2;
+    private static final byte OP_SNAPSHOT = 3;  // writer-side marker, never logged
+    private static final byte OP_SHUTDOWN = 4;  // writer-side marker, never logged
+    private static final byte OP_TRIGGER = 5;
+
+    private static final String SNAPSHOT_FILE = "jobs.snapshot";
+    private static final String WAL_PREFIX = "wal-";
+    private static final String WAL_SUFFIX = ".log";
+    private static final int DEFAULT_SNAPSHOT_EVERY = 100_000;
+    private static final int MAX_BATCH = 8192;
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+    private static final int CHANGE_RETENTION = 100_000;
+    private static final int SEQUENCE_GENERATION_SHIFT = 40;
+    private static final long UNCONDITIONAL = Long.MIN_VALUE; // expected version of plain saves
+
+    private final Path directory;
+    private final int snapshotEvery;
+    private final InMemoryJobRepository state = new InMemoryJobRepository(0);
+    private final JobChangeLog changes;
+    private final BlockingQueue<Mutation> pending = new LinkedBlockingQueue<>();
+    private final ExecutorService snapshotter;
+    private final Thread writer;
+    private final Object submitLock = new Object();
+    private volatile boolean closed;
+    private volatile IOException walFailure;
+
+    // Owned by the writer thread after construction
+    private FileChannel wal;
+    private long generation;
+    private long mutationsSinceSnapshot;
+    private Future<?> snapshotInProgress;
+    private final ByteBuffer ioBuffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * @param version expected version when submitted, the assigned one once logged
+     */
+    private record Mutation(byte op, String jobId, JobDefinition job, TriggerState trigger, long version,
+                            CompletableFuture<VersionedJob> done) {
+
+        Mutation withVersion(long assigned) {
+            return new Mutation(op, jobId, job, trigger, assigned, done);
+        }
+    }
+
+    public FileJobRepository(Path directory) {
+        this(directory, DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    /**
+     * @param snapshotEvery number of logged mutations after which a snapshot is taken
+     */
+    public FileJobRepository(Path directory, int snapshotEvery) {
+        this.directory = directory;
+        this.snapshotEvery = snapshotEvery;
+        try {
+            Files.createDirectories(directory);
+            long started = System.nanoTime();
+            recover();
+            System.out.println("📂 Recovered " + state.getJobCount() + " jobs from " + directory +
+                    " in " + (System.nanoTime() - started) / 1_000_000 + "ms");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open job repository at " + directory, e);
+        }
+        this.changes = new JobChangeLog(CHANGE_RETENTION, generation << SEQUENCE_GENERATION_SHIFT);
+
+        this.snapshotter = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "job-repository-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer = new Thread(this::runWriter, "job-repository-wal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void saveJob(JobDefinition job) {
+        await(submit(OP_SAVE, job.jobId(), job, null, UNCONDITIONAL));
+    }
+
+    @Override
+    public long updateJob(JobDefinition job, long expectedVersion) {
+        return await(submit(OP_SAVE, job.jobId(), job, null, expectedVersion)).version();
+    }
+
+    /**
+     * Queues all jobs before waiting, so the whole collection shares as few syncs as possible.
+     */
+    @Override
+    public void saveJobs(Collection<JobDefinition> jobs) {
+        List<CompletableFuture<VersionedJob>> futures = new ArrayList<>(jobs.size());
+        for (JobDefinition job : jobs) {
+            futures.add(submit(OP_SAVE, job.jobId(), job, null, UNCONDITIONAL));
+        }
+        futures.forEach(FileJobRepository::await);
+    }
+
+    @Override
+    public Optional<JobDefinition> getJob(String jobId) {
+        return state.getJob(jobId);
+    }
+
+    @Override
+    public Optional<VersionedJob> getVersionedJob(String jobId) {
+        return state.getVersionedJob(jobId);
+    }
+
+    @Override
+    public List<JobDefinition> getAllJobs() {
+        return state.getAllJobs();
+    }
+
+    @Override
+    public JobDefinition deleteJob(String jobId) {
+        VersionedJob removed = await(submit(OP_DELETE, jobId, null, null, UNCONDITIONAL));
+        return removed != null ? removed.job() : null;
+    }
+
+    /**
+     * Logged like job saves, so a whole batch shares one sync.
+     */
+    @Override
+    public void saveTriggerStates(Collection<TriggerState> states) {
+        List<CompletableFuture<VersionedJob>> futures = new ArrayList<>(states.size());
+        for (TriggerState trigger : states) {
+            futures.add(submit(OP_TRIGGER, trigger.jobId(), null, trigger, UNCONDITIONAL));
+        }
+        futures.forEach(FileJobRepository::await);
+    }
+
+    @Override
+    public Map<String, TriggerState> getTriggerStates(Collection<String> jobIds) {
+        return state.getTriggerStates(jobIds);
+    }
+
+    @Override
+    public JobPage findJobs(JobQuery query, String cursor, int pageSize) {
+        return state.findJobs(query, cursor, pageSize);
+    }
+
+    @Override
+    public boolean jobExists(String jobId) {
+        return state.jobExists(jobId);
+    }
+
+    @Override
+    public boolean hasChangeFeed() {
+        return true;
+    }
+
+    @Override
+    public long getLatestChangeSequence() {
+        return changes.latestSequence();
+    }
+
+    @Override
+    public JobChangePage getChanges(long afterSequence, int limit) {
+        return changes.changesAfter(afterSequence, limit);
+    }
+
+    @Override
+    public void awaitChangesAfter(long afterSequence, long timeoutMillis) throws InterruptedException {
+        changes.awaitChangesAfter(afterSequence, timeoutMillis);
+    }
+
+    /**
+     * Rotates the WAL and writes a snapshot now, returning once the snapshot is on disk.
+     */
+    public void snapshot() {
+        await(submit(OP_SNAPSHOT, null, null, null, UNCONDITIONAL));
+    }
+
+    @Override
+    public void close() {
+        synchronized (submitLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Last thing ever queued: submit checks closed under the same lock
+            pending.add(new Mutation(OP_SHUTDOWN, null, null, null, UNCONDITIONAL, new CompletableFuture<>()));
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+            wal.close();
+        } catch (IOException e) {
+            System.out.println("⚠️ Failed to close WAL: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<VersionedJob> submit(byte op, String jobId, JobDefinition job, TriggerState trigger,
+                                                   long expectedVersion) {
+        CompletableFuture<VersionedJob> done = new CompletableFuture<>();
+        synchronized (submitLock) {
+            if (closed) {
+                throw new IllegalStateException("Job repository is closed");
+            }
+            pending.add(new Mutation(op, jobId, job, trigger, expectedVersion, done));
+        }
+        return done;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // ---- writer thread ----
+
+    private void runWriter() {
+        List<Mutation> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                continue; // only the shutdown marker stops the writer
+            }
+            pending.drainTo(batch, MAX_BATCH - 1);
+
+            boolean shutdown = false;
+            boolean snapshotRequested = false;
+            List<Mutation> logged = new ArrayList<>(batch.size());
+            Map<String, Long> batchVersions = new HashMap<>(); // versions as of earlier mutations in this batch
+            for (Mutation mutation : batch) {
+                if (mutation.op() == OP_SHUTDOWN) shutdown = true;
+                else if (mutation.op() == OP_SNAPSHOT) snapshotRequested = true;
+                else if (mutation.op() == OP_SAVE) {
+                    Long queued = batchVersions.get(mutation.jobId());
+                    long current = queued != null ? queued : state.getVersion(mutation.jobId());
+                    long expected = mutation.version();
+                    if (expected != UNCONDITIONAL && (current == 0 || (expected != ANY_VERSION && expected != current))) {
+                        mutation.done().completeExceptionally(new JobVersionConflictException(mutation.jobId(), expected, current));
+                        continue;
+                    }
+                    batchVersions.put(mutation.jobId(), current + 1);
+                    logged.add(mutation.withVersion(current + 1));
+                } else {
+                    if (mutation.op() == OP_DELETE) {
+                        batchVersions.put(mutation.jobId(), 0L);
+                    }
+                    logged.add(mutation);
+                }
+            }
+
+            try {
+                appendAndSync(logged);
+                for (Mutation mutation : logged) {
+                    mutation.done().complete(apply(mutation));
+                }
+                mutationsSinceSnapshot += logged.size();
+                if (snapshotRequested || mutationsSinceSnapshot >= snapshotEvery) {
+                    startSnapshot(batch, snapshotRequested);
+                } else {
+                    completeMarkers(batch);
+                }
+            } catch (Exception e) {
+                batch.forEach(mutation -> mutation.done().completeExceptionally(e)); // no-op for rejected updates
+            }
+            batch.clear();
+
+            if (shutdown) {
+                failRemaining();
+                return;
+            }
+        }
+    }
+
+    private VersionedJob apply(Mutation mutation) {
+        if (mutation.op() == OP_SAVE) {
+            boolean existed = state.jobExists(mutation.jobId());
+            VersionedJob saved = new VersionedJob(mutation.job(), mutation.version());
+            state.restoreJob(saved);
+            changes.append(existed ? JobChange.Type.UPDATED : JobChange.Type.CREATED, mutation.jobId(), mutation.job());
+            return saved;
+        }
+        if (mutation.op() == OP_TRIGGER) {
+            state.saveTriggerStates(List.of(mutation.trigger()));
+            return null;
+        }
+        long version = state.getVersion(mutation.jobId());
+        JobDefinition removed = state.deleteJob(mutation.jobId());
+        if (removed == null) {
+            return null;
+        }
+        changes.append(JobChange.Type.DELETED, mutation.jobId(), null);
+        return new VersionedJob(removed, version);
+    }
+
+    private void appendAndSync(List<Mutation> mutations) throws IOException {
+        if (mutations.isEmpty()) {
+            return;
+        }
+        if (walFailure != null) {
+            throw new IllegalStateException("Job repository stopped accepting writes after a WAL failure", walFailure);
+        }
+        long start = wal.position();
+        try {
+            ioBuffer.clear();
+            for (Mutation mutation : mutations) {
+                frame(switch (mutation.op()) {
+                    case OP_SAVE -> encode(out -> { out.put(OP_SAVE); out.putLong(mutation.version()); BinaryFormat.writeJob(out, mutation.job()); });
+                    case OP_TRIGGER -> encode(out -> { out.put(OP_TRIGGER); BinaryFormat.writeTriggerState(out, mutation.trigger()); });
+                    default -> encode(out -> { out.put(OP_DELETE); BinaryFormat.writeString(out, mutation.jobId()); });
+                });
+            }
+            writeOut(wal);
+            wal.force(false);
+        } catch (IOException e) {
+            rollBack(start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Cuts a failed batch off the WAL, so the next batch does not land behind a torn record
+     * that recovery would stop at. None of the batch was acknowledged.
+     */
+    private void rollBack(long goodPosition, IOException failure) {
+        ioBuffer.clear();
+        try {
+            wal.truncate(goodPosition);
+            wal.position(goodPosition);
+            wal.force(false);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+            walFailure = failure;
+            System.out.println("❌ WAL cannot be repaired, rejecting further writes: " + e.getMessage());
+        }
+    }
+
+    private void startSnapshot(List<Mutation> batch, boolean requested) throws Exception {
+        if (snapshotInProgress != null && !snapshotInProgress.isDone()) {
+            if (!requested) {
+                // One snapshot at a time; the threshold check retries after the next batch
+                completeMarkers(batch);
+                return;
+            }
+            snapshotInProgress.get();
+        }
+        // Open the next generation first: if that fails, the current WAL stays in use
+        FileChannel next = openWal(generation + 1);
+        FileChannel previous = wal;
+        wal = next;
+        generation++;
+        mutationsSinceSnapshot = 0;
+        try {
+            previous.close(); // already synced by appendAndSync
+        } catch (IOException e) {
+            System.out.println("⚠️ Failed to close WAL generation " + (generation - 1) + ": " + e.getMessage());
+        }
+
+        long snapshotGeneration = generation;
+        List<Mutation> markers = List.copyOf(batch); // the writer reuses its batch list
+        snapshotInProgress = snapshotter.submit(() -> {
+            try {
+                writeSnapshot(snapshotGeneration);
+                completeMarkers(markers);
+            } catch (Exception e) {
+                System.out.println("❌ Snapshot failed: " + e.getMessage());
+                failMarkers(markers, e);
+            }
+        });
+    }
+
+    private static void completeMarkers(List<Mutation> batch) {
+        batch.stream().filter(m -> m.op() == OP_SNAPSHOT || m.op() == OP_SHUTDOWN)
+                .forEach(m -> m.done().complete(null));
+    }
+
+    private static void failMarkers(List<Mutation> batch, Exception e) {
+        batch.stream().filter(m -> m.op() == OP_SNAPSHOT).forEach(m -> m.done().completeExceptionally(e));
+    }
+
+    private void failRemaining() {
+        List<Mutation> left = new ArrayList<>();
+        pending.drainTo(left);
+        left.forEach(m -> m.done().completeExceptionally(new IllegalStateException("Job repository is closed")));
+    }
+
+    private ByteBuffer encode(Consumer<ByteBuffer> writer) {
+        while (true) {
+            try {
+                scratch.clear();
+                writer.accept(scratch);
+                return scratch.flip();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * Appends {@code [length][crc][payload]} to the I/O buffer, spilling to the WAL when full.
+     */
+    private void frame(ByteBuffer payload) throws IOException {
+        crc.reset();
+        crc.update(payload.duplicate());
+        int needed = 8 + payload.remaining();
+        if (ioBuffer.remaining() < needed) {
+            writeOut(wal);
+        }
+        if (ioBuffer.capacity() < needed) {
+            ByteBuffer large = ByteBuffer.allocate(needed);
+            large.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload).flip();
+            while (large.hasRemaining()) wal.write(large);
+            return;
+        }
+        ioBuffer.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload);
+    }
+
+    private void writeOut(FileChannel channel) throws IOException {
+        ioBuffer.flip();
+        while (ioBuffer.hasRemaining()) {
+            channel.write(ioBuffer);
+        }
+        ioBuffer.clear();
+    }
+
+    private FileChannel openWal(long walGeneration) throws IOException {
+        Path path = walPath(walGeneration);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(16).putInt(WAL_MAGIC).putInt(FORMAT_VERSION).putLong(walGeneration).flip();
+            writeFramed(channel, header);
+            channel.force(true);
+            return channel;
+        } catch (IOException e) {
+            // Leave nothing behind, so CREATE_NEW can try this generation again
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    // ---- snapshot thread ----
+
+    private void writeSnapshot(long snapshotGeneration) throws IOException {
+        long started = System.nanoTime();
+        List<VersionedJob> jobs = state.getAllVersionedJobs();
+        List<TriggerState> triggers = state.getAllTriggerStates();
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFramed(channel, ByteBuffer.allocate(24).putInt(SNAPSHOT_MAGIC).putInt(FORMAT_VERSION)
+                    .putLong(snapshotGeneration).putInt(jobs.size()).putInt(triggers.size()).flip());
+            writeRecords(channel, buffer, jobs, (out, versioned) -> {
+                out.putLong(versioned.version());
+                BinaryFormat.writeJob(out, versioned.job());
+            });
+            writeRecords(channel, buffer, triggers, BinaryFormat::writeTriggerState);
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (long walGeneration : walGenerations()) {
+            if (walGeneration < snapshotGeneration) {
+                Files.deleteIfExists(walPath(walGeneration));
+            }
+        }
+        System.out.println("📸 Snapshot of " + jobs.size() + " jobs written in " +
+                (System.nanoTime() - started) / 1_000_000 + "ms (generation " + snapshotGeneration + ")");
+    }
+
+    /**
+     * Frames each item into {@code buffer}, writing the buffer out whenever it fills up.
+     */
+    private static <T> void writeRecords(FileChannel channel, ByteBuffer buffer, List<T> items,
+                                         BiConsumer<ByteBuffer, T> writer) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(4096);
+        CRC32 checksum = new CRC32();
+        for (T item : items) {
+            while (true) {
+                try {
+                    record.clear();
+                    writer.accept(record, item);
+                    record.flip();
+                    break;
+                } catch (BufferOverflowException e) {
+                    record = ByteBuffer.allocate(record.capacity() * 2);
+                }
+            }
+            checksum.reset();
+            checksum.update(record.duplicate());
+            if (buffer.remaining() < 8 + record.remaining()) {
+                buffer.flip();
+                while (buffer.hasRemaining()) channel.write(buffer);
+                buffer.clear();
+            }
+            if (buffer.remaining() < 8 + record.remaining()) {
+                ByteBuffer large = ByteBuffer.allocate(8 + record.remaining());
+                large.putInt(record.remaining()).putInt((int) checksum.getValue()).put(record).flip();
+                while (large.hasRemaining()) channel.write(large);
+                continue;
+            }
+            buffer.putInt(record.remaining()).putInt((int) checksum.getValue()).put(record);
+        }
+    }
+
+    private static void writeFramed(FileChannel channel, ByteBuffer payload) throws IOException {
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.duplicate());
+        ByteBuffer framed = ByteBuffer.allocate(8 + payload.remaining());
+        framed.putInt(payload.remaining()).putInt((int) checksum.getValue()).put(payload).flip();
+        while (framed.hasRemaining()) {
+            channel.write(framed);
+        }
+    }
+
+    // ---- recovery ----
+
+    private void recover() throws IOException {
+        long snapshotGeneration = 0;
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            snapshotGeneration = loadSnapshot(snapshot);
+        }
+
+        long lastGeneration = snapshotGeneration;
+        for (long walGeneration : walGenerations()) {
+            if (walGeneration < snapshotGeneration) {
+                Files.deleteIfExists(walPath(walGeneration)); // already covered by the snapshot
+                continue;
+            }
+            replayWal(walGeneration);
+            lastGeneration = Math.max(lastGeneration, walGeneration);
+        }
+
+        generation = lastGeneration + 1;
+        wal = openWal(generation);
+    }
+
+    private long loadSnapshot(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            RecordReader reader = new RecordReader(channel);
+            ByteBuffer header = reader.next();
+            int version = header == null || header.getInt() != SNAPSHOT_MAGIC ? -1 : header.getInt();
+            if (version < MIN_FORMAT_VERSION || version > FORMAT_VERSION) {
+                throw new IllegalStateException("Not a job snapshot (or unsupported version): " + snapshot);
+            }
+            long snapshotGeneration = header.getLong();
+            int expected = header.getInt();
+            int expectedTriggers = version >= 3 ? header.getInt() : 0;
+            int loaded = 0;
+            ByteBuffer payload;
+            while (loaded < expected && (payload = reader.next()) != null) {
+                long jobVersion = version >= 4 ? payload.getLong() : 1;
+                state.restoreJob(new VersionedJob(BinaryFormat.readJob(payload), jobVersion));
+                loaded++;
+            }
+            int loadedTriggers = 0;
+            while ((payload = reader.next()) != null) {
+                state.saveTriggerStates(List.of(BinaryFormat.readTriggerState(payload)));
+                loadedTriggers++;
+            }
+            if (loaded != expected || loadedTriggers != expectedTriggers) {
+                throw new IllegalStateException("Snapshot " + snapshot + " is incomplete: " + loaded + "/" + expected +
+                        " jobs, " + loadedTriggers + "/" + expectedTriggers + " trigger states");
+            }
+            return snapshotGeneration;
+        }
+    }
+
+    private void replayWal(long walGeneration) throws IOException {
+        Path path = walPath(walGeneration);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            RecordReader reader = new RecordReader(channel);
+            ByteBuffer header = reader.next();
+            int version = header == null || header.getInt() != WAL_MAGIC ? -1 : header.getInt();
+            if (version < MIN_FORMAT_VERSION || version > FORMAT_VERSION) {
+                System.out.println("⚠️ Ignoring WAL without a valid header: " + path);
+                return;
+            }
+            ByteBuffer payload;
+            while ((payload = reader.next()) != null) {
+                byte op = payload.get();
+                if (op == OP_SAVE && version >= 4) {
+                    long jobVersion = payload.getLong();
+                    state.restoreJob(new VersionedJob(BinaryFormat.readJob(payload), jobVersion));
+                } else if (op == OP_SAVE) {
+                    state.saveJob(BinaryFormat.readJob(payload));
+                } else if (op == OP_DELETE) {
+                    state.deleteJob(BinaryFormat.readString(payload));
+                } else if (op == OP_TRIGGER) {
+                    state.saveTriggerStates(List.of(BinaryFormat.readTriggerState(payload)));
+                }
+            }
+            if (reader.validEnd() < channel.size()) {
+                System.out.println("⚠️ Truncating torn WAL tail of " + path + " at " + reader.validEnd());
+                channel.truncate(reader.validEnd());
+            }
+        }
+    }
+
+    private List<Long> walGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, WAL_PREFIX + "*" + WAL_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                generations.add(Long.parseLong(name.substring(WAL_PREFIX.length(), name.length() - WAL_SUFFIX.length())));
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private Path walPath(long walGeneration) {
+        return directory.resolve(String.format("%s%016d%s", WAL_PREFIX, walGeneration, WAL_SUFFIX));
+    }
+
+    /**
+     * Sequential reader of framed records. The returned payload is only valid until the next call.
+     */
+    private static final class RecordReader {
+        private final FileChannel channel;
+        private final CRC32 checksum = new CRC32();
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE).flip();
+        private long validEnd;
+
+        RecordReader(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        ByteBuffer next() throws IOException {
+            if (!ensure(8)) {
+                return null;
+            }
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length <= 0 || !ensure(8 + length)) {
+                return null;
+            }
+            start = buffer.position();
+            int expectedCrc = buffer.getInt(start + 4);
+            ByteBuffer payload = buffer.slice(start + 8, length);
+            checksum.reset();
+            checksum.update(payload.duplicate());
+            if ((int) checksum.getValue() != expectedCrc) {
+                return null;
+            }
+            buffer.position(start + 8 + length);
+            validEnd += 8 + length;
+            return payload;
+        }
+
+        long validEnd() {
+            return validEnd;
+        }
+
+        private boolean ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return true;
+            }
+            if (buffer.capacity() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(bytes);
+                grown.put(buffer);
+                buffer = grown;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= bytes;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package org.github.Alyas100.storage.file;
+
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.storage.JobExecutionStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only execution history on memory-mapped segment files.
+ *
+ * <p>Each segment is a pre-sized file mapped with {@link FileChannel#map}. Records are
+ * {@code [int length][int crc32][payload]} with the payload laid out by {@link BinaryFormat};
+ * a zero length marks the end of the written part. When a record does not fit, the store
+ * rolls to a new segment. Whole segments older than the retention window are deleted.</p>
+ *
+ * <p>A per-job index keeps the positions of the most recent {@code indexDepth} records of
+ * every job, so {@link #getExecutionHistory(String, int)} decodes exactly the records it
+ * returns instead of scanning. The index is rebuilt by scanning the segments on open, and
+ * entries go with the segments retention deletes, so a job whose records are all gone leaves
+ * nothing behind.</p>
+ */
+public class MappedJobExecutionStore implements JobExecutionStore {
+    private static final int SEGMENT_MAGIC = 0x4A455853; // "JEXS"
+    private static final int FORMAT_VERSION = 2; // 2: definitions and results encoded with JobCodec
+    private static final int SEGMENT_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "executions-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int DEFAULT_INDEX_DEPTH = 128;
+    private static final Duration DEFAULT_RETENTION = Duration.ofDays(7);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int indexDepth;
+    private final Duration retention;
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, JobIndex> jobIndexes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService maintenance;
+
+    // Guarded by "this": only one writer appends at a time
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    private Segment active;
+    private boolean closed;
+
+    public MappedJobExecutionStore(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_INDEX_DEPTH, DEFAULT_RETENTION);
+    }
+
+    /**
+     * @param segmentSize bytes per segment file
+     * @param indexDepth most recent records per job that can be served from the index
+     * @param retention segments whose newest record is older than this are deleted
+     */
+    public MappedJobExecutionStore(Path directory, int segmentSize, int indexDepth, Duration retention) {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Segment size must be at least 4096 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.indexDepth = indexDepth;
+        this.retention = retention;
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open execution store at " + directory, e);
+        }
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "execution-store-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::flushQuietly, 1, 1, TimeUnit.SECONDS);
+        maintenance.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public synchronized void saveExecution(String jobId, JobExecutionResult result, Instant executedAt) {
+        if (closed) {
+            throw new IllegalStateException("Execution store is closed");
+        }
+        long executedAtMillis = executedAt.toEpochMilli();
+        ByteBuffer payload = encode(jobId, result, executedAtMillis);
+        int length = payload.remaining();
+        int recordSize = RECORD_HEADER_BYTES + length;
+        if (recordSize > segmentSize - SEGMENT_HEADER_BYTES) {
+            throw new IllegalArgumentException("Execution record of " + length + " bytes exceeds segment size");
+        }
+        // A segment reopened on recovery is mapped at its size on disk, not the configured one
+        if (active.position + recordSize > active.size) {
+            roll();
+        }
+
+        crc.reset();
+        crc.update(payload.duplicate());
+
+        int offset = active.position;
+        MappedByteBuffer buffer = active.buffer;
+        buffer.put(offset + RECORD_HEADER_BYTES, payload, payload.position(), length);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, length); // length last: a torn write leaves a zero length behind
+        active.position = offset + recordSize;
+        active.include(executedAtMillis);
+
+        index(jobId, position(active.index, offset));
+    }
+
+    /**
+     * Most recent executions of a job, newest first.
+     */
+    @Override
+    public List<ExecutionRecord> getExecutionHistory(String jobId, int limit) {
+        JobIndex index = jobIndexes.get(jobId);
+        if (index == null || limit <= 0) {
+            return List.of();
+        }
+
+        long[] positions = index.latest(limit);
+        List<ExecutionRecord> history = new ArrayList<>(positions.length);
+        for (long position : positions) {
+            Segment segment = segments.get(segmentOf(position));
+            if (segment == null) {
+                continue; // removed by retention
+            }
+            ByteBuffer view = segment.buffer.duplicate();
+            int payloadOffset = offsetOf(position) + RECORD_HEADER_BYTES;
+            Instant executedAt = Instant.ofEpochMilli(BinaryFormat.readExecutedAt(view, payloadOffset));
+            view.position(payloadOffset);
+            history.add(new ExecutionRecord(jobId, BinaryFormat.readExecution(view), executedAt));
+        }
+        return history;
+    }
+
+    /**
+     * Forces written records to disk.
+     */
+    public synchronized void flush() {
+        if (!closed) {
+            active.buffer.force();
+        }
+    }
+
+    /**
+     * Deletes segments whose newest record is older than the retention window.
+     * The active segment is never deleted.
+     *
+     * @return number of segments removed
+     */
+    public int purgeExpired() {
+        return purgeBefore(Instant.now().minus(retention).toEpochMilli());
+    }
+
+    /**
+     * Deletes whole segments whose newest record is older than {@code cutoff}.
+     */
+    @Override
+    public void deleteExecutionsBefore(Instant cutoff) {
+        purgeBefore(cutoff.toEpochMilli());
+    }
+
+    private int purgeBefore(long cutoff) {
+        int removed = 0;
+        for (Segment segment : segments.values()) {
+            synchronized (this) {
+                if (closed || segment == active || segment.maxTime >= cutoff) {
+                    continue;
+                }
+                segments.remove(segment.index);
+            }
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                System.out.println("⚠️ Failed to delete expired segment " + segment.path + ": " + e.getMessage());
+            }
+            removed++;
+        }
+        if (removed > 0) {
+            pruneIndexes();
+        }
+        return removed;
+    }
+
+    /**
+     * Appends inside the map's compute, so it cannot land in an index {@link #pruneIndexes}
+     * is removing.
+     */
+    private void index(String jobId, long position) {
+        jobIndexes.compute(jobId, (id, index) -> {
+            JobIndex target = index != null ? index : new JobIndex();
+            target.append(position, indexDepth);
+            return target;
+        });
+    }
+
+    /**
+     * Drops index entries pointing into deleted segments, and the jobs left with none.
+     */
+    private void pruneIndexes() {
+        for (String jobId : jobIndexes.keySet()) {
+            jobIndexes.computeIfPresent(jobId, (id, index) ->
+                    index.retain(position -> segments.containsKey(segmentOf(position))) ? index : null);
+        }
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        maintenance.shutdownNow();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            active.buffer.force();
+            segments.values().forEach(Segment::close);
+        }
+    }
+
+    private ByteBuffer encode(String jobId, JobExecutionResult result, long executedAtMillis) {
+        while (true) {
+            try {
+                scratch.clear();
+                BinaryFormat.writeExecution(scratch, jobId, result, executedAtMillis);
+                return scratch.flip();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private void roll() {
+        active.buffer.force();
+        active = openSegment(active.index + 1, true);
+    }
+
+    private void recover() throws IOException {
+        List<Integer> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                indexes.add(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(indexes);
+
+        for (int index : indexes) {
+            active = openSegment(index, false);
+            scan(active);
+        }
+        if (active == null) {
+            active = openSegment(0, true);
+        }
+    }
+
+    private void scan(Segment segment) {
+        ByteBuffer view = segment.buffer.duplicate();
+        CRC32 check = new CRC32();
+        int position = SEGMENT_HEADER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= segment.size) {
+            int length = view.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_BYTES + length > segment.size) {
+                break;
+            }
+            int payloadOffset = position + RECORD_HEADER_BYTES;
+            check.reset();
+            check.update(view.duplicate().position(payloadOffset).limit(payloadOffset + length));
+            if ((int) check.getValue() != view.getInt(position + 4)) {
+                System.out.println("⚠️ Corrupt execution record in " + segment.path + " at " + position + ", truncating");
+                break;
+            }
+            String jobId = BinaryFormat.readJobId(view.duplicate(), payloadOffset);
+            segment.include(BinaryFormat.readExecutedAt(view, payloadOffset));
+            index(jobId, position(segment.index, position));
+            position = payloadOffset + length;
+        }
+        segment.position = position;
+    }
+
+    private Segment openSegment(int index, boolean create) {
+        Path path = directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int size = create ? segmentSize : (int) Math.min(Integer.MAX_VALUE, Math.max(channel.size(), SEGMENT_HEADER_BYTES));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (create) {
+                buffer.putInt(0, SEGMENT_MAGIC);
+                buffer.putInt(4, FORMAT_VERSION);
+            } else if (buffer.getInt(0) != SEGMENT_MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                channel.close();
+                throw new IllegalStateException("Not an execution segment (or unsupported version): " + path);
+            }
+            Segment segment = new Segment(index, path, channel, buffer, size);
+            segments.put(index, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open segment " + path, e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.out.println("⚠️ Execution store flush failed: " + e.getMessage());
+        }
+    }
+
+    private static long position(int segment, int offset) {
+        return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    private static final class Segment {
+        final int index;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int size;
+        int position = SEGMENT_HEADER_BYTES;
+        volatile long minTime = Long.MAX_VALUE;
+        volatile long maxTime = Long.MIN_VALUE;
+
+        Segment(int index, Path path, FileChannel channel, MappedByteBuffer buffer, int size) {
+            this.index = index;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.size = size;
+        }
+
+        void include(long time) {
+            if (time < minTime) minTime = time;
+            if (time > maxTime) maxTime = time;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.out.println("⚠️ Failed to close segment " + path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ring of the latest record positions of one job. Starts small and grows up to the
+     * configured depth, so jobs that rarely run cost only a few longs.
+     */
+    private static final class JobIndex {
+        private long[] positions = new long[4];
+        private int head;   // next slot to write
+        private int count;
+
+        synchronized void append(long position, int depth) {
+            if (count == positions.length && positions.length < depth) {
+                long[] grown = new long[Math.min(depth, positions.length * 2)];
+                for (int i = 0; i < count; i++) {
+                    grown[i] = positions[(head + i) % positions.length];
+                }
+                positions = grown;
+                head = count;
+            }
+            positions[head] = position;
+            head = (head + 1) % positions.length;
+            count = Math.min(count + 1, positions.length);
+        }
+
+        /**
+         * Keeps the positions {@code live} accepts, in order.
+         *
+         * @return whether any are left
+         */
+        synchronized boolean retain(LongPredicate live) {
+            long[] kept = new long[positions.length];
+            int keptCount = 0;
+            for (int i = 0; i < count; i++) {
+                long position = positions[Math.floorMod(head - count + i, positions.length)];
+                if (live.test(position)) {
+                    kept[keptCount++] = position;
+                }
+            }
+            positions = kept;
+            count = keptCount;
+            head = keptCount % positions.length;
+            return keptCount > 0;
+        }
+
+        synchronized long[] latest(int limit) {
+            int n = Math.min(limit, count);
+            long[] result = new long[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = positions[Math.floorMod(head - 1 - i, positions.length)];
+            }
+            return result;
+        }
+    }
+}
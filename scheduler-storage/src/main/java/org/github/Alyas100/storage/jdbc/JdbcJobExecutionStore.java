@@ -0,0 +1,296 @@
+package org.github.Alyas100.storage.jdbc;
+
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.storage.JobExecutionStore;
+import org.github.Alyas100.codec.JobCodec;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.github.Alyas100.storage.jdbc.JdbcStorage.EXECUTIONS_TABLE;
+
+/**
+ * {@link JobExecutionStore} backed by a relational database with batched inserts.
+ *
+ * <p>{@link #saveExecution} only enqueues. A writer thread collects up to {@code batchSize}
+ * rows, or whatever arrived within {@code flushInterval} of the first one, and inserts
+ * them with one JDBC batch in one transaction. At 10k completions per second and the
+ * defaults (500 rows / 50ms) that is about 20 round trips per second. The queue is bounded;
+ * when the database falls behind, callers block instead of growing the heap.</p>
+ *
+ * <p>Rows become visible once their batch commits; call {@link #flush()} to wait for that.
+ * History is read newest-first with keyset pagination over the {@code (job_id, id)} index.</p>
+ */
+public class JdbcJobExecutionStore implements JobExecutionStore {
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+    private static final int DEFAULT_QUEUE_CAPACITY = 100_000;
+
+    private static final String INSERT = "INSERT INTO " + EXECUTIONS_TABLE +
+            " (job_id, executed_at, result_type, duration_ms, error_type, payload) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_PAGE = "SELECT id, executed_at, payload FROM " + EXECUTIONS_TABLE +
+            " WHERE job_id = ? AND id < ? ORDER BY id DESC FETCH FIRST ? ROWS ONLY";
+    private static final String DELETE_BEFORE = "DELETE FROM " + EXECUTIONS_TABLE + " WHERE executed_at < ?";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** A queued row, or a flush barrier when {@code flushed} is set */
+    private record Pending(String jobId, JobExecutionResult result, Instant executedAt, CompletableFuture<Void> flushed) {}
+
+    /**
+     * One page of history, newest first.
+     *
+     * @param nextCursor pass as {@code beforeId} for the next (older) page; -1 when there are no more rows
+     */
+    public record HistoryPage(List<ExecutionRecord> records, long nextCursor) {}
+
+    public JdbcJobExecutionStore(DataSource dataSource) {
+        this(dataSource, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_QUEUE_CAPACITY, true);
+    }
+
+    /**
+     * @param batchSize maximum rows per JDBC batch
+     * @param flushInterval how long the first queued row may wait for others to join its batch
+     * @param queueCapacity queued rows beyond which {@link #saveExecution} blocks
+     * @param createSchema false when the tables are managed elsewhere (migrations)
+     */
+    public JdbcJobExecutionStore(DataSource dataSource, int batchSize, Duration flushInterval,
+                                 int queueCapacity, boolean createSchema) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        if (createSchema) {
+            JdbcStorage.createSchema(dataSource);
+        }
+        this.writer = new Thread(this::runWriter, "execution-store-jdbc-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void saveExecution(String jobId, JobExecutionResult result, Instant executedAt) {
+        enqueue(new Pending(jobId, result, executedAt, null));
+    }
+
+    @Override
+    public List<ExecutionRecord> getExecutionHistory(String jobId, int limit) {
+        return getExecutionHistoryBefore(jobId, Long.MAX_VALUE, limit).records();
+    }
+
+    /**
+     * Reads up to {@code limit} executions older than {@code beforeId}, newest first.
+     */
+    public HistoryPage getExecutionHistoryBefore(String jobId, long beforeId, int limit) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_PAGE)) {
+            select.setString(1, jobId);
+            select.setLong(2, beforeId);
+            select.setInt(3, limit);
+            List<ExecutionRecord> records = new ArrayList<>(limit);
+            long lastId = -1;
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    lastId = rows.getLong(1);
+                    records.add(new ExecutionRecord(jobId, JobCodec.decodeResult(rows.getBytes(3)),
+                            Instant.ofEpochMilli(rows.getLong(2))));
+                }
+            }
+            return new HistoryPage(records, records.size() < limit ? -1 : lastId);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load execution history of " + jobId, e);
+        }
+    }
+
+    /**
+     * Deletes committed executions older than {@code cutoff} using the {@code executed_at} index.
+     */
+    @Override
+    public void deleteExecutionsBefore(Instant cutoff) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement delete = connection.prepareStatement(DELETE_BEFORE)) {
+            delete.setLong(1, cutoff.toEpochMilli());
+            delete.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to delete executions before " + cutoff, e);
+        }
+    }
+
+    /**
+     * Blocks until every execution saved before this call has been committed.
+     */
+    public void flush() {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        enqueue(new Pending(null, null, null, flushed));
+        flushed.join();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /** Number of JDBC batches (database round trips) used for inserts so far */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Flushes queued executions and stops the writer. The data source is owned by the caller.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Pending pending) {
+        if (closed) {
+            throw new IllegalStateException("Execution store is closed");
+        }
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing execution", e);
+        }
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (!closed) {
+            try {
+                Pending first = queue.take();
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize && batch.get(batch.size() - 1).flushed() == null) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize || hasBarrier(batch)) {
+                        break;
+                    }
+                    long wait = deadline - System.nanoTime();
+                    Pending next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                if (batch.isEmpty()) {
+                    continue; // close() interrupts only after its flush completed
+                }
+            }
+            insert(batch);
+            batch.clear();
+        }
+    }
+
+    private static boolean hasBarrier(List<Pending> batch) {
+        for (Pending pending : batch) {
+            if (pending.flushed() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts the batch's rows in one transaction. Whatever goes wrong (a database error or a
+     * record that cannot be bound), the batch is counted as dropped and its flush barriers
+     * still complete, so the writer keeps running and no caller waits forever.
+     */
+    private void insert(List<Pending> batch) {
+        int rows = 0;
+        for (Pending pending : batch) {
+            if (pending.flushed() == null) {
+                rows++;
+            }
+        }
+        try {
+            if (rows > 0) {
+                insertRows(batch, rows);
+            }
+        } catch (SQLException | RuntimeException e) {
+            dropped.addAndGet(rows);
+            System.out.println("❌ Failed to store " + rows + " executions: " + e);
+        } finally {
+            for (Pending pending : batch) {
+                if (pending.flushed() != null) {
+                    pending.flushed().complete(null);
+                }
+            }
+        }
+    }
+
+    private void insertRows(List<Pending> batch, int rows) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                for (Pending pending : batch) {
+                    if (pending.flushed() != null) {
+                        continue;
+                    }
+                    bind(insert, pending);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                batches.incrementAndGet();
+                written.addAndGet(rows);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement insert, Pending pending) throws SQLException {
+        JobExecutionResult result = pending.result();
+        long executedAtMillis = pending.executedAt().toEpochMilli();
+        insert.setString(1, pending.jobId());
+        insert.setLong(2, executedAtMillis);
+        insert.setString(3, result.getClass().getSimpleName());
+        Duration duration = durationOf(result);
+        insert.setLong(4, duration != null ? duration.toMillis() : 0); // plugins may leave it unset
+        insert.setString(5, result instanceof JobExecutionResult.Failure f && f.errorType() != null
+                ? f.errorType().name() : null);
+        insert.setBytes(6, JobCodec.encode(result));
+    }
+
+    private static Duration durationOf(JobExecutionResult result) {
+        if (result instanceof JobExecutionResult.Success s) return s.executionDuration();
+        if (result instanceof JobExecutionResult.Failure f) return f.executionDuration();
+        if (result instanceof JobExecutionResult.PartialSuccess p) return p.executionDuration();
+        return ((JobExecutionResult.Cancelled) result).executionDuration();
+    }
+}
@@ -0,0 +1,611 @@
+package org.github.Alyas100.storage.jdbc;
+
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.storage.JobChange;
+import org.github.Alyas100.storage.JobChangePage;
+import org.github.Alyas100.storage.JobPage;
+import org.github.Alyas100.storage.JobQuery;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.JobVersionConflictException;
+import org.github.Alyas100.storage.TriggerState;
+import org.github.Alyas100.storage.VersionedJob;
+import org.github.Alyas100.codec.JobCodec;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.github.Alyas100.storage.jdbc.JdbcStorage.CHANGES_TABLE;
+import static org.github.Alyas100.storage.jdbc.JdbcStorage.JOBS_TABLE;
+import static org.github.Alyas100.storage.jdbc.JdbcStorage.TRIGGERS_TABLE;
+
+/**
+ * {@link JobRepository} backed by a relational database.
+ *
+ * <p>Saves are update-then-insert so they work on any database without vendor upsert
+ * syntax. {@link #saveJobs} does the same with one update batch and one insert batch
+ * per chunk, inside a single transaction, and like {@link #saveJob} retries once when it
+ * loses an insert race to another node. Every update bumps the row's version column;
+ * {@link #updateJob} adds the expected version to the update's WHERE clause, so the
+ * database does the compare-and-set.</p>
+ *
+ * <p>Trigger states live in their own table and are written the same way; their insert
+ * selects from the jobs table, so a state written after its job was deleted is dropped.</p>
+ *
+ * <p>Every job write also inserts a change row in the same transaction; the identity column
+ * is the feed's sequence, so every node sharing the database sees the same feed. Identity
+ * values are handed out before commit, so a reader can see sequence n+1 while n is still
+ * uncommitted: {@link #getChanges} stops at such a gap until it is {@code GAP_GRACE_MILLIS}
+ * old, after which the missing value is taken as rolled back. The newest
+ * {@code changeRetention} rows are kept; older ones are pruned as this instance writes.</p>
+ */
+public class JdbcJobRepository implements JobRepository {
+    private static final int BATCH_SIZE = 1000;
+    private static final int DEFAULT_CHANGE_RETENTION = 1_000_000;
+    private static final int PRUNE_EVERY = 10_000;
+    private static final long GAP_GRACE_MILLIS = 5_000;
+
+    private static final String UPDATE = "UPDATE " + JOBS_TABLE +
+            " SET job_name = ?, plugin_name = ?, cron_expression = ?, enabled = ?, definition = ?, version = version + 1" +
+            " WHERE job_id = ?";
+    private static final String UPDATE_IF_VERSION = UPDATE + " AND version = ?";
+    private static final String INSERT = "INSERT INTO " + JOBS_TABLE +
+            " (job_name, plugin_name, cron_expression, enabled, definition, job_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ONE = "SELECT definition FROM " + JOBS_TABLE + " WHERE job_id = ?";
+    private static final String SELECT_VERSIONED = "SELECT definition, version FROM " + JOBS_TABLE + " WHERE job_id = ?";
+    private static final String SELECT_VERSION = "SELECT version FROM " + JOBS_TABLE + " WHERE job_id = ?";
+    private static final String SELECT_ALL = "SELECT definition FROM " + JOBS_TABLE;
+    private static final String EXISTS = "SELECT 1 FROM " + JOBS_TABLE + " WHERE job_id = ?";
+    private static final String DELETE = "DELETE FROM " + JOBS_TABLE + " WHERE job_id = ?";
+    private static final String UPDATE_TRIGGER = "UPDATE " + TRIGGERS_TABLE +
+            " SET last_fire_at = ?, next_fire_at = ? WHERE job_id = ?";
+    private static final String INSERT_TRIGGER = "INSERT INTO " + TRIGGERS_TABLE +
+            " (last_fire_at, next_fire_at, job_id) SELECT ?, ?, job_id FROM " + JOBS_TABLE + " WHERE job_id = ?";
+    private static final String EXISTS_TRIGGER = "SELECT 1 FROM " + TRIGGERS_TABLE + " WHERE job_id = ?";
+    private static final String DELETE_TRIGGER = "DELETE FROM " + TRIGGERS_TABLE + " WHERE job_id = ?";
+    private static final String INSERT_CHANGE = "INSERT INTO " + CHANGES_TABLE +
+            " (job_id, change_type, changed_at) VALUES (?, ?, ?)";
+    private static final String SELECT_CHANGES = "SELECT c.sequence, c.change_type, c.job_id, c.changed_at, j.definition FROM " +
+            CHANGES_TABLE + " c LEFT JOIN " + JOBS_TABLE + " j ON j.job_id = c.job_id" +
+            " WHERE c.sequence > ? ORDER BY c.sequence FETCH FIRST ? ROWS ONLY";
+    private static final String OLDEST_CHANGE = "SELECT MIN(sequence) FROM " + CHANGES_TABLE;
+    private static final String SETTLED_CHANGE = "SELECT MAX(sequence) FROM " + CHANGES_TABLE + " WHERE changed_at < ?";
+    private static final String NEWEST_CHANGE = "SELECT MAX(sequence) FROM " + CHANGES_TABLE;
+    private static final String PRUNE_CHANGES = "DELETE FROM " + CHANGES_TABLE + " WHERE sequence <= ?";
+
+    private final DataSource dataSource;
+    private final int changeRetention;
+    private final AtomicLong changesSincePrune = new AtomicLong();
+
+    public JdbcJobRepository(DataSource dataSource) {
+        this(dataSource, true);
+    }
+
+    /**
+     * @param createSchema false when the tables are managed elsewhere (migrations)
+     */
+    public JdbcJobRepository(DataSource dataSource, boolean createSchema) {
+        this(dataSource, createSchema, DEFAULT_CHANGE_RETENTION);
+    }
+
+    /**
+     * @param changeRetention newest change rows kept for {@link #getChanges}
+     */
+    public JdbcJobRepository(DataSource dataSource, boolean createSchema, int changeRetention) {
+        this.dataSource = dataSource;
+        this.changeRetention = Math.max(1, changeRetention);
+        if (createSchema) {
+            JdbcStorage.createSchema(dataSource);
+        }
+    }
+
+    @Override
+    public void saveJob(JobDefinition job) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement change = connection.prepareStatement(INSERT_CHANGE)) {
+                JobChange.Type type;
+                try {
+                    type = upsert(connection, job);
+                } catch (SQLException e) {
+                    if (!JdbcStorage.isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    // Lost an insert race with another writer; ours is the newer value
+                    connection.rollback();
+                    type = upsert(connection, job);
+                }
+                bind(change, job.jobId(), type);
+                change.executeUpdate();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to save job " + job.jobId(), e);
+        }
+        changesLogged(1);
+    }
+
+    private static JobChange.Type upsert(Connection connection, JobDefinition job) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+            bind(update, job);
+            if (update.executeUpdate() > 0) {
+                return JobChange.Type.UPDATED;
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            bind(insert, job);
+            insert.executeUpdate();
+            return JobChange.Type.CREATED;
+        }
+    }
+
+    @Override
+    public void saveJobs(Collection<JobDefinition> jobs) {
+        List<JobDefinition> all = new ArrayList<>(jobs);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try {
+                    upsertAll(connection, all);
+                } catch (SQLException e) {
+                    if (!JdbcStorage.isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    // Lost an insert race with another writer; ours are the newer values
+                    connection.rollback();
+                    upsertAll(connection, all);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to save " + all.size() + " jobs", e);
+        }
+        changesLogged(all.size());
+    }
+
+    private static void upsertAll(Connection connection, List<JobDefinition> all) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(UPDATE);
+             PreparedStatement insert = connection.prepareStatement(INSERT);
+             PreparedStatement change = connection.prepareStatement(INSERT_CHANGE)) {
+            for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+                List<JobDefinition> chunk = all.subList(from, Math.min(all.size(), from + BATCH_SIZE));
+                List<String> jobIds = new ArrayList<>(chunk.size());
+                for (JobDefinition job : chunk) {
+                    bind(update, job);
+                    update.addBatch();
+                    jobIds.add(job.jobId());
+                }
+                boolean[] missing = missingRows(connection, update.executeBatch(), jobIds, EXISTS);
+                int inserts = 0;
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (missing[i]) {
+                        bind(insert, chunk.get(i));
+                        insert.addBatch();
+                        inserts++;
+                    }
+                    bind(change, jobIds.get(i), missing[i] ? JobChange.Type.CREATED : JobChange.Type.UPDATED);
+                    change.addBatch();
+                }
+                if (inserts > 0) {
+                    insert.executeBatch();
+                }
+                change.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Which rows of an executed update batch matched nothing. Only an explicit 0 counts as
+     * missing: drivers that answer {@link Statement#SUCCESS_NO_INFO} (MySQL with
+     * {@code rewriteBatchedStatements}, Oracle) get a per-row check with {@code existsSql}.
+     */
+    private static boolean[] missingRows(Connection connection, int[] updated, List<String> jobIds,
+                                         String existsSql) throws SQLException {
+        boolean[] missing = new boolean[jobIds.size()];
+        PreparedStatement exists = null;
+        try {
+            for (int i = 0; i < missing.length; i++) {
+                int count = i < updated.length ? updated[i] : Statement.SUCCESS_NO_INFO;
+                if (count != Statement.SUCCESS_NO_INFO) {
+                    missing[i] = count == 0;
+                    continue;
+                }
+                if (exists == null) {
+                    exists = connection.prepareStatement(existsSql);
+                }
+                exists.setString(1, jobIds.get(i));
+                try (ResultSet rows = exists.executeQuery()) {
+                    missing[i] = !rows.next();
+                }
+            }
+        } finally {
+            if (exists != null) {
+                exists.close();
+            }
+        }
+        return missing;
+    }
+
+    @Override
+    public Optional<JobDefinition> getJob(String jobId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_ONE)) {
+            select.setString(1, jobId);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? Optional.of(JobCodec.decodeJobDefinition(rows.getBytes(1))) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load job " + jobId, e);
+        }
+    }
+
+    @Override
+    public Optional<VersionedJob> getVersionedJob(String jobId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_VERSIONED)) {
+            select.setString(1, jobId);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next()
+                        ? Optional.of(new VersionedJob(JobCodec.decodeJobDefinition(rows.getBytes(1)), rows.getLong(2)))
+                        : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load job " + jobId, e);
+        }
+    }
+
+    @Override
+    public long updateJob(JobDefinition job, long expectedVersion) {
+        long version;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement update = connection.prepareStatement(expectedVersion == ANY_VERSION ? UPDATE : UPDATE_IF_VERSION);
+                 PreparedStatement select = connection.prepareStatement(SELECT_VERSION);
+                 PreparedStatement change = connection.prepareStatement(INSERT_CHANGE)) {
+                bind(update, job);
+                if (expectedVersion != ANY_VERSION) {
+                    update.setLong(7, expectedVersion);
+                }
+                boolean updated = update.executeUpdate() > 0;
+                select.setString(1, job.jobId());
+                version = singleLong(select); // ours if updated, else the one we conflicted with
+                if (!updated) {
+                    connection.rollback();
+                    throw new JobVersionConflictException(job.jobId(), expectedVersion, version);
+                }
+                bind(change, job.jobId(), JobChange.Type.UPDATED);
+                change.executeUpdate();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to update job " + job.jobId(), e);
+        }
+        changesLogged(1);
+        return version;
+    }
+
+    @Override
+    public List<JobDefinition> getAllJobs() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_ALL)) {
+            select.setFetchSize(BATCH_SIZE);
+            List<JobDefinition> jobs = new ArrayList<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    jobs.add(JobCodec.decodeJobDefinition(rows.getBytes(1)));
+                }
+            }
+            return jobs;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load jobs", e);
+        }
+    }
+
+    @Override
+    public JobDefinition deleteJob(String jobId) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement select = connection.prepareStatement(SELECT_ONE);
+                 PreparedStatement delete = connection.prepareStatement(DELETE);
+                 PreparedStatement deleteTrigger = connection.prepareStatement(DELETE_TRIGGER);
+                 PreparedStatement change = connection.prepareStatement(INSERT_CHANGE)) {
+                select.setString(1, jobId);
+                JobDefinition existing = null;
+                try (ResultSet rows = select.executeQuery()) {
+                    if (rows.next()) {
+                        existing = JobCodec.decodeJobDefinition(rows.getBytes(1));
+                    }
+                }
+                delete.setString(1, jobId);
+                delete.executeUpdate();
+                deleteTrigger.setString(1, jobId);
+                deleteTrigger.executeUpdate();
+                if (existing != null) {
+                    bind(change, jobId, JobChange.Type.DELETED);
+                    change.executeUpdate();
+                }
+                connection.commit();
+                return existing;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to delete job " + jobId, e);
+        }
+    }
+
+    @Override
+    public boolean jobExists(String jobId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(EXISTS)) {
+            select.setString(1, jobId);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to check job " + jobId, e);
+        }
+    }
+
+    @Override
+    public boolean hasChangeFeed() {
+        return true;
+    }
+
+    /**
+     * The newest sequence that no gap can precede any more; a reader resuming from it may see
+     * a few seconds of changes it already has, which applying idempotently absorbs.
+     */
+    @Override
+    public long getLatestChangeSequence() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement settled = connection.prepareStatement(SETTLED_CHANGE)) {
+            settled.setLong(1, System.currentTimeMillis() - GAP_GRACE_MILLIS);
+            long sequence = singleLong(settled);
+            if (sequence > 0) {
+                return sequence;
+            }
+            try (PreparedStatement oldest = connection.prepareStatement(OLDEST_CHANGE)) {
+                return Math.max(0, singleLong(oldest) - 1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read the change feed position", e);
+        }
+    }
+
+    @Override
+    public JobChangePage getChanges(long afterSequence, int limit) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement oldest = connection.prepareStatement(OLDEST_CHANGE)) {
+                long oldestSequence = singleLong(oldest);
+                if (oldestSequence > 0 && afterSequence < oldestSequence - 1) {
+                    return JobChangePage.truncated(afterSequence);
+                }
+            }
+            List<JobChange> changes = new ArrayList<>();
+            long last = afterSequence;
+            long gapCutoff = System.currentTimeMillis() - GAP_GRACE_MILLIS;
+            try (PreparedStatement select = connection.prepareStatement(SELECT_CHANGES)) {
+                select.setLong(1, afterSequence);
+                select.setInt(2, limit);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        long sequence = rows.getLong(1);
+                        if (sequence != last + 1 && rows.getLong(4) > gapCutoff) {
+                            break; // the missing sequence may still commit
+                        }
+                        last = sequence;
+                        JobChange.Type type = JobChange.Type.valueOf(rows.getString(2));
+                        byte[] definition = rows.getBytes(5);
+                        if (type != JobChange.Type.DELETED && definition == null) {
+                            continue; // deleted since; its DELETED change follows
+                        }
+                        changes.add(new JobChange(sequence, type, rows.getString(3),
+                                definition == null || type == JobChange.Type.DELETED ? null : JobCodec.decodeJobDefinition(definition)));
+                    }
+                }
+            }
+            return new JobChangePage(changes, last, false);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read job changes after " + afterSequence, e);
+        }
+    }
+
+    @Override
+    public void saveTriggerStates(Collection<TriggerState> states) {
+        List<TriggerState> all = new ArrayList<>(states);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_TRIGGER);
+                 PreparedStatement insert = connection.prepareStatement(INSERT_TRIGGER)) {
+                for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+                    List<TriggerState> chunk = all.subList(from, Math.min(all.size(), from + BATCH_SIZE));
+                    List<String> jobIds = new ArrayList<>(chunk.size());
+                    for (TriggerState state : chunk) {
+                        bind(update, state);
+                        update.addBatch();
+                        jobIds.add(state.jobId());
+                    }
+                    boolean[] missing = missingRows(connection, update.executeBatch(), jobIds, EXISTS_TRIGGER);
+                    int inserts = 0;
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (missing[i]) {
+                            bind(insert, chunk.get(i));
+                            insert.addBatch();
+                            inserts++;
+                        }
+                    }
+                    if (inserts > 0) {
+                        insert.executeBatch();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to save " + all.size() + " trigger states", e);
+        }
+    }
+
+    @Override
+    public Map<String, TriggerState> getTriggerStates(Collection<String> jobIds) {
+        List<String> all = new ArrayList<>(jobIds);
+        Map<String, TriggerState> found = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+                List<String> chunk = all.subList(from, Math.min(all.size(), from + BATCH_SIZE));
+                String sql = "SELECT job_id, last_fire_at, next_fire_at FROM " + TRIGGERS_TABLE +
+                        " WHERE job_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement select = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        select.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rows = select.executeQuery()) {
+                        while (rows.next()) {
+                            String jobId = rows.getString(1);
+                            found.put(jobId, new TriggerState(jobId, instant(rows, 2), instant(rows, 3)));
+                        }
+                    }
+                }
+            }
+            return found;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load trigger states", e);
+        }
+    }
+
+    /**
+     * Keyset-paginated query in job id order; each filter uses its {@code (column, job_id)} index.
+     */
+    @Override
+    public JobPage findJobs(JobQuery query, String cursor, int pageSize) {
+        StringBuilder sql = new StringBuilder("SELECT definition FROM " + JOBS_TABLE + " WHERE 1 = 1");
+        List<Object> arguments = new ArrayList<>();
+        if (query.pluginName() != null) {
+            sql.append(" AND plugin_name = ?");
+            arguments.add(query.pluginName());
+        }
+        if (query.enabled() != null) {
+            sql.append(" AND enabled = ?");
+            arguments.add(query.enabled());
+        }
+        if (query.cronExpression() != null) {
+            sql.append(" AND cron_expression = ?");
+            arguments.add(query.cronExpression());
+        }
+        if (query.namePrefix() != null) {
+            sql.append(" AND job_name LIKE ? ESCAPE '!'");
+            arguments.add(query.namePrefix().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+        }
+        if (cursor != null) {
+            sql.append(" AND job_id > ?");
+            arguments.add(cursor);
+        }
+        sql.append(" ORDER BY job_id FETCH FIRST ? ROWS ONLY");
+        arguments.add(pageSize + 1);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < arguments.size(); i++) {
+                select.setObject(i + 1, arguments.get(i));
+            }
+            List<JobDefinition> jobs = new ArrayList<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    jobs.add(JobCodec.decodeJobDefinition(rows.getBytes(1)));
+                }
+            }
+            if (jobs.size() <= pageSize) {
+                return new JobPage(jobs, null);
+            }
+            List<JobDefinition> page = jobs.subList(0, pageSize);
+            return new JobPage(page, page.get(pageSize - 1).jobId());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to query jobs " + query, e);
+        }
+    }
+
+    /** Binds the parameters shared by UPDATE and INSERT (job_id last in both) */
+    private static void bind(PreparedStatement statement, JobDefinition job) throws SQLException {
+        statement.setString(1, job.jobName());
+        statement.setString(2, job.pluginName());
+        statement.setString(3, job.cronExpression());
+        statement.setBoolean(4, job.enabled());
+        statement.setBytes(5, JobCodec.encode(job));
+        statement.setString(6, job.jobId());
+    }
+
+    private static void bind(PreparedStatement change, String jobId, JobChange.Type type) throws SQLException {
+        change.setString(1, jobId);
+        change.setString(2, type.name());
+        change.setLong(3, System.currentTimeMillis());
+    }
+
+    private static long singleLong(PreparedStatement select) throws SQLException {
+        try (ResultSet rows = select.executeQuery()) {
+            return rows.next() ? rows.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Prunes the change table once this instance has logged {@code PRUNE_EVERY} changes.
+     */
+    private void changesLogged(int count) {
+        if (changesSincePrune.addAndGet(count) < PRUNE_EVERY) {
+            return;
+        }
+        changesSincePrune.set(0);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement newest = connection.prepareStatement(NEWEST_CHANGE);
+             PreparedStatement prune = connection.prepareStatement(PRUNE_CHANGES)) {
+            long cutoff = singleLong(newest) - changeRetention;
+            if (cutoff > 0) {
+                prune.setLong(1, cutoff);
+                prune.executeUpdate();
+            }
+        } catch (SQLException e) {
+            System.out.println("⚠️ Failed to prune the job change feed: " + e.getMessage());
+        }
+    }
+
+    /** Binds the parameters shared by UPDATE_TRIGGER and INSERT_TRIGGER (job_id last in both) */
+    private static void bind(PreparedStatement statement, TriggerState state) throws SQLException {
+        statement.setObject(1, state.lastFireTime() == null ? null : state.lastFireTime().toEpochMilli(), Types.BIGINT);
+        statement.setObject(2, state.nextFireTime() == null ? null : state.nextFireTime().toEpochMilli(), Types.BIGINT);
+        statement.setString(3, state.jobId());
+    }
+
+    private static Instant instant(ResultSet rows, int column) throws SQLException {
+        long millis = rows.getLong(column);
+        return rows.wasNull() ? null : Instant.ofEpochMilli(millis);
+    }
+}
@@ -0,0 +1,102 @@
+package org.github.Alyas100.storage.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Connection pool and schema setup shared by the JDBC stores.
+ *
+ * <p>Definitions and results are kept as binary blobs; the columns next to them only
+ * exist to be filtered and indexed. The DDL uses standard SQL identity columns and
+ * {@code IF NOT EXISTS}, which H2, PostgreSQL and MySQL 8 accept.</p>
+ */
+public final class JdbcStorage {
+    static final String JOBS_TABLE = "scheduler_jobs";
+    static final String EXECUTIONS_TABLE = "scheduler_executions";
+    static final String TRIGGERS_TABLE = "scheduler_trigger_states";
+    static final String CHANGES_TABLE = "scheduler_job_changes";
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS " + JOBS_TABLE + " (" +
+                    "job_id VARCHAR(255) PRIMARY KEY, " +
+                    "job_name VARCHAR(255), " +
+                    "plugin_name VARCHAR(255) NOT NULL, " +
+                    "cron_expression VARCHAR(255), " +
+                    "enabled BOOLEAN NOT NULL, " +
+                    "version BIGINT DEFAULT 1 NOT NULL, " +
+                    "definition BLOB NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_scheduler_jobs_plugin ON " + JOBS_TABLE + " (plugin_name, job_id)",
+            "CREATE INDEX IF NOT EXISTS idx_scheduler_jobs_cron ON " + JOBS_TABLE + " (cron_expression, job_id)",
+            "CREATE INDEX IF NOT EXISTS idx_scheduler_jobs_enabled ON " + JOBS_TABLE + " (enabled, job_id)",
+            "CREATE INDEX IF NOT EXISTS idx_scheduler_jobs_name ON " + JOBS_TABLE + " (job_name)",
+            // Own table so fire-time updates never rewrite definition blobs; times in epoch millis
+            "CREATE TABLE IF NOT EXISTS " + TRIGGERS_TABLE + " (" +
+                    "job_id VARCHAR(255) PRIMARY KEY, " +
+                    "last_fire_at BIGINT, " +
+                    "next_fire_at BIGINT)",
+            // Change feed; definitions are joined from the jobs table when read
+            "CREATE TABLE IF NOT EXISTS " + CHANGES_TABLE + " (" +
+                    "sequence BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "job_id VARCHAR(255) NOT NULL, " +
+                    "change_type VARCHAR(16) NOT NULL, " +
+                    "changed_at BIGINT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS " + EXECUTIONS_TABLE + " (" +
+                    "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "job_id VARCHAR(255) NOT NULL, " +
+                    "executed_at BIGINT NOT NULL, " +
+                    "result_type VARCHAR(32) NOT NULL, " +
+                    "duration_ms BIGINT NOT NULL, " +
+                    "error_type VARCHAR(32), " +
+                    "payload BLOB NOT NULL)",
+            // Keyset pagination walks (job_id, id) backwards
+            "CREATE INDEX IF NOT EXISTS idx_scheduler_executions_job ON " + EXECUTIONS_TABLE + " (job_id, id)",
+            "CREATE INDEX IF NOT EXISTS idx_scheduler_executions_time ON " + EXECUTIONS_TABLE + " (executed_at)"
+    };
+
+    private JdbcStorage() {
+    }
+
+    /**
+     * Creates a pooled data source.
+     *
+     * @param maxPoolSize upper bound on open connections; the execution writer holds at most one
+     */
+    public static HikariDataSource dataSource(String jdbcUrl, String username, String password, int maxPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setPoolName("scheduler-storage");
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Creates the tables and indexes if they do not exist yet.
+     */
+    public static void createSchema(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create scheduler schema", e);
+        }
+    }
+
+    static boolean isDuplicateKey(SQLException e) {
+        // A failed batch may carry the constraint violation as its next exception
+        for (SQLException cause = e; cause != null; cause = cause.getNextException()) {
+            if (cause.getSQLState() != null && cause.getSQLState().startsWith("23")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package org.github.Alyas100.storage.rollup;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Sparse log-linear histogram of execution durations in microseconds.
+ *
+ * <p>Values below 16µs are counted exactly; above that every power of two is split into 8
+ * sub-buckets, so a percentile is off by at most 12.5%. Only occupied buckets are stored
+ * (a job's durations usually fall into a handful), which keeps a minute bucket to a few
+ * dozen bytes. Count, sum, min and max are exact.</p>
+ *
+ * <p>Instances handed out by {@link RollupExecutionStore} are copies and never change.</p>
+ */
+public final class DurationHistogram {
+    private static final int EXACT_LIMIT = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private int[] indexes;
+    private long[] counts;
+    private int size;
+    private long count;
+    private long sumMicros;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+
+    DurationHistogram() {
+        this.indexes = new int[4];
+        this.counts = new long[4];
+    }
+
+    private DurationHistogram(DurationHistogram source) {
+        this.indexes = Arrays.copyOf(source.indexes, source.size);
+        this.counts = Arrays.copyOf(source.counts, source.size);
+        this.size = source.size;
+        this.count = source.count;
+        this.sumMicros = source.sumMicros;
+        this.minMicros = source.minMicros;
+        this.maxMicros = source.maxMicros;
+    }
+
+    void record(Duration duration) {
+        long micros = duration == null ? 0 : Math.max(0, toMicros(duration));
+        add(indexOf(micros), 1);
+        count++;
+        sumMicros += micros;
+        minMicros = Math.min(minMicros, micros);
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    void merge(DurationHistogram other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.indexes[i], other.counts[i]);
+        }
+        count += other.count;
+        sumMicros += other.sumMicros;
+        minMicros = Math.min(minMicros, other.minMicros);
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    DurationHistogram copy() {
+        return new DurationHistogram(this);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.99
+     * @return the duration at that quantile, {@link Duration#ZERO} when empty
+     */
+    public Duration percentile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < size; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long micros = Math.min(maxMicros, Math.max(minMicros, midpointOf(indexes[i])));
+                return Duration.ofNanos(micros * 1000);
+            }
+        }
+        return Duration.ofNanos(maxMicros * 1000);
+    }
+
+    public Duration getMin() {
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(minMicros * 1000);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(maxMicros * 1000);
+    }
+
+    public Duration getMean() {
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(sumMicros / count * 1000);
+    }
+
+    /** Number of occupied buckets, a proxy for memory use */
+    int bucketCount() {
+        return size;
+    }
+
+    private void add(int index, long increment) {
+        int position = Arrays.binarySearch(indexes, 0, size, index);
+        if (position >= 0) {
+            counts[position] += increment;
+            return;
+        }
+        position = -position - 1;
+        if (size == indexes.length) {
+            indexes = Arrays.copyOf(indexes, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        System.arraycopy(indexes, position, indexes, position + 1, size - position);
+        System.arraycopy(counts, position, counts, position + 1, size - position);
+        indexes[position] = index;
+        counts[position] = increment;
+        size++;
+    }
+
+    static int indexOf(long micros) {
+        if (micros < EXACT_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT_LIMIT + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    static long midpointOf(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int exponent = (index - EXACT_LIMIT) / SUB_BUCKETS + 4;
+        int subBucket = (index - EXACT_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (1L << exponent) + subBucket * width;
+        return lower + width / 2;
+    }
+
+    private static long toMicros(Duration duration) {
+        try {
+            return duration.toNanos() / 1000;
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 1000; // durations beyond ~292 years
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.github.Alyas100.storage.rollup;
+
+import org.github.Alyas100.ErrorType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Aggregated executions of one job over {@code [start, end)}.
+ *
+ * @param failuresByType failure counts per {@link ErrorType}; types without failures are absent
+ * @param durations execution durations of every result type
+ */
+public record ExecutionRollup(
+        String jobId,
+        Instant start,
+        Instant end,
+        long successes,
+        long failures,
+        long partialSuccesses,
+        long cancellations,
+        Map<ErrorType, Long> failuresByType,
+        DurationHistogram durations
+) {
+    public long total() {
+        return successes + failures + partialSuccesses + cancellations;
+    }
+
+    public double failureRate() {
+        long total = total();
+        return total == 0 ? 0 : (double) failures / total;
+    }
+
+    public Duration p50() {
+        return durations.percentile(0.50);
+    }
+
+    public Duration p95() {
+        return durations.percentile(0.95);
+    }
+
+    public Duration p99() {
+        return durations.percentile(0.99);
+    }
+}
@@ -0,0 +1,315 @@
+package org.github.Alyas100.storage.rollup;
+
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.storage.JobExecutionStore;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JobExecutionStore} decorator that keeps raw history for a recent window and
+ * per-minute, per-hour and per-day aggregates for longer.
+ *
+ * <p>Each saved execution is written to the delegate and added to the current minute, hour
+ * and day bucket of its job, so rollups are always up to date and never rebuilt by scanning
+ * raw history. A bucket holds counts per result type, failure counts per {@link ErrorType}
+ * and a {@link DurationHistogram}. Every tier has its own retention; a maintenance task drops
+ * expired buckets and asks the delegate to delete raw records older than the raw window.</p>
+ *
+ * <p>{@link #summarize} answers a time range from the coarsest buckets that fit inside it
+ * (a year is about 365 day buckets plus the hour and minute buckets at its edges). Where a
+ * finer tier has already expired, range edges are rounded out to the next coarser bucket.</p>
+ *
+ * <p>Rollups live in memory and start empty; they are not rebuilt from the delegate on open.</p>
+ */
+public class RollupExecutionStore implements JobExecutionStore {
+    private static final Duration DEFAULT_RAW_RETENTION = Duration.ofDays(1);
+    private static final Duration DEFAULT_MINUTE_RETENTION = Duration.ofHours(6);
+    private static final Duration DEFAULT_HOUR_RETENTION = Duration.ofDays(30);
+    private static final Duration DEFAULT_DAY_RETENTION = Duration.ofDays(400);
+    private static final RollupResolution[] RESOLUTIONS = RollupResolution.values();
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+
+    private final JobExecutionStore delegate;
+    private final Duration rawRetention;
+    private final long[] retentionMillis = new long[RESOLUTIONS.length];
+    private final Map<String, JobRollups> rollups = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService maintenance;
+
+    public RollupExecutionStore(JobExecutionStore delegate) {
+        this(delegate, DEFAULT_RAW_RETENTION, DEFAULT_MINUTE_RETENTION, DEFAULT_HOUR_RETENTION, DEFAULT_DAY_RETENTION);
+    }
+
+    /**
+     * @param rawRetention raw records older than this are deleted from the delegate
+     * @param minuteRetention how long per-minute buckets are kept
+     * @param hourRetention how long per-hour buckets are kept (at least {@code minuteRetention})
+     * @param dayRetention how long per-day buckets are kept (at least {@code hourRetention})
+     */
+    public RollupExecutionStore(JobExecutionStore delegate, Duration rawRetention, Duration minuteRetention,
+                                Duration hourRetention, Duration dayRetention) {
+        if (minuteRetention.compareTo(hourRetention) > 0 || hourRetention.compareTo(dayRetention) > 0) {
+            throw new IllegalArgumentException("Coarser rollups must be kept at least as long as finer ones");
+        }
+        this.delegate = delegate;
+        this.rawRetention = rawRetention;
+        retentionMillis[RollupResolution.MINUTE.ordinal()] = minuteRetention.toMillis();
+        retentionMillis[RollupResolution.HOUR.ordinal()] = hourRetention.toMillis();
+        retentionMillis[RollupResolution.DAY.ordinal()] = dayRetention.toMillis();
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "execution-rollup-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void saveExecution(String jobId, JobExecutionResult result, Instant executedAt) {
+        delegate.saveExecution(jobId, result, executedAt);
+        long executedAtMillis = executedAt.toEpochMilli();
+        long now = System.currentTimeMillis();
+        rollups.compute(jobId, (id, job) -> {
+            JobRollups target = job != null ? job : new JobRollups();
+            synchronized (target) {
+                for (RollupResolution resolution : RESOLUTIONS) {
+                    if (!retained(resolution, executedAtMillis, now)) {
+                        continue; // arrived after its bucket expired
+                    }
+                    target.tiers.get(resolution.ordinal())
+                            .computeIfAbsent(resolution.truncate(executedAtMillis), start -> new Bucket())
+                            .add(result);
+                }
+            }
+            return target;
+        });
+    }
+
+    /** Raw history, limited to what the delegate still holds */
+    @Override
+    public List<ExecutionRecord> getExecutionHistory(String jobId, int limit) {
+        return delegate.getExecutionHistory(jobId, limit);
+    }
+
+    /**
+     * Buckets of one resolution whose start lies in {@code [from, to)}, oldest first.
+     * {@code from} is rounded down to the bucket boundary.
+     */
+    public List<ExecutionRollup> getRollups(String jobId, RollupResolution resolution, Instant from, Instant to) {
+        JobRollups job = rollups.get(jobId);
+        if (job == null) {
+            return List.of();
+        }
+        List<ExecutionRollup> result = new ArrayList<>();
+        synchronized (job) {
+            NavigableMap<Long, Bucket> range = job.tiers.get(resolution.ordinal())
+                    .subMap(resolution.truncate(from.toEpochMilli()), true, to.toEpochMilli(), false);
+            for (Map.Entry<Long, Bucket> entry : range.entrySet()) {
+                long start = entry.getKey();
+                result.add(entry.getValue().toRollup(jobId, start, start + resolution.spanMillis()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Aggregates {@code [from, to)} from the coarsest buckets that fit, rounding the edges out
+     * to the finest resolution still retained there. The returned rollup's start and end are
+     * the range actually covered.
+     */
+    public ExecutionRollup summarize(String jobId, Instant from, Instant to) {
+        long end = to.toEpochMilli();
+        long cursor = from.toEpochMilli();
+        long now = System.currentTimeMillis();
+        JobRollups job = rollups.get(jobId);
+        Bucket total = new Bucket();
+        long coveredStart = Long.MAX_VALUE;
+
+        while (cursor < end) {
+            RollupResolution finest = finestRetained(cursor, now);
+            if (finest == null) {
+                // older than every tier: skip ahead to the next day boundary
+                cursor = RollupResolution.DAY.truncate(cursor) + RollupResolution.DAY.spanMillis();
+                continue;
+            }
+            long start = finest.truncate(cursor);
+            RollupResolution step = finest;
+            for (int i = finest.ordinal() + 1; i < RESOLUTIONS.length; i++) {
+                RollupResolution coarser = RESOLUTIONS[i];
+                if (coarser.truncate(start) == start && start + coarser.spanMillis() <= end) {
+                    step = coarser;
+                }
+            }
+            if (job != null) {
+                synchronized (job) {
+                    Bucket bucket = job.tiers.get(step.ordinal()).get(start);
+                    if (bucket != null) {
+                        total.merge(bucket);
+                    }
+                }
+            }
+            coveredStart = Math.min(coveredStart, start);
+            cursor = start + step.spanMillis();
+        }
+        if (coveredStart == Long.MAX_VALUE) {
+            coveredStart = end;
+        }
+        return total.toRollup(jobId, coveredStart, Math.max(cursor, end));
+    }
+
+    /**
+     * Drops buckets older than their tier's retention and raw records older than the raw window.
+     *
+     * @return number of buckets removed
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int[] removed = new int[1];
+        for (String jobId : rollups.keySet()) {
+            rollups.computeIfPresent(jobId, (id, job) -> {
+                synchronized (job) {
+                    for (RollupResolution resolution : RESOLUTIONS) {
+                        NavigableMap<Long, Bucket> expired = job.tiers.get(resolution.ordinal())
+                                .headMap(resolution.truncate(now - retentionMillis[resolution.ordinal()]), false);
+                        removed[0] += expired.size();
+                        expired.clear();
+                    }
+                    return job.isEmpty() ? null : job;
+                }
+            });
+        }
+        try {
+            delegate.deleteExecutionsBefore(Instant.ofEpochMilli(now).minus(rawRetention));
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Failed to delete expired executions: " + e.getMessage());
+        }
+        return removed[0];
+    }
+
+    /** Buckets currently held across all jobs and tiers */
+    public int getBucketCount() {
+        int count = 0;
+        for (JobRollups job : rollups.values()) {
+            synchronized (job) {
+                for (NavigableMap<Long, Bucket> tier : job.tiers) {
+                    count += tier.size();
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void deleteExecutionsBefore(Instant cutoff) {
+        delegate.deleteExecutionsBefore(cutoff);
+    }
+
+    @Override
+    public void close() {
+        maintenance.shutdownNow();
+        delegate.close();
+    }
+
+    private RollupResolution finestRetained(long time, long now) {
+        for (RollupResolution resolution : RESOLUTIONS) {
+            if (retained(resolution, time, now)) {
+                return resolution;
+            }
+        }
+        return null;
+    }
+
+    /** A bucket survives until its start falls behind the tier's cutoff */
+    private boolean retained(RollupResolution resolution, long time, long now) {
+        return resolution.truncate(time) >= resolution.truncate(now - retentionMillis[resolution.ordinal()]);
+    }
+
+    /** One job's buckets per tier, keyed by bucket start; guarded by the instance lock */
+    private static final class JobRollups {
+        final List<TreeMap<Long, Bucket>> tiers = new ArrayList<>(RESOLUTIONS.length);
+
+        JobRollups() {
+            for (int i = 0; i < RESOLUTIONS.length; i++) {
+                tiers.add(new TreeMap<>());
+            }
+        }
+
+        boolean isEmpty() {
+            for (TreeMap<Long, Bucket> tier : tiers) {
+                if (!tier.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Bucket {
+        long successes;
+        long failures;
+        long partialSuccesses;
+        long cancellations;
+        long[] failuresByType; // by ErrorType ordinal, allocated on the first failure
+        final DurationHistogram durations = new DurationHistogram();
+
+        void add(JobExecutionResult result) {
+            if (result instanceof JobExecutionResult.Success success) {
+                successes++;
+                durations.record(success.executionDuration());
+            } else if (result instanceof JobExecutionResult.Failure failure) {
+                failures++;
+                ErrorType type = failure.errorType() != null ? failure.errorType() : ErrorType.UNKNOWN_ERROR;
+                errorCounts()[type.ordinal()]++;
+                durations.record(failure.executionDuration());
+            } else if (result instanceof JobExecutionResult.PartialSuccess partial) {
+                partialSuccesses++;
+                durations.record(partial.executionDuration());
+            } else if (result instanceof JobExecutionResult.Cancelled cancelled) {
+                cancellations++;
+                durations.record(cancelled.executionDuration());
+            }
+        }
+
+        void merge(Bucket other) {
+            successes += other.successes;
+            failures += other.failures;
+            partialSuccesses += other.partialSuccesses;
+            cancellations += other.cancellations;
+            if (other.failuresByType != null) {
+                long[] counts = errorCounts();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += other.failuresByType[i];
+                }
+            }
+            durations.merge(other.durations);
+        }
+
+        ExecutionRollup toRollup(String jobId, long start, long end) {
+            Map<ErrorType, Long> byType = new EnumMap<>(ErrorType.class);
+            if (failuresByType != null) {
+                for (ErrorType type : ERROR_TYPES) {
+                    if (failuresByType[type.ordinal()] > 0) {
+                        byType.put(type, failuresByType[type.ordinal()]);
+                    }
+                }
+            }
+            return new ExecutionRollup(jobId, Instant.ofEpochMilli(start), Instant.ofEpochMilli(end),
+                    successes, failures, partialSuccesses, cancellations,
+                    Collections.unmodifiableMap(byType), durations.copy());
+        }
+
+        private long[] errorCounts() {
+            if (failuresByType == null) {
+                failuresByType = new long[ERROR_TYPES.length];
+            }
+            return failuresByType;
+        }
+    }
+}
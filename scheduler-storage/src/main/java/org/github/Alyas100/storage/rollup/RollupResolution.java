@@ -0,0 +1,33 @@
+package org.github.Alyas100.storage.rollup;
+
+import java.time.Duration;
+
+/**
+ * Bucket sizes of execution rollups, finest first. Buckets are aligned to UTC.
+ */
+public enum RollupResolution {
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration span;
+    private final long spanMillis;
+
+    RollupResolution(Duration span) {
+        this.span = span;
+        this.spanMillis = span.toMillis();
+    }
+
+    public Duration span() {
+        return span;
+    }
+
+    long spanMillis() {
+        return spanMillis;
+    }
+
+    /** Start of the bucket containing {@code epochMillis} */
+    long truncate(long epochMillis) {
+        return Math.floorDiv(epochMillis, spanMillis) * spanMillis;
+    }
+}
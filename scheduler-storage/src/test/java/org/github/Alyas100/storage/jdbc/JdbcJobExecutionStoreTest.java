@@ -0,0 +1,111 @@
+package org.github.Alyas100.storage.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.github.Alyas100.ErrorType;
+import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.storage.JobExecutionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JdbcJobExecutionStore} against an embedded H2 database.
+ */
+class JdbcJobExecutionStoreTest {
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = JdbcStorage.dataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void insertsAreBatched() {
+        try (JdbcJobExecutionStore store = new JdbcJobExecutionStore(dataSource, 100, Duration.ofSeconds(1), 10_000, true)) {
+            for (int i = 0; i < 1000; i++) {
+                store.saveExecution("job-" + (i % 10), success(i), BASE.plusMillis(i));
+            }
+            store.flush();
+
+            assertEquals(1000, store.getWrittenCount());
+            assertTrue(store.getBatchCount() <= 20, "expected batches of up to 100 rows, got " + store.getBatchCount());
+            assertEquals(100, store.getExecutionHistory("job-3", 1000).size());
+        }
+    }
+
+    @Test
+    void historyPagesNewestFirstWithoutOverlap() {
+        try (JdbcJobExecutionStore store = new JdbcJobExecutionStore(dataSource)) {
+            for (int i = 0; i < 125; i++) {
+                store.saveExecution("job", i % 5 == 0 ? failure() : success(i), BASE.plusMillis(i));
+            }
+            store.flush();
+
+            List<Instant> seen = new ArrayList<>();
+            long cursor = Long.MAX_VALUE;
+            while (cursor != -1) {
+                JdbcJobExecutionStore.HistoryPage page = store.getExecutionHistoryBefore("job", cursor, 50);
+                page.records().forEach(record -> seen.add(record.executedAt()));
+                cursor = page.nextCursor();
+            }
+            assertEquals(125, seen.size());
+            assertEquals(BASE.plusMillis(124), seen.get(0));
+            assertEquals(BASE, seen.get(124));
+
+            JobExecutionStore.ExecutionRecord latest = store.getExecutionHistory("job", 1).get(0);
+            assertEquals(success(124), latest.result());
+            assertEquals(failure(), store.getExecutionHistoryBefore("job", Long.MAX_VALUE, 5).records().get(4).result());
+        }
+    }
+
+    @Test
+    void deletesExecutionsBeforeCutoff() {
+        try (JdbcJobExecutionStore store = new JdbcJobExecutionStore(dataSource)) {
+            for (int i = 0; i < 10; i++) {
+                store.saveExecution("job", success(i), BASE.plusSeconds(i));
+            }
+            store.flush();
+
+            store.deleteExecutionsBefore(BASE.plusSeconds(7));
+
+            assertEquals(3, store.getExecutionHistory("job", 100).size());
+        }
+    }
+
+    @Test
+    void nullDurationIsStoredAndABadRecordOnlyDropsItsBatch() {
+        try (JdbcJobExecutionStore store = new JdbcJobExecutionStore(dataSource)) {
+            store.saveExecution("job", new JobExecutionResult.Success("ok", Map.of(), null, 0L), BASE);
+            store.flush();
+            store.saveExecution("job", null, BASE.plusMillis(1)); // cannot be bound
+            store.flush();
+            store.saveExecution("job", success(2), BASE.plusMillis(2));
+            store.flush();
+
+            assertEquals(2, store.getWrittenCount());
+            assertEquals(1, store.getDroppedCount());
+            assertEquals(2, store.getExecutionHistory("job", 10).size());
+        }
+    }
+
+    private static JobExecutionResult success(int n) {
+        return new JobExecutionResult.Success("ok", Map.of("n", n), Duration.ofMillis(12), 0L);
+    }
+
+    private static JobExecutionResult failure() {
+        return new JobExecutionResult.Failure("timeout", null, Duration.ofSeconds(30), true, ErrorType.TIMEOUT, 1);
+    }
+}
@@ -0,0 +1,201 @@
+package org.github.Alyas100.storage.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.storage.JobChange;
+import org.github.Alyas100.storage.JobChangePage;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.JobVersionConflictException;
+import org.github.Alyas100.storage.TriggerState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JdbcJobRepository} against an embedded H2 database.
+ */
+class JdbcJobRepositoryTest {
+    private HikariDataSource dataSource;
+    private JdbcJobRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = JdbcStorage.dataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", 4);
+        repository = new JdbcJobRepository(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void saveJobInsertsThenUpdates() {
+        repository.saveJob(job("a", true));
+        repository.saveJob(job("a", false));
+
+        assertEquals(job("a", false), repository.getJob("a").orElseThrow());
+        assertEquals(2, repository.getVersionedJob("a").orElseThrow().version());
+        assertEquals(List.of(JobChange.Type.CREATED, JobChange.Type.UPDATED), changeTypes(repository, 0));
+    }
+
+    @Test
+    void saveJobsInsertsNewAndUpdatesExistingInOneCall() {
+        repository.saveJob(job("job-0", true));
+        List<JobDefinition> jobs = jobs(2500, false);
+
+        repository.saveJobs(jobs);
+
+        assertEquals(2500, repository.getAllJobs().size());
+        assertEquals(job("job-0", false), repository.getJob("job-0").orElseThrow());
+        assertEquals(2, repository.getVersionedJob("job-0").orElseThrow().version());
+        assertEquals(1, repository.getVersionedJob("job-1").orElseThrow().version());
+        List<JobChange> changes = repository.getChanges(1, 10_000).changes();
+        assertEquals(2500, changes.size());
+        assertEquals(JobChange.Type.UPDATED, changes.get(0).type());
+        assertTrue(changes.subList(1, changes.size()).stream().allMatch(change -> change.type() == JobChange.Type.CREATED));
+    }
+
+    @Test
+    void saveJobsInsertsMissingRowsWhenTheDriverReportsNoCounts() {
+        JdbcJobRepository noInfo = new JdbcJobRepository(withoutUpdateCounts(dataSource), false);
+        noInfo.saveJob(job("job-0", true));
+
+        noInfo.saveJobs(jobs(10, false));
+        noInfo.saveTriggerStates(List.of(state("job-1", 1000)));
+        noInfo.saveTriggerStates(List.of(state("job-1", 2000), state("job-2", 3000)));
+
+        assertEquals(10, noInfo.getAllJobs().size());
+        assertEquals(List.of(JobChange.Type.UPDATED), changeTypes(noInfo, 1).subList(0, 1));
+        assertEquals(9, changeTypes(noInfo, 2).stream().filter(type -> type == JobChange.Type.CREATED).count());
+        Map<String, TriggerState> states = noInfo.getTriggerStates(List.of("job-1", "job-2"));
+        assertEquals(state("job-1", 2000), states.get("job-1"));
+        assertEquals(state("job-2", 3000), states.get("job-2"));
+    }
+
+    @Test
+    void updateJobChecksTheVersion() {
+        repository.saveJob(job("a", true));
+
+        assertEquals(2, repository.updateJob(job("a", false), 1));
+        JobVersionConflictException conflict = assertThrows(JobVersionConflictException.class,
+                () -> repository.updateJob(job("a", true), 1));
+        assertEquals(2, conflict.getActualVersion());
+        assertEquals(3, repository.updateJob(job("a", true), JobRepository.ANY_VERSION));
+        assertEquals(job("a", true), repository.getJob("a").orElseThrow());
+    }
+
+    @Test
+    void triggerStatesAreUpsertedAndDroppedWithTheirJob() {
+        repository.saveJob(job("a", true));
+        repository.saveTriggerStates(List.of(state("a", 1000), state("missing", 1000)));
+        repository.saveTriggerStates(List.of(state("a", 2000)));
+
+        assertEquals(Map.of("a", state("a", 2000)), repository.getTriggerStates(List.of("a", "missing")));
+
+        repository.deleteJob("a");
+        assertEquals(Map.of(), repository.getTriggerStates(List.of("a")));
+    }
+
+    @Test
+    void changeFeedListsWritesInOrderAndResumes() {
+        repository.saveJob(job("a", true));
+        repository.saveJob(job("b", true));
+        repository.deleteJob("a");
+
+        JobChangePage first = repository.getChanges(0, 2);
+        assertFalse(first.truncated());
+        // a was deleted since: its create is skipped, the DELETED change that follows says it all
+        assertEquals(List.of("b"), first.changes().stream().map(JobChange::jobId).toList());
+        assertEquals(job("b", true), first.changes().get(0).job());
+        assertEquals(2, first.lastSequence());
+
+        JobChangePage rest = repository.getChanges(first.lastSequence(), 10);
+        assertEquals(1, rest.changes().size());
+        assertEquals(JobChange.Type.DELETED, rest.changes().get(0).type());
+        // The latest sequence lags by the gap grace, so resuming from it only repeats changes
+        assertTrue(repository.getLatestChangeSequence() <= rest.lastSequence());
+        assertTrue(repository.getChanges(rest.lastSequence(), 10).changes().isEmpty());
+    }
+
+    @Test
+    void prunedFeedAsksOldReadersToResync() {
+        JdbcJobRepository pruning = new JdbcJobRepository(dataSource, false, 100);
+        pruning.saveJobs(jobs(10_000, true));
+        pruning.saveJob(job("job-0", false)); // past the prune threshold
+
+        assertTrue(pruning.getChanges(0, 10).truncated());
+        // Nothing has settled yet, so the latest sequence is just before the oldest kept change
+        JobChangePage kept = pruning.getChanges(pruning.getLatestChangeSequence(), 1000);
+        assertFalse(kept.truncated());
+        assertEquals(101, kept.changes().size());
+        JobChange last = kept.changes().get(kept.changes().size() - 1);
+        assertEquals(JobChange.Type.UPDATED, last.type());
+        assertEquals(job("job-0", false), last.job());
+    }
+
+    private static List<JobChange.Type> changeTypes(JdbcJobRepository repository, long afterSequence) {
+        return repository.getChanges(afterSequence, 10_000).changes().stream().map(JobChange::type).toList();
+    }
+
+    private static List<JobDefinition> jobs(int count, boolean enabled) {
+        List<JobDefinition> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jobs.add(job("job-" + i, enabled));
+        }
+        return jobs;
+    }
+
+    private static JobDefinition job(String jobId, boolean enabled) {
+        return new JobDefinition(jobId, "Job " + jobId, "test-plugin", "0 * * * * *", Map.of("n", 1), null, null, 0,
+                enabled);
+    }
+
+    private static TriggerState state(String jobId, long lastFireMillis) {
+        return new TriggerState(jobId, Instant.ofEpochMilli(lastFireMillis), Instant.ofEpochMilli(lastFireMillis + 60_000));
+    }
+
+    /**
+     * Answers every UPDATE batch with {@link Statement#SUCCESS_NO_INFO}, as MySQL with
+     * {@code rewriteBatchedStatements} and Oracle do.
+     */
+    private static DataSource withoutUpdateCounts(DataSource target) {
+        return proxy(DataSource.class, target, (method, args, result) ->
+                method.getName().equals("getConnection") ? proxy(Connection.class, result, (m, a, statement) ->
+                        m.getName().equals("prepareStatement") && ((String) a[0]).startsWith("UPDATE")
+                                ? proxy(PreparedStatement.class, statement, (sm, sa, counts) -> {
+                                    if (sm.getName().equals("executeBatch")) {
+                                        Arrays.fill((int[]) counts, Statement.SUCCESS_NO_INFO);
+                                    }
+                                    return counts;
+                                })
+                                : statement) : result);
+    }
+
+    private interface ResultMapper {
+        Object map(java.lang.reflect.Method method, Object[] args, Object result) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, ResultMapper mapper) {
+        InvocationHandler handler = (self, method, args) -> {
+            try {
+                return mapper.map(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
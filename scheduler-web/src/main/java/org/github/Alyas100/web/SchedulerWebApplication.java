@@ -4,6 +4,8 @@ import org.github.Alyas100.core.SchedulerEngine;
 import org.github.Alyas100.storage.JobRepository;
 import org.github.Alyas100.cluster.ClusterManager;
 import org.github.Alyas100.cluster.hazelcast.HazelcastClusterManager;
+import org.github.Alyas100.cluster.hazelcast.JobCodecSerializers;
+import com.hazelcast.config.Config;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import org.springframework.boot.SpringApplication;
@@ -42,7 +44,7 @@ public class SchedulerWebApplication {
     public ClusterManager hazelcastClusterManager() {
         // Hazelcast clustering for production
         System.out.println("Starting in CLUSTER mode with Hazelcast");
-        HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance();
+        HazelcastInstance hazelcast = Hazelcast.newHazelcastInstance(JobCodecSerializers.register(Config.load()));
         return new HazelcastClusterManager(hazelcast);
     }
 
@@ -91,8 +93,9 @@ public class SchedulerWebApplication {
         }
 
         @Override
-        public void rebalanceJobs() {
+        public org.github.Alyas100.cluster.RebalanceReport rebalanceJobs() {
             System.out.println("[STANDALONE] No rebalancing needed in standalone mode");
+            return org.github.Alyas100.cluster.RebalanceReport.none();
         }
 
         @Override
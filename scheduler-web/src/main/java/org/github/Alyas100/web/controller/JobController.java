@@ -3,8 +3,13 @@ package org.github.Alyas100.web.controller;
 import org.github.Alyas100.core.SchedulerEngine;
 import org.github.Alyas100.JobDefinition;
 import org.github.Alyas100.JobExecutionResult;
+import org.github.Alyas100.storage.JobQuery;
+import org.github.Alyas100.storage.JobRepository;
+import org.github.Alyas100.storage.JobVersionConflictException;
+import org.github.Alyas100.web.dto.JobPageResponse;
 import org.github.Alyas100.web.dto.JobRequest;
 import org.github.Alyas100.web.dto.JobResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,13 +36,32 @@ public class JobController {
         return ResponseEntity.ok(jobs);
     }
 
+    /**
+     * Filtered, cursor-paginated listing: /api/jobs/search?plugin=email-sender&enabled=true&size=50
+     */
+    @GetMapping("/search")
+    public ResponseEntity<JobPageResponse> searchJobs(@RequestParam(required = false) String plugin,
+                                                      @RequestParam(required = false) Boolean enabled,
+                                                      @RequestParam(required = false) String cron,
+                                                      @RequestParam(required = false) String namePrefix,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > 1000) {
+            return ResponseEntity.badRequest().build();
+        }
+        JobQuery query = new JobQuery(plugin, enabled, cron, namePrefix);
+        return ResponseEntity.ok(JobPageResponse.fromJobPage(schedulerEngine.findJobs(query, cursor, size)));
+    }
+
+    /**
+     * The ETag carries the job's version; send it back as If-Match on PUT to update safely.
+     */
     @GetMapping("/{jobId}")
     public ResponseEntity<JobResponse> getJob(@PathVariable String jobId) {
-        return schedulerEngine.getScheduledJobs().stream()
-                .filter(job -> job.jobId().equals(jobId))
-                .findFirst()
-                .map(JobResponse::fromJobDefinition)
-                .map(ResponseEntity::ok)
+        return schedulerEngine.getVersionedJob(jobId)
+                .map(versioned -> ResponseEntity.ok()
+                        .eTag(Long.toString(versioned.version()))
+                        .body(JobResponse.fromJobDefinition(versioned.job())))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -48,13 +72,56 @@ public class JobController {
         return ResponseEntity.ok(JobResponse.fromJobDefinition(jobDefinition));
     }
 
+    /**
+     * Updates the job in place; with an If-Match version it fails with 412 if someone else
+     * updated the job since that version was read. Weak ETags ({@code W/"3"}) are accepted,
+     * as proxies may weaken the tag they pass back.
+     */
     @PutMapping("/{jobId}")
-    public ResponseEntity<JobResponse> updateJob(@PathVariable String jobId, @RequestBody JobRequest jobRequest) {
-        // For simplicity, delete and recreate
-        schedulerEngine.unscheduleJob(jobId);
+    public ResponseEntity<JobResponse> updateJob(@PathVariable String jobId,
+                                                 @RequestHeader(value = "If-Match", required = false) String ifMatch,
+                                                 @RequestBody JobRequest jobRequest) {
         JobDefinition updatedJob = jobRequest.toJobDefinition();
-        schedulerEngine.scheduleJob(updatedJob);
-        return ResponseEntity.ok(JobResponse.fromJobDefinition(updatedJob));
+        if (!jobId.equals(updatedJob.jobId())) {
+            return ResponseEntity.badRequest().build();
+        }
+        long expectedVersion = JobRepository.ANY_VERSION;
+        String tag = ifMatch != null ? ifMatch.trim() : "";
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (!tag.isEmpty() && !tag.equals("*")) {
+            try {
+                expectedVersion = Long.parseLong(tag.replace("\"", "").trim());
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        try {
+            long version = schedulerEngine.updateJob(updatedJob, expectedVersion);
+            return ResponseEntity.ok().eTag(Long.toString(version)).body(JobResponse.fromJobDefinition(updatedJob));
+        } catch (JobVersionConflictException e) {
+            return e.getActualVersion() == 0
+                    ? ResponseEntity.notFound().build()
+                    : ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (IllegalArgumentException e) {
+            return schedulerEngine.getVersionedJob(jobId).isEmpty()
+                    ? ResponseEntity.notFound().build()
+                    : ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Bulk in-place update of existing jobs, e.g. a parameter change across many of them.
+     */
+    @PutMapping
+    public ResponseEntity<Void> updateJobs(@RequestBody List<JobRequest> jobRequests) {
+        try {
+            schedulerEngine.updateJobs(jobRequests.stream().map(JobRequest::toJobDefinition).toList());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{jobId}")
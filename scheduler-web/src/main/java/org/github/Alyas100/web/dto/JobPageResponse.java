@@ -0,0 +1,19 @@
+package org.github.Alyas100.web.dto;
+
+import org.github.Alyas100.storage.JobPage;
+
+import java.util.List;
+
+public record JobPageResponse(
+        List<JobResponse> jobs,
+        String nextCursor,
+        boolean hasMore
+) {
+    public static JobPageResponse fromJobPage(JobPage page) {
+        return new JobPageResponse(
+                page.jobs().stream().map(JobResponse::fromJobDefinition).toList(),
+                page.nextCursor(),
+                page.hasMore()
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package org.github.Alyas100.web.dto;
 
 import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.MisfirePolicy;
 import org.github.Alyas100.RetryPolicy;
 
 import java.time.Duration;
@@ -15,7 +16,8 @@ public record JobRequest(
         RetryPolicyRequest retryPolicy,
         Duration timeout,
         int maxRetries,
-        boolean enabled
+        boolean enabled,
+        MisfirePolicy misfirePolicy  // optional, defaults to FIRE_ONCE
 ) {
     public JobDefinition toJobDefinition() {
         return new JobDefinition(
@@ -29,7 +31,8 @@ public record JobRequest(
                 ),
                 timeout != null ? timeout : Duration.ofMinutes(5),
                 maxRetries > 0 ? maxRetries : 3,
-                enabled
+                enabled,
+                misfirePolicy
         );
     }
 
@@ -1,6 +1,7 @@
 package org.github.Alyas100.web.dto;
 
 import org.github.Alyas100.JobDefinition;
+import org.github.Alyas100.MisfirePolicy;
 import org.github.Alyas100.RetryPolicy;
 
 import java.time.Duration;
@@ -16,6 +17,7 @@ public record JobResponse(
         Duration timeout,
         int maxRetries,
         boolean enabled,
+        MisfirePolicy misfirePolicy,
         String status
 ) {
     public static JobResponse fromJobDefinition(JobDefinition job) {
@@ -29,6 +31,7 @@ public record JobResponse(
                 job.timeout(),
                 job.maxRetries(),
                 job.enabled(),
+                job.misfirePolicy(),
                 "SCHEDULED"  // Simple status for demo
         );
     }